@@ -0,0 +1,106 @@
+package com.group7.krisefikser.loadtest;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+/**
+ * Load test for the endpoints a household member hits most: storage items, readiness,
+ * position sharing and incident notifications.
+ * Each virtual user logs in as one of the users created by the synthetic data generator
+ * and then browses for a while. Gatling reports p50/p75/p95/p99 latency and throughput
+ * per request in target/gatling.
+ *
+ * <p>Configured with system properties, for example
+ * {@code mvn -Pload-test gatling:test -DbaseUrl=http://localhost:8080 -Dusers=500}.
+ */
+public class KrisefikserSimulation extends Simulation {
+
+  private static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8080");
+  private static final int USERS = Integer.getInteger("users", 200);
+  private static final int GENERATED_USERS = Integer.getInteger("generatedUsers", 1_000_000);
+  private static final int ITERATIONS = Integer.getInteger("iterations", 20);
+  private static final Duration RAMP = Duration.ofSeconds(Long.getLong("rampSeconds", 60));
+  private static final String PASSWORD = System.getProperty("password", "LoadTest123!");
+  private static final int MAX_P99_MS = Integer.getInteger("maxP99Ms", 1000);
+
+  private static final double[][] CITIES = {
+      {59.91, 10.75}, {60.39, 5.32}, {63.43, 10.40}, {58.97, 5.73}, {58.15, 8.00}, {69.65, 18.96}
+  };
+
+  private final Iterator<Map<String, Object>> loadTestUsers = Stream.generate(() -> {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    double[] city = CITIES[random.nextInt(CITIES.length)];
+    return Map.<String, Object>of(
+        "email", String.format(SyntheticDataGenerator.USER_EMAIL_FORMAT,
+            random.nextInt(GENERATED_USERS)),
+        "password", PASSWORD,
+        "latitude", city[0] + random.nextGaussian() * 0.05,
+        "longitude", city[1] + random.nextGaussian() * 0.05);
+  }).iterator();
+
+  private final HttpProtocolBuilder httpProtocol = http
+      .baseUrl(BASE_URL)
+      .acceptHeader("application/json")
+      .contentTypeHeader("application/json");
+
+  // The JWT cookie is marked Secure, so it is sent explicitly to work over plain HTTP.
+  private final ChainBuilder login = exec(
+      http("login")
+          .post("/api/auth/login")
+          .body(StringBody("{\"email\":\"#{email}\",\"password\":\"#{password}\"}"))
+          .check(status().is(200))
+          .check(headerRegex("Set-Cookie", "JWT=([^;]+)").saveAs("jwt")));
+
+  private final ChainBuilder browse = exec(
+      http("storage items")
+          .get("/api/storage-items/household")
+          .header("Cookie", "JWT=#{jwt}")
+          .check(status().is(200)),
+      http("aggregated storage items")
+          .get("/api/storage-items/household/aggregated")
+          .header("Cookie", "JWT=#{jwt}")
+          .check(status().is(200)),
+      http("readiness")
+          .get("/api/households/readiness")
+          .header("Cookie", "JWT=#{jwt}")
+          .check(status().is(200)),
+      http("share position")
+          .post("/api/position/share")
+          .header("Cookie", "JWT=#{jwt}")
+          .body(StringBody("{\"latitude\":#{latitude},\"longitude\":#{longitude}}"))
+          .check(status().is(200)),
+      http("household positions")
+          .get("/api/position/household")
+          .header("Cookie", "JWT=#{jwt}")
+          .check(status().is(200)),
+      http("incident notifications")
+          .post("/api/notification/incidents")
+          .header("Cookie", "JWT=#{jwt}")
+          .body(StringBody("{\"latitude\":#{latitude},\"longitude\":#{longitude}}"))
+          .check(status().is(200)));
+
+  private final ScenarioBuilder householdMember = scenario("Household member")
+      .feed(loadTestUsers)
+      .exec(login)
+      .repeat(ITERATIONS).on(
+          exec(browse).pause(Duration.ofMillis(500), Duration.ofSeconds(2)));
+
+  {
+    setUp(householdMember.injectOpen(rampUsers(USERS).during(RAMP)))
+        .protocols(httpProtocol)
+        .assertions(
+            global().responseTime().percentile(99.0).lt(MAX_P99_MS),
+            global().successfulRequests().percent().gt(99.0));
+  }
+}
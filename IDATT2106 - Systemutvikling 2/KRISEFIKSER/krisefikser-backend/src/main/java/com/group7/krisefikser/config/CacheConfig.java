@@ -0,0 +1,99 @@
+package com.group7.krisefikser.config;
+
+import com.group7.krisefikser.dto.response.location.AffectedAreaResponse;
+import com.group7.krisefikser.dto.response.location.PointOfInterestResponse;
+import com.group7.krisefikser.dto.response.location.TileResponse;
+import com.group7.krisefikser.dto.response.location.ZoneImpactResponse;
+import com.group7.krisefikser.model.item.Item;
+import com.group7.krisefikser.service.cache.CacheNames;
+import com.group7.krisefikser.service.cache.InvalidationBus;
+import com.group7.krisefikser.service.cache.TwoTierCache;
+import com.group7.krisefikser.service.location.TileRegion;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the caches used by the services. The repositories that change the cached
+ * tables publish invalidations under the same names, so a change made by any instance of the
+ * application is evicted from the caches of all of them.
+ */
+@Configuration
+public class CacheConfig {
+  private static final Duration EXPIRE_AFTER = Duration.ofMinutes(10);
+  private static final Duration IMPACT_EXPIRE_AFTER = Duration.ofMinutes(1);
+
+  /**
+   * Cache of the item catalogue.
+   *
+   * @param invalidationBus the bus the cache is kept consistent through
+   * @return the cache
+   */
+  @Bean
+  public TwoTierCache<List<Item>> itemCache(InvalidationBus invalidationBus) {
+    return invalidationBus.createCache(CacheNames.ITEMS, 1, EXPIRE_AFTER);
+  }
+
+  /**
+   * Cache of the affected areas.
+   *
+   * @param invalidationBus the bus the cache is kept consistent through
+   * @return the cache
+   */
+  @Bean
+  public TwoTierCache<List<AffectedAreaResponse>> affectedAreaCache(
+      InvalidationBus invalidationBus) {
+    return invalidationBus.createCache(CacheNames.AFFECTED_AREAS, 1, EXPIRE_AFTER);
+  }
+
+  /**
+   * Cache of the points of interest, by the combination of types requested.
+   *
+   * @param invalidationBus the bus the cache is kept consistent through
+   * @return the cache
+   */
+  @Bean
+  public TwoTierCache<List<PointOfInterestResponse>> pointOfInterestCache(
+      InvalidationBus invalidationBus) {
+    return invalidationBus.createCache(CacheNames.POINTS_OF_INTEREST, 100, EXPIRE_AFTER);
+  }
+
+  /**
+   * Cache of the map tiles, by zoom level, column and row. A change evicts the tiles it lies
+   * within by publishing a {@link TileRegion}.
+   *
+   * @param invalidationBus the bus the cache is kept consistent through
+   * @return the cache
+   */
+  @Bean
+  public TwoTierCache<TileResponse> tileCache(InvalidationBus invalidationBus) {
+    return invalidationBus.createCache(CacheNames.TILES, 10_000, EXPIRE_AFTER,
+        TileRegion.TILE_KEYS);
+  }
+
+  /**
+   * Cache of the households, people and stock inside each danger zone of an area, by area.
+   * Changes to households and stock are not published, so entries expire after a minute.
+   *
+   * @param invalidationBus the bus the cache is kept consistent through
+   * @return the cache
+   */
+  @Bean
+  public TwoTierCache<List<ZoneImpactResponse>> areaImpactCache(
+      InvalidationBus invalidationBus) {
+    return invalidationBus.createCache(CacheNames.AREA_IMPACT, 1_000, IMPACT_EXPIRE_AFTER);
+  }
+
+  /**
+   * Cache of the number of users sharing their position inside each danger zone of an area,
+   * by area.
+   *
+   * @param invalidationBus the bus the cache is kept consistent through
+   * @return the cache
+   */
+  @Bean
+  public TwoTierCache<List<Integer>> areaPresenceCache(InvalidationBus invalidationBus) {
+    return invalidationBus.createCache(CacheNames.AREA_PRESENCE, 1_000, EXPIRE_AFTER);
+  }
+}
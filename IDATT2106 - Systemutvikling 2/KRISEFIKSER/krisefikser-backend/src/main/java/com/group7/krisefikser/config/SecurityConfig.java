@@ -62,6 +62,7 @@ public class SecurityConfig {
              .requestMatchers(HttpMethod.GET,
                 "/api/affected-area",
                 "/api/point-of-interest",
+                "/api/tiles/**",
                 "/h2-console/**",
                 "/swagger-ui/**",
                 "/v3/api-docs/**",
@@ -69,7 +70,8 @@ public class SecurityConfig {
                 "/api/auth/**",
                 "/api/privacy-policy/**",
                 "/api/news/**",
-                "/api/household-invitations/verify")
+                "/api/household-invitations/verify",
+                "/actuator/health")
             .permitAll()
 
             .requestMatchers(HttpMethod.POST,
@@ -89,12 +91,15 @@ public class SecurityConfig {
             .requestMatchers(
                 "/api/point-of-interest/**",
                 "/api/affected-area/**",
+                "/api/broadcasts/**",
+                "/api/readiness/**",
                 "/api/general-info/admin/**",
                 "/api/privacy-policy/**")
             .hasAnyRole("SUPER_ADMIN", "ADMIN")
 
             .requestMatchers(
-                "/api/super-admin/**"
+                "/api/super-admin/**",
+                "/actuator/**"
             ).hasRole("SUPER_ADMIN")
 
             .anyRequest().authenticated())
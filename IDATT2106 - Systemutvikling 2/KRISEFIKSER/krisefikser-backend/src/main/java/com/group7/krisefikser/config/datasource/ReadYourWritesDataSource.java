@@ -0,0 +1,45 @@
+package com.group7.krisefikser.config.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource for read-only transactions. Connections come from the replica, except for
+ * requests of users that have written recently, whose reads are sent to the primary instead.
+ */
+public class ReadYourWritesDataSource extends DelegatingDataSource {
+  private final DataSource primary;
+  private final ReadYourWritesTracker tracker;
+
+  /**
+   * Constructor for ReadYourWritesDataSource.
+   *
+   * @param replica the DataSource of the read replica
+   * @param primary the DataSource of the primary database
+   * @param tracker the tracker that tells which reads go to the primary
+   */
+  public ReadYourWritesDataSource(DataSource replica, DataSource primary,
+                                  ReadYourWritesTracker tracker) {
+    super(replica);
+    this.primary = primary;
+    this.tracker = tracker;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (tracker.readsFromPrimary()) {
+      return primary.getConnection();
+    }
+    return super.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    if (tracker.readsFromPrimary()) {
+      return primary.getConnection(username, password);
+    }
+    return super.getConnection(username, password);
+  }
+}
@@ -0,0 +1,118 @@
+package com.group7.krisefikser.config.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.core.Ordered;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Filter that sends the reads of a user to the primary for a while after the user has
+ * written. A request that may write to the database, that is every request that is not a
+ * GET, HEAD or OPTIONS request, reads from the primary itself, and its response carries a
+ * cookie with the signed time of the write. The time is taken when the response is
+ * committed, after the changes have been, so the window starts when they are visible on the
+ * primary. Later requests that send the cookie back within the window read from the primary
+ * too. The filter runs after Spring Security, so the user is known.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter implements Ordered {
+  static final String COOKIE_NAME = "RYW";
+
+  private final ReadYourWritesTracker tracker;
+
+  /**
+   * Constructor for ReadYourWritesFilter.
+   *
+   * @param tracker the tracker that signs and checks the time of the last write
+   */
+  public ReadYourWritesFilter(ReadYourWritesTracker tracker) {
+    this.tracker = tracker;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                  FilterChain filterChain) throws ServletException, IOException {
+    String user = currentUser();
+    if (user == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    boolean write = mayWrite(request);
+    Cookie lastWrite = WebUtils.getCookie(request, COOKIE_NAME);
+    if (write || tracker.wroteRecently(user, lastWrite != null ? lastWrite.getValue() : null,
+        System.currentTimeMillis())) {
+      tracker.readFromPrimary();
+    }
+    try {
+      if (!write) {
+        filterChain.doFilter(request, response);
+        return;
+      }
+      WriteResponse writeResponse = new WriteResponse(response, user);
+      filterChain.doFilter(request, writeResponse);
+      if (!response.isCommitted()) {
+        writeResponse.addLastWriteCookie();
+      }
+    } finally {
+      tracker.reset();
+    }
+  }
+
+  @Override
+  public int getOrder() {
+    return Ordered.LOWEST_PRECEDENCE - 1;
+  }
+
+  private static boolean mayWrite(HttpServletRequest request) {
+    String method = request.getMethod();
+    return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+  }
+
+  private static String currentUser() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null || !authentication.isAuthenticated()
+        || authentication instanceof AnonymousAuthenticationToken) {
+      return null;
+    }
+    return authentication.getName();
+  }
+
+  /**
+   * Response that adds the cookie with the time of the write just before it is committed.
+   */
+  private final class WriteResponse extends OnCommittedResponseWrapper {
+    private final String user;
+    private boolean cookieAdded;
+
+    private WriteResponse(HttpServletResponse response, String user) {
+      super(response);
+      this.user = user;
+    }
+
+    @Override
+    protected void onResponseCommitted() {
+      addLastWriteCookie();
+    }
+
+    private void addLastWriteCookie() {
+      if (cookieAdded) {
+        return;
+      }
+      cookieAdded = true;
+      Cookie cookie = new Cookie(COOKIE_NAME, tracker.sign(user, System.currentTimeMillis()));
+      cookie.setHttpOnly(true);
+      cookie.setSecure(true);
+      cookie.setPath("/");
+      cookie.setMaxAge((int) Math.max(1, (tracker.getWindowMillis() + 999) / 1000));
+      addCookie(cookie);
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package com.group7.krisefikser.config.datasource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Decides which requests read from the primary because their user has written recently.
+ * A replica may lag slightly behind the primary, so for a short window after a user's own
+ * write the read-only transactions of that user are served by the primary, and the user
+ * always sees what they just changed. The time of the last write is carried by the client in
+ * a value signed with a secret shared by all instances, so the window holds whichever
+ * instance the next request reaches, and no instance has to remember its users.
+ */
+public class ReadYourWritesTracker {
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final ThreadLocal<Boolean> READ_FROM_PRIMARY = new ThreadLocal<>();
+
+  private final SecretKeySpec key;
+  private final long windowMillis;
+
+  /**
+   * Constructor for ReadYourWritesTracker.
+   *
+   * @param secret       the secret the last-write values are signed with
+   * @param windowMillis how long reads of a user go to the primary after the user's write
+   */
+  public ReadYourWritesTracker(String secret, long windowMillis) {
+    if (secret == null || secret.isBlank()) {
+      throw new IllegalArgumentException("Read-your-writes secret must be set");
+    }
+    this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    this.windowMillis = windowMillis;
+  }
+
+  /**
+   * Returns how long reads of a user go to the primary after the user's write.
+   *
+   * @return the window in milliseconds
+   */
+  public long getWindowMillis() {
+    return windowMillis;
+  }
+
+  /**
+   * Creates the signed value that tells that a user wrote at the given time.
+   *
+   * @param user      the name of the user
+   * @param writtenAt the time of the write, in milliseconds since the epoch
+   * @return the value to hand to the client
+   */
+  public String sign(String user, long writtenAt) {
+    return writtenAt + "." + signature(user, writtenAt);
+  }
+
+  /**
+   * Checks whether a value from the client shows that the user wrote within the window.
+   * Values that are malformed, signed for another user or not signed by the secret are
+   * ignored.
+   *
+   * @param user  the name of the authenticated user
+   * @param value the value sent by the client, or null
+   * @param now   the current time, in milliseconds since the epoch
+   * @return true if reads of the user should go to the primary
+   */
+  public boolean wroteRecently(String user, String value, long now) {
+    if (user == null || value == null) {
+      return false;
+    }
+    int separator = value.indexOf('.');
+    if (separator < 0) {
+      return false;
+    }
+    long writtenAt;
+    try {
+      writtenAt = Long.parseLong(value.substring(0, separator));
+    } catch (NumberFormatException e) {
+      return false;
+    }
+    if (now - writtenAt >= windowMillis || writtenAt > now + windowMillis) {
+      return false;
+    }
+    return MessageDigest.isEqual(
+        signature(user, writtenAt).getBytes(StandardCharsets.US_ASCII),
+        value.substring(separator + 1).getBytes(StandardCharsets.US_ASCII));
+  }
+
+  /**
+   * Sends the read-only transactions of the current thread to the primary until
+   * {@link #reset} is called.
+   */
+  public void readFromPrimary() {
+    READ_FROM_PRIMARY.set(Boolean.TRUE);
+  }
+
+  /**
+   * Lets the read-only transactions of the current thread use the replica again.
+   */
+  public void reset() {
+    READ_FROM_PRIMARY.remove();
+  }
+
+  /**
+   * Checks whether the read-only transactions of the current thread should use the primary.
+   *
+   * @return true if reads should go to the primary
+   */
+  public boolean readsFromPrimary() {
+    return READ_FROM_PRIMARY.get() != null;
+  }
+
+  private String signature(String user, long writtenAt) {
+    try {
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(key);
+      byte[] signature = mac.doFinal((user + ":" + writtenAt).getBytes(StandardCharsets.UTF_8));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+      throw new IllegalStateException("HmacSHA256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package com.group7.krisefikser.config.datasource;
+
+import com.group7.krisefikser.config.jdbc.JdbcConcurrencyLimitConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Configuration that sends read-only transactions to a read replica when
+ * {@code app.datasource.replica.url} is set. It is enabled by the replica profile.
+ * The application DataSource is wrapped in a {@link LazyConnectionDataSourceProxy}, which
+ * only fetches a connection when the first statement is run. By then a transaction started
+ * with {@code @Transactional(readOnly = true)} has marked the connection as read-only, and
+ * the connection is taken from the replica pool instead of the primary. Everything else,
+ * including queries run outside a transaction, goes to the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+  static final String PRIMARY_BEAN_NAME = "dataSource";
+
+  /**
+   * Tracker that decides which reads go to the primary because their user has written
+   * recently.
+   *
+   * @param environment the environment to read the secret and the length of the window from
+   * @return the tracker
+   */
+  @Bean
+  public static ReadYourWritesTracker readYourWritesTracker(Environment environment) {
+    return new ReadYourWritesTracker(
+        environment.getRequiredProperty("app.datasource.read-your-writes-secret"),
+        environment.getProperty("app.datasource.read-your-writes-ms", Long.class, 5000L));
+  }
+
+  /**
+   * Filter that sends the reads of users that have written recently to the primary.
+   *
+   * @param readYourWritesTracker the tracker of recent writes
+   * @return the filter
+   */
+  @Bean
+  public ReadYourWritesFilter readYourWritesFilter(ReadYourWritesTracker readYourWritesTracker) {
+    return new ReadYourWritesFilter(readYourWritesTracker);
+  }
+
+  /**
+   * Bean post processor that adds the replica to the application DataSource. It runs after
+   * the concurrency limit is applied to the primary, and applies the same limit to the
+   * replica, and it runs before the DataSource is instrumented. Since the connections are
+   * lazy, the time spent waiting for the pool is recorded as part of the first statement of
+   * a transaction.
+   *
+   * @param environment           the environment to read the replica settings from
+   * @param meterRegistry         the registry to publish the replica pool metrics to
+   * @param readYourWritesTracker the tracker of recent writes
+   * @return the bean post processor
+   */
+  @Bean
+  public static RoutingPostProcessor replicaRoutingPostProcessor(
+      Environment environment, ObjectProvider<MeterRegistry> meterRegistry,
+      ReadYourWritesTracker readYourWritesTracker) {
+    return new RoutingPostProcessor(environment, meterRegistry, readYourWritesTracker);
+  }
+
+  /**
+   * Creates a DataSource that sends connections of read-only transactions to the replica,
+   * unless the current request reads from the primary, and all other connections to the
+   * primary.
+   *
+   * @param primary the DataSource of the primary database
+   * @param replica the DataSource of the read replica
+   * @param tracker the tracker of recent writes
+   * @return the routing DataSource
+   */
+  static LazyConnectionDataSourceProxy routingDataSource(DataSource primary, DataSource replica,
+                                                         ReadYourWritesTracker tracker) {
+    LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy();
+    routing.setTargetDataSource(primary);
+    routing.setReadOnlyDataSource(new ReadYourWritesDataSource(replica, primary, tracker));
+    routing.afterPropertiesSet();
+    return routing;
+  }
+
+  static final class RoutingPostProcessor
+      implements BeanPostProcessor, Ordered, DisposableBean {
+    private final Environment environment;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ReadYourWritesTracker tracker;
+    private HikariDataSource replica;
+
+    RoutingPostProcessor(Environment environment, ObjectProvider<MeterRegistry> meterRegistry,
+                         ReadYourWritesTracker tracker) {
+      this.environment = environment;
+      this.meterRegistry = meterRegistry;
+      this.tracker = tracker;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+      if (!PRIMARY_BEAN_NAME.equals(beanName) || !(bean instanceof DataSource primary)) {
+        return bean;
+      }
+      replica = new HikariDataSource();
+      Binder.get(environment).bind("app.datasource.replica.hikari",
+          Bindable.ofInstance(replica));
+      replica.setJdbcUrl(environment.getRequiredProperty("app.datasource.replica.url"));
+      replica.setUsername(environment.getProperty("app.datasource.replica.username"));
+      replica.setPassword(environment.getProperty("app.datasource.replica.password"));
+      if (replica.getPoolName() == null) {
+        replica.setPoolName("krisefikser-replica-pool");
+      }
+      meterRegistry.ifAvailable(replica::setMetricRegistry);
+      DataSource replicaDataSource = replica;
+      if (environment.containsProperty("app.jdbc.concurrency-limit")) {
+        replicaDataSource = JdbcConcurrencyLimitConfig.limit(replica, environment);
+      }
+      return routingDataSource(primary, replicaDataSource, tracker);
+    }
+
+    @Override
+    public int getOrder() {
+      return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    /**
+     * Closes the replica pool, which is not a bean itself.
+     */
+    @Override
+    public void destroy() {
+      if (replica != null) {
+        replica.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package com.group7.krisefikser.config.jdbc;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource wrapper that limits how many connections can be checked out at the same time.
+ * With virtual threads there is no longer a thread pool in front of the connection pool,
+ * so a burst of requests would otherwise all wait inside the pool at once. Callers wait for
+ * a permit in a fair queue instead, and are rejected straight away when the queue is full
+ * or after the configured wait time, so an overloaded database fails fast.
+ * The permit is released when the connection is closed.
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+  private final Semaphore permits;
+  private final int maxWaiting;
+  private final long maxWaitMillis;
+
+  /**
+   * Creates a new ConcurrencyLimitedDataSource.
+   *
+   * @param targetDataSource the DataSource to wrap
+   * @param limit            the maximum number of connections checked out at the same time
+   * @param maxWaiting       the maximum number of callers waiting for a connection
+   * @param maxWaitMillis    how long a caller waits for a connection before giving up
+   */
+  public ConcurrencyLimitedDataSource(DataSource targetDataSource, int limit, int maxWaiting,
+                                      long maxWaitMillis) {
+    super(targetDataSource);
+    if (limit < 1 || maxWaiting < 0 || maxWaitMillis < 0) {
+      throw new IllegalArgumentException("Invalid JDBC concurrency limit");
+    }
+    this.permits = new Semaphore(limit, true);
+    this.maxWaiting = maxWaiting;
+    this.maxWaitMillis = maxWaitMillis;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    try {
+      return wrapConnection(obtainTargetDataSource().getConnection());
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    try {
+      return wrapConnection(obtainTargetDataSource().getConnection(username, password));
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the number of connections that can still be checked out without waiting.
+   *
+   * @return the number of available permits
+   */
+  public int availablePermits() {
+    return permits.availablePermits();
+  }
+
+  private void acquire() throws SQLException {
+    if (permits.tryAcquire()) {
+      return;
+    }
+    if (permits.getQueueLength() >= maxWaiting) {
+      throw new SQLTransientConnectionException(
+          "Too many callers waiting for a database connection");
+    }
+    try {
+      if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+        throw new SQLTransientConnectionException(
+            "Timed out after " + maxWaitMillis + " ms waiting for a database connection");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException(
+          "Interrupted while waiting for a database connection", e);
+    }
+  }
+
+  private Connection wrapConnection(Connection connection) {
+    AtomicBoolean released = new AtomicBoolean();
+    return (Connection) Proxy.newProxyInstance(
+        ConcurrencyLimitedDataSource.class.getClassLoader(), new Class<?>[] {Connection.class},
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "equals":
+              return args != null && args.length == 1 && proxy == args[0];
+            case "hashCode":
+              return System.identityHashCode(proxy);
+            default:
+              break;
+          }
+          try {
+            return method.invoke(connection, args);
+          } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+          } finally {
+            if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+              permits.release();
+            }
+          }
+        });
+  }
+}
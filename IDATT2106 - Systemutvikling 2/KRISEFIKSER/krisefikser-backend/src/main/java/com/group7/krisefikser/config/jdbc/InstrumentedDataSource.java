@@ -0,0 +1,220 @@
+package com.group7.krisefikser.config.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource wrapper that measures every statement executed through it.
+ * Connections, statements and result sets handed out by the target DataSource are
+ * wrapped in lightweight proxies that report the pool wait time, the execution time
+ * of each statement and the number of rows read or affected to {@link JdbcMetrics}.
+ * All other calls are passed straight through to the target.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+  private final JdbcMetrics metrics;
+
+  /**
+   * Creates a new InstrumentedDataSource.
+   *
+   * @param targetDataSource the DataSource to wrap
+   * @param metrics          the metrics to report to
+   */
+  public InstrumentedDataSource(DataSource targetDataSource, JdbcMetrics metrics) {
+    super(targetDataSource);
+    this.metrics = metrics;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    long start = System.nanoTime();
+    Connection connection = obtainTargetDataSource().getConnection();
+    metrics.recordConnectionAcquire(System.nanoTime() - start);
+    return wrapConnection(connection);
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    long start = System.nanoTime();
+    Connection connection = obtainTargetDataSource().getConnection(username, password);
+    metrics.recordConnectionAcquire(System.nanoTime() - start);
+    return wrapConnection(connection);
+  }
+
+  private Connection wrapConnection(Connection connection) {
+    return proxy(Connection.class, connection, new ConnectionHandler(connection));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+    return (T) Proxy.newProxyInstance(
+        InstrumentedDataSource.class.getClassLoader(), new Class<?>[] {type}, handler);
+  }
+
+  private static Object invokeTarget(Object target, Method method, Object[] args)
+      throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+
+  /**
+   * Handles the identity methods so that a proxy is only equal to itself.
+   * Returns null if the method is not an identity method.
+   */
+  private static Object handleIdentity(Object proxy, Method method, Object[] args) {
+    return switch (method.getName()) {
+      case "equals" -> args != null && args.length == 1 ? proxy == args[0] : null;
+      case "hashCode" -> method.getParameterCount() == 0 ? System.identityHashCode(proxy) : null;
+      default -> null;
+    };
+  }
+
+  /**
+   * Wraps the statements created by a connection so they can be measured.
+   */
+  private final class ConnectionHandler implements InvocationHandler {
+    private final Connection target;
+
+    private ConnectionHandler(Connection target) {
+      this.target = target;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      Object identity = handleIdentity(proxy, method, args);
+      if (identity != null) {
+        return identity;
+      }
+      Object result = invokeTarget(target, method, args);
+      String name = method.getName();
+      if (result instanceof CallableStatement callable && "prepareCall".equals(name)) {
+        return proxy(CallableStatement.class, callable,
+            new StatementHandler(callable, (String) args[0]));
+      }
+      if (result instanceof PreparedStatement prepared && "prepareStatement".equals(name)) {
+        return proxy(PreparedStatement.class, prepared,
+            new StatementHandler(prepared, (String) args[0]));
+      }
+      if (result instanceof Statement statement && "createStatement".equals(name)) {
+        return proxy(Statement.class, statement, new StatementHandler(statement, null));
+      }
+      return result;
+    }
+  }
+
+  /**
+   * Times the execute methods of a statement and counts the affected rows.
+   * For plain statements the SQL is taken from the execute call itself.
+   */
+  private final class StatementHandler implements InvocationHandler {
+    private final Statement target;
+    private final String preparedSql;
+    private String lastSql;
+
+    private StatementHandler(Statement target, String preparedSql) {
+      this.target = target;
+      this.preparedSql = preparedSql;
+      this.lastSql = preparedSql;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      Object identity = handleIdentity(proxy, method, args);
+      if (identity != null) {
+        return identity;
+      }
+      String name = method.getName();
+      if ("getResultSet".equals(name)) {
+        return wrapResultSet((ResultSet) invokeTarget(target, method, args), lastSql);
+      }
+      if (!name.startsWith("execute")) {
+        return invokeTarget(target, method, args);
+      }
+
+      String sql = preparedSql;
+      if (args != null && args.length > 0 && args[0] instanceof String statementSql) {
+        sql = statementSql;
+      }
+      lastSql = sql;
+
+      long start = System.nanoTime();
+      boolean success = false;
+      try {
+        Object result = invokeTarget(target, method, args);
+        success = true;
+        return recordResult(result, sql);
+      } finally {
+        metrics.recordExecution(sql, System.nanoTime() - start, success);
+      }
+    }
+
+    private Object recordResult(Object result, String sql) {
+      if (result instanceof ResultSet resultSet) {
+        return wrapResultSet(resultSet, sql);
+      }
+      if (result instanceof Integer count) {
+        metrics.recordRows(sql, count);
+      } else if (result instanceof Long count) {
+        metrics.recordRows(sql, count);
+      } else if (result instanceof int[] counts) {
+        long total = 0;
+        for (int count : counts) {
+          total += Math.max(count, 0);
+        }
+        metrics.recordRows(sql, total);
+      }
+      return result;
+    }
+
+    private ResultSet wrapResultSet(ResultSet resultSet, String sql) {
+      if (resultSet == null) {
+        return null;
+      }
+      return proxy(ResultSet.class, resultSet, new ResultSetHandler(resultSet, sql));
+    }
+  }
+
+  /**
+   * Counts the rows read from a result set and reports them when it is closed.
+   */
+  private final class ResultSetHandler implements InvocationHandler {
+    private final ResultSet target;
+    private final String sql;
+    private long rows;
+    private boolean reported;
+
+    private ResultSetHandler(ResultSet target, String sql) {
+      this.target = target;
+      this.sql = sql;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      Object identity = handleIdentity(proxy, method, args);
+      if (identity != null) {
+        return identity;
+      }
+      String name = method.getName();
+      Object result = invokeTarget(target, method, args);
+      if ("next".equals(name) && Boolean.TRUE.equals(result)) {
+        rows++;
+      } else if ("close".equals(name) && !reported) {
+        reported = true;
+        metrics.recordRows(sql, rows);
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.group7.krisefikser.config.jdbc;
+
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuration that wraps the application DataSource in a
+ * {@link ConcurrencyLimitedDataSource} when {@code app.jdbc.concurrency-limit} is set.
+ * It is enabled by the virtual profile, where request handling is no longer bounded by
+ * the size of the Tomcat thread pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.jdbc.concurrency-limit")
+public class JdbcConcurrencyLimitConfig {
+
+  /**
+   * Bean post processor that wraps the DataSource. It runs before the other post processors,
+   * so the wait for a permit is included in the connection acquire time recorded by
+   * {@link InstrumentedDataSource}. The concrete type is returned so that Spring can see
+   * the order before the post processor is created.
+   *
+   * @param environment the environment to read the limits from
+   * @return the bean post processor
+   */
+  @Bean
+  public static LimitingPostProcessor concurrencyLimitedDataSourcePostProcessor(
+      Environment environment) {
+    return new LimitingPostProcessor(environment);
+  }
+
+  /**
+   * Wraps a DataSource in a {@link ConcurrencyLimitedDataSource} with the configured limits.
+   *
+   * @param dataSource  the DataSource to wrap
+   * @param environment the environment to read the limits from
+   * @return the wrapped DataSource
+   */
+  public static ConcurrencyLimitedDataSource limit(DataSource dataSource,
+                                                   Environment environment) {
+    int limit = environment.getRequiredProperty("app.jdbc.concurrency-limit", Integer.class);
+    int maxWaiting = environment.getProperty(
+        "app.jdbc.concurrency-max-waiting", Integer.class, 10_000);
+    long maxWaitMillis = environment.getProperty(
+        "app.jdbc.concurrency-max-wait-ms", Long.class, 3000L);
+    return new ConcurrencyLimitedDataSource(dataSource, limit, maxWaiting, maxWaitMillis);
+  }
+
+  static final class LimitingPostProcessor implements BeanPostProcessor, Ordered {
+    private final Environment environment;
+
+    LimitingPostProcessor(Environment environment) {
+      this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+      if (!(bean instanceof DataSource dataSource)
+          || bean instanceof ConcurrencyLimitedDataSource
+          || bean instanceof InstrumentedDataSource) {
+        return bean;
+      }
+      return limit(dataSource, environment);
+    }
+
+    @Override
+    public int getOrder() {
+      return Ordered.HIGHEST_PRECEDENCE;
+    }
+  }
+}
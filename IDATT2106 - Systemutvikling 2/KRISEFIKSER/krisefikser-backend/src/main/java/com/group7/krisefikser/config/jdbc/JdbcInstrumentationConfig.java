@@ -0,0 +1,53 @@
+package com.group7.krisefikser.config.jdbc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuration that wraps the application DataSource in an {@link InstrumentedDataSource},
+ * so that every query run through JdbcTemplate is timed and counted.
+ * The pool itself is still registered with Micrometer by Spring Boot, which unwraps the
+ * DataSource to find the underlying HikariCP pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.jdbc.metrics.enabled", havingValue = "true",
+    matchIfMissing = true)
+public class JdbcInstrumentationConfig {
+
+  /**
+   * Bean post processor that wraps any DataSource that is not already instrumented.
+   * Declared static so it is registered before the DataSource bean is created.
+   *
+   * @param meterRegistry the registry to publish the metrics to, if one is available
+   * @param environment   the environment to read the slow query threshold and the maximum
+   *                      number of tagged statements from
+   * @return the bean post processor
+   */
+  @Bean
+  public static BeanPostProcessor instrumentedDataSourcePostProcessor(
+      ObjectProvider<MeterRegistry> meterRegistry, Environment environment) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)
+            || bean instanceof InstrumentedDataSource) {
+          return bean;
+        }
+        long threshold = environment.getProperty(
+            "app.jdbc.slow-query-threshold-ms", Long.class, 250L);
+        int maxStatements = environment.getProperty(
+            "app.jdbc.metrics.max-statements", Integer.class, 500);
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        return new InstrumentedDataSource(dataSource,
+            new JdbcMetrics(registry, threshold, maxStatements));
+      }
+    };
+  }
+}
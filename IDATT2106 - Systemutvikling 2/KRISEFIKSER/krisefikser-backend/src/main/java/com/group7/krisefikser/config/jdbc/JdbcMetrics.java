@@ -0,0 +1,187 @@
+package com.group7.krisefikser.config.jdbc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records metrics for the SQL statements executed through the instrumented DataSource.
+ * Every distinct statement gets its own latency timer and row count histogram,
+ * tagged with a normalized version of the SQL. The meters are created once per statement
+ * and reused. Only a limited number of statements get their own meters, so statements built
+ * at runtime cannot grow the registry without bound, and the rest share the meters tagged
+ * {@value #OTHER_SQL}. Statements slower than the configured threshold are also written to
+ * the slow query log.
+ */
+public class JdbcMetrics {
+  static final String QUERY_TIMER = "krisefikser.jdbc.query";
+  static final String QUERY_ROWS = "krisefikser.jdbc.query.rows";
+  static final String CONNECTION_ACQUIRE_TIMER = "krisefikser.jdbc.connection.acquire";
+  static final String OTHER_SQL = "other";
+
+  private static final Logger slowQueryLogger = LoggerFactory.getLogger("jdbc.slow-query");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+  private static final int MAX_SQL_TAG_LENGTH = 200;
+  private static final int MAX_CACHED_STATEMENTS = 1000;
+
+  private final MeterRegistry registry;
+  private final long slowQueryThresholdNanos;
+  private final int maxStatements;
+  private final Map<String, String> normalizedSql = new ConcurrentHashMap<>();
+  private final Map<String, StatementMeters> statementMeters = new ConcurrentHashMap<>();
+  private final Timer connectionAcquireTimer;
+
+  /**
+   * Creates a new JdbcMetrics instance.
+   *
+   * @param registry             the registry to publish the metrics to
+   * @param slowQueryThresholdMs statements taking longer than this are logged as slow
+   * @param maxStatements        how many distinct statements get their own meters
+   */
+  public JdbcMetrics(MeterRegistry registry, long slowQueryThresholdMs, int maxStatements) {
+    this.registry = registry;
+    this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMs);
+    this.maxStatements = maxStatements;
+    this.connectionAcquireTimer = Timer.builder(CONNECTION_ACQUIRE_TIMER)
+        .description("Time spent waiting for a connection from the pool")
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  /**
+   * Records the execution time of a statement and logs it if it was slow.
+   *
+   * @param sql          the SQL of the statement
+   * @param elapsedNanos the execution time in nanoseconds
+   * @param success      whether the statement completed without an exception
+   */
+  public void recordExecution(String sql, long elapsedNanos, boolean success) {
+    String tag = normalizeCached(sql);
+    StatementMeters meters = metersFor(tag);
+    (success ? meters.success() : meters.error()).record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+    if (elapsedNanos >= slowQueryThresholdNanos) {
+      slowQueryLogger.warn("Slow query ({} ms): {}",
+          TimeUnit.NANOSECONDS.toMillis(elapsedNanos), tag);
+    }
+  }
+
+  /**
+   * Records the number of rows read or written by a statement.
+   *
+   * @param sql  the SQL of the statement
+   * @param rows the number of rows
+   */
+  public void recordRows(String sql, long rows) {
+    metersFor(normalizeCached(sql)).rows().record(rows);
+  }
+
+  /**
+   * Records how long it took to get a connection from the pool.
+   *
+   * @param elapsedNanos the wait time in nanoseconds
+   */
+  public void recordConnectionAcquire(long elapsedNanos) {
+    connectionAcquireTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Normalizes SQL so it can be used as a metric tag.
+   * Whitespace is collapsed, placeholder lists such as "IN (?, ?, ?)" are collapsed
+   * to a single placeholder, and the result is truncated.
+   *
+   * @param sql the SQL to normalize
+   * @return the normalized SQL
+   */
+  static String normalize(String sql) {
+    if (sql == null) {
+      return "unknown";
+    }
+    String tag = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+    tag = PLACEHOLDER_LIST.matcher(tag).replaceAll("?");
+    return tag.length() > MAX_SQL_TAG_LENGTH ? tag.substring(0, MAX_SQL_TAG_LENGTH) : tag;
+  }
+
+  private StatementMeters metersFor(String tag) {
+    StatementMeters meters = statementMeters.get(tag);
+    if (meters != null) {
+      return meters;
+    }
+    String meterTag = statementMeters.size() < maxStatements ? tag : OTHER_SQL;
+    return statementMeters.computeIfAbsent(meterTag, this::register);
+  }
+
+  private StatementMeters register(String tag) {
+    return new StatementMeters(tag, timer(tag, "success"),
+        DistributionSummary.builder(QUERY_ROWS)
+            .description("Rows read or affected by SQL statements")
+            .tag("sql", tag)
+            .publishPercentileHistogram()
+            .register(registry));
+  }
+
+  private Timer timer(String tag, String outcome) {
+    return Timer.builder(QUERY_TIMER)
+        .description("Execution time of SQL statements")
+        .tag("sql", tag)
+        .tag("outcome", outcome)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  private String normalizeCached(String sql) {
+    if (sql == null) {
+      return normalize(null);
+    }
+    String cached = normalizedSql.get(sql);
+    if (cached != null) {
+      return cached;
+    }
+    String tag = normalize(sql);
+    if (normalizedSql.size() < MAX_CACHED_STATEMENTS) {
+      normalizedSql.put(sql, tag);
+    }
+    return tag;
+  }
+
+  /**
+   * The meters of one statement. The error timer is only registered once the statement has
+   * failed.
+   */
+  private final class StatementMeters {
+    private final String tag;
+    private final Timer success;
+    private final DistributionSummary rows;
+    private volatile Timer error;
+
+    private StatementMeters(String tag, Timer success, DistributionSummary rows) {
+      this.tag = tag;
+      this.success = success;
+      this.rows = rows;
+    }
+
+    private Timer success() {
+      return success;
+    }
+
+    private Timer error() {
+      Timer timer = error;
+      if (timer == null) {
+        timer = timer(tag, "error");
+        error = timer;
+      }
+      return timer;
+    }
+
+    private DistributionSummary rows() {
+      return rows;
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.group7.krisefikser.config.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Filter that gives every request an ID and writes a sampled access log.
+ * The ID is taken from the X-Request-Id header when the client sends a valid one, is put in
+ * the logging context as {@code requestId} so that every log line of the request carries it,
+ * and is returned in the response. Only a sample of the requests is logged, together with
+ * every failed or slow request, so the access log stays cheap under load.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+  static final String REQUEST_ID_HEADER = "X-Request-Id";
+  static final String REQUEST_ID_KEY = "requestId";
+
+  private static final Logger accessLogger = LoggerFactory.getLogger("http.access");
+  private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+  private final double sampleRate;
+  private final long slowThresholdNanos;
+
+  /**
+   * Constructor for AccessLogFilter.
+   *
+   * @param sampleRate      The share of requests to log, between 0 and 1.
+   * @param slowThresholdMs Requests taking at least this long are always logged.
+   */
+  @Autowired
+  public AccessLogFilter(@Value("${app.access-log.sample-rate:0.01}") double sampleRate,
+                         @Value("${app.access-log.slow-threshold-ms:1000}") long slowThresholdMs) {
+    this.sampleRate = sampleRate;
+    this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                  FilterChain filterChain) throws ServletException, IOException {
+    String requestId = request.getHeader(REQUEST_ID_HEADER);
+    if (requestId == null || !VALID_REQUEST_ID.matcher(requestId).matches()) {
+      requestId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    }
+    MDC.put(REQUEST_ID_KEY, requestId);
+    response.setHeader(REQUEST_ID_HEADER, requestId);
+
+    long start = System.nanoTime();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      long elapsed = System.nanoTime() - start;
+      int status = response.getStatus();
+      if (status >= 500 || elapsed >= slowThresholdNanos
+          || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+        accessLogger.info("{} {} {} {} ms", request.getMethod(), request.getRequestURI(),
+            status, TimeUnit.NANOSECONDS.toMillis(elapsed));
+      }
+      MDC.remove(REQUEST_ID_KEY);
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package com.group7.krisefikser.config.web;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Configuration of the binary response encoding. Clients that send
+ * {@code Accept: application/cbor} get the same responses encoded as CBOR, where doubles are
+ * eight bytes instead of decimal text. JSON stays first, so clients that accept anything still
+ * get JSON. Responses are also gzip compressed above the size set in
+ * {@code server.compression.min-response-size}.
+ */
+@Configuration
+public class EncodingConfig {
+
+  /**
+   * The CBOR message converter. It is built from the same builder as the JSON object mapper,
+   * so dates and other settings are written the same way in both encodings.
+   *
+   * @param builder the builder with the application's Jackson settings
+   * @return the message converter
+   */
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(
+        builder.factory(new CBORFactory()).build());
+  }
+}
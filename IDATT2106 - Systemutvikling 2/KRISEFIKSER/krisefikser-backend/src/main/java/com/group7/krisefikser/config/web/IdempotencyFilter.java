@@ -0,0 +1,244 @@
+package com.group7.krisefikser.config.web;
+
+import com.group7.krisefikser.model.other.IdempotentResponse;
+import com.group7.krisefikser.service.other.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Filter that lets clients retry mutating requests safely by sending an Idempotency-Key
+ * header. The first request with a key runs and its response is stored, and a retry with the
+ * same key gets the stored response, marked with the Idempotent-Replayed header, without
+ * running again. Keys are scoped to the authenticated user, and a key reused for a request
+ * with a different method, path or body is rejected. Only requests to the configured paths
+ * with bodies up to the configured size are handled. The filter runs after Spring Security,
+ * so a request that is not authorized is rejected before its key is claimed.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class IdempotencyFilter extends OncePerRequestFilter {
+  static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+  static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+  private static final Pattern VALID_KEY = Pattern.compile("[A-Za-z0-9._:-]{1,128}");
+  private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+  private final IdempotencyService idempotencyService;
+  private final List<String> paths;
+  private final int maxBodyBytes;
+  private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+  /**
+   * Constructor for IdempotencyFilter.
+   *
+   * @param idempotencyService The service that stores the responses.
+   * @param paths              The path patterns of the endpoints that accept idempotency
+   *                           keys.
+   * @param maxBodyBytes       Requests with larger bodies run without their key.
+   */
+  @Autowired
+  public IdempotencyFilter(IdempotencyService idempotencyService,
+                           @Value("${app.idempotency.paths:/api/storage-items,"
+                               + "/api/position/share,/api/household-invitations,"
+                               + "/api/household-invitations/accept}") List<String> paths,
+                           @Value("${app.idempotency.max-body-bytes:65536}") int maxBodyBytes) {
+    this.idempotencyService = idempotencyService;
+    this.paths = paths;
+    this.maxBodyBytes = maxBodyBytes;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    if (request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+        || !MUTATING_METHODS.contains(request.getMethod())) {
+      return true;
+    }
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    return paths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                  FilterChain filterChain) throws ServletException, IOException {
+    String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+    if (!VALID_KEY.matcher(key).matches()) {
+      reject(response, HttpStatus.BAD_REQUEST, "Invalid idempotency key");
+      return;
+    }
+    byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+    HttpServletRequest cachedRequest = new CachedBodyRequest(request, body);
+    if (body.length > maxBodyBytes) {
+      filterChain.doFilter(cachedRequest, response);
+      return;
+    }
+
+    String scopeKey = hash(utf8(currentUser()), utf8(key));
+    String fingerprint = hash(utf8(request.getMethod()), utf8(request.getRequestURI()),
+        utf8(String.valueOf(request.getQueryString())), body);
+    Optional<IdempotentResponse> stored;
+    try {
+      stored = idempotencyService.begin(scopeKey, fingerprint);
+    } catch (IllegalArgumentException e) {
+      reject(response, HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+      return;
+    } catch (IllegalStateException e) {
+      response.setHeader("Retry-After", "1");
+      reject(response, HttpStatus.CONFLICT, e.getMessage());
+      return;
+    }
+    if (stored.isPresent()) {
+      replay(response, stored.get());
+      return;
+    }
+
+    ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+    boolean completed = false;
+    try {
+      filterChain.doFilter(cachedRequest, cachingResponse);
+      if (cachingResponse.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+        idempotencyService.complete(scopeKey, new IdempotentResponse(fingerprint,
+            cachingResponse.getStatus(), cachingResponse.getContentType(),
+            cachingResponse.getContentAsByteArray()));
+        completed = true;
+      }
+    } finally {
+      if (!completed) {
+        idempotencyService.release(scopeKey);
+      }
+      cachingResponse.copyBodyToResponse();
+    }
+  }
+
+  private static void replay(HttpServletResponse response, IdempotentResponse stored)
+      throws IOException {
+    response.setStatus(stored.getStatus());
+    if (stored.getContentType() != null) {
+      response.setContentType(stored.getContentType());
+    }
+    response.setHeader(REPLAYED_HEADER, "true");
+    if (stored.getBody() != null) {
+      response.setContentLength(stored.getBody().length);
+      response.getOutputStream().write(stored.getBody());
+    }
+  }
+
+  private static void reject(HttpServletResponse response, HttpStatus status, String message)
+      throws IOException {
+    response.setStatus(status.value());
+    response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.getWriter().write(message);
+  }
+
+  private static String currentUser() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return authentication != null ? authentication.getName() : "";
+  }
+
+  /**
+   * Returns the SHA-256 of the given parts, each prefixed with its length so that the parts
+   * cannot run into each other.
+   */
+  private static String hash(byte[]... parts) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      for (byte[] part : parts) {
+        digest.update(Integer.toString(part.length).getBytes(StandardCharsets.US_ASCII));
+        digest.update((byte) ':');
+        digest.update(part);
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static byte[] utf8(String text) {
+    return text.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Request whose body has already been read, so that it can be both fingerprinted and
+   * passed on.
+   */
+  private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+    private final byte[] body;
+    private ServletInputStream inputStream;
+
+    private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+      super(request);
+      this.body = body;
+    }
+
+    /**
+     * Returns the body that has been read, followed by whatever of it has not.
+     */
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+      if (inputStream != null) {
+        return inputStream;
+      }
+      ServletInputStream remaining = super.getInputStream();
+      ByteArrayInputStream cached = new ByteArrayInputStream(body);
+      inputStream = new ServletInputStream() {
+        @Override
+        public int read() throws IOException {
+          int next = cached.read();
+          return next >= 0 ? next : remaining.read();
+        }
+
+        @Override
+        public boolean isFinished() {
+          return cached.available() == 0 && remaining.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+          return cached.available() > 0 || remaining.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+          remaining.setReadListener(readListener);
+        }
+      };
+      return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+      String encoding = getCharacterEncoding();
+      return new BufferedReader(new InputStreamReader(getInputStream(),
+          encoding != null ? encoding : StandardCharsets.UTF_8.name()));
+    }
+  }
+}
@@ -1,10 +1,12 @@
 package com.group7.krisefikser.controller.article;
 
 import com.group7.krisefikser.dto.response.article.NewsArticleResponse;
+import com.group7.krisefikser.dto.response.article.NewsFeedResponse;
 import com.group7.krisefikser.dto.response.article.ShortenedNewsArticleResponse;
 import com.group7.krisefikser.model.article.NewsArticle;
 import com.group7.krisefikser.service.article.NewsArticleService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,6 +19,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -79,6 +82,58 @@ public class NewsArticleController {
     }
   }
 
+  /**
+   * Retrieves one page of the news feed, optionally filtered by a search query.
+   *
+   * @param cursor the cursor returned with the previous page, omitted for the first page
+   * @param limit  the maximum number of articles on the page
+   * @param q      the search query to match against title and content
+   * @return a ResponseEntity containing the page of shortened articles and the next cursor
+   */
+  @Operation(
+      summary = "Get a page of the news feed",
+      description = "Retrieves a page of shortened news articles sorted by publication date, "
+          + "using cursor based pagination and optional full-text search"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Successfully retrieved the news feed page",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = NewsFeedResponse.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Invalid cursor",
+          content = @Content(mediaType = "application/json")
+      ),
+      @ApiResponse(
+          responseCode = "500",
+          description = "Internal server error",
+          content = @Content(mediaType = "application/json")
+      )
+  })
+  @GetMapping("/feed")
+  public ResponseEntity<NewsFeedResponse> getNewsFeed(
+      @Parameter(description = "Cursor returned with the previous page")
+      @RequestParam(required = false) String cursor,
+      @Parameter(description = "Maximum number of articles to return")
+      @RequestParam(required = false) Integer limit,
+      @Parameter(description = "Search query matched against title and content")
+      @RequestParam(required = false) String q) {
+    try {
+      return ResponseEntity.ok(newsArticleService.getNewsFeed(cursor, limit, q));
+    } catch (IllegalArgumentException e) {
+      logger.warning("Invalid news feed request: " + e.getMessage());
+      return ResponseEntity.badRequest().build();
+    } catch (Exception e) {
+      logger.severe("Error fetching news feed: " + e.getMessage());
+      return ResponseEntity.status(500).build();
+    }
+  }
+
   /**
    * Retrieves a specific news article by its ID.
    *
@@ -0,0 +1,99 @@
+package com.group7.krisefikser.controller.household;
+
+import com.group7.krisefikser.dto.response.household.RegionReadinessResponse;
+import com.group7.krisefikser.dto.response.other.ErrorResponse;
+import com.group7.krisefikser.service.household.ReadinessAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.logging.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class for the readiness of households across the country.
+ * It serves admins the precomputed readiness per region, where a region is a geohash prefix.
+ */
+@RestController
+@RequestMapping("/api/readiness")
+@Tag(name = "Readiness Analytics", description = "Readiness of households per region")
+public class ReadinessAnalyticsController {
+
+  private final ReadinessAnalyticsService readinessAnalyticsService;
+  private static final Logger logger =
+      Logger.getLogger(ReadinessAnalyticsController.class.getName());
+
+  /**
+   * Constructor for ReadinessAnalyticsController.
+   *
+   * @param readinessAnalyticsService the service serving the readiness rollups
+   */
+  @Autowired
+  public ReadinessAnalyticsController(ReadinessAnalyticsService readinessAnalyticsService) {
+    this.readinessAnalyticsService = readinessAnalyticsService;
+  }
+
+  /**
+   * Retrieves the readiness per region.
+   *
+   * @param precision the length of the geohash prefix of the regions, 0 for the whole country
+   * @param within    a geohash prefix the regions must lie within
+   * @return a ResponseEntity containing the regions, or an error message
+   */
+  @Operation(
+      summary = "Get readiness per region",
+      description = "Retrieves the average days of food and water, the share of households "
+          + "with less than three days and the most missing item types per region. Regions "
+          + "are geohash prefixes of the given length, and the figures are precomputed "
+          + "periodically"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Successfully retrieved the regions",
+          content = @Content(
+              mediaType = "application/json",
+              array = @ArraySchema(
+                  schema = @Schema(implementation = RegionReadinessResponse.class))
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Invalid precision or region",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "500",
+          description = "Internal server error",
+          content = @Content(mediaType = "application/json")
+      )
+  })
+  @GetMapping("/regions")
+  public ResponseEntity<?> getRegions(
+      @Parameter(description = "Length of the geohash prefix of the regions")
+      @RequestParam(defaultValue = "4") int precision,
+      @Parameter(description = "Geohash prefix the regions must lie within")
+      @RequestParam(required = false) String within) {
+    try {
+      return ResponseEntity.ok(readinessAnalyticsService.getRegions(precision, within));
+    } catch (IllegalArgumentException e) {
+      logger.warning(e.getMessage());
+      return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+    } catch (Exception e) {
+      logger.severe("Error fetching readiness per region: " + e.getMessage());
+      return ResponseEntity.status(500).build();
+    }
+  }
+}
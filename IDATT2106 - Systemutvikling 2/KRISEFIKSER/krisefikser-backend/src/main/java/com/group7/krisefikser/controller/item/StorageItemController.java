@@ -5,14 +5,20 @@ import com.group7.krisefikser.dto.request.item.StorageItemRequest;
 import com.group7.krisefikser.dto.request.item.StorageItemSearchRequest;
 import com.group7.krisefikser.dto.request.item.StorageItemSortRequest;
 import com.group7.krisefikser.dto.response.item.AggregatedStorageItemResponse;
+import com.group7.krisefikser.dto.response.item.BulkStorageItemResponse;
 import com.group7.krisefikser.dto.response.item.StorageItemGroupResponse;
 import com.group7.krisefikser.dto.response.item.StorageItemResponse;
 import com.group7.krisefikser.dto.response.other.ErrorResponse;
+import com.group7.krisefikser.enums.ExportFormat;
 import com.group7.krisefikser.enums.ItemType;
 import com.group7.krisefikser.model.item.StorageItem;
+import com.group7.krisefikser.service.household.HouseholdService;
 import com.group7.krisefikser.service.item.ItemService;
+import com.group7.krisefikser.service.item.StorageItemBulkService;
+import com.group7.krisefikser.service.item.StorageItemExportService;
 import com.group7.krisefikser.service.item.StorageItemService;
 import com.group7.krisefikser.service.user.UserService;
+import com.group7.krisefikser.utils.BulkRecordReader;
 import com.group7.krisefikser.utils.ValidationUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -21,12 +27,18 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.logging.Logger;
+import java.util.function.IntFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -37,9 +49,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * StorageItemController handles HTTP requests related to storage items.
@@ -51,24 +65,38 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Storage Item", description = "Endpoints for managing Storage Items")
 public class StorageItemController {
   private final StorageItemService storageItemService;
+  private final StorageItemBulkService storageItemBulkService;
+  private final StorageItemExportService storageItemExportService;
+  private final HouseholdService householdService;
   private final ItemService itemService;
   private final UserService userService;
-  private static final Logger logger = Logger.getLogger(StorageItemController.class.getName());
+  private static final Logger logger = LoggerFactory.getLogger(StorageItemController.class);
 
   /**
    * Constructor for StorageItemController.
    *
-   * @param storageItemService The service for managing storage items
-   * @param itemService        The service for managing items
-   * @param userService        The service for managing users and retrieving the current
-   *                           user's household
+   * @param storageItemService       The service for managing storage items
+   * @param storageItemBulkService   The service for adding, updating and deleting many
+   *                                 storage items at once
+   * @param storageItemExportService The service for exporting storage items
+   * @param householdService         The service for retrieving the current user's
+   *                                 emergency group
+   * @param itemService              The service for managing items
+   * @param userService              The service for managing users and retrieving the current
+   *                                 user's household
    */
   @Autowired
   public StorageItemController(
           StorageItemService storageItemService,
+          StorageItemBulkService storageItemBulkService,
+          StorageItemExportService storageItemExportService,
+          HouseholdService householdService,
           ItemService itemService,
           UserService userService) {
     this.storageItemService = storageItemService;
+    this.storageItemBulkService = storageItemBulkService;
+    this.storageItemExportService = storageItemExportService;
+    this.householdService = householdService;
     this.itemService = itemService;
     this.userService = userService;
   }
@@ -98,7 +126,7 @@ public class StorageItemController {
               .convertToStorageItemResponses(storageItems);
       return ResponseEntity.ok(responses);
     } catch (Exception e) {
-      logger.severe("Error retrieving storage items: " + e.getMessage());
+      logger.error("Error retrieving storage items: {}", e.getMessage());
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
     }
   }
@@ -143,12 +171,12 @@ public class StorageItemController {
               );
       return ResponseEntity.ok(responses);
     } catch (NoSuchElementException e) {
-      logger.info("No shared storage items found: " + e.getMessage());
+      logger.info("No shared storage items found: {}", e.getMessage());
       return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(
               e.getMessage()
       ));
     } catch (Exception e) {
-      logger.severe("Error retrieving shared storage items: " + e.getMessage());
+      logger.error("Error retrieving shared storage items: {}", e.getMessage());
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ErrorResponse(
               "An unexpected error occurred while retrieving shared storage items."
       ));
@@ -192,7 +220,7 @@ public class StorageItemController {
               e.getMessage()
       ));
     } catch (Exception e) {
-      logger.severe("Error retrieving shared storage items: " + e.getMessage());
+      logger.error("Error retrieving shared storage items: {}", e.getMessage());
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ErrorResponse(
               "An unexpected error occurred while retrieving shared storage items."
       ));
@@ -223,21 +251,167 @@ public class StorageItemController {
 
     try {
       int householdId = userService.getCurrentUserHouseholdId();
-      logger.info("Finding storage items expiring within " + days
-              + " days for household ID: " + householdId);
+      logger.debug("Finding storage items expiring within {} days for household ID: {}",
+              days, householdId);
 
       List<StorageItem> storageItems = storageItemService.getExpiringStorageItems(days,
               householdId);
       List<StorageItemResponse> responses = storageItemService
               .convertToStorageItemResponses(storageItems);
-      logger.info("Successfully retrieved expiring storage items");
+      logger.debug("Successfully retrieved expiring storage items");
       return ResponseEntity.ok(responses);
     } catch (Exception e) {
-      logger.severe("Unexpected error finding expiring storage items: " + e.getMessage());
+      logger.error("Unexpected error finding expiring storage items: {}", e.getMessage());
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
     }
   }
 
+  /**
+   * Endpoint to export all storage items of the authenticated user's household.
+   * Rows are written to the response as they are read from the database.
+   *
+   * @param format The format of the export, csv or ndjson
+   * @return The export as a streamed file
+   */
+  @Operation(
+          summary = "Export the storage items of the user's household",
+          description = "Streams all storage items of the authenticated user's household "
+                  + "as CSV or NDJSON, with the details of each item.",
+          parameters = {
+            @Parameter(name = "format", description = "Export format, csv or ndjson")
+          },
+          responses = {
+            @ApiResponse(responseCode = "200", description = "Export started"),
+            @ApiResponse(responseCode = "400", description = "Unknown export format"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+          }
+  )
+  @GetMapping("/household/export")
+  public ResponseEntity<StreamingResponseBody> exportHouseholdStorageItems(
+          @RequestParam(defaultValue = "csv") String format) {
+    try {
+      ExportFormat exportFormat = ExportFormat.fromString(format);
+      int householdId = userService.getCurrentUserHouseholdId();
+      logger.info("Exporting storage items for household ID: {}", householdId);
+      return exportResponse("household-storage", exportFormat, out -> storageItemExportService
+              .exportHouseholdStorage(householdId, exportFormat, out));
+    } catch (IllegalArgumentException e) {
+      logger.info(e.getMessage());
+      return ResponseEntity.badRequest().build();
+    } catch (Exception e) {
+      logger.error("Error exporting storage items: {}", e.getMessage());
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+  }
+
+  /**
+   * Endpoint to export all shared storage items in the authenticated user's emergency group.
+   *
+   * @param format The format of the export, csv or ndjson
+   * @return The export as a streamed file
+   */
+  @Operation(
+          summary = "Export the shared storage items of the user's emergency group",
+          description = "Streams all shared storage items in the authenticated user's "
+                  + "emergency group as CSV or NDJSON, with the household each item belongs to.",
+          parameters = {
+            @Parameter(name = "format", description = "Export format, csv or ndjson")
+          },
+          responses = {
+            @ApiResponse(responseCode = "200", description = "Export started"),
+            @ApiResponse(responseCode = "400", description = "Unknown export format"),
+            @ApiResponse(responseCode = "404", description = "User is not in an emergency group"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+          }
+  )
+  @GetMapping("/emergency-group/export")
+  public ResponseEntity<StreamingResponseBody> exportSharedStorageItemsInGroup(
+          @RequestParam(defaultValue = "csv") String format) {
+    try {
+      ExportFormat exportFormat = ExportFormat.fromString(format);
+      long groupId = householdService.getGroupIdForCurrentUser();
+      logger.info("Exporting shared storage items for emergency group ID: {}", groupId);
+      return exportResponse("group-storage", exportFormat, out -> storageItemExportService
+              .exportGroupStorage(groupId, exportFormat, out));
+    } catch (IllegalArgumentException e) {
+      logger.info(e.getMessage());
+      return ResponseEntity.badRequest().build();
+    } catch (NoSuchElementException e) {
+      logger.info(e.getMessage());
+      return ResponseEntity.notFound().build();
+    } catch (Exception e) {
+      logger.error("Error exporting shared storage items: {}", e.getMessage());
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+  }
+
+  /**
+   * Endpoint to export the storage items of the authenticated user's household that
+   * expire within a specified number of days.
+   *
+   * @param days   The number of days within which the items expire
+   * @param format The format of the export, csv or ndjson
+   * @return The export as a streamed file
+   */
+  @Operation(
+          summary = "Export expiring storage items",
+          description = "Streams the storage items of the authenticated user's household "
+                  + "that expire within the specified number of days as CSV or NDJSON.",
+          parameters = {
+            @Parameter(name = "days", description = "Number of days within which items expire"),
+            @Parameter(name = "format", description = "Export format, csv or ndjson")
+          },
+          responses = {
+            @ApiResponse(responseCode = "200", description = "Export started"),
+            @ApiResponse(responseCode = "400", description = "Unknown export format or "
+                    + "negative number of days"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+          }
+  )
+  @GetMapping("/household/expiring/export")
+  public ResponseEntity<StreamingResponseBody> exportExpiringStorageItems(
+          @RequestParam(defaultValue = "7") int days,
+          @RequestParam(defaultValue = "csv") String format) {
+    try {
+      ExportFormat exportFormat = ExportFormat.fromString(format);
+      if (days < 0) {
+        throw new IllegalArgumentException("Days cannot be negative");
+      }
+      int householdId = userService.getCurrentUserHouseholdId();
+      logger.info("Exporting storage items expiring within {} days for household ID: {}",
+              days, householdId);
+      return exportResponse("expiring-storage", exportFormat, out -> storageItemExportService
+              .exportExpiringItems(householdId, days, exportFormat, out));
+    } catch (IllegalArgumentException e) {
+      logger.info(e.getMessage());
+      return ResponseEntity.badRequest().build();
+    } catch (Exception e) {
+      logger.error("Error exporting expiring storage items: {}", e.getMessage());
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+  }
+
+  /**
+   * Builds the response for an export, served as a file download.
+   *
+   * @param fileName The name of the file, without extension
+   * @param format   The format of the export
+   * @param body     Writes the export to the response
+   * @return The response streaming the export
+   */
+  private ResponseEntity<StreamingResponseBody> exportResponse(
+          String fileName,
+          ExportFormat format,
+          StreamingResponseBody body) {
+    return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getMediaType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(fileName + "." + format.getFileExtension())
+                    .build()
+                    .toString())
+            .body(body);
+  }
+
   /**
    * Endpoint to find storage items by item ID for the authenticated user's household.
    *
@@ -262,18 +436,18 @@ public class StorageItemController {
 
     try {
       int householdId = userService.getCurrentUserHouseholdId();
-      logger.info("Finding storage items with item ID: " + itemId
-              + " for household ID: " + householdId);
+      logger.debug("Finding storage items with item ID: {} for household ID: {}",
+              itemId, householdId);
 
       List<StorageItem> storageItems = storageItemService.getStorageItemsByItemId(itemId,
               householdId);
       List<StorageItemResponse> responses = storageItemService
               .convertToStorageItemResponses(storageItems);
-      logger.info("Successfully retrieved storage items with item ID: " + itemId);
+      logger.debug("Successfully retrieved storage items with item ID: {}", itemId);
       return ResponseEntity.ok(responses);
     } catch (Exception e) {
-      logger.severe("Unexpected error finding storage items with item ID: " + itemId
-              + ": " + e.getMessage());
+      logger.error("Unexpected error finding storage items with item ID: {}: {}",
+              itemId, e.getMessage());
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
     }
   }
@@ -305,7 +479,7 @@ public class StorageItemController {
               .getAggregatedStorageItems(householdId);
       return ResponseEntity.ok(responses);
     } catch (Exception e) {
-      logger.severe("Error retrieving aggregated storage items: " + e.getMessage());
+      logger.error("Error retrieving aggregated storage items: {}", e.getMessage());
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
     }
   }
@@ -339,18 +513,17 @@ public class StorageItemController {
 
     try {
       int householdId = userService.getCurrentUserHouseholdId();
-      logger.info("Sorting aggregated storage items by: " + request.getSortBy()
-              + " in direction: " + request.getSortDirection()
-              + " for household ID: " + householdId);
+      logger.debug("Sorting aggregated storage items by: {} in direction: {} for household ID: {}",
+              request.getSortBy(), request.getSortDirection(), householdId);
 
       List<AggregatedStorageItemResponse> responses = storageItemService.getAggregatedStorageItems(
               householdId,
               request.getSortBy(),
               request.getSortDirection());
-      logger.info("Successfully sorted aggregated storage items");
+      logger.debug("Successfully sorted aggregated storage items");
       return ResponseEntity.ok(responses);
     } catch (Exception e) {
-      logger.severe("Unexpected error sorting aggregated storage items: " + e.getMessage());
+      logger.error("Unexpected error sorting aggregated storage items: {}", e.getMessage());
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
     }
   }
@@ -382,8 +555,8 @@ public class StorageItemController {
 
     try {
       int householdId = userService.getCurrentUserHouseholdId();
-      logger.info("Filtering aggregated storage items by item types: " + types
-              + " for household ID: " + householdId);
+      logger.debug("Filtering aggregated storage items by item types: {} for household ID: {}",
+              types, householdId);
 
       // Convert string types to ItemType enums
       List<ItemType> itemTypes = itemService.convertToItemTypes(types);
@@ -395,11 +568,11 @@ public class StorageItemController {
                       null,
                       null);
 
-      logger.info("Successfully filtered aggregated storage items by item type");
+      logger.debug("Successfully filtered aggregated storage items by item type");
       return ResponseEntity.ok(responses);
     } catch (Exception e) {
-      logger.severe("Unexpected error filtering aggregated storage items by item type: "
-              + e.getMessage());
+      logger.error("Unexpected error filtering aggregated storage items by item type: {}",
+              e.getMessage());
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
     }
   }
@@ -433,8 +606,8 @@ public class StorageItemController {
 
     try {
       int householdId = userService.getCurrentUserHouseholdId();
-      logger.info("Filtering and sorting aggregated storage items for household ID: "
-              + householdId);
+      logger.debug("Filtering and sorting aggregated storage items for household ID: {}",
+              householdId);
 
       // Convert string types to ItemType enums
       List<ItemType> itemTypes = itemService.convertToItemTypes(types);
@@ -446,11 +619,11 @@ public class StorageItemController {
                       sortRequest.getSortBy(),
                       sortRequest.getSortDirection());
 
-      logger.info("Successfully filtered and sorted aggregated storage items");
+      logger.debug("Successfully filtered and sorted aggregated storage items");
       return ResponseEntity.ok(responses);
     } catch (Exception e) {
-      logger.severe("Unexpected error filtering and sorting aggregated storage items: "
-              + e.getMessage());
+      logger.error("Unexpected error filtering and sorting aggregated storage items: {}",
+              e.getMessage());
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
     }
   }
@@ -481,9 +654,9 @@ public class StorageItemController {
 
     try {
       int householdId = userService.getCurrentUserHouseholdId();
-      logger.info("Searching aggregated storage items with search term: " + request.getSearchTerm()
-              + " and types: " + request.getTypes()
-              + " for household ID: " + householdId);
+      logger.debug("Searching aggregated storage items with search term: {} and types: {} for "
+              + "household ID: {}",
+              request.getSearchTerm(), request.getTypes(), householdId);
 
       // Convert string types to ItemType enums
       List<ItemType> itemTypes = itemService.convertToItemTypes(request.getTypes());
@@ -496,11 +669,11 @@ public class StorageItemController {
                       request.getSortBy(),
                       request.getSortDirection());
 
-      logger.info("Successfully searched aggregated storage items, found "
-              + responses.size() + " matches");
+      logger.debug("Successfully searched aggregated storage items, found {} matches",
+              responses.size());
       return ResponseEntity.ok(responses);
     } catch (Exception e) {
-      logger.severe("Unexpected error searching aggregated storage items: " + e.getMessage());
+      logger.error("Unexpected error searching aggregated storage items: {}", e.getMessage());
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
     }
   }
@@ -533,18 +706,159 @@ public class StorageItemController {
           @Valid @RequestBody StorageItemRequest request) {
     try {
       int householdId = userService.getCurrentUserHouseholdId();
-      logger.info("Adding a new storage item for household ID: " + householdId);
+      logger.info("Adding a new storage item for household ID: {}", householdId);
 
       StorageItemResponse response = storageItemService.addStorageItemFromRequest(householdId,
               request);
-      logger.info("Successfully added storage item with ID: " + response.getId());
+      logger.debug("Successfully added storage item with ID: {}", response.getId());
       return ResponseEntity.status(HttpStatus.CREATED).body(response);
     } catch (Exception e) {
-      logger.severe("Error adding storage item: " + e.getMessage());
+      logger.error("Error adding storage item: {}", e.getMessage());
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
     }
   }
 
+  /**
+   * Endpoint to add many storage items to the authenticated user's household at once.
+   * The body is read as a stream, so uploads of any size use a constant amount of memory.
+   *
+   * @param contentType The content type of the upload, JSON or CSV
+   * @param body        The upload
+   * @return The number of storage items added
+   */
+  @Operation(
+          summary = "Add many storage items",
+          description = "Adds all storage items in a JSON array or CSV upload to the "
+                  + "authenticated user's household in a single transaction. CSV uploads "
+                  + "need a header with the columns expirationDate, quantity and itemId. "
+                  + "If any row is invalid, nothing is added.",
+          responses = {
+            @ApiResponse(responseCode = "201", description = "Storage items successfully added",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkStorageItemResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid upload",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+          }
+  )
+  @PostMapping(value = "/household/bulk",
+          consumes = {MediaType.APPLICATION_JSON_VALUE, BulkRecordReader.TEXT_CSV_VALUE})
+  public ResponseEntity<Object> addStorageItemsInBulk(
+          @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+          InputStream body) {
+    return handleBulkOperation("adding", HttpStatus.CREATED,
+            householdId -> storageItemBulkService.addStorageItems(householdId, body,
+                    BulkRecordReader.Format.fromContentType(contentType)));
+  }
+
+  /**
+   * Endpoint to update many storage items in the authenticated user's household at once.
+   *
+   * @param contentType The content type of the upload, JSON or CSV
+   * @param body        The upload
+   * @return The number of storage items updated
+   */
+  @Operation(
+          summary = "Update many storage items",
+          description = "Updates all storage items in a JSON array or CSV upload in the "
+                  + "authenticated user's household in a single transaction. CSV uploads "
+                  + "need a header with the columns id, expirationDate, quantity and itemId. "
+                  + "If any row is invalid or not found, nothing is updated.",
+          responses = {
+            @ApiResponse(responseCode = "200", description = "Storage items successfully updated",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkStorageItemResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid upload",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Storage item not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+          }
+  )
+  @PutMapping(value = "/household/bulk",
+          consumes = {MediaType.APPLICATION_JSON_VALUE, BulkRecordReader.TEXT_CSV_VALUE})
+  public ResponseEntity<Object> updateStorageItemsInBulk(
+          @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+          InputStream body) {
+    return handleBulkOperation("updating", HttpStatus.OK,
+            householdId -> storageItemBulkService.updateStorageItems(householdId, body,
+                    BulkRecordReader.Format.fromContentType(contentType)));
+  }
+
+  /**
+   * Endpoint to delete many storage items from the authenticated user's household at once.
+   *
+   * @param contentType The content type of the upload, JSON or CSV
+   * @param body        The upload
+   * @return The number of storage items deleted
+   */
+  @Operation(
+          summary = "Delete many storage items",
+          description = "Deletes all storage items in a JSON array of IDs or a CSV upload with "
+                  + "an id column from the authenticated user's household in a single "
+                  + "transaction. If any storage item is not found, nothing is deleted.",
+          responses = {
+            @ApiResponse(responseCode = "200", description = "Storage items successfully deleted",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkStorageItemResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid upload",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Storage item not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+          }
+  )
+  @DeleteMapping(value = "/household/bulk",
+          consumes = {MediaType.APPLICATION_JSON_VALUE, BulkRecordReader.TEXT_CSV_VALUE})
+  public ResponseEntity<Object> deleteStorageItemsInBulk(
+          @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+          InputStream body) {
+    return handleBulkOperation("deleting", HttpStatus.OK,
+            householdId -> storageItemBulkService.deleteStorageItems(householdId, body,
+                    BulkRecordReader.Format.fromContentType(contentType)));
+  }
+
+  /**
+   * Runs a bulk operation and maps its outcome to a response.
+   *
+   * @param action        The name of the operation, used in log and error messages
+   * @param successStatus The status to respond with if the operation succeeds
+   * @param operation     The operation to run for the household of the current user
+   * @return The number of storage items affected, or an error response
+   */
+  private ResponseEntity<Object> handleBulkOperation(
+          String action,
+          HttpStatus successStatus,
+          IntFunction<BulkStorageItemResponse> operation) {
+    try {
+      int householdId = userService.getCurrentUserHouseholdId();
+      logger.info("Started {} storage items in bulk for household ID: {}", action, householdId);
+      BulkStorageItemResponse response = operation.apply(householdId);
+      logger.debug("Successfully finished {} {} storage items in bulk",
+              action, response.getCount());
+      return ResponseEntity.status(successStatus).body(response);
+    } catch (IllegalArgumentException e) {
+      logger.info("Rejected bulk upload: {}", e.getMessage());
+      return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+    } catch (NoSuchElementException e) {
+      logger.info(e.getMessage());
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(
+              e.getMessage()
+      ));
+    } catch (Exception e) {
+      logger.error("Error {} storage items in bulk: {}", action, e.getMessage());
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+              new ErrorResponse("An unexpected error occurred while " + action
+                      + " storage items.")
+      );
+    }
+  }
+
   /**
    * Endpoint to update an existing storage item in the authenticated user's household.
    *
@@ -577,19 +891,18 @@ public class StorageItemController {
           @Valid @RequestBody StorageItemRequest request) {
     try {
       int householdId = userService.getCurrentUserHouseholdId();
-      logger.info("Updating storage item with ID: " + id
-              + " for household ID: " + householdId);
+      logger.info("Updating storage item with ID: {} for household ID: {}", id, householdId);
 
       StorageItemResponse response = storageItemService.updateStorageItemFromRequest(
               id, householdId, request);
-      logger.info("Successfully updated storage item with ID: " + id);
+      logger.debug("Successfully updated storage item with ID: {}", id);
       return ResponseEntity.ok(response);
     } catch (RuntimeException e) {
       if (e.getMessage().contains("not found")) {
-        logger.info("Storage item not found with ID: " + id);
+        logger.info("Storage item not found with ID: {}", id);
         return ResponseEntity.notFound().build();
       }
-      logger.severe("Error updating storage item: " + e.getMessage());
+      logger.error("Error updating storage item: {}", e.getMessage());
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
     }
   }
@@ -633,7 +946,7 @@ public class StorageItemController {
 
       StorageItemResponse response = storageItemService.updateSharedStorageItem(
               id, request);
-      logger.info("Successfully updated shared storage item with ID: " + id);
+      logger.debug("Successfully updated shared storage item with ID: {}", id);
       return ResponseEntity.ok(response);
     } catch (IllegalArgumentException e) {
       logger.info(e.getMessage());
@@ -646,7 +959,7 @@ public class StorageItemController {
               e.getMessage()
       ));
     } catch (Exception e) {
-      logger.severe("Error updating shared storage item: " + e.getMessage());
+      logger.error("Error updating shared storage item: {}", e.getMessage());
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
                 new ErrorResponse("An unexpected error occurred while updating the "
                         + "shared storage item.")
@@ -679,18 +992,17 @@ public class StorageItemController {
 
     try {
       int householdId = userService.getCurrentUserHouseholdId();
-      logger.info("Deleting storage item with ID: " + id
-              + " in household with ID: " + householdId);
+      logger.info("Deleting storage item with ID: {} in household with ID: {}", id, householdId);
 
       storageItemService.deleteStorageItem(id, householdId);
-      logger.info("Successfully deleted storage item with ID: " + id);
+      logger.debug("Successfully deleted storage item with ID: {}", id);
       return ResponseEntity.noContent().build();
     } catch (RuntimeException e) {
       if (e.getMessage().contains("not found")) {
-        logger.info("Storage item not found with ID: " + id);
+        logger.info("Storage item not found with ID: {}", id);
         return ResponseEntity.notFound().build();
       }
-      logger.severe("Error deleting storage item: " + e.getMessage());
+      logger.error("Error deleting storage item: {}", e.getMessage());
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
     }
   }
@@ -737,15 +1049,15 @@ public class StorageItemController {
     }
     try {
       int householdId = userService.getCurrentUserHouseholdId();
-      logger.info("Updating share status of storage item with ID: " + id
-              + " for household ID: " + householdId);
+      logger.info("Updating share status of storage item with ID: {} for household ID: {}",
+              id, householdId);
 
       List<StorageItemResponse> response = storageItemService.updateStorageItemSharedStatus(id,
               householdId, request);
-      logger.info("Successfully updated share status of storage item with ID: " + id);
+      logger.debug("Successfully updated share status of storage item with ID: {}", id);
       return ResponseEntity.ok(response);
     } catch (IllegalArgumentException e) {
-      logger.info("Did not update share status of storage item: " + e.getMessage());
+      logger.info("Did not update share status of storage item: {}", e.getMessage());
       return ResponseEntity.badRequest().body(new ErrorResponse(
                 e.getMessage()
               ));
@@ -755,7 +1067,7 @@ public class StorageItemController {
               e.getMessage()
       ));
     } catch (Exception e) {
-      logger.severe("Error updating share status of storage item: " + e.getMessage());
+      logger.error("Error updating share status of storage item: {}", e.getMessage());
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
               new ErrorResponse("An unexpected error occurred while updating the "
                       + "share status of the storage item.")
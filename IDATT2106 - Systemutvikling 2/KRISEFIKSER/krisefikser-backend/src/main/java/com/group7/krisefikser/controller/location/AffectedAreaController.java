@@ -2,8 +2,10 @@ package com.group7.krisefikser.controller.location;
 
 import com.group7.krisefikser.dto.request.location.AffectedAreaRequest;
 import com.group7.krisefikser.dto.response.location.AffectedAreaResponse;
+import com.group7.krisefikser.dto.response.location.AreaImpactResponse;
 import com.group7.krisefikser.dto.response.other.ErrorResponse;
 import com.group7.krisefikser.service.location.AffectedAreaService;
+import com.group7.krisefikser.service.location.AreaImpactService;
 import com.group7.krisefikser.utils.ValidationUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -39,6 +41,7 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 @Tag(name = "Affected Area", description = "Endpoints for managing affected areas")
 public class AffectedAreaController {
   private final AffectedAreaService affectedAreaService;
+  private final AreaImpactService areaImpactService;
 
   private static final Logger logger = Logger.getLogger(AffectedAreaController.class.getName());
 
@@ -238,4 +241,54 @@ public class AffectedAreaController {
       return ResponseEntity.status(500).body("Error updating affected area");
     }
   }
+
+  /**
+   * Endpoint to fetch the impact of an affected area.
+   *
+   * @param id the ID of the affected area
+   * @return the households, people and stock inside each danger zone of the area
+   */
+  @Operation(
+          summary = "Get the impact of an affected area",
+          description = "Retrieves how many households, residents, non-user members and users "
+                  + "sharing their position are inside each danger zone of an affected area, "
+                  + "and how many days the stock of those households lasts. The households, "
+                  + "residents, non-user members and stock are cached for up to a minute, so "
+                  + "changes to stock or household members can take that long to show up. "
+                  + "Changes to the area and to shared positions show up at once.",
+          parameters = {
+            @Parameter(
+                    name = "id", in = ParameterIn.PATH,
+                    description = "ID of the affected area",
+                    schema = @Schema(type = "integer", format = "int64"))
+          },
+          responses = {
+            @ApiResponse(responseCode = "200", description =
+                    "Successfully retrieved the impact of the affected area",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AreaImpactResponse.class))),
+            @ApiResponse(responseCode = "404", description =
+                    "Affected area not found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description =
+                    "Internal server error",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+          }
+  )
+  @GetMapping("/{id}/impact")
+  public ResponseEntity<Object> getAffectedAreaImpact(@PathVariable Long id) {
+    logger.info("Fetching impact of affected area with ID: " + id);
+    try {
+      return ResponseEntity.ok(areaImpactService.getImpact(id));
+    } catch (IllegalArgumentException e) {
+      logger.severe(e.getMessage());
+      return ResponseEntity.status(404).body(new ErrorResponse(e.getMessage()));
+    } catch (Exception e) {
+      logger.severe("Error fetching impact of affected area: " + e.getMessage());
+      return ResponseEntity.status(500).body(new ErrorResponse(
+              "Error fetching impact of affected area"));
+    }
+  }
 }
@@ -0,0 +1,83 @@
+package com.group7.krisefikser.controller.location;
+
+import com.group7.krisefikser.dto.response.location.TileResponse;
+import com.group7.krisefikser.service.location.TileService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class for map tiles.
+ * It lets the map fetch the clustered points of interest and the affected areas of the tiles
+ * in view, instead of every point of interest and affected area.
+ */
+@RestController
+@RequestMapping("/api/tiles")
+@RequiredArgsConstructor
+@Tag(name = "Tiles", description = "Map tiles with clustered points of interest and areas")
+public class TileController {
+  private final TileService tileService;
+
+  private static final Logger logger = LoggerFactory.getLogger(TileController.class);
+
+  /**
+   * Endpoint to fetch a map tile.
+   *
+   * @param z the zoom level
+   * @param x the column of the tile
+   * @param y the row of the tile
+   * @return the tile
+   */
+  @Operation(
+      summary = "Get a map tile",
+      description = "Retrieves the points of interest within a tile, clustered per type, and "
+          + "the affected areas overlapping it, as polygons simplified for the zoom level"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Successfully retrieved the tile",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = TileResponse.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Invalid tile",
+          content = @Content(mediaType = "application/json")
+      ),
+      @ApiResponse(
+          responseCode = "500",
+          description = "Internal server error",
+          content = @Content(mediaType = "application/json")
+      )
+  })
+  @GetMapping("/{z}/{x}/{y}")
+  public ResponseEntity<TileResponse> getTile(
+      @Parameter(description = "Zoom level") @PathVariable int z,
+      @Parameter(description = "Column of the tile") @PathVariable int x,
+      @Parameter(description = "Row of the tile") @PathVariable int y) {
+    try {
+      return ResponseEntity.ok(tileService.getTile(z, x, y));
+    } catch (IllegalArgumentException e) {
+      logger.warn("Invalid tile request: {}", e.getMessage());
+      return ResponseEntity.badRequest().build();
+    } catch (Exception e) {
+      logger.error("Error fetching tile {}/{}/{}: {}", z, x, y, e.getMessage());
+      return ResponseEntity.status(500).build();
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package com.group7.krisefikser.controller.other;
+
+import com.group7.krisefikser.dto.response.other.BroadcastResponse;
+import com.group7.krisefikser.service.other.BroadcastService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class for emergency broadcasts.
+ * It lets admins follow the delivery of the broadcasts sent when severe affected areas are
+ * created.
+ */
+@RestController
+@RequestMapping("/api/broadcasts")
+@Tag(name = "Broadcast", description = "Progress of emergency broadcasts")
+public class BroadcastController {
+
+  private final BroadcastService broadcastService;
+  private static final Logger logger = LoggerFactory.getLogger(BroadcastController.class);
+
+  /**
+   * Constructor for BroadcastController.
+   *
+   * @param broadcastService the service managing the broadcasts
+   */
+  @Autowired
+  public BroadcastController(BroadcastService broadcastService) {
+    this.broadcastService = broadcastService;
+  }
+
+  /**
+   * Retrieves the broadcasts that are still being delivered.
+   *
+   * @return a ResponseEntity containing the broadcasts
+   */
+  @Operation(
+      summary = "Get active broadcasts",
+      description = "Retrieves the broadcasts that are still being delivered, oldest first"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Successfully retrieved the broadcasts",
+          content = @Content(
+              mediaType = "application/json",
+              array = @ArraySchema(schema = @Schema(implementation = BroadcastResponse.class))
+          )
+      ),
+      @ApiResponse(
+          responseCode = "500",
+          description = "Internal server error",
+          content = @Content(mediaType = "application/json")
+      )
+  })
+  @GetMapping
+  public ResponseEntity<List<BroadcastResponse>> getActiveBroadcasts() {
+    try {
+      return ResponseEntity.ok(broadcastService.getActiveBroadcasts());
+    } catch (Exception e) {
+      logger.error("Error fetching active broadcasts: {}", e.getMessage());
+      return ResponseEntity.status(500).build();
+    }
+  }
+
+  /**
+   * Retrieves the progress of a broadcast.
+   *
+   * @param id the ID of the broadcast
+   * @return a ResponseEntity containing the broadcast
+   */
+  @Operation(
+      summary = "Get a broadcast",
+      description = "Retrieves a broadcast and how many of its recipients it has been "
+          + "delivered to"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Successfully retrieved the broadcast",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = BroadcastResponse.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "404",
+          description = "Broadcast not found",
+          content = @Content(mediaType = "application/json")
+      ),
+      @ApiResponse(
+          responseCode = "500",
+          description = "Internal server error",
+          content = @Content(mediaType = "application/json")
+      )
+  })
+  @GetMapping("/{id}")
+  public ResponseEntity<BroadcastResponse> getBroadcast(
+      @Parameter(description = "ID of the broadcast") @PathVariable long id) {
+    try {
+      return ResponseEntity.ok(broadcastService.getBroadcast(id));
+    } catch (IllegalArgumentException e) {
+      logger.warn(e.getMessage());
+      return ResponseEntity.notFound().build();
+    } catch (Exception e) {
+      logger.error("Error fetching broadcast {}: {}", id, e.getMessage());
+      return ResponseEntity.status(500).build();
+    }
+  }
+}
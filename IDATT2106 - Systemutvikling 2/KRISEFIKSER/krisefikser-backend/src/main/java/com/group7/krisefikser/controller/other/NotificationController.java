@@ -9,8 +9,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.List;
-import java.util.logging.Logger;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -30,7 +31,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class NotificationController {
 
   private final NotificationService notificationService;
-  private static final Logger logger = Logger.getLogger(NotificationController.class.getName());
+  private static final Logger logger = LoggerFactory.getLogger(NotificationController.class);
 
   /**
    * Endpoint to get incident notifications.
@@ -61,16 +62,16 @@ public class NotificationController {
   @PostMapping("/incidents")
   public ResponseEntity<List<NotificationResponse>> getIncidentsNotifications(@RequestBody
                         NotificationRequest request) {
-    logger.info("Retrieving incident notifications");
+    logger.debug("Retrieving incident notifications");
     double latitude = request.getLatitude();
     double longitude = request.getLongitude();
     try {
       List<NotificationResponse> notifications =
           notificationService.getIncidentsNotification(latitude, longitude);
-      logger.info("Retrieved " + notifications.size() + " incident notifications");
+      logger.debug("Retrieved {} incident notifications", notifications.size());
       return ResponseEntity.ok(notifications);
     } catch (Exception e) {
-      logger.severe("Error retrieving incident notifications: " + e.getMessage());
+      logger.error("Error retrieving incident notifications: {}", e.getMessage());
       return ResponseEntity.status(500).body(null);
     }
   }
@@ -0,0 +1,90 @@
+package com.group7.krisefikser.controller.other;
+
+import com.group7.krisefikser.dto.response.other.SyncResponse;
+import com.group7.krisefikser.service.other.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.logging.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class for syncing offline clients.
+ * It lets a client fetch the storage items and members of its household, the affected areas
+ * and the points of interest that changed since its last sync, instead of fetching every
+ * list again.
+ */
+@RestController
+@RequestMapping("/api/sync")
+@Tag(name = "Sync", description = "Delta sync for offline clients")
+public class SyncController {
+
+  private final SyncService syncService;
+  private static final Logger logger = Logger.getLogger(SyncController.class.getName());
+
+  /**
+   * Constructor for SyncController.
+   *
+   * @param syncService the service used to compute the changes
+   */
+  @Autowired
+  public SyncController(SyncService syncService) {
+    this.syncService = syncService;
+  }
+
+  /**
+   * Retrieves the changes since the given token.
+   *
+   * @param since the token returned by the previous sync, omitted for the first sync
+   * @return a ResponseEntity containing the changes and the token for the next sync
+   */
+  @Operation(
+      summary = "Sync changes since the last sync",
+      description = "Retrieves the inserted, updated and deleted storage items, household "
+          + "members, affected areas and points of interest since the given token. "
+          + "Without a token, or with an expired token, every collection is sent in full"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Successfully retrieved the changes",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = SyncResponse.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Invalid token",
+          content = @Content(mediaType = "application/json")
+      ),
+      @ApiResponse(
+          responseCode = "500",
+          description = "Internal server error",
+          content = @Content(mediaType = "application/json")
+      )
+  })
+  @GetMapping
+  public ResponseEntity<SyncResponse> sync(
+      @Parameter(description = "Token returned by the previous sync")
+      @RequestParam(required = false) String since) {
+    try {
+      return ResponseEntity.ok(syncService.sync(since));
+    } catch (IllegalArgumentException e) {
+      logger.warning("Invalid sync request: " + e.getMessage());
+      return ResponseEntity.badRequest().build();
+    } catch (Exception e) {
+      logger.severe("Error syncing changes: " + e.getMessage());
+      return ResponseEntity.status(500).build();
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.group7.krisefikser.dto.request.item;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request class for one row of a bulk update of storage items.
+ * It holds the ID of the storage item to update along with its new details.
+ * The rows are validated by the bulk service, since they are read as a stream
+ * rather than bound and validated as a single request body.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StorageItemBulkUpdateRequest {
+  private Integer id;
+  private LocalDateTime expirationDate;
+  private Double quantity;
+  private Integer itemId;
+}
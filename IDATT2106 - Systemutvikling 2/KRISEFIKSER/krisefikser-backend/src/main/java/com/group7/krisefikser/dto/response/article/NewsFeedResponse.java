@@ -0,0 +1,19 @@
+package com.group7.krisefikser.dto.response.article;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This class represents one page of the news feed sent to the client.
+ * It contains the shortened articles on the page and a cursor for fetching the next page.
+ * The cursor is null when there are no more articles.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NewsFeedResponse {
+  private List<ShortenedNewsArticleResponse> articles;
+  private String nextCursor;
+}
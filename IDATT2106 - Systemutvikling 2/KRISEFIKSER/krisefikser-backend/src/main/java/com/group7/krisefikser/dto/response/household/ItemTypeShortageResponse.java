@@ -0,0 +1,18 @@
+package com.group7.krisefikser.dto.response.household;
+
+import com.group7.krisefikser.enums.ItemType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents how many households in a region have none of one type of item in stock.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemTypeShortageResponse {
+  private ItemType itemType;
+  private int householdsMissing;
+  private double shareMissing;
+}
@@ -0,0 +1,29 @@
+package com.group7.krisefikser.dto.response.household;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents the readiness of the households in a region, identified by a geohash prefix.
+ * The averages and the share under three days are taken over the households with at least
+ * one user. The item types are ordered from the most to the least missing.
+ * The computed time is when the oldest part of the figures was computed.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RegionReadinessResponse {
+  private String region;
+  private int households;
+  private int residents;
+  private int nonUserMembers;
+  private double averageFoodDays;
+  private double averageWaterDays;
+  private double averageReadinessDays;
+  private double shareUnderThreeDays;
+  private List<ItemTypeShortageResponse> missingItemTypes;
+  private LocalDateTime computedAt;
+}
@@ -0,0 +1,17 @@
+package com.group7.krisefikser.dto.response.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO class for a bulk operation on storage items.
+ * It only holds the number of storage items affected, so the response stays small
+ * regardless of the size of the upload.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStorageItemResponse {
+  private int count;
+}
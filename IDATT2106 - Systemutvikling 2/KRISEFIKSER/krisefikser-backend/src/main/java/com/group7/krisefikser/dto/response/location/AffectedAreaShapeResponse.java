@@ -0,0 +1,22 @@
+package com.group7.krisefikser.dto.response.location;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents an affected area drawn on a map tile. Each danger zone is a closed ring of
+ * [longitude, latitude] pairs, with as few vertices as the zoom level allows.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AffectedAreaShapeResponse {
+  private Long id;
+  private String name;
+  private int severityLevel;
+  private List<double[]> highDangerZone;
+  private List<double[]> mediumDangerZone;
+  private List<double[]> lowDangerZone;
+}
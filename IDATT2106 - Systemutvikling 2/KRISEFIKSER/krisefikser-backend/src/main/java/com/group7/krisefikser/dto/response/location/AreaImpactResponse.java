@@ -0,0 +1,19 @@
+package com.group7.krisefikser.dto.response.location;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents the impact of an affected area, with the households, people and stock inside its
+ * high, medium and low danger zones, in that order.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AreaImpactResponse {
+  private Long areaId;
+  private String name;
+  private List<ZoneImpactResponse> zones;
+}
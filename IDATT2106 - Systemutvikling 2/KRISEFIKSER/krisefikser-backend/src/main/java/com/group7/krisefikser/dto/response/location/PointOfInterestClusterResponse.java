@@ -0,0 +1,21 @@
+package com.group7.krisefikser.dto.response.location;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents the points of interest of one type that are drawn close together at a zoom level.
+ * The position is the mean position of the points. When the cluster holds a single point,
+ * its ID is included so the client can show its details.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PointOfInterestClusterResponse {
+  private String type;
+  private int count;
+  private double latitude;
+  private double longitude;
+  private Long id;
+}
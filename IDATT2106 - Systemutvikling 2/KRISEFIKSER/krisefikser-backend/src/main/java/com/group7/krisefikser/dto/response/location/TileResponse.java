@@ -0,0 +1,21 @@
+package com.group7.krisefikser.dto.response.location;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents one map tile, with the points of interest within it clustered for its zoom level
+ * and the affected areas that overlap it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TileResponse {
+  private int z;
+  private int x;
+  private int y;
+  private List<PointOfInterestClusterResponse> clusters;
+  private List<AffectedAreaShapeResponse> affectedAreas;
+}
@@ -0,0 +1,26 @@
+package com.group7.krisefikser.dto.response.location;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents who and what is inside one danger zone of an affected area. A household or user
+ * is counted in the innermost zone it is inside only, so the zones do not overlap.
+ * The readiness is how many days the stock of the households in the zone lasts for their
+ * members together.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ZoneImpactResponse {
+  private String zone;
+  private double radiusKm;
+  private int households;
+  private int residents;
+  private int nonUserMembers;
+  private int usersPresent;
+  private double calories;
+  private double waterLiters;
+  private double readinessDays;
+}
@@ -0,0 +1,40 @@
+package com.group7.krisefikser.dto.response.other;
+
+import com.group7.krisefikser.model.other.Broadcast;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents the progress of an emergency broadcast. The number of recipients is known once
+ * they have been resolved, and the broadcast is completed once it has been delivered to all
+ * of them.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BroadcastResponse {
+  private Long id;
+  private Long affectedAreaId;
+  private String message;
+  private int totalRecipients;
+  private int sent;
+  private int failed;
+  private LocalDateTime createdAt;
+  private LocalDateTime resolvedAt;
+  private LocalDateTime completedAt;
+
+  /**
+   * Converts a Broadcast entity to a BroadcastResponse DTO.
+   *
+   * @param broadcast the broadcast
+   * @return the response
+   */
+  public static BroadcastResponse fromEntity(Broadcast broadcast) {
+    return new BroadcastResponse(broadcast.getId(), broadcast.getAffectedAreaId(),
+        broadcast.getMessage(), broadcast.getTotalRecipients(), broadcast.getSent(),
+        broadcast.getFailed(), broadcast.getCreatedAt(), broadcast.getResolvedAt(),
+        broadcast.getCompletedAt());
+  }
+}
@@ -0,0 +1,44 @@
+package com.group7.krisefikser.dto.response.other;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This class represents the changes to one collection sent to an offline client.
+ * When the collection is replaced, the client should drop its copy and keep only the
+ * upserted entities. Otherwise the upserted entities are inserted or updated,
+ * and the deleted IDs are removed.
+ *
+ * @param <T> the type of the entities in the collection
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SyncChanges<T> {
+  private boolean replaced;
+  private List<T> upserted;
+  private List<Long> deleted;
+
+  /**
+   * Creates the changes for a collection that is sent in full.
+   *
+   * @param entities the entities of the collection
+   * @param <T>      the type of the entities
+   * @return the changes
+   */
+  public static <T> SyncChanges<T> replacedBy(List<T> entities) {
+    return new SyncChanges<>(true, entities, List.of());
+  }
+
+  /**
+   * Creates the changes for a collection that has not changed.
+   *
+   * @param <T> the type of the entities
+   * @return the changes
+   */
+  public static <T> SyncChanges<T> unchanged() {
+    return new SyncChanges<>(false, List.of(), List.of());
+  }
+}
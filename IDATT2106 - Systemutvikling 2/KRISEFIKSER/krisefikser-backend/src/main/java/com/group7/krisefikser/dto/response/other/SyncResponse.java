@@ -0,0 +1,27 @@
+package com.group7.krisefikser.dto.response.other;
+
+import com.group7.krisefikser.dto.response.household.GetHouseholdMembersResponse;
+import com.group7.krisefikser.dto.response.item.StorageItemResponse;
+import com.group7.krisefikser.dto.response.location.AffectedAreaResponse;
+import com.group7.krisefikser.dto.response.location.PointOfInterestResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This class represents the changes sent to an offline client since its last sync.
+ * The token is sent back with the next sync. When the response is full, every collection
+ * is sent in full, and when more changes are waiting the client should sync again at once.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SyncResponse {
+  private String token;
+  private boolean full;
+  private boolean hasMore;
+  private SyncChanges<StorageItemResponse> storageItems;
+  private SyncChanges<GetHouseholdMembersResponse> members;
+  private SyncChanges<AffectedAreaResponse> affectedAreas;
+  private SyncChanges<PointOfInterestResponse> pointsOfInterest;
+}
@@ -10,5 +10,7 @@ public enum EmailTemplateType {
   HOUSEHOLD_INVITE,
   ADMIN_INVITE,
   ADMIN_VERIFICATION,
-  VERIFY_EMAIL
+  VERIFY_EMAIL,
+  EXPIRY_REMINDER,
+  EMERGENCY_BROADCAST
 }
@@ -0,0 +1,45 @@
+package com.group7.krisefikser.enums;
+
+/**
+ * Enum representing the formats data can be exported in.
+ * CSV is meant for spreadsheets, NDJSON (one JSON object per line) for other programs.
+ */
+public enum ExportFormat {
+  CSV("text/csv", "csv"),
+  NDJSON("application/x-ndjson", "ndjson");
+
+  private final String mediaType;
+  private final String fileExtension;
+
+  ExportFormat(String mediaType, String fileExtension) {
+    this.mediaType = mediaType;
+    this.fileExtension = fileExtension;
+  }
+
+  public String getMediaType() {
+    return mediaType;
+  }
+
+  public String getFileExtension() {
+    return fileExtension;
+  }
+
+  /**
+   * Converts a string to an ExportFormat enum.
+   *
+   * @param value the string value to convert
+   * @return the corresponding ExportFormat enum
+   * @throws IllegalArgumentException if the value does not match any ExportFormat
+   */
+  public static ExportFormat fromString(String value) {
+    if (value == null) {
+      return CSV;
+    }
+
+    try {
+      return valueOf(value.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown export format: " + value);
+    }
+  }
+}
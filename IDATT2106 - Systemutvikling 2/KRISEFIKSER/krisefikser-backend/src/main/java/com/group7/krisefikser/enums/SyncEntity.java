@@ -0,0 +1,13 @@
+package com.group7.krisefikser.enums;
+
+/**
+ * Enum representing the kinds of entities that offline clients keep in sync through the
+ * change log. Household members are tracked as one collection per household, since a
+ * household only has a handful of members and they live in two different tables.
+ */
+public enum SyncEntity {
+  STORAGE_ITEM,
+  HOUSEHOLD_MEMBERS,
+  AFFECTED_AREA,
+  POINT_OF_INTEREST
+}
@@ -0,0 +1,331 @@
+package com.group7.krisefikser.loadtest;
+
+import com.group7.krisefikser.enums.PointOfInterestType;
+import com.group7.krisefikser.enums.Role;
+import com.group7.krisefikser.repository.item.GroupInventoryRepo;
+import com.group7.krisefikser.utils.PasswordUtil;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the database with a large, realistic data set for load testing.
+ * Only active in the "loadtest" profile. The volumes are configured with the
+ * app.loadtest.* properties, and all rows are inserted with batched JDBC so the same
+ * generator can be used against H2 and a local MySQL instance.
+ * Households and points of interest are clustered around the largest Norwegian cities,
+ * and every generated user can log in with the shared load test password.
+ * The generator is skipped if the data set already exists.
+ */
+@Component
+@Profile("loadtest")
+public class SyntheticDataGenerator implements ApplicationRunner {
+  private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+  static final String GROUP_PREFIX = "lt-group-";
+  static final String HOUSEHOLD_PREFIX = "lt-household-";
+  static final String USER_EMAIL_FORMAT = "lt-user-%d@loadtest.krisefikser.no";
+
+  /**
+   * City centers (latitude, longitude) and how large a share of the population lives there.
+   */
+  private static final double[][] CITIES = {
+      {59.91, 10.75, 0.35},
+      {60.39, 5.32, 0.18},
+      {63.43, 10.40, 0.15},
+      {58.97, 5.73, 0.14},
+      {58.15, 8.00, 0.09},
+      {69.65, 18.96, 0.09}
+  };
+
+  private static final String[] ITEM_TYPES = {"drink", "food", "accessories"};
+  private static final PointOfInterestType[] POI_TYPES = PointOfInterestType.values();
+  private static final double[] POI_TYPE_WEIGHTS = {0.10, 0.05, 0.10, 0.50, 0.05, 0.20};
+
+  private final JdbcTemplate jdbcTemplate;
+  private final GroupInventoryRepo groupInventoryRepo;
+
+  @Value("${app.loadtest.generate:true}")
+  private boolean generate;
+  @Value("${app.loadtest.seed:42}")
+  private long seed;
+  @Value("${app.loadtest.batch-size:5000}")
+  private int batchSize;
+  @Value("${app.loadtest.password:LoadTest123!}")
+  private String password;
+  @Value("${app.loadtest.users:1000000}")
+  private int userCount;
+  @Value("${app.loadtest.households:300000}")
+  private int householdCount;
+  @Value("${app.loadtest.storage-items:5000000}")
+  private int storageItemCount;
+  @Value("${app.loadtest.emergency-groups:10000}")
+  private int groupCount;
+  @Value("${app.loadtest.points-of-interest:50000}")
+  private int pointOfInterestCount;
+  @Value("${app.loadtest.affected-areas:1000}")
+  private int affectedAreaCount;
+  @Value("${app.loadtest.items:200}")
+  private int itemCount;
+  @Value("${app.loadtest.group-membership-rate:0.4}")
+  private double groupMembershipRate;
+  @Value("${app.loadtest.shared-item-rate:0.25}")
+  private double sharedItemRate;
+  @Value("${app.loadtest.position-sharing-rate:0.2}")
+  private double positionSharingRate;
+
+  private Random random;
+
+  /**
+   * Creates a new SyntheticDataGenerator.
+   *
+   * @param jdbcTemplate       the JdbcTemplate used for the bulk inserts
+   * @param groupInventoryRepo the group inventory projection, rebuilt after the inserts
+   */
+  public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                GroupInventoryRepo groupInventoryRepo) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.groupInventoryRepo = groupInventoryRepo;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (!generate) {
+      return;
+    }
+    Integer existing = jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM emergency_groups WHERE name = ?", Integer.class, GROUP_PREFIX + 0);
+    if (existing != null && existing > 0) {
+      logger.info("Load test data already exists, skipping generation");
+      return;
+    }
+
+    random = new Random(seed);
+    long start = System.currentTimeMillis();
+
+    long[] itemIds = generateItems();
+    long[] groupIds = generateEmergencyGroups();
+    Households households = generateHouseholds(groupIds);
+    long[] userIds = generateUsers(households);
+    generateStorageItems(households, itemIds);
+    // The batched inserts bypass the service layer, so the projection is rebuilt once
+    groupInventoryRepo.rebuild();
+    generateUserPositions(userIds);
+    generatePointsOfInterest();
+    generateAffectedAreas();
+
+    logger.info("Generated load test data in {} s", (System.currentTimeMillis() - start) / 1000);
+  }
+
+  private long[] generateItems() {
+    Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Integer.class);
+    if (existing == null || existing == 0) {
+      insertBatched("items",
+          "INSERT INTO items (name, unit, calories, type) VALUES (?, ?, ?, ?)",
+          itemCount, i -> {
+            String type = ITEM_TYPES[(int) (i % ITEM_TYPES.length)];
+            return new Object[] {"Item " + i, "food".equals(type) ? "g" : "piece",
+                "food".equals(type) ? 50 + random.nextInt(400) : 0, type};
+          });
+    }
+    return toArray(jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", Long.class));
+  }
+
+  private long[] generateEmergencyGroups() {
+    insertBatched("emergency groups", "INSERT INTO emergency_groups (name) VALUES (?)",
+        groupCount, i -> new Object[] {GROUP_PREFIX + i});
+    return toArray(jdbcTemplate.queryForList(
+        "SELECT id FROM emergency_groups WHERE name LIKE ? ORDER BY id", Long.class,
+        GROUP_PREFIX + "%"));
+  }
+
+  private Households generateHouseholds(long[] groupIds) {
+    insertBatched("households",
+        "INSERT INTO households (name, longitude, latitude, emergency_group_id) "
+            + "VALUES (?, ?, ?, ?)",
+        householdCount, i -> {
+          double[] position = randomPosition(5.0);
+          Long groupId = random.nextDouble() < groupMembershipRate
+              ? groupIds[random.nextInt(groupIds.length)] : null;
+          return new Object[] {HOUSEHOLD_PREFIX + i, position[1], position[0], groupId};
+        });
+
+    Households households = new Households(householdCount);
+    jdbcTemplate.query(
+        "SELECT id, emergency_group_id FROM households WHERE name LIKE ? ORDER BY id",
+        rs -> {
+          households.add(rs.getLong("id"), rs.getObject("emergency_group_id") != null);
+        }, HOUSEHOLD_PREFIX + "%");
+    return households;
+  }
+
+  private long[] generateUsers(Households households) {
+    String hashedPassword = PasswordUtil.hashPassword(password);
+    String role = Role.ROLE_NORMAL.toString();
+    insertBatched("users",
+        "INSERT INTO users (email, name, household_id, password, role, verified) "
+            + "VALUES (?, ?, ?, ?, ?, ?)",
+        userCount, i -> {
+          // Every household gets at least one member, the rest are spread out at random.
+          int household = i < households.size
+              ? (int) i : random.nextInt(households.size);
+          return new Object[] {String.format(USER_EMAIL_FORMAT, i), "Load Test User " + i,
+              households.ids[household], hashedPassword, role, true};
+        });
+    return toArray(jdbcTemplate.queryForList(
+        "SELECT id FROM users WHERE email LIKE ? ORDER BY id", Long.class, "lt-user-%"));
+  }
+
+  private void generateStorageItems(Households households, long[] itemIds) {
+    LocalDateTime now = LocalDateTime.now();
+    insertBatched("storage items",
+        "INSERT INTO storage_items (expiration_date, quantity, household_id, item_id, is_shared) "
+            + "VALUES (?, ?, ?, ?, ?)",
+        storageItemCount, i -> {
+          int household = random.nextInt(households.size);
+          // Most items last for months or years, a few are already expired.
+          long days = Math.round(-30 + Math.abs(random.nextGaussian()) * 365);
+          double quantity = Math.max(1, Math.round(Math.exp(random.nextGaussian()) * 4));
+          boolean shared = households.inGroup[household] && random.nextDouble() < sharedItemRate;
+          return new Object[] {Timestamp.valueOf(now.plusDays(days)), quantity,
+              households.ids[household], itemIds[random.nextInt(itemIds.length)], shared};
+        });
+  }
+
+  private void generateUserPositions(long[] userIds) {
+    int count = (int) (userIds.length * positionSharingRate);
+    insertBatched("user positions",
+        "INSERT INTO user_position (user_id, latitude, longitude) VALUES (?, ?, ?)",
+        count, i -> {
+          double[] position = randomPosition(8.0);
+          return new Object[] {userIds[(int) (i * userIds.length / count)],
+              position[0], position[1]};
+        });
+  }
+
+  private void generatePointsOfInterest() {
+    insertBatched("points of interest",
+        "INSERT INTO points_of_interest (latitude, longitude, type, opens_at, closes_at, "
+            + "contact_number, description) VALUES (?, ?, ?, ?, ?, ?, ?)",
+        pointOfInterestCount, i -> {
+          double[] position = randomPosition(10.0);
+          PointOfInterestType type = POI_TYPES[weightedIndex(POI_TYPE_WEIGHTS)];
+          boolean alwaysOpen = type == PointOfInterestType.DEFIBRILLATOR
+              || type == PointOfInterestType.HOSPITAL;
+          return new Object[] {position[0], position[1], type.getType(),
+              alwaysOpen ? null : LocalTime.of(6 + random.nextInt(4), 0),
+              alwaysOpen ? null : LocalTime.of(16 + random.nextInt(7), 0),
+              "+47 " + (40000000 + random.nextInt(9999999)),
+              "Generated " + type.getType().replace('_', ' ') + " " + i};
+        });
+  }
+
+  private void generateAffectedAreas() {
+    LocalDateTime now = LocalDateTime.now();
+    insertBatched("affected areas",
+        "INSERT INTO affected_areas (name, longitude, latitude, high_danger_radius_km, "
+            + "medium_danger_radius_km, low_danger_radius_km, severity_level, description, "
+            + "start_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+        affectedAreaCount, i -> {
+          double[] position = randomPosition(30.0);
+          double high = 0.5 + random.nextDouble() * 3;
+          double medium = high + 1 + random.nextDouble() * 5;
+          double low = medium + 2 + random.nextDouble() * 10;
+          return new Object[] {"Generated incident " + i, position[1], position[0],
+              high, medium, low, 1 + weightedIndex(new double[] {0.6, 0.3, 0.1}),
+              "Generated affected area " + i,
+              Timestamp.valueOf(now.minusMinutes(random.nextInt(60 * 24 * 30)))};
+        });
+  }
+
+  /**
+   * Inserts the given number of rows in batches, logging the progress as it goes.
+   */
+  private void insertBatched(String label, String sql, long count, LongFunction<Object[]> row) {
+    List<Object[]> batch = new ArrayList<>(batchSize);
+    for (long i = 0; i < count; i++) {
+      batch.add(row.apply(i));
+      if (batch.size() == batchSize) {
+        jdbcTemplate.batchUpdate(sql, batch);
+        batch.clear();
+        if ((i + 1) % (batchSize * 20L) == 0) {
+          logger.info("Inserted {} of {} {}", i + 1, count, label);
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      jdbcTemplate.batchUpdate(sql, batch);
+    }
+    logger.info("Inserted {} {}", count, label);
+  }
+
+  /**
+   * Returns a random position near one of the cities, chosen by population share.
+   * The spread is the standard deviation in kilometers.
+   */
+  private double[] randomPosition(double spreadKm) {
+    double[] city = CITIES[weightedIndex(CITIES)];
+    double latitude = city[0] + random.nextGaussian() * spreadKm / 111.0;
+    double longitude = city[1]
+        + random.nextGaussian() * spreadKm / (111.0 * Math.cos(Math.toRadians(city[0])));
+    return new double[] {latitude, longitude};
+  }
+
+  private int weightedIndex(double[][] rows) {
+    double target = random.nextDouble();
+    for (int i = 0; i < rows.length; i++) {
+      target -= rows[i][2];
+      if (target <= 0) {
+        return i;
+      }
+    }
+    return rows.length - 1;
+  }
+
+  private int weightedIndex(double[] weights) {
+    double target = random.nextDouble();
+    for (int i = 0; i < weights.length; i++) {
+      target -= weights[i];
+      if (target <= 0) {
+        return i;
+      }
+    }
+    return weights.length - 1;
+  }
+
+  private static long[] toArray(List<Long> ids) {
+    return ids.stream().mapToLong(Long::longValue).toArray();
+  }
+
+  /**
+   * The generated households, kept in memory so the later tables can reference them.
+   */
+  private static final class Households {
+    private final long[] ids;
+    private final boolean[] inGroup;
+    private int size;
+
+    private Households(int capacity) {
+      ids = new long[capacity];
+      inGroup = new boolean[capacity];
+    }
+
+    private void add(long id, boolean groupMember) {
+      ids[size] = id;
+      inGroup[size] = groupMember;
+      size++;
+    }
+  }
+}
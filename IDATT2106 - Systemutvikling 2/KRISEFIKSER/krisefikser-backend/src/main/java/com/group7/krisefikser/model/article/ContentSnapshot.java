@@ -0,0 +1,24 @@
+package com.group7.krisefikser.model.article;
+
+import com.group7.krisefikser.dto.response.article.GeneralInfoResponse;
+import com.group7.krisefikser.enums.Theme;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Immutable snapshot of the static article content served to users.
+ * It holds the general information, pre-grouped by theme, and the privacy policies.
+ * A new snapshot with a higher version is created every time the content changes,
+ * so readers never see a partially updated state.
+ */
+@Getter
+@AllArgsConstructor
+public class ContentSnapshot {
+  private final long version;
+  private final List<GeneralInfoResponse> generalInfo;
+  private final Map<Theme, List<GeneralInfoResponse>> generalInfoByTheme;
+  private final String registeredPrivacyPolicy;
+  private final String unregisteredPrivacyPolicy;
+}
@@ -0,0 +1,23 @@
+package com.group7.krisefikser.model.household;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents the readiness of one household as last computed for the analytics rollups.
+ * The region is the geohash prefix of the household location. The days are null for a
+ * household without users, since there is no one to provide for.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HouseholdReadiness {
+  private Long householdId;
+  private String region;
+  private int residents;
+  private int nonUserMembers;
+  private Double foodDays;
+  private Double waterDays;
+  private Double readinessDays;
+}
@@ -0,0 +1,20 @@
+package com.group7.krisefikser.model.household;
+
+import com.group7.krisefikser.enums.ItemType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents how many households in a region have one type of item in stock, and how much
+ * of it they have together.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemTypeRollup {
+  private String region;
+  private ItemType itemType;
+  private int householdsStocked;
+  private double quantity;
+}
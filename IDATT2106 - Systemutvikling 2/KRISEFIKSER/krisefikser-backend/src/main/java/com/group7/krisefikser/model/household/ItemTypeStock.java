@@ -0,0 +1,18 @@
+package com.group7.krisefikser.model.household;
+
+import com.group7.krisefikser.enums.ItemType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents the unexpired quantity of one type of item in the stock of a household.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemTypeStock {
+  private Long householdId;
+  private ItemType itemType;
+  private double quantity;
+}
@@ -0,0 +1,20 @@
+package com.group7.krisefikser.model.household;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents how far the readiness rollups have been brought up to date: the last change log
+ * version and the time of the last run, and the geohash precision the regions were computed
+ * with.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReadinessCheckpoint {
+  private long lastVersion;
+  private LocalDateTime lastRun;
+  private int regionPrecision;
+}
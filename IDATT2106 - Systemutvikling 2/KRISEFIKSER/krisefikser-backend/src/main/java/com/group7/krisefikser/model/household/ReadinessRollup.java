@@ -0,0 +1,27 @@
+package com.group7.krisefikser.model.household;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents the precomputed readiness of the households in a region.
+ * The days are kept as sums over the rated households, the ones with at least one user, so
+ * the rollups of several regions can be added together before the averages are taken.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReadinessRollup {
+  private String region;
+  private int households;
+  private int residents;
+  private int nonUserMembers;
+  private int ratedHouseholds;
+  private double foodDaysSum;
+  private double waterDaysSum;
+  private double readinessDaysSum;
+  private int underThreeDays;
+  private LocalDateTime computedAt;
+}
@@ -0,0 +1,21 @@
+package com.group7.krisefikser.model.item;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents one line of an expiry reminder sent to a household.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExpiryDigestItem {
+  private int storageItemId;
+  private String itemName;
+  private String unit;
+  private double quantity;
+  private LocalDateTime expirationDate;
+  private int thresholdDays;
+}
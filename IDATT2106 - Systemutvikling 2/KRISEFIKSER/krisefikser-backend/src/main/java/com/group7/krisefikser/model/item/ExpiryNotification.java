@@ -0,0 +1,20 @@
+package com.group7.krisefikser.model.item;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents a storage item that has been queued for an expiry reminder at a given threshold,
+ * together with the expiration date it was queued for.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExpiryNotification {
+  private int storageItemId;
+  private int householdId;
+  private int thresholdDays;
+  private LocalDateTime expirationDate;
+}
@@ -0,0 +1,21 @@
+package com.group7.krisefikser.model.item;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents the shared stock of one item in an emergency group, with the total quantity,
+ * the earliest expiration date and the number of households contributing to it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GroupInventoryEntry {
+  private long emergencyGroupId;
+  private int itemId;
+  private double totalQuantity;
+  private LocalDateTime earliestExpirationDate;
+  private int householdCount;
+}
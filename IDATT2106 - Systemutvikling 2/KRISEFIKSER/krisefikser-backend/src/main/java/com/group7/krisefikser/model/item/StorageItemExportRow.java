@@ -0,0 +1,29 @@
+package com.group7.krisefikser.model.item;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.group7.krisefikser.enums.ItemType;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents one exported storage item, flattened with the details of its item and the name
+ * of the household it belongs to, so every row can be read on its own in a spreadsheet.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonPropertyOrder({"id", "householdName", "itemId", "itemName", "unit", "type", "quantity",
+    "expirationDate", "shared"})
+public class StorageItemExportRow {
+  private int id;
+  private String householdName;
+  private int itemId;
+  private String itemName;
+  private String unit;
+  private ItemType type;
+  private double quantity;
+  private LocalDateTime expirationDate;
+  private boolean shared;
+}
@@ -0,0 +1,22 @@
+package com.group7.krisefikser.model.location;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents the location of a household together with how many people it has to provide for
+ * and the calories and drinking water in its unexpired stock.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HouseholdSupply {
+  private Long householdId;
+  private double latitude;
+  private double longitude;
+  private int residents;
+  private int nonUserMembers;
+  private double calories;
+  private double waterLiters;
+}
@@ -0,0 +1,29 @@
+package com.group7.krisefikser.model.other;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents an emergency message broadcast to everyone within a radius of a point.
+ * The recipients are resolved once, after which the broadcast is delivered in batches until
+ * it is completed. The counters record how far the delivery has come.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Broadcast {
+  private Long id;
+  private Long affectedAreaId;
+  private String message;
+  private double latitude;
+  private double longitude;
+  private double radiusKm;
+  private int totalRecipients;
+  private int sent;
+  private int failed;
+  private LocalDateTime createdAt;
+  private LocalDateTime resolvedAt;
+  private LocalDateTime completedAt;
+}
@@ -0,0 +1,16 @@
+package com.group7.krisefikser.model.other;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents a user a broadcast is delivered to.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BroadcastRecipient {
+  private Long userId;
+  private String email;
+}
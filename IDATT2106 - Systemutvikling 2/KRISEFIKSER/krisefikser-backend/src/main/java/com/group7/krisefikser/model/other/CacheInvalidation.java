@@ -0,0 +1,19 @@
+package com.group7.krisefikser.model.other;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents a change to a cached entity, published so that every instance of the
+ * application evicts the key from its cache. The version is assigned by the transport
+ * and increases with every published invalidation.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheInvalidation {
+  private long version;
+  private String cacheName;
+  private String key;
+}
@@ -0,0 +1,23 @@
+package com.group7.krisefikser.model.other;
+
+import com.group7.krisefikser.enums.SyncEntity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents a change to an entity that offline clients keep in sync.
+ * The version is assigned by the database and increases with every change.
+ * An entry without an entity ID means that the whole collection changed,
+ * and an entry without a household ID is visible to every client.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeLogEntry {
+  private long version;
+  private SyncEntity entityType;
+  private Long entityId;
+  private Long householdId;
+  private boolean deleted;
+}
@@ -0,0 +1,20 @@
+package com.group7.krisefikser.model.other;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents the response to a request sent with an idempotency key, stored so that a retry
+ * of the request gets the same response without running it again. The fingerprint identifies
+ * the request the key was first used for. The status is null while the request is running.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotentResponse {
+  private String fingerprint;
+  private Integer status;
+  private String contentType;
+  private byte[] body;
+}
@@ -2,6 +2,9 @@ package com.group7.krisefikser.repository.article;
 
 import com.group7.krisefikser.enums.Theme;
 import com.group7.krisefikser.model.article.GeneralInfo;
+import com.group7.krisefikser.service.cache.CacheNames;
+import com.group7.krisefikser.service.cache.InvalidationBus;
+import com.group7.krisefikser.service.cache.TwoTierCache;
 import java.util.List;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
@@ -11,19 +14,23 @@ import org.springframework.stereotype.Repository;
  * This class provides methods to perform CRUD operations
  * on the general_info table.
  * It uses JdbcTemplate for database interactions.
+ * Every change is published to the article content cache.
  */
 @Repository
 public class GeneralInfoRepository {
   private final JdbcTemplate jdbcTemplate;
+  private final InvalidationBus invalidationBus;
 
   /**
    * Constructor for GeneralInfoRepository.
    * Initializes the JdbcTemplate for database operations.
    *
-   * @param jdbcTemplate the JdbcTemplate to be used for database operations
+   * @param jdbcTemplate    the JdbcTemplate to be used for database operations
+   * @param invalidationBus the bus that changes to the cached content are published to
    */
-  public GeneralInfoRepository(JdbcTemplate jdbcTemplate) {
+  public GeneralInfoRepository(JdbcTemplate jdbcTemplate, InvalidationBus invalidationBus) {
     this.jdbcTemplate = jdbcTemplate;
+    this.invalidationBus = invalidationBus;
   }
 
   /**
@@ -58,6 +65,7 @@ public class GeneralInfoRepository {
         info.getTitle(), info.getContent());
     Long id = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
     info.setId(id);
+    invalidationBus.publish(CacheNames.ARTICLE_CONTENT, TwoTierCache.ALL);
     return info;
   }
 
@@ -75,6 +83,7 @@ public class GeneralInfoRepository {
     jdbcTemplate.update(sql, info.getTheme().name(),
         info.getTitle(), info.getContent(), id);
     info.setId(id);
+    invalidationBus.publish(CacheNames.ARTICLE_CONTENT, TwoTierCache.ALL);
     return info;
   }
 
@@ -88,28 +97,6 @@ public class GeneralInfoRepository {
   public void deleteGeneralInfo(Long id) {
     String sql = "DELETE FROM general_info WHERE id = ?";
     jdbcTemplate.update(sql, id);
-  }
-
-  /**
-   * Retrieves general information entries from the database
-   * based on the specified theme.
-   * This method returns a list of GeneralInfo objects
-   * that match the provided theme.
-   *
-   * @param themeSearched the theme to search for in the general information
-   * @return a list of GeneralInfo objects containing details of the matching general information
-   */
-  public List<GeneralInfo> getGeneralInfoByTheme(Theme themeSearched) {
-    String sql = "SELECT * FROM general_info WHERE theme = ?";
-    return jdbcTemplate.query(sql, (rs, rowNum) -> {
-      GeneralInfo info = new GeneralInfo();
-      info.setId(rs.getLong("id"));
-      String themeString = rs.getString("theme").toUpperCase();
-      Theme theme = Theme.valueOf(themeString);
-      info.setTheme(theme);
-      info.setTitle(rs.getString("title"));
-      info.setContent(rs.getString("content"));
-      return info;
-    }, themeSearched.name());
+    invalidationBus.publish(CacheNames.ARTICLE_CONTENT, TwoTierCache.ALL);
   }
 }
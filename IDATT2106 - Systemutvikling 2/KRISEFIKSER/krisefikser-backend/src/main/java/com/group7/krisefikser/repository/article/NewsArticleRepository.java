@@ -1,8 +1,15 @@
 package com.group7.krisefikser.repository.article;
 
+import static com.group7.krisefikser.utils.QueryUtils.findOne;
+
 import com.group7.krisefikser.model.article.NewsArticle;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -11,7 +18,25 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public class NewsArticleRepository {
+  private static final String FEED_SELECT = "SELECT id, title, published_at FROM news_articles";
+  private static final String FEED_KEYSET_PREDICATE =
+      "(published_at < ? OR (published_at = ? AND id < ?))";
+  private static final String FEED_ORDER_AND_LIMIT = " ORDER BY published_at DESC, id DESC LIMIT ?";
+
   private final JdbcTemplate jdbcTemplate;
+  private volatile Boolean fullTextSupported;
+
+  /**
+   * RowMapper for the news feed projection.
+   * Only the columns needed for the shortened view are read, the content is left out.
+   */
+  private final RowMapper<NewsArticle> feedRowMapper = (rs, rowNum) -> {
+    NewsArticle article = new NewsArticle();
+    article.setId(rs.getLong("id"));
+    article.setTitle(rs.getString("title"));
+    article.setPublishedAt(rs.getTimestamp("published_at").toLocalDateTime());
+    return article;
+  };
 
   /**
    * Constructor for NewsArticleRepository.
@@ -52,17 +77,104 @@ public class NewsArticleRepository {
    */
   public NewsArticle getNewsArticleById(Long id) {
     String sql = "SELECT * FROM news_articles WHERE id = ?";
-    try {
-      return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
-        NewsArticle article = new NewsArticle();
-        article.setId(rs.getLong("id"));
-        article.setTitle(rs.getString("title"));
-        article.setContent(rs.getString("content"));
-        article.setPublishedAt(rs.getTimestamp("published_at").toLocalDateTime());
-        return article;
-      }, id);
-    } catch (org.springframework.dao.EmptyResultDataAccessException e) {
-      return null;
+    return findOne(jdbcTemplate, sql, (rs, rowNum) -> {
+      NewsArticle article = new NewsArticle();
+      article.setId(rs.getLong("id"));
+      article.setTitle(rs.getString("title"));
+      article.setContent(rs.getString("content"));
+      article.setPublishedAt(rs.getTimestamp("published_at").toLocalDateTime());
+      return article;
+    }, id).orElse(null);
+  }
+
+  /**
+   * Retrieves one page of the news feed using keyset pagination on (published_at, id).
+   * Only the id, title and published date are selected, so the cost of a page
+   * does not depend on the size of the article contents.
+   * If no cursor is given, the newest articles are returned.
+   *
+   * @param beforePublishedAt the published date of the last article on the previous page,
+   *                          or null for the first page
+   * @param beforeId          the ID of the last article on the previous page,
+   *                          or null for the first page
+   * @param limit             the maximum number of articles to return
+   * @return a list of NewsArticle objects without content, newest first
+   */
+  public List<NewsArticle> getNewsFeedPage(LocalDateTime beforePublishedAt, Long beforeId,
+                                           int limit) {
+    StringBuilder sql = new StringBuilder(FEED_SELECT);
+    List<Object> params = new ArrayList<>();
+    if (beforePublishedAt != null && beforeId != null) {
+      sql.append(" WHERE ").append(FEED_KEYSET_PREDICATE);
+      addKeysetParams(params, beforePublishedAt, beforeId);
+    }
+    sql.append(FEED_ORDER_AND_LIMIT);
+    params.add(limit);
+    return jdbcTemplate.query(sql.toString(), feedRowMapper, params.toArray());
+  }
+
+  /**
+   * Searches the news feed for articles whose title or content matches the query.
+   * On MySQL the full-text index over title and content is used. On other databases
+   * (H2 in development and tests) it falls back to a case-insensitive LIKE match.
+   * The result is paginated the same way as {@link #getNewsFeedPage}.
+   *
+   * @param query             the search query
+   * @param beforePublishedAt the published date of the last article on the previous page,
+   *                          or null for the first page
+   * @param beforeId          the ID of the last article on the previous page,
+   *                          or null for the first page
+   * @param limit             the maximum number of articles to return
+   * @return a list of matching NewsArticle objects without content, newest first
+   */
+  public List<NewsArticle> searchNewsFeedPage(String query, LocalDateTime beforePublishedAt,
+                                              Long beforeId, int limit) {
+    StringBuilder sql = new StringBuilder(FEED_SELECT).append(" WHERE ");
+    List<Object> params = new ArrayList<>();
+    if (isFullTextSupported()) {
+      sql.append("MATCH (title, content) AGAINST (? IN NATURAL LANGUAGE MODE)");
+      params.add(query);
+    } else {
+      String pattern = "%" + escapeLikePattern(query.toLowerCase()) + "%";
+      sql.append("(LOWER(title) LIKE ? OR LOWER(content) LIKE ?)");
+      params.add(pattern);
+      params.add(pattern);
+    }
+    if (beforePublishedAt != null && beforeId != null) {
+      sql.append(" AND ").append(FEED_KEYSET_PREDICATE);
+      addKeysetParams(params, beforePublishedAt, beforeId);
+    }
+    sql.append(FEED_ORDER_AND_LIMIT);
+    params.add(limit);
+    return jdbcTemplate.query(sql.toString(), feedRowMapper, params.toArray());
+  }
+
+  private void addKeysetParams(List<Object> params, LocalDateTime beforePublishedAt,
+                               Long beforeId) {
+    Timestamp before = Timestamp.valueOf(beforePublishedAt);
+    params.add(before);
+    params.add(before);
+    params.add(beforeId);
+  }
+
+  private static String escapeLikePattern(String value) {
+    return value.replace("\\", "\\\\")
+        .replace("%", "\\%")
+        .replace("_", "\\_");
+  }
+
+  /**
+   * Checks whether the database supports MATCH ... AGAINST full-text search.
+   * The database product is looked up once and remembered.
+   *
+   * @return true if the database is MySQL, false otherwise
+   */
+  private boolean isFullTextSupported() {
+    if (fullTextSupported == null) {
+      String productName = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+          connection.getMetaData().getDatabaseProductName());
+      fullTextSupported = "MySQL".equalsIgnoreCase(productName);
     }
+    return fullTextSupported;
   }
 }
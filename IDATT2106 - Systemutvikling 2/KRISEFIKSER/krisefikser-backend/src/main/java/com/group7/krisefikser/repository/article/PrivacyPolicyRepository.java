@@ -1,17 +1,22 @@
 package com.group7.krisefikser.repository.article;
 
+import com.group7.krisefikser.service.cache.CacheNames;
+import com.group7.krisefikser.service.cache.InvalidationBus;
+import com.group7.krisefikser.service.cache.TwoTierCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 /**
  * Repository class for managing privacy policy data in the database.
+ * Every change is published to the article content cache.
  */
 @Repository
 @RequiredArgsConstructor
 public class PrivacyPolicyRepository {
 
   private final JdbcTemplate jdbcTemplate;
+  private final InvalidationBus invalidationBus;
 
   /**
    * Retrieves the registered privacy policy from the database.
@@ -41,6 +46,7 @@ public class PrivacyPolicyRepository {
   public void updateRegisteredPrivacyPolicy(String registered) {
     String sql = "UPDATE privacy_policy SET registered = ?";
     jdbcTemplate.update(sql, registered);
+    invalidationBus.publish(CacheNames.ARTICLE_CONTENT, TwoTierCache.ALL);
   }
 
   /**
@@ -51,5 +57,6 @@ public class PrivacyPolicyRepository {
   public void updateUnregisteredPrivacyPolicy(String unregistered) {
     String sql = "UPDATE privacy_policy SET unregistered = ?";
     jdbcTemplate.update(sql, unregistered);
+    invalidationBus.publish(CacheNames.ARTICLE_CONTENT, TwoTierCache.ALL);
   }
 }
@@ -1,20 +1,32 @@
 package com.group7.krisefikser.repository.household;
 
+import static com.group7.krisefikser.utils.QueryUtils.findOne;
+
 import com.group7.krisefikser.model.household.EmergencyGroupInvitation;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 /**
  * Repository class for managing emergency group invitations in the database.
  * This class provides methods to add and delete emergency group invitations.
+ * A household can only be invited to a group once, which is enforced by a unique constraint.
  */
 @Repository
 public class EmergencyGroupInvitationsRepo {
   private final JdbcTemplate jdbcTemplate;
 
+  private final RowMapper<EmergencyGroupInvitation> invitationRowMapper = (rs, rowNum) -> {
+    EmergencyGroupInvitation invitation = new EmergencyGroupInvitation();
+    invitation.setId(rs.getLong("id"));
+    invitation.setHouseholdId(rs.getLong("household_id"));
+    invitation.setGroupId(rs.getLong("emergency_group_id"));
+    invitation.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+    return invitation;
+  };
+
   /**
    * Constructor for EmergencyGroupInvitationsRepo.
    *
@@ -56,16 +68,31 @@ public class EmergencyGroupInvitationsRepo {
    * @return true if the invitation exists, false otherwise
    */
   public boolean isInvitedToGroup(long householdId, long groupId) {
-    String sql = "SELECT COUNT(*) FROM emergency_group_invitations "
+    String sql = "SELECT 1 FROM emergency_group_invitations "
             + "WHERE household_id = ? AND emergency_group_id = ?";
+    return findOne(jdbcTemplate, sql, Integer.class, householdId, groupId).isPresent();
+  }
 
-    try {
-      Integer count = jdbcTemplate.queryForObject(sql, Integer.class, householdId, groupId);
-      return count != null && count > 0;
-    } catch (EmptyResultDataAccessException e) {
-      return false;
-    }
-
+  /**
+   * Invites a household, by its name, to the emergency group of the inviting user's household
+   * in a single statement. Nothing is inserted if the household does not exist, if the
+   * inviting user's household is not in a group, or if the invited household is already
+   * in that group.
+   *
+   * @param invitingUserId the ID of the user sending the invitation
+   * @param householdName  the name of the household to invite
+   * @return the number of invitations inserted, 0 or 1
+   * @throws org.springframework.dao.DuplicateKeyException if the household is already invited
+   */
+  public int addInvitationByHouseholdName(long invitingUserId, String householdName) {
+    String sql = "INSERT INTO emergency_group_invitations (household_id, emergency_group_id) "
+        + "SELECT invited.id, inviting.emergency_group_id FROM users u "
+        + "JOIN households inviting ON inviting.id = u.household_id "
+        + "JOIN households invited ON invited.name = ? "
+        + "WHERE u.id = ? AND inviting.emergency_group_id IS NOT NULL "
+        + "AND (invited.emergency_group_id IS NULL "
+        + "OR invited.emergency_group_id <> inviting.emergency_group_id)";
+    return jdbcTemplate.update(sql, householdName, invitingUserId);
   }
 
   /**
@@ -76,13 +103,19 @@ public class EmergencyGroupInvitationsRepo {
    */
   public List<EmergencyGroupInvitation> getInvitationsByHouseholdId(long householdId) {
     String sql = "SELECT * FROM emergency_group_invitations WHERE household_id = ?";
-    return jdbcTemplate.query(sql, (rs, rowNum) -> {
-      EmergencyGroupInvitation invitation = new EmergencyGroupInvitation();
-      invitation.setId(rs.getLong("id"));
-      invitation.setHouseholdId(rs.getLong("household_id"));
-      invitation.setGroupId(rs.getLong("emergency_group_id"));
-      invitation.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-      return invitation;
-    }, householdId);
+    return jdbcTemplate.query(sql, invitationRowMapper, householdId);
+  }
+
+  /**
+   * Retrieves all emergency group invitations for the household of a user.
+   *
+   * @param userId the ID of the user
+   * @return a list of emergency group invitations, ordered by ID
+   */
+  public List<EmergencyGroupInvitation> getInvitationsByUserId(long userId) {
+    String sql = "SELECT i.* FROM emergency_group_invitations i "
+        + "JOIN users u ON u.household_id = i.household_id "
+        + "WHERE u.id = ? ORDER BY i.id";
+    return jdbcTemplate.query(sql, invitationRowMapper, userId);
   }
 }
@@ -1,10 +1,17 @@
 package com.group7.krisefikser.repository.household;
 
+import static com.group7.krisefikser.utils.QueryUtils.findOne;
+
 import com.group7.krisefikser.model.household.EmergencyGroup;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
@@ -18,6 +25,14 @@ import org.springframework.stereotype.Repository;
 public class EmergencyGroupRepo {
   private final JdbcTemplate jdbcTemplate;
 
+  private final RowMapper<EmergencyGroup> groupRowMapper = (rs, rowNum) -> {
+    EmergencyGroup group = new EmergencyGroup();
+    group.setId(rs.getLong("id"));
+    group.setName(rs.getString("name"));
+    group.setCreatedAt(rs.getDate("created_at"));
+    return group;
+  };
+
   /**
    * Constructor for EmergencyGroupRepo.
    *
@@ -54,16 +69,26 @@ public class EmergencyGroupRepo {
    * Fetches a specific emergency group from the database by its ID.
    *
    * @param id the ID of the emergency group
-   * @return the EmergencyGroup object with the specified ID
+   * @return the EmergencyGroup object with the specified ID, or empty if not found
    */
-  public EmergencyGroup getEmergencyGroupById(Long id) {
+  public Optional<EmergencyGroup> getEmergencyGroupById(Long id) {
     String sql = "SELECT * FROM emergency_groups WHERE id = ?";
-    return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
-      EmergencyGroup group = new EmergencyGroup();
-      group.setId(rs.getLong("id"));
-      group.setName(rs.getString("name"));
-      group.setCreatedAt(rs.getDate("created_at"));
-      return group;
-    }, id);
+    return findOne(jdbcTemplate, sql, groupRowMapper, id);
+  }
+
+  /**
+   * Fetches the emergency groups with the given IDs in a single query.
+   * IDs that do not match a group are left out of the result.
+   *
+   * @param ids the IDs of the emergency groups
+   * @return the emergency groups found
+   */
+  public List<EmergencyGroup> getEmergencyGroupsByIds(Collection<Long> ids) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+    String sql = "SELECT * FROM emergency_groups WHERE id IN (" + placeholders + ")";
+    return jdbcTemplate.query(sql, groupRowMapper, ids.toArray());
   }
 }
@@ -1,5 +1,7 @@
 package com.group7.krisefikser.repository.household;
 
+import static com.group7.krisefikser.utils.QueryUtils.findOne;
+
 import com.group7.krisefikser.model.household.HouseholdInvitation;
 import com.group7.krisefikser.utils.JwtUtils;
 import java.sql.PreparedStatement;
@@ -78,8 +80,7 @@ public class HouseholdInvitationRepository {
    */
   public Optional<HouseholdInvitation> findByToken(String token) {
     String sql = "SELECT * FROM household_invitations WHERE invitation_token = ?";
-    List<HouseholdInvitation> results = jdbcTemplate.query(sql, rowMapper, token);
-    return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+    return findOne(jdbcTemplate, sql, rowMapper, token);
   }
 
   /**
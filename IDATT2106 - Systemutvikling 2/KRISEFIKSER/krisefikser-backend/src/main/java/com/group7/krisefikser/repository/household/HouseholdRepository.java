@@ -1,5 +1,8 @@
 package com.group7.krisefikser.repository.household;
 
+import static com.group7.krisefikser.utils.QueryUtils.findOne;
+
+import com.group7.krisefikser.dto.response.household.HouseholdDetailsResponse;
 import com.group7.krisefikser.dto.response.household.HouseholdMemberResponse;
 import com.group7.krisefikser.dto.response.household.NonUserMemberResponse;
 import com.group7.krisefikser.model.household.Household;
@@ -7,13 +10,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -99,12 +103,7 @@ public class HouseholdRepository {
    */
   public Optional<Household> getHouseholdByName(String name) {
     String sql = "SELECT * FROM households WHERE name = ?";
-    try {
-      return Optional.of(jdbcTemplate.queryForObject(sql, (rs, rowNum) ->
-        mapRowToHousehold(rs), name));
-    } catch (EmptyResultDataAccessException e) {
-      return Optional.empty();
-    }
+    return findOne(jdbcTemplate, sql, (rs, rowNum) -> mapRowToHousehold(rs), name);
   }
 
   /**
@@ -115,12 +114,7 @@ public class HouseholdRepository {
    */
   public Optional<Household> getHouseholdById(Long id) {
     String sql = "SELECT * FROM households WHERE id = ?";
-    try {
-      return Optional.of(jdbcTemplate.queryForObject(sql, (rs, rowNum) ->
-              mapRowToHousehold(rs), id));
-    } catch (EmptyResultDataAccessException e) {
-      return Optional.empty();
-    }
+    return findOne(jdbcTemplate, sql, (rs, rowNum) -> mapRowToHousehold(rs), id);
   }
 
   private Household mapRowToHousehold(ResultSet rs) throws SQLException {
@@ -146,37 +140,55 @@ public class HouseholdRepository {
   }
 
   /**
-   * Finds all user members of a specific household.
+   * Finds the household of a user together with all its members and non-user members.
+   * Users and non-user members are read in one statement as a UNION ALL, each row carrying
+   * the household columns, and the rows are collected into the response as they are read.
+   * Users come first, then non-user members, each ordered by ID.
    *
-   * @param householdId the ID of the household
-   * @return a list of HouseholdMemberResponse objects
+   * @param userId the ID of a user in the household
+   * @return the household with its members, or empty if the user or household is not found
    */
-  public List<HouseholdMemberResponse> findMembersByHouseholdId(Long householdId) {
-    String sql = "SELECT id, name, email FROM users WHERE household_id = ?";
-    return jdbcTemplate.query(sql, (rs, rowNum) -> {
-      HouseholdMemberResponse member = new HouseholdMemberResponse();
-      member.setId(rs.getLong("id"));
-      member.setName(rs.getString("name"));
-      member.setEmail(rs.getString("email"));
-      return member;
-    }, householdId);
-  }
-
-  /**
-   * Finds all non-user members of a specific household.
-   *
-   * @param householdId the ID of the household
-   * @return a list of NonUserMemberResponse objects
-   */
-  public List<NonUserMemberResponse> findNonUserMembersByHouseholdId(Long householdId) {
-    String sql = "SELECT id, name, type FROM non_user_members WHERE household_id = ?";
-    return jdbcTemplate.query(sql, (rs, rowNum) -> {
-      NonUserMemberResponse member = new NonUserMemberResponse();
-      member.setId(rs.getLong("id"));
-      member.setName(rs.getString("name"));
-      member.setType(rs.getString("type"));
-      return member;
-    }, householdId);
+  public Optional<HouseholdDetailsResponse> findDetailsByUserId(Long userId) {
+    String sql = "SELECT h.id AS household_id, h.name AS household_name, h.longitude, "
+            + "h.latitude, 1 AS member_kind, u.id AS member_id, u.name AS member_name, "
+            + "u.email, NULL AS member_type "
+            + "FROM users cu JOIN households h ON h.id = cu.household_id "
+            + "JOIN users u ON u.household_id = h.id WHERE cu.id = ? "
+            + "UNION ALL "
+            + "SELECT h.id, h.name, h.longitude, h.latitude, 2, n.id, n.name, NULL, n.type "
+            + "FROM users cu JOIN households h ON h.id = cu.household_id "
+            + "JOIN non_user_members n ON n.household_id = h.id WHERE cu.id = ? "
+            + "ORDER BY member_kind, member_id";
+    HouseholdDetailsResponse details = new HouseholdDetailsResponse();
+    List<HouseholdMemberResponse> members = new ArrayList<>();
+    List<NonUserMemberResponse> nonUserMembers = new ArrayList<>();
+    jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+      if (details.getId() == null) {
+        details.setId(rs.getLong("household_id"));
+        details.setName(rs.getString("household_name"));
+        details.setLongitude(rs.getDouble("longitude"));
+        details.setLatitude(rs.getDouble("latitude"));
+      }
+      if (rs.getInt("member_kind") == 1) {
+        HouseholdMemberResponse member = new HouseholdMemberResponse();
+        member.setId(rs.getLong("member_id"));
+        member.setName(rs.getString("member_name"));
+        member.setEmail(rs.getString("email"));
+        members.add(member);
+      } else {
+        NonUserMemberResponse member = new NonUserMemberResponse();
+        member.setId(rs.getLong("member_id"));
+        member.setName(rs.getString("member_name"));
+        member.setType(rs.getString("member_type"));
+        nonUserMembers.add(member);
+      }
+    }, userId, userId);
+    if (details.getId() == null) {
+      return Optional.empty();
+    }
+    details.setMembers(members);
+    details.setNonUserMembers(nonUserMembers);
+    return Optional.of(details);
   }
 
   /**
@@ -187,10 +199,6 @@ public class HouseholdRepository {
    */
   public Long getEmergencyIdByHouseholdId(Long householdId) {
     String sql = "SELECT emergency_group_id FROM households WHERE id = ?";
-    try {
-      return jdbcTemplate.queryForObject(sql, Long.class, householdId);
-    } catch (EmptyResultDataAccessException e) {
-      return null;
-    }
+    return findOne(jdbcTemplate, sql, Long.class, householdId).orElse(null);
   }
 }
@@ -1,7 +1,9 @@
 package com.group7.krisefikser.repository.household;
 
 import com.group7.krisefikser.enums.NonUserMemberType;
+import com.group7.krisefikser.enums.SyncEntity;
 import com.group7.krisefikser.model.household.NonUserMember;
+import com.group7.krisefikser.repository.other.ChangeLogRepo;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -10,12 +12,14 @@ import org.springframework.stereotype.Repository;
 /**
  * Repository class for managing non-user members in the database.
  * This class provides methods to add, update, delete, and retrieve non-user members.
+ * Every change marks the members of the household as changed in the change log.
  */
 @Repository
 @RequiredArgsConstructor
 public class NonUserMemberRepository {
 
   private final JdbcTemplate jdbcTemplate;
+  private final ChangeLogRepo changeLogRepo;
 
   /**
    * Adds a non-user member to the database.
@@ -29,6 +33,8 @@ public class NonUserMemberRepository {
         nonUserMember.getName(),
         nonUserMember.getType().toString(),
         nonUserMember.getHouseholdId());
+    changeLogRepo.record(SyncEntity.HOUSEHOLD_MEMBERS, null,
+        nonUserMember.getHouseholdId(), false);
   }
 
   /**
@@ -38,12 +44,16 @@ public class NonUserMemberRepository {
    */
   public void updateNonUserMember(NonUserMember nonUserMember) {
     String sql = "UPDATE non_user_members SET type = ?, name = ? WHERE id = ? AND household_id = ?";
-    jdbcTemplate.update(
+    int rowsAffected = jdbcTemplate.update(
         sql,
         nonUserMember.getType().toString(),
         nonUserMember.getName(),
         nonUserMember.getId(),
         nonUserMember.getHouseholdId());
+    if (rowsAffected > 0) {
+      changeLogRepo.record(SyncEntity.HOUSEHOLD_MEMBERS, null,
+          nonUserMember.getHouseholdId(), false);
+    }
   }
 
   /**
@@ -54,7 +64,9 @@ public class NonUserMemberRepository {
    */
   public void deleteNonUserMember(long id, long householdId) {
     String sql = "DELETE FROM non_user_members WHERE id = ? AND household_id = ?";
-    jdbcTemplate.update(sql, id, householdId);
+    if (jdbcTemplate.update(sql, id, householdId) > 0) {
+      changeLogRepo.record(SyncEntity.HOUSEHOLD_MEMBERS, null, householdId, false);
+    }
   }
 
   /**
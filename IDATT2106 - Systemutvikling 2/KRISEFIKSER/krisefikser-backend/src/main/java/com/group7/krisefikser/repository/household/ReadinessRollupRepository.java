@@ -0,0 +1,381 @@
+package com.group7.krisefikser.repository.household;
+
+import com.group7.krisefikser.enums.ItemType;
+import com.group7.krisefikser.model.household.HouseholdReadiness;
+import com.group7.krisefikser.model.household.ItemTypeRollup;
+import com.group7.krisefikser.model.household.ItemTypeStock;
+import com.group7.krisefikser.model.household.ReadinessCheckpoint;
+import com.group7.krisefikser.model.household.ReadinessRollup;
+import com.group7.krisefikser.model.location.HouseholdSupply;
+import com.group7.krisefikser.utils.QueryUtils;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * This class is a repository for the readiness analytics of the admin pages.
+ * The readiness of each household is kept in a row of its own, and the rows of a region are
+ * rolled up into one row per region and one per region and item type. Only the households
+ * and regions that have changed are read and rewritten, a chunk of IDs at a time.
+ */
+@Repository
+public class ReadinessRollupRepository {
+  private static final int CHECKPOINT_ID = 1;
+  private static final int LEASE_ID = 1;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Constructor for ReadinessRollupRepository.
+   *
+   * @param jdbcTemplate The JdbcTemplate used to interact with the database.
+   */
+  @Autowired
+  public ReadinessRollupRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Finds how far the rollups have been brought up to date.
+   *
+   * @return The checkpoint, or an empty Optional if the rollups have never been computed.
+   */
+  public Optional<ReadinessCheckpoint> findCheckpoint() {
+    return QueryUtils.findOne(jdbcTemplate, "SELECT last_version, last_run, region_precision "
+            + "FROM readiness_rollup_checkpoint WHERE id = ?",
+        (rs, rowNum) -> new ReadinessCheckpoint(
+            rs.getLong("last_version"),
+            rs.getTimestamp("last_run").toLocalDateTime(),
+            rs.getInt("region_precision")),
+        CHECKPOINT_ID);
+  }
+
+  /**
+   * Saves how far the rollups have been brought up to date.
+   *
+   * @param checkpoint The checkpoint.
+   */
+  public void saveCheckpoint(ReadinessCheckpoint checkpoint) {
+    Timestamp lastRun = Timestamp.valueOf(checkpoint.getLastRun());
+    int updated = jdbcTemplate.update("UPDATE readiness_rollup_checkpoint SET last_version = ?, "
+            + "last_run = ?, region_precision = ? WHERE id = ?",
+        checkpoint.getLastVersion(), lastRun, checkpoint.getRegionPrecision(), CHECKPOINT_ID);
+    if (updated == 0) {
+      jdbcTemplate.update("INSERT INTO readiness_rollup_checkpoint (id, last_version, last_run, "
+              + "region_precision) VALUES (?, ?, ?, ?)",
+          CHECKPOINT_ID, checkpoint.getLastVersion(), lastRun, checkpoint.getRegionPrecision());
+    }
+  }
+
+  /**
+   * Takes the lease that lets one instance at a time update the rollups, if no instance holds
+   * it. The clock of the database is used for leases, so the instances agree on when a lease
+   * has run out.
+   *
+   * @param token   The token of the new lease.
+   * @param seconds How long the lease lasts.
+   * @throws org.springframework.dao.DuplicateKeyException if the lease is held or has run out
+   *                                                       without being released
+   */
+  public void insertLease(String token, long seconds) {
+    jdbcTemplate.update("INSERT INTO readiness_rollup_lease (id, token, leased_until) "
+        + "VALUES (?, ?, TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP))", LEASE_ID, token, seconds);
+  }
+
+  /**
+   * Extends the lease if it is held with the given token, or takes it over if it has run out.
+   *
+   * @param token   The token of the lease.
+   * @param seconds How long the lease lasts from now.
+   * @return true if the lease is now held with the token.
+   */
+  public boolean extendLease(String token, long seconds) {
+    return jdbcTemplate.update("UPDATE readiness_rollup_lease SET token = ?, "
+            + "leased_until = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP) "
+            + "WHERE id = ? AND (token = ? OR leased_until < CURRENT_TIMESTAMP)",
+        token, seconds, LEASE_ID, token) > 0;
+  }
+
+  /**
+   * Releases the lease if it is still held with the given token.
+   *
+   * @param token The token of the lease.
+   */
+  public void releaseLease(String token) {
+    jdbcTemplate.update("DELETE FROM readiness_rollup_lease WHERE id = ? AND token = ?",
+        LEASE_ID, token);
+  }
+
+  /**
+   * Finds the next chunk of household IDs, in ID order.
+   *
+   * @param afterId The last ID of the previous chunk, or 0 for the first chunk.
+   * @param limit   The maximum number of IDs to return.
+   * @return The IDs.
+   */
+  public List<Long> findHouseholdIdsAfter(long afterId, int limit) {
+    return jdbcTemplate.queryForList("SELECT id FROM households WHERE id > ? ORDER BY id LIMIT ?",
+        Long.class, afterId, limit);
+  }
+
+  /**
+   * Finds the given households with their members and the calories and drinking water in
+   * their stock that has not expired. Households that no longer exist are left out.
+   *
+   * @param householdIds The IDs of the households.
+   * @param now          The time stock expiring before is left out.
+   * @return The households.
+   */
+  public List<HouseholdSupply> findHouseholdSupply(Collection<Long> householdIds,
+                                                   LocalDateTime now) {
+    if (householdIds.isEmpty()) {
+      return List.of();
+    }
+    String sql = "SELECT h.id, h.latitude, h.longitude, "
+        + "(SELECT COUNT(*) FROM users u WHERE u.household_id = h.id) AS residents, "
+        + "(SELECT COUNT(*) FROM non_user_members n WHERE n.household_id = h.id) "
+        + "AS non_user_members, "
+        + "(SELECT COALESCE(SUM(i.calories * s.quantity), 0) FROM storage_items s "
+        + "JOIN items i ON i.id = s.item_id "
+        + "WHERE s.household_id = h.id AND s.expiration_date > ?) AS calories, "
+        + "(SELECT COALESCE(SUM(s.quantity), 0) FROM storage_items s "
+        + "JOIN items i ON i.id = s.item_id "
+        + "WHERE s.household_id = h.id AND s.expiration_date > ? "
+        + "AND i.unit = 'L' AND i.type = 'drink') AS water_liters "
+        + "FROM households h WHERE h.id IN (" + placeholders(householdIds.size()) + ")";
+    Timestamp timestamp = Timestamp.valueOf(now);
+    List<Object> args = new ArrayList<>(List.of(timestamp, timestamp));
+    args.addAll(householdIds);
+    return jdbcTemplate.query(sql, (rs, rowNum) -> new HouseholdSupply(
+        rs.getLong("id"),
+        rs.getDouble("latitude"),
+        rs.getDouble("longitude"),
+        rs.getInt("residents"),
+        rs.getInt("non_user_members"),
+        rs.getDouble("calories"),
+        rs.getDouble("water_liters")),
+        args.toArray());
+  }
+
+  /**
+   * Finds the unexpired quantity of each type of item in the stock of the given households.
+   * Types a household has none of are left out.
+   *
+   * @param householdIds The IDs of the households.
+   * @param now          The time stock expiring before is left out.
+   * @return The quantities per household and item type.
+   */
+  public List<ItemTypeStock> findItemTypeStock(Collection<Long> householdIds,
+                                               LocalDateTime now) {
+    if (householdIds.isEmpty()) {
+      return List.of();
+    }
+    String sql = "SELECT s.household_id, i.type, SUM(s.quantity) AS quantity "
+        + "FROM storage_items s JOIN items i ON i.id = s.item_id "
+        + "WHERE s.expiration_date > ? "
+        + "AND s.household_id IN (" + placeholders(householdIds.size()) + ") "
+        + "GROUP BY s.household_id, i.type HAVING SUM(s.quantity) > 0";
+    List<Object> args = new ArrayList<>(List.of(Timestamp.valueOf(now)));
+    args.addAll(householdIds);
+    return jdbcTemplate.query(sql, (rs, rowNum) -> new ItemTypeStock(
+        rs.getLong("household_id"),
+        ItemType.fromString(rs.getString("type")),
+        rs.getDouble("quantity")),
+        args.toArray());
+  }
+
+  /**
+   * Finds the regions the given households were in when their readiness was last computed.
+   *
+   * @param householdIds The IDs of the households.
+   * @return The regions.
+   */
+  public List<String> findRegionsOf(Collection<Long> householdIds) {
+    if (householdIds.isEmpty()) {
+      return List.of();
+    }
+    return jdbcTemplate.queryForList("SELECT DISTINCT region FROM household_readiness "
+            + "WHERE household_id IN (" + placeholders(householdIds.size()) + ")",
+        String.class, householdIds.toArray());
+  }
+
+  /**
+   * Finds every region with at least one household.
+   *
+   * @return The regions, in order.
+   */
+  public List<String> findAllRegions() {
+    return jdbcTemplate.queryForList(
+        "SELECT DISTINCT region FROM household_readiness ORDER BY region", String.class);
+  }
+
+  /**
+   * Replaces the readiness and item type stock of the given households using batched
+   * statements. Households in the ID list without a new row are removed.
+   *
+   * @param householdIds The IDs of the households to replace.
+   * @param readiness    The new readiness of the households that still exist.
+   * @param stock        The new item type stock of the households.
+   * @param now          The time the readiness was computed.
+   */
+  public void replaceHouseholds(Collection<Long> householdIds, List<HouseholdReadiness> readiness,
+                                List<ItemTypeStock> stock, LocalDateTime now) {
+    if (householdIds.isEmpty()) {
+      return;
+    }
+    String placeholders = placeholders(householdIds.size());
+    jdbcTemplate.update("DELETE FROM household_item_type_stock WHERE household_id IN ("
+        + placeholders + ")", householdIds.toArray());
+    jdbcTemplate.update("DELETE FROM household_readiness WHERE household_id IN ("
+        + placeholders + ")", householdIds.toArray());
+
+    Timestamp computedAt = Timestamp.valueOf(now);
+    jdbcTemplate.batchUpdate("INSERT INTO household_readiness (household_id, region, "
+            + "residents, non_user_members, food_days, water_days, readiness_days, "
+            + "computed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+        readiness, readiness.size(), (ps, household) -> {
+          ps.setLong(1, household.getHouseholdId());
+          ps.setString(2, household.getRegion());
+          ps.setInt(3, household.getResidents());
+          ps.setInt(4, household.getNonUserMembers());
+          setDays(ps, 5, household.getFoodDays());
+          setDays(ps, 6, household.getWaterDays());
+          setDays(ps, 7, household.getReadinessDays());
+          ps.setTimestamp(8, computedAt);
+        });
+    jdbcTemplate.batchUpdate("INSERT INTO household_item_type_stock (household_id, item_type, "
+            + "quantity) VALUES (?, ?, ?)",
+        stock, stock.size(), (ps, itemTypeStock) -> {
+          ps.setLong(1, itemTypeStock.getHouseholdId());
+          ps.setString(2, itemTypeStock.getItemType().name());
+          ps.setDouble(3, itemTypeStock.getQuantity());
+        });
+  }
+
+  /**
+   * Recomputes the rollups of the given regions from the readiness of their households.
+   * A region without households is removed.
+   *
+   * @param regions The regions.
+   * @param now     The time the rollups are computed.
+   */
+  public void replaceRegions(Collection<String> regions, LocalDateTime now) {
+    if (regions.isEmpty()) {
+      return;
+    }
+    String placeholders = placeholders(regions.size());
+    jdbcTemplate.update("DELETE FROM readiness_rollups WHERE region IN (" + placeholders + ")",
+        regions.toArray());
+    jdbcTemplate.update("DELETE FROM readiness_item_type_rollups WHERE region IN ("
+        + placeholders + ")", regions.toArray());
+
+    List<Object> args = new ArrayList<>();
+    args.add(Timestamp.valueOf(now));
+    args.addAll(regions);
+    jdbcTemplate.update("INSERT INTO readiness_rollups (region, households, residents, "
+            + "non_user_members, rated_households, food_days_sum, water_days_sum, "
+            + "readiness_days_sum, under_three_days, computed_at) "
+            + "SELECT region, COUNT(*), SUM(residents), SUM(non_user_members), "
+            + "COUNT(readiness_days), COALESCE(SUM(food_days), 0), "
+            + "COALESCE(SUM(water_days), 0), COALESCE(SUM(readiness_days), 0), "
+            + "SUM(CASE WHEN readiness_days < 3 THEN 1 ELSE 0 END), ? "
+            + "FROM household_readiness WHERE region IN (" + placeholders + ") "
+            + "GROUP BY region",
+        args.toArray());
+    jdbcTemplate.update("INSERT INTO readiness_item_type_rollups (region, item_type, "
+            + "households_stocked, quantity) "
+            + "SELECT r.region, s.item_type, COUNT(*), SUM(s.quantity) "
+            + "FROM household_item_type_stock s "
+            + "JOIN household_readiness r ON r.household_id = s.household_id "
+            + "WHERE r.region IN (" + placeholders + ") GROUP BY r.region, s.item_type",
+        regions.toArray());
+  }
+
+  /**
+   * Removes the rollups of regions that no longer have any households, for example after
+   * the region precision has changed.
+   *
+   * @return The number of regions removed.
+   */
+  public int deleteEmptyRegions() {
+    jdbcTemplate.update("DELETE FROM readiness_item_type_rollups WHERE region NOT IN "
+        + "(SELECT region FROM household_readiness)");
+    return jdbcTemplate.update("DELETE FROM readiness_rollups WHERE region NOT IN "
+        + "(SELECT region FROM household_readiness)");
+  }
+
+  /**
+   * Finds the rollups added together per region prefix of the given length.
+   *
+   * @param precision The length of the region prefix to group by, 0 for the whole country.
+   * @param within    The prefix every region must start with, or an empty string for all.
+   * @return The rollups, one per prefix, ordered by prefix. The computed time is that of the
+   *         oldest rollup added.
+   */
+  public List<ReadinessRollup> findRollups(int precision, String within) {
+    String prefix = "LEFT(region, " + precision + ")";
+    String sql = "SELECT " + prefix + " AS prefix, SUM(households) AS households, "
+        + "SUM(residents) AS residents, SUM(non_user_members) AS non_user_members, "
+        + "SUM(rated_households) AS rated_households, SUM(food_days_sum) AS food_days_sum, "
+        + "SUM(water_days_sum) AS water_days_sum, "
+        + "SUM(readiness_days_sum) AS readiness_days_sum, "
+        + "SUM(under_three_days) AS under_three_days, MIN(computed_at) AS computed_at "
+        + "FROM readiness_rollups WHERE region LIKE ? GROUP BY " + prefix + " ORDER BY prefix";
+    return jdbcTemplate.query(sql, (rs, rowNum) -> new ReadinessRollup(
+        rs.getString("prefix"),
+        rs.getInt("households"),
+        rs.getInt("residents"),
+        rs.getInt("non_user_members"),
+        rs.getInt("rated_households"),
+        rs.getDouble("food_days_sum"),
+        rs.getDouble("water_days_sum"),
+        rs.getDouble("readiness_days_sum"),
+        rs.getInt("under_three_days"),
+        rs.getTimestamp("computed_at").toLocalDateTime()),
+        within + "%");
+  }
+
+  /**
+   * Finds the item type rollups added together per region prefix of the given length.
+   *
+   * @param precision The length of the region prefix to group by, 0 for the whole country.
+   * @param within    The prefix every region must start with, or an empty string for all.
+   * @return The item type rollups, one per prefix and item type.
+   */
+  public List<ItemTypeRollup> findItemTypeRollups(int precision, String within) {
+    String prefix = "LEFT(region, " + precision + ")";
+    String sql = "SELECT " + prefix + " AS prefix, item_type, "
+        + "SUM(households_stocked) AS households_stocked, SUM(quantity) AS quantity "
+        + "FROM readiness_item_type_rollups WHERE region LIKE ? "
+        + "GROUP BY " + prefix + ", item_type";
+    return jdbcTemplate.query(sql, (rs, rowNum) -> new ItemTypeRollup(
+        rs.getString("prefix"),
+        ItemType.valueOf(rs.getString("item_type")),
+        rs.getInt("households_stocked"),
+        rs.getDouble("quantity")),
+        within + "%");
+  }
+
+  private static String placeholders(int count) {
+    return String.join(",", Collections.nCopies(count, "?"));
+  }
+
+  private static void setDays(PreparedStatement ps, int index, Double days)
+      throws SQLException {
+    if (days != null) {
+      ps.setDouble(index, days);
+    } else {
+      ps.setNull(index, Types.DOUBLE);
+    }
+  }
+}
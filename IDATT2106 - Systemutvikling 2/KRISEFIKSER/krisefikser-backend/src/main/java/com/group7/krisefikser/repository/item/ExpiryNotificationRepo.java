@@ -0,0 +1,184 @@
+package com.group7.krisefikser.repository.item;
+
+import com.group7.krisefikser.model.item.ExpiryDigestItem;
+import com.group7.krisefikser.model.item.ExpiryNotification;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * This class is a repository for the queue of expiry reminders.
+ * It walks the storage items in expiration date order, records which items have been queued
+ * for which threshold, and lets the queued reminders be claimed and read per household.
+ */
+@Repository
+public class ExpiryNotificationRepo {
+  private final JdbcTemplate jdbcTemplate;
+
+  private final RowMapper<ExpiryNotification> notificationRowMapper = (rs, rowNum) ->
+      new ExpiryNotification(
+          rs.getInt("storage_item_id"),
+          rs.getInt("household_id"),
+          rs.getInt("threshold_days"),
+          rs.getTimestamp("expiration_date").toLocalDateTime()
+      );
+
+  /**
+   * Constructor for ExpiryNotificationRepo.
+   *
+   * @param jdbcTemplate The JdbcTemplate used to interact with the database.
+   */
+  @Autowired
+  public ExpiryNotificationRepo(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Finds the next page of storage items expiring no later than the given date,
+   * ordered by expiration date and ID. The page starts right after the given position,
+   * so consecutive calls walk the expiration date index in ranges without using an offset.
+   * The threshold of the returned notifications is not set.
+   *
+   * @param afterDate The expiration date of the last item of the previous page.
+   * @param afterId   The ID of the last item of the previous page, or 0 for the first page.
+   * @param to        The latest expiration date to include.
+   * @param limit     The maximum number of items to return.
+   * @return The storage items of the page.
+   */
+  public List<ExpiryNotification> findExpiringPage(LocalDateTime afterDate, int afterId,
+                                                   LocalDateTime to, int limit) {
+    String sql = "SELECT id AS storage_item_id, household_id, 0 AS threshold_days, "
+        + "expiration_date FROM storage_items "
+        + "WHERE expiration_date <= ? "
+        + "AND (expiration_date > ? OR (expiration_date = ? AND id > ?)) "
+        + "ORDER BY expiration_date, id LIMIT ?";
+    Timestamp after = Timestamp.valueOf(afterDate);
+    return jdbcTemplate.query(sql, notificationRowMapper,
+        Timestamp.valueOf(to), after, after, afterId, limit);
+  }
+
+  /**
+   * Finds the queued reminders of the given storage items, sent or not.
+   *
+   * @param storageItemIds The IDs of the storage items.
+   * @return The reminders queued for the storage items.
+   */
+  public List<ExpiryNotification> findByStorageItemIds(Collection<Integer> storageItemIds) {
+    if (storageItemIds.isEmpty()) {
+      return List.of();
+    }
+    String placeholders = String.join(",", Collections.nCopies(storageItemIds.size(), "?"));
+    String sql = "SELECT storage_item_id, household_id, threshold_days, expiration_date "
+        + "FROM expiry_notifications WHERE storage_item_id IN (" + placeholders + ")";
+    return jdbcTemplate.query(sql, notificationRowMapper, storageItemIds.toArray());
+  }
+
+  /**
+   * Queues reminders using one batched statement. A reminder already recorded for the same
+   * storage item and threshold, for example for an earlier expiration date, is replaced and
+   * becomes pending again. A reminder already recorded for the same expiration date is kept
+   * as it is, so two scanners queueing the same reminder at the same time neither fail on the
+   * primary key nor send it twice.
+   *
+   * @param notifications The reminders to queue.
+   * @param queuedAt      The time the reminders are queued.
+   * @return The number of reminders queued.
+   */
+  public int queueAll(List<ExpiryNotification> notifications, LocalDateTime queuedAt) {
+    if (notifications.isEmpty()) {
+      return 0;
+    }
+    jdbcTemplate.batchUpdate("INSERT INTO expiry_notifications (storage_item_id, "
+            + "threshold_days, household_id, expiration_date, queued_at) "
+            + "VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE "
+            + "sent_at = CASE WHEN expiration_date = VALUES(expiration_date) "
+            + "THEN sent_at ELSE NULL END, "
+            + "queued_at = CASE WHEN expiration_date = VALUES(expiration_date) "
+            + "THEN queued_at ELSE VALUES(queued_at) END, "
+            + "household_id = VALUES(household_id), "
+            + "expiration_date = VALUES(expiration_date)",
+        notifications, notifications.size(), (ps, notification) -> {
+          ps.setInt(1, notification.getStorageItemId());
+          ps.setInt(2, notification.getThresholdDays());
+          ps.setInt(3, notification.getHouseholdId());
+          ps.setTimestamp(4, Timestamp.valueOf(notification.getExpirationDate()));
+          ps.setTimestamp(5, Timestamp.valueOf(queuedAt));
+        });
+    return notifications.size();
+  }
+
+  /**
+   * Deletes the reminders of storage items that expired before the given time, sent or not.
+   * The scan only reads items that have not expired yet, so these reminders are never
+   * needed again, while the reminders of items that have not expired are kept so they are
+   * not queued twice.
+   *
+   * @param expiredBefore The time before which an item has expired long enough.
+   * @return The number of reminders deleted.
+   */
+  public int deleteExpiredBefore(LocalDateTime expiredBefore) {
+    return jdbcTemplate.update("DELETE FROM expiry_notifications WHERE expiration_date < ?",
+        Timestamp.valueOf(expiredBefore));
+  }
+
+  /**
+   * Finds the households that have reminders waiting to be sent.
+   *
+   * @return The IDs of the households.
+   */
+  public List<Integer> findHouseholdsWithPending() {
+    String sql = "SELECT DISTINCT household_id FROM expiry_notifications "
+        + "WHERE sent_at IS NULL ORDER BY household_id";
+    return jdbcTemplate.queryForList(sql, Integer.class);
+  }
+
+  /**
+   * Claims the pending reminders of a household by marking them as sent at the given time.
+   * A reminder can only be claimed once, so two scanners running at the same time do not
+   * send the same reminder twice.
+   *
+   * @param householdId The ID of the household.
+   * @param claimedAt   The time to mark the reminders with. It should not have fractional
+   *                    seconds, since it is used to read the claimed reminders back.
+   * @return The number of reminders claimed.
+   */
+  public int claimPending(int householdId, LocalDateTime claimedAt) {
+    String sql = "UPDATE expiry_notifications SET sent_at = ? "
+        + "WHERE household_id = ? AND sent_at IS NULL";
+    return jdbcTemplate.update(sql, Timestamp.valueOf(claimedAt), householdId);
+  }
+
+  /**
+   * Finds the reminders of a household claimed at the given time, ordered by expiration date.
+   * Reminders for storage items whose expiration date has changed since they were queued
+   * are left out.
+   *
+   * @param householdId The ID of the household.
+   * @param claimedAt   The time the reminders were claimed.
+   * @return The items to include in the reminder.
+   */
+  public List<ExpiryDigestItem> findClaimed(int householdId, LocalDateTime claimedAt) {
+    String sql = "SELECT si.id, i.name, i.unit, si.quantity, si.expiration_date, "
+        + "n.threshold_days FROM expiry_notifications n "
+        + "JOIN storage_items si ON n.storage_item_id = si.id "
+        + "AND n.expiration_date = si.expiration_date "
+        + "JOIN items i ON si.item_id = i.id "
+        + "WHERE n.household_id = ? AND n.sent_at = ? "
+        + "ORDER BY si.expiration_date, si.id";
+    return jdbcTemplate.query(sql, (rs, rowNum) -> new ExpiryDigestItem(
+        rs.getInt("id"),
+        rs.getString("name"),
+        rs.getString("unit"),
+        rs.getDouble("quantity"),
+        rs.getTimestamp("expiration_date").toLocalDateTime(),
+        rs.getInt("threshold_days")
+    ), householdId, Timestamp.valueOf(claimedAt));
+  }
+}
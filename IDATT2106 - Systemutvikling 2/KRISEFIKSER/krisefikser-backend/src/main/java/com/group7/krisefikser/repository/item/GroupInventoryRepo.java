@@ -0,0 +1,156 @@
+package com.group7.krisefikser.repository.item;
+
+import com.group7.krisefikser.model.item.GroupInventoryEntry;
+import java.sql.Timestamp;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * This class is a repository for the group inventory projection.
+ * The projection keeps the shared stock of every emergency group aggregated per item,
+ * so group-wide stock views only read one row per distinct item.
+ * It is maintained in two levels: the contribution of each household per item, and the
+ * group totals computed from those contributions. Both are refreshed from the storage items
+ * whenever a household's shared items or group membership changes, and the refresh must run
+ * in the same transaction as the change.
+ */
+@Repository
+public class GroupInventoryRepo {
+  private final JdbcTemplate jdbcTemplate;
+
+  private static final String CONTRIBUTIONS_INSERT = "INSERT INTO group_inventory_contributions "
+      + "(emergency_group_id, item_id, household_id, total_quantity, earliest_expiration) "
+      + "SELECT h.emergency_group_id, si.item_id, si.household_id, SUM(si.quantity), "
+      + "MIN(si.expiration_date) FROM storage_items si "
+      + "JOIN households h ON si.household_id = h.id "
+      + "WHERE si.household_id = ? AND si.is_shared = TRUE AND h.emergency_group_id IS NOT NULL";
+
+  private static final String CONTRIBUTIONS_GROUP_BY =
+      " GROUP BY h.emergency_group_id, si.item_id, si.household_id";
+
+  private final RowMapper<GroupInventoryEntry> entryRowMapper = (rs, rowNum) -> {
+    Timestamp earliest = rs.getTimestamp("earliest_expiration");
+    return new GroupInventoryEntry(
+        rs.getLong("emergency_group_id"),
+        rs.getInt("item_id"),
+        rs.getDouble("total_quantity"),
+        earliest != null ? earliest.toLocalDateTime() : null,
+        rs.getInt("household_count")
+    );
+  };
+
+  /**
+   * Constructor for GroupInventoryRepo.
+   *
+   * @param jdbcTemplate The JdbcTemplate used to interact with the database.
+   */
+  @Autowired
+  public GroupInventoryRepo(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Retrieves the shared stock of an emergency group, one entry per distinct item.
+   *
+   * @param emergencyGroupId The ID of the emergency group.
+   * @return A list of GroupInventoryEntry objects.
+   */
+  public List<GroupInventoryEntry> findByGroupId(long emergencyGroupId) {
+    String sql = "SELECT emergency_group_id, item_id, total_quantity, earliest_expiration, "
+        + "household_count FROM group_inventory WHERE emergency_group_id = ?";
+    return jdbcTemplate.query(sql, entryRowMapper, emergencyGroupId);
+  }
+
+  /**
+   * Refreshes the contribution of a household for a single item, and the totals of the
+   * groups the contribution moved out of or into.
+   *
+   * @param householdId The ID of the household whose storage items changed.
+   * @param itemId      The ID of the item that changed.
+   */
+  public void refreshHouseholdItem(long householdId, int itemId) {
+    String existing = "SELECT emergency_group_id, item_id FROM group_inventory_contributions "
+        + "WHERE household_id = ? AND item_id = ?";
+    Set<GroupItem> affected = new LinkedHashSet<>(jdbcTemplate.query(existing,
+        (rs, rowNum) -> new GroupItem(rs.getLong("emergency_group_id"), rs.getInt("item_id")),
+        householdId, itemId));
+
+    jdbcTemplate.update("DELETE FROM group_inventory_contributions "
+        + "WHERE household_id = ? AND item_id = ?", householdId, itemId);
+    jdbcTemplate.update(CONTRIBUTIONS_INSERT + " AND si.item_id = ?" + CONTRIBUTIONS_GROUP_BY,
+        householdId, itemId);
+
+    affected.addAll(jdbcTemplate.query(existing,
+        (rs, rowNum) -> new GroupItem(rs.getLong("emergency_group_id"), rs.getInt("item_id")),
+        householdId, itemId));
+    affected.forEach(this::refreshTotals);
+  }
+
+  /**
+   * Refreshes all contributions of a household, and the totals of every group and item
+   * they moved out of or into. Used when the household joins or leaves a group.
+   *
+   * @param householdId The ID of the household.
+   */
+  public void refreshHousehold(long householdId) {
+    String existing = "SELECT emergency_group_id, item_id FROM group_inventory_contributions "
+        + "WHERE household_id = ?";
+    Set<GroupItem> affected = new LinkedHashSet<>(jdbcTemplate.query(existing,
+        (rs, rowNum) -> new GroupItem(rs.getLong("emergency_group_id"), rs.getInt("item_id")),
+        householdId));
+
+    jdbcTemplate.update("DELETE FROM group_inventory_contributions WHERE household_id = ?",
+        householdId);
+    jdbcTemplate.update(CONTRIBUTIONS_INSERT + CONTRIBUTIONS_GROUP_BY, householdId);
+
+    affected.addAll(jdbcTemplate.query(existing,
+        (rs, rowNum) -> new GroupItem(rs.getLong("emergency_group_id"), rs.getInt("item_id")),
+        householdId));
+    affected.forEach(this::refreshTotals);
+  }
+
+  /**
+   * Rebuilds the whole projection from the storage items.
+   * Used after bulk loads that bypass the regular write paths.
+   */
+  public void rebuild() {
+    jdbcTemplate.update("DELETE FROM group_inventory");
+    jdbcTemplate.update("DELETE FROM group_inventory_contributions");
+    jdbcTemplate.update("INSERT INTO group_inventory_contributions "
+        + "(emergency_group_id, item_id, household_id, total_quantity, earliest_expiration) "
+        + "SELECT h.emergency_group_id, si.item_id, si.household_id, SUM(si.quantity), "
+        + "MIN(si.expiration_date) FROM storage_items si "
+        + "JOIN households h ON si.household_id = h.id "
+        + "WHERE si.is_shared = TRUE AND h.emergency_group_id IS NOT NULL"
+        + CONTRIBUTIONS_GROUP_BY);
+    jdbcTemplate.update("INSERT INTO group_inventory "
+        + "(emergency_group_id, item_id, total_quantity, earliest_expiration, household_count) "
+        + "SELECT emergency_group_id, item_id, SUM(total_quantity), MIN(earliest_expiration), "
+        + "COUNT(*) FROM group_inventory_contributions GROUP BY emergency_group_id, item_id");
+  }
+
+  /**
+   * Recomputes the totals of one item in one group from the household contributions.
+   * Deleting the row first also locks it, so concurrent refreshes of the same
+   * group and item are serialized.
+   */
+  private void refreshTotals(GroupItem groupItem) {
+    jdbcTemplate.update("DELETE FROM group_inventory "
+        + "WHERE emergency_group_id = ? AND item_id = ?",
+        groupItem.groupId(), groupItem.itemId());
+    jdbcTemplate.update("INSERT INTO group_inventory "
+        + "(emergency_group_id, item_id, total_quantity, earliest_expiration, household_count) "
+        + "SELECT emergency_group_id, item_id, SUM(total_quantity), MIN(earliest_expiration), "
+        + "COUNT(*) FROM group_inventory_contributions "
+        + "WHERE emergency_group_id = ? AND item_id = ? GROUP BY emergency_group_id, item_id",
+        groupItem.groupId(), groupItem.itemId());
+  }
+
+  private record GroupItem(long groupId, int itemId) {
+  }
+}
@@ -1,9 +1,16 @@
 package com.group7.krisefikser.repository.item;
 
+import static com.group7.krisefikser.utils.QueryUtils.findOne;
+
 import com.group7.krisefikser.enums.ItemType;
 import com.group7.krisefikser.model.item.Item;
+import com.group7.krisefikser.service.cache.CacheNames;
+import com.group7.krisefikser.service.cache.InvalidationBus;
+import com.group7.krisefikser.service.cache.TwoTierCache;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +30,7 @@ import org.springframework.stereotype.Repository;
 @Repository
 public class ItemRepo {
   private final JdbcTemplate jdbcTemplate;
+  private final InvalidationBus invalidationBus;
 
   /**
    * RowMapper to map the result set to an Item object.
@@ -40,11 +48,13 @@ public class ItemRepo {
   /**
    * Constructor for ItemRepo.
    *
-   * @param jdbcTemplate The JdbcTemplate used to interact with the database.
+   * @param jdbcTemplate    The JdbcTemplate used to interact with the database.
+   * @param invalidationBus The bus that changes to the cached item catalogue are published to.
    */
   @Autowired
-  public ItemRepo(JdbcTemplate jdbcTemplate) {
+  public ItemRepo(JdbcTemplate jdbcTemplate, InvalidationBus invalidationBus) {
     this.jdbcTemplate = jdbcTemplate;
+    this.invalidationBus = invalidationBus;
   }
 
   /**
@@ -64,13 +74,24 @@ public class ItemRepo {
    * @return An Optional containing the Item object if found, or empty if not found.
    */
   public Optional<Item> findById(int id) {
-    try {
-      String sql = "SELECT id, name, unit, calories, type FROM items WHERE id = ?";
-      Item item = jdbcTemplate.queryForObject(sql, itemRowMapper, id);
-      return Optional.ofNullable(item);
-    } catch (EmptyResultDataAccessException e) {
-      return Optional.empty();
+    String sql = "SELECT id, name, unit, calories, type FROM items WHERE id = ?";
+    return findOne(jdbcTemplate, sql, itemRowMapper, id);
+  }
+
+  /**
+   * This method retrieves all items with the given IDs in a single query.
+   *
+   * @param ids The IDs of the items to retrieve.
+   * @return A list of the Item objects found. Unknown IDs are ignored.
+   */
+  public List<Item> findByIds(Collection<Integer> ids) {
+    if (ids == null || ids.isEmpty()) {
+      return List.of();
     }
+    String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+    String sql = "SELECT id, name, unit, calories, type FROM items WHERE id IN ("
+        + placeholders + ")";
+    return jdbcTemplate.query(sql, itemRowMapper, ids.toArray());
   }
 
   /**
@@ -106,6 +127,7 @@ public class ItemRepo {
     }, keyHolder);
 
     item.setId(keyHolder.getKey().intValue());
+    invalidationBus.publish(CacheNames.ITEMS, TwoTierCache.ALL);
     return item;
   }
 
@@ -127,6 +149,7 @@ public class ItemRepo {
     if (rowsAffected == 0) {
       throw new EmptyResultDataAccessException("No item found with id: " + item.getId(), 1);
     }
+    invalidationBus.publish(CacheNames.ITEMS, TwoTierCache.ALL);
     return item;
   }
 
@@ -138,6 +161,10 @@ public class ItemRepo {
    */
   public boolean deleteById(int id) {
     String sql = "DELETE FROM items WHERE id = ?";
-    return jdbcTemplate.update(sql, id) > 0;
+    if (jdbcTemplate.update(sql, id) == 0) {
+      return false;
+    }
+    invalidationBus.publish(CacheNames.ITEMS, TwoTierCache.ALL);
+    return true;
   }
 }
@@ -0,0 +1,112 @@
+package com.group7.krisefikser.repository.item;
+
+import com.group7.krisefikser.enums.ItemType;
+import com.group7.krisefikser.model.item.StorageItemExportRow;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * This class is a repository for exporting storage items.
+ * Rows are read through a forward-only, read-only cursor with a bounded fetch size and handed
+ * to the caller one at a time, so the memory used does not depend on the number of rows.
+ * On MySQL the cursor is only streamed from the server when the connection has
+ * useCursorFetch enabled, otherwise the driver reads the whole result set up front.
+ */
+@Repository
+public class StorageItemExportRepo {
+  private final JdbcTemplate jdbcTemplate;
+  private final int fetchSize;
+
+  private static final String SELECT_ROWS = "SELECT si.id, h.name AS household_name, "
+      + "si.item_id, i.name AS item_name, i.unit, i.type, si.quantity, si.expiration_date, "
+      + "si.is_shared FROM storage_items si "
+      + "JOIN items i ON si.item_id = i.id "
+      + "JOIN households h ON si.household_id = h.id ";
+
+  /**
+   * Constructor for StorageItemExportRepo.
+   *
+   * @param jdbcTemplate The JdbcTemplate used to interact with the database.
+   * @param fetchSize    The number of rows fetched from the database per round trip.
+   */
+  @Autowired
+  public StorageItemExportRepo(JdbcTemplate jdbcTemplate,
+                               @Value("${app.export.fetch-size:500}") int fetchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.fetchSize = fetchSize;
+  }
+
+  /**
+   * Streams all storage items of a household, ordered by expiration date.
+   *
+   * @param householdId The ID of the household.
+   * @param consumer    Receives each row as it is read.
+   */
+  public void streamHouseholdItems(int householdId, Consumer<StorageItemExportRow> consumer) {
+    stream(SELECT_ROWS + "WHERE si.household_id = ? ORDER BY si.expiration_date",
+        consumer, householdId);
+  }
+
+  /**
+   * Streams all shared storage items in an emergency group, ordered by household and
+   * expiration date.
+   *
+   * @param emergencyGroupId The ID of the emergency group.
+   * @param consumer         Receives each row as it is read.
+   */
+  public void streamSharedGroupItems(long emergencyGroupId,
+                                     Consumer<StorageItemExportRow> consumer) {
+    stream(SELECT_ROWS + "WHERE h.emergency_group_id = ? AND si.is_shared = TRUE "
+        + "ORDER BY si.household_id, si.expiration_date", consumer, emergencyGroupId);
+  }
+
+  /**
+   * Streams the storage items of a household that expire within the given number of days,
+   * ordered by expiration date.
+   *
+   * @param householdId The ID of the household.
+   * @param days        The number of days within which the items expire.
+   * @param consumer    Receives each row as it is read.
+   */
+  public void streamExpiringItems(int householdId, int days,
+                                  Consumer<StorageItemExportRow> consumer) {
+    LocalDateTime now = LocalDateTime.now();
+    stream(SELECT_ROWS + "WHERE si.household_id = ? AND si.expiration_date >= ? "
+        + "AND si.expiration_date <= ? ORDER BY si.expiration_date", consumer,
+        householdId, Timestamp.valueOf(now), Timestamp.valueOf(now.plusDays(days)));
+  }
+
+  private void stream(String sql, Consumer<StorageItemExportRow> consumer, Object... args) {
+    jdbcTemplate.query(connection -> {
+      PreparedStatement ps = connection.prepareStatement(sql,
+          ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      ps.setFetchSize(fetchSize);
+      new ArgumentPreparedStatementSetter(args).setValues(ps);
+      return ps;
+    }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+  }
+
+  private static StorageItemExportRow mapRow(ResultSet rs) throws SQLException {
+    return new StorageItemExportRow(
+        rs.getInt("id"),
+        rs.getString("household_name"),
+        rs.getInt("item_id"),
+        rs.getString("item_name"),
+        rs.getString("unit"),
+        ItemType.fromString(rs.getString("type")),
+        rs.getDouble("quantity"),
+        rs.getTimestamp("expiration_date").toLocalDateTime(),
+        rs.getBoolean("is_shared")
+    );
+  }
+}
@@ -1,13 +1,22 @@
 package com.group7.krisefikser.repository.item;
 
+import static com.group7.krisefikser.utils.QueryUtils.findOne;
+
+import com.group7.krisefikser.enums.SyncEntity;
 import com.group7.krisefikser.model.item.StorageItem;
+import com.group7.krisefikser.repository.other.ChangeLogRepo;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -21,10 +30,12 @@ import org.springframework.stereotype.Repository;
  * This class is a repository for managing storage items in the database.
  * It provides methods to get, add, update, and delete storage items.
  * It uses JdbcTemplate to interact with the database.
+ * Every change is recorded in the change log, so offline clients can sync it.
  */
 @Repository
 public class StorageItemRepo {
   private final JdbcTemplate jdbcTemplate;
+  private final ChangeLogRepo changeLogRepo;
 
   /**
    * RowMapper to map the result set to a StorageItem object.
@@ -41,11 +52,13 @@ public class StorageItemRepo {
   /**
    * Constructor for StorageItemRepo.
    *
-   * @param jdbcTemplate The JdbcTemplate used to interact with the database.
+   * @param jdbcTemplate  The JdbcTemplate used to interact with the database.
+   * @param changeLogRepo The change log that changes to storage items are recorded in.
    */
   @Autowired
-  public StorageItemRepo(JdbcTemplate jdbcTemplate) {
+  public StorageItemRepo(JdbcTemplate jdbcTemplate, ChangeLogRepo changeLogRepo) {
     this.jdbcTemplate = jdbcTemplate;
+    this.changeLogRepo = changeLogRepo;
   }
 
   /**
@@ -90,6 +103,25 @@ public class StorageItemRepo {
     return jdbcTemplate.query(sql, storageItemRowMapper, groupId, itemId);
   }
 
+  /**
+   * This method retrieves the shared storage items of an item in a group together with the
+   * name of the household each of them belongs to, in a single query.
+   *
+   * @param groupId The ID of the group to retrieve storage items for
+   * @param itemId  The ID of the item to retrieve storage items for
+   * @return A list of pairs of StorageItem objects and household names.
+   */
+  public List<Map.Entry<StorageItem, String>> getSharedStorageItemsInGroupByItemIdWithHousehold(
+          long groupId, long itemId) {
+    String sql = "SELECT si.id, si.expiration_date, si.quantity, si.household_id, "
+            + "si.item_id, si.is_shared, h.name AS household_name FROM storage_items si "
+            + "JOIN households h ON si.household_id = h.id "
+            + "WHERE h.emergency_group_id = ? AND si.is_shared = TRUE AND si.item_id = ?";
+    return jdbcTemplate.query(sql, (rs, rowNum) -> Map.entry(
+            storageItemRowMapper.mapRow(rs, rowNum), rs.getString("household_name")),
+            groupId, itemId);
+  }
+
   /**
    * This method retrieves a storage item by its ID.
    *
@@ -97,15 +129,32 @@ public class StorageItemRepo {
    * @return An Optional containing the StorageItem object if found, or empty if not found.
    */
   public Optional<StorageItem> findById(int id) {
-    try {
-      String sql = "SELECT id, expiration_date, quantity, household_id, "
-              + "item_id, is_shared FROM storage_items WHERE id = ?";
-      StorageItem storageItem = jdbcTemplate.queryForObject(sql,
-              storageItemRowMapper, id);
-      return Optional.ofNullable(storageItem);
-    } catch (EmptyResultDataAccessException e) {
-      return Optional.empty();
+    String sql = "SELECT id, expiration_date, quantity, household_id, "
+            + "item_id, is_shared FROM storage_items WHERE id = ?";
+    return findOne(jdbcTemplate, sql, storageItemRowMapper, id);
+  }
+
+  /**
+   * This method retrieves the storage items with the given IDs that belong to a household.
+   *
+   * @param ids         The IDs of the storage items to retrieve.
+   * @param householdId The ID of the household the storage items belong to.
+   * @return A list of the StorageItem objects found.
+   */
+  public List<StorageItem> findByIds(Collection<? extends Number> ids, int householdId) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+    String sql = "SELECT id, expiration_date, quantity, household_id, item_id, is_shared "
+            + "FROM storage_items WHERE household_id = ? AND id IN (" + placeholders + ")";
+    Object[] params = new Object[ids.size() + 1];
+    params[0] = householdId;
+    int i = 1;
+    for (Number id : ids) {
+      params[i++] = id.longValue();
     }
+    return jdbcTemplate.query(sql, storageItemRowMapper, params);
   }
 
   /**
@@ -147,6 +196,8 @@ public class StorageItemRepo {
     }, keyHolder);
 
     storageItem.setId(keyHolder.getKey().intValue());
+    changeLogRepo.record(SyncEntity.STORAGE_ITEM, (long) storageItem.getId(),
+            (long) storageItem.getHouseholdId(), false);
     return storageItem;
   }
 
@@ -175,6 +226,8 @@ public class StorageItemRepo {
               "No storage item found with id: " + storageItem.getId()
                       + " in household: " + storageItem.getHouseholdId(), 1);
     }
+    changeLogRepo.record(SyncEntity.STORAGE_ITEM, (long) storageItem.getId(),
+            (long) storageItem.getHouseholdId(), false);
     return storageItem;
   }
 
@@ -188,7 +241,111 @@ public class StorageItemRepo {
    */
   public boolean deleteById(int id, int householdId) {
     String sql = "DELETE FROM storage_items WHERE id = ? AND household_id = ?";
-    return jdbcTemplate.update(sql, id, householdId) > 0;
+    if (jdbcTemplate.update(sql, id, householdId) == 0) {
+      return false;
+    }
+    changeLogRepo.record(SyncEntity.STORAGE_ITEM, (long) id, (long) householdId, true);
+    return true;
+  }
+
+  /**
+   * Adds several storage items to the database using batched inserts.
+   * Unlike {@link #add(StorageItem)} the generated IDs are not read back,
+   * which lets the driver send the rows in as few round trips as possible.
+   * Since the IDs are unknown, the storage items of each household are recorded in the change
+   * log as a whole.
+   *
+   * @param storageItems The storage items to be added.
+   * @return The number of storage items added.
+   */
+  public int addAll(List<StorageItem> storageItems) {
+    String sql = "INSERT INTO storage_items (expiration_date, quantity, "
+            + "household_id, item_id, is_shared) VALUES (?, ?, ?, ?, ?)";
+    jdbcTemplate.batchUpdate(sql, storageItems, storageItems.size(), (ps, storageItem) -> {
+      ps.setTimestamp(1, Timestamp.valueOf(storageItem.getExpirationDate()));
+      ps.setDouble(2, storageItem.getQuantity());
+      ps.setInt(3, storageItem.getHouseholdId());
+      ps.setInt(4, storageItem.getItemId());
+      ps.setBoolean(5, storageItem.isShared());
+    });
+    storageItems.stream().map(StorageItem::getHouseholdId).distinct().forEach(householdId ->
+            changeLogRepo.record(SyncEntity.STORAGE_ITEM, null, (long) householdId, false));
+    return storageItems.size();
+  }
+
+  /**
+   * Updates the expiration date, quantity and item of several storage items using
+   * batched updates. The shared status is left unchanged.
+   * The caller is responsible for checking that the storage items exist in the household.
+   *
+   * @param storageItems The storage items to be updated, with their IDs and household ID set.
+   * @return The number of storage items updated.
+   */
+  public int updateAll(List<StorageItem> storageItems) {
+    String sql = "UPDATE storage_items SET expiration_date = ?, quantity = ?, item_id = ? "
+            + "WHERE id = ? AND household_id = ?";
+    jdbcTemplate.batchUpdate(sql, storageItems, storageItems.size(), (ps, storageItem) -> {
+      ps.setTimestamp(1, Timestamp.valueOf(storageItem.getExpirationDate()));
+      ps.setDouble(2, storageItem.getQuantity());
+      ps.setInt(3, storageItem.getItemId());
+      ps.setInt(4, storageItem.getId());
+      ps.setInt(5, storageItem.getHouseholdId());
+    });
+    storageItems.stream()
+            .collect(Collectors.groupingBy(StorageItem::getHouseholdId,
+                    Collectors.mapping(StorageItem::getId, Collectors.toList())))
+            .forEach((householdId, ids) -> changeLogRepo.recordAll(
+                    SyncEntity.STORAGE_ITEM, ids, (long) householdId, false));
+    return storageItems.size();
+  }
+
+  /**
+   * Deletes several storage items of a household in one statement.
+   *
+   * @param ids         The IDs of the storage items to be deleted.
+   * @param householdId The ID of the household the storage items belong to.
+   * @return The number of storage items deleted.
+   */
+  public int deleteByIds(Collection<Integer> ids, int householdId) {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+    String sql = "DELETE FROM storage_items WHERE household_id = ? AND id IN ("
+            + placeholders + ")";
+    int deleted = jdbcTemplate.update(sql, parameters(householdId, ids));
+    if (deleted > 0) {
+      changeLogRepo.recordAll(SyncEntity.STORAGE_ITEM, ids, (long) householdId, true);
+    }
+    return deleted;
+  }
+
+  /**
+   * Finds which of the given storage item IDs belong to a household.
+   *
+   * @param ids         The IDs of the storage items to look for.
+   * @param householdId The ID of the household.
+   * @return The IDs that exist in the household.
+   */
+  public Set<Integer> findIdsInHousehold(Collection<Integer> ids, int householdId) {
+    if (ids.isEmpty()) {
+      return Set.of();
+    }
+    String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+    String sql = "SELECT id FROM storage_items WHERE household_id = ? AND id IN ("
+            + placeholders + ")";
+    return new HashSet<>(jdbcTemplate.queryForList(sql, Integer.class,
+            parameters(householdId, ids)));
+  }
+
+  private static Object[] parameters(int householdId, Collection<Integer> ids) {
+    Object[] parameters = new Object[ids.size() + 1];
+    parameters[0] = householdId;
+    int i = 1;
+    for (Integer id : ids) {
+      parameters[i++] = id;
+    }
+    return parameters;
   }
 
   /**
@@ -199,7 +356,11 @@ public class StorageItemRepo {
    */
   public int deleteByHouseholdId(int householdId) {
     String sql = "DELETE FROM storage_items WHERE household_id = ?";
-    return jdbcTemplate.update(sql, householdId);
+    int deleted = jdbcTemplate.update(sql, householdId);
+    if (deleted > 0) {
+      changeLogRepo.record(SyncEntity.STORAGE_ITEM, null, (long) householdId, false);
+    }
+    return deleted;
   }
 
   /**
@@ -1,9 +1,20 @@
 package com.group7.krisefikser.repository.location;
 
+import com.group7.krisefikser.enums.SyncEntity;
 import com.group7.krisefikser.model.location.AffectedArea;
+import com.group7.krisefikser.repository.other.ChangeLogRepo;
+import com.group7.krisefikser.service.cache.CacheNames;
+import com.group7.krisefikser.service.cache.InvalidationBus;
+import com.group7.krisefikser.service.cache.TwoTierCache;
+import com.group7.krisefikser.service.location.TileRegion;
+import com.group7.krisefikser.utils.QueryUtils;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
@@ -16,15 +27,22 @@ import org.springframework.stereotype.Repository;
 @Repository
 public class AffectedAreaRepo {
   private final JdbcTemplate jdbcTemplate;
+  private final InvalidationBus invalidationBus;
+  private final ChangeLogRepo changeLogRepo;
 
   /**
    * Constructor for AffectedAreaRepo.
    *
-   * @param jdbcTemplate the JdbcTemplate to be used for database operations
+   * @param jdbcTemplate    the JdbcTemplate to be used for database operations
+   * @param invalidationBus the bus that changes to the cached areas are published to
+   * @param changeLogRepo   the change log that changes to the areas are recorded in
    */
   @Autowired
-  public AffectedAreaRepo(JdbcTemplate jdbcTemplate) {
+  public AffectedAreaRepo(JdbcTemplate jdbcTemplate, InvalidationBus invalidationBus,
+                          ChangeLogRepo changeLogRepo) {
     this.jdbcTemplate = jdbcTemplate;
+    this.invalidationBus = invalidationBus;
+    this.changeLogRepo = changeLogRepo;
   }
 
   /**
@@ -34,20 +52,33 @@ public class AffectedAreaRepo {
    */
   public List<AffectedArea> getAllAffectedAreas() {
     String sql = "SELECT * FROM affected_areas";
-    return jdbcTemplate.query(sql, (rs, rowNum) -> {
-      AffectedArea area = new AffectedArea();
-      area.setId(rs.getLong("id"));
-      area.setName(rs.getString("name"));
-      area.setLongitude(rs.getDouble("longitude"));
-      area.setLatitude(rs.getDouble("latitude"));
-      area.setHighDangerRadiusKm(rs.getDouble("high_danger_radius_km"));
-      area.setMediumDangerRadiusKm(rs.getDouble("medium_danger_radius_km"));
-      area.setLowDangerRadiusKm(rs.getDouble("low_danger_radius_km"));
-      area.setSeverityLevel(rs.getInt("severity_level"));
-      area.setDescription(rs.getString("description"));
-      area.setStartDate(rs.getTimestamp("start_time").toLocalDateTime());
-      return area;
-    });
+    return jdbcTemplate.query(sql, (rs, rowNum) -> mapRow(rs));
+  }
+
+  /**
+   * Fetches an affected area by its ID.
+   *
+   * @param id the ID of the affected area
+   * @return the affected area, or empty if it does not exist
+   */
+  public Optional<AffectedArea> findById(long id) {
+    return QueryUtils.findOne(jdbcTemplate, "SELECT * FROM affected_areas WHERE id = ?",
+        (rs, rowNum) -> mapRow(rs), id);
+  }
+
+  private AffectedArea mapRow(ResultSet rs) throws SQLException {
+    AffectedArea area = new AffectedArea();
+    area.setId(rs.getLong("id"));
+    area.setName(rs.getString("name"));
+    area.setLongitude(rs.getDouble("longitude"));
+    area.setLatitude(rs.getDouble("latitude"));
+    area.setHighDangerRadiusKm(rs.getDouble("high_danger_radius_km"));
+    area.setMediumDangerRadiusKm(rs.getDouble("medium_danger_radius_km"));
+    area.setLowDangerRadiusKm(rs.getDouble("low_danger_radius_km"));
+    area.setSeverityLevel(rs.getInt("severity_level"));
+    area.setDescription(rs.getString("description"));
+    area.setStartDate(rs.getTimestamp("start_time").toLocalDateTime());
+    return area;
   }
 
   /**
@@ -74,6 +105,9 @@ public class AffectedAreaRepo {
       return ps;
     }, keyHolder);
     area.setId(keyHolder.getKey().longValue());
+    changeLogRepo.record(SyncEntity.AFFECTED_AREA, area.getId(), null, false);
+    invalidationBus.publish(CacheNames.AFFECTED_AREAS, TwoTierCache.ALL);
+    publishTiles(List.of(area));
   }
 
   /**
@@ -82,8 +116,9 @@ public class AffectedAreaRepo {
    * @param id the ID of the affected area to be deleted
    */
   public int deleteAffectedArea(long id) {
+    Optional<AffectedArea> old = findById(id);
     String sql = "DELETE FROM affected_areas WHERE id = ?";
-    return jdbcTemplate.update(sql, id);
+    return publishIfChanged(jdbcTemplate.update(sql, id), id, true, old, null);
   }
 
   /**
@@ -96,7 +131,8 @@ public class AffectedAreaRepo {
             + "high_danger_radius_km = ?, medium_danger_radius_km = ?, "
             + "low_danger_radius_km = ?, severity_level = ?, description = ?, "
             + "start_time = ? WHERE id = ?";
-    return jdbcTemplate.update(sql,
+    Optional<AffectedArea> old = findById(area.getId());
+    return publishIfChanged(jdbcTemplate.update(sql,
             area.getName(),
             area.getLongitude(),
             area.getLatitude(),
@@ -106,6 +142,41 @@ public class AffectedAreaRepo {
             area.getSeverityLevel(),
             area.getDescription(),
             java.sql.Timestamp.valueOf(area.getStartDate()),
-            area.getId());
+            area.getId()), area.getId(), false, old, area);
+  }
+
+  /**
+   * Records a change and evicts the cached areas, the cached impact of the area, and the cached
+   * tiles the area covered before and after the change, with one invalidation of the region
+   * covering both. The impact and the tiles are evicted after the list they are built from.
+   */
+  private int publishIfChanged(int rowsAffected, long id, boolean deleted,
+                               Optional<AffectedArea> old, AffectedArea updated) {
+    if (rowsAffected > 0) {
+      changeLogRepo.record(SyncEntity.AFFECTED_AREA, id, null, deleted);
+      invalidationBus.publish(CacheNames.AFFECTED_AREAS, TwoTierCache.ALL);
+      invalidationBus.publish(CacheNames.AREA_IMPACT, id);
+      invalidationBus.publish(CacheNames.AREA_PRESENCE, id);
+      publishTiles(Stream.concat(old.stream(), Stream.ofNullable(updated)).toList());
+    }
+    return rowsAffected;
+  }
+
+  private void publishTiles(List<AffectedArea> areas) {
+    if (areas.stream().anyMatch(area -> area.getLatitude() == null
+        || area.getLongitude() == null)) {
+      invalidationBus.publish(CacheNames.TILES, TwoTierCache.ALL);
+      return;
+    }
+    areas.stream()
+        .map(area -> TileRegion.around(area.getLatitude(), area.getLongitude(),
+            Stream.of(area.getHighDangerRadiusKm(), area.getMediumDangerRadiusKm(),
+                    area.getLowDangerRadiusKm())
+                .filter(radius -> radius != null)
+                .mapToDouble(Double::doubleValue)
+                .max()
+                .orElse(0)))
+        .reduce(TileRegion::union)
+        .ifPresent(region -> invalidationBus.publish(CacheNames.TILES, region.key()));
   }
 }
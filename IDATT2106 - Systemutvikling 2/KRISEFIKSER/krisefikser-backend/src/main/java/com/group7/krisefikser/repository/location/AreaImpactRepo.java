@@ -0,0 +1,88 @@
+package com.group7.krisefikser.repository.location;
+
+import com.group7.krisefikser.model.location.HouseholdSupply;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository class for the households and user positions within an area.
+ * Both lookups take a bounding box. The (latitude, longitude) indexes are range scanned on
+ * latitude only, and the longitude is filtered from the same index entries, so only the rows
+ * inside the box are read instead of every household and position. The caller filters the
+ * result by distance.
+ */
+@Repository
+public class AreaImpactRepo {
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Constructor for AreaImpactRepo.
+   *
+   * @param jdbcTemplate The JdbcTemplate used to interact with the database.
+   */
+  @Autowired
+  public AreaImpactRepo(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Finds the households within a bounding box, with their members and the calories and
+   * drinking water in their stock that has not expired.
+   *
+   * @param minLatitude  the southern edge of the box
+   * @param maxLatitude  the northern edge of the box
+   * @param minLongitude the western edge of the box
+   * @param maxLongitude the eastern edge of the box
+   * @param now          the time stock expiring before is left out
+   * @return the households within the box
+   */
+  public List<HouseholdSupply> findHouseholdSupplyWithin(double minLatitude, double maxLatitude,
+                                                         double minLongitude, double maxLongitude,
+                                                         LocalDateTime now) {
+    String sql = "SELECT h.id, h.latitude, h.longitude, "
+        + "(SELECT COUNT(*) FROM users u WHERE u.household_id = h.id) AS residents, "
+        + "(SELECT COUNT(*) FROM non_user_members n WHERE n.household_id = h.id) "
+        + "AS non_user_members, "
+        + "(SELECT COALESCE(SUM(i.calories * s.quantity), 0) FROM storage_items s "
+        + "JOIN items i ON i.id = s.item_id "
+        + "WHERE s.household_id = h.id AND s.expiration_date > ?) AS calories, "
+        + "(SELECT COALESCE(SUM(s.quantity), 0) FROM storage_items s "
+        + "JOIN items i ON i.id = s.item_id "
+        + "WHERE s.household_id = h.id AND s.expiration_date > ? "
+        + "AND i.unit = 'L' AND i.type = 'drink') AS water_liters "
+        + "FROM households h "
+        + "WHERE h.latitude BETWEEN ? AND ? AND h.longitude BETWEEN ? AND ?";
+    Timestamp timestamp = Timestamp.valueOf(now);
+    return jdbcTemplate.query(sql, (rs, rowNum) -> new HouseholdSupply(
+        rs.getLong("id"),
+        rs.getDouble("latitude"),
+        rs.getDouble("longitude"),
+        rs.getInt("residents"),
+        rs.getInt("non_user_members"),
+        rs.getDouble("calories"),
+        rs.getDouble("water_liters")),
+        timestamp, timestamp, minLatitude, maxLatitude, minLongitude, maxLongitude);
+  }
+
+  /**
+   * Finds the shared user positions within a bounding box.
+   *
+   * @param minLatitude  the southern edge of the box
+   * @param maxLatitude  the northern edge of the box
+   * @param minLongitude the western edge of the box
+   * @param maxLongitude the eastern edge of the box
+   * @return the positions as pairs of latitude and longitude
+   */
+  public List<double[]> findPositionsWithin(double minLatitude, double maxLatitude,
+                                            double minLongitude, double maxLongitude) {
+    String sql = "SELECT latitude, longitude FROM user_position "
+        + "WHERE latitude BETWEEN ? AND ? AND longitude BETWEEN ? AND ?";
+    return jdbcTemplate.query(sql, (rs, rowNum) ->
+        new double[] {rs.getDouble("latitude"), rs.getDouble("longitude")},
+        minLatitude, maxLatitude, minLongitude, maxLongitude);
+  }
+}
@@ -1,13 +1,22 @@
 package com.group7.krisefikser.repository.location;
 
 import com.group7.krisefikser.enums.PointOfInterestType;
+import com.group7.krisefikser.enums.SyncEntity;
 import com.group7.krisefikser.model.location.PointOfInterest;
+import com.group7.krisefikser.repository.other.ChangeLogRepo;
+import com.group7.krisefikser.service.cache.CacheNames;
+import com.group7.krisefikser.service.cache.InvalidationBus;
+import com.group7.krisefikser.service.cache.TwoTierCache;
+import com.group7.krisefikser.service.location.TileRegion;
+import com.group7.krisefikser.utils.QueryUtils;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
@@ -22,18 +31,26 @@ import org.springframework.stereotype.Repository;
 @Repository
 public class PointOfInterestRepo {
   private final JdbcTemplate jdbcTemplate;
+  private final InvalidationBus invalidationBus;
+  private final ChangeLogRepo changeLogRepo;
   private static final String OPENS_AT_COLUMN_NAME = "opens_at";
   private static final String CLOSES_AT_COLUMN_NAME = "closes_at";
 
   /**
    * Constructor for PointOfInterestRepo.
    *
-   * @param jdbcTemplate The JdbcTemplate used to interact with the database.
+   * @param jdbcTemplate    The JdbcTemplate used to interact with the database.
+   * @param invalidationBus The bus that changes to the cached points of interest are
+   *                        published to.
+   * @param changeLogRepo   The change log that changes to points of interest are recorded in.
    */
 
   @Autowired
-  public PointOfInterestRepo(JdbcTemplate jdbcTemplate) {
+  public PointOfInterestRepo(JdbcTemplate jdbcTemplate, InvalidationBus invalidationBus,
+                             ChangeLogRepo changeLogRepo) {
     this.jdbcTemplate = jdbcTemplate;
+    this.invalidationBus = invalidationBus;
+    this.changeLogRepo = changeLogRepo;
   }
 
   /**
@@ -68,6 +85,26 @@ public class PointOfInterestRepo {
             mapRowToPointOfInterest(rs), typeValues);
   }
 
+  /**
+   * This method retrieves the points of interest within a bounding box from the database.
+   * The latitude range is read through the latitude and longitude index, and the longitude is
+   * filtered from the same index entries.
+   *
+   * @param south The southern edge of the box in degrees.
+   * @param west  The western edge of the box in degrees.
+   * @param north The northern edge of the box in degrees.
+   * @param east  The eastern edge of the box in degrees.
+   * @return A list of PointOfInterest objects within the box.
+   */
+  public List<PointOfInterest> getPointsOfInterestWithin(double south, double west,
+                                                         double north, double east) {
+    String sql = "SELECT * FROM points_of_interest "
+            + "WHERE latitude BETWEEN ? AND ? AND longitude BETWEEN ? AND ?";
+
+    return jdbcTemplate.query(sql, (rs, rowNum) ->
+            mapRowToPointOfInterest(rs), south, north, west, east);
+  }
+
   private PointOfInterest mapRowToPointOfInterest(ResultSet rs) throws SQLException {
     return new PointOfInterest(
             rs.getLong("id"),
@@ -111,7 +148,10 @@ public class PointOfInterestRepo {
     Number newId = keyHolder.getKey();
     if (newId != null) {
       pointOfInterest.setId(newId.longValue());
+      changeLogRepo.record(SyncEntity.POINT_OF_INTEREST, newId.longValue(), null, false);
     }
+    invalidationBus.publish(CacheNames.POINTS_OF_INTEREST, TwoTierCache.ALL);
+    invalidationBus.publish(CacheNames.TILES, region(pointOfInterest).key());
   }
 
   /**
@@ -121,8 +161,9 @@ public class PointOfInterestRepo {
    * @param id The ID of the point of interest to delete.
    */
   public int deletePointOfInterest(long id) {
+    Optional<PointOfInterest> old = findById(id);
     String sql = "DELETE FROM points_of_interest WHERE id = ?";
-    return jdbcTemplate.update(sql, id);
+    return publishIfChanged(jdbcTemplate.update(sql, id), id, true, old, null);
   }
 
   /**
@@ -133,7 +174,8 @@ public class PointOfInterestRepo {
     String sql = "UPDATE points_of_interest SET latitude = ?, longitude = ?, type = ?, "
             + "opens_at = ?, closes_at = ?, contact_number = ?, description = ? WHERE id = ?";
 
-    return jdbcTemplate.update(sql,
+    Optional<PointOfInterest> old = findById(pointOfInterest.getId());
+    return publishIfChanged(jdbcTemplate.update(sql,
             pointOfInterest.getLatitude(),
             pointOfInterest.getLongitude(),
             pointOfInterest.getType().getType(),
@@ -141,6 +183,33 @@ public class PointOfInterestRepo {
             pointOfInterest.getClosesAt(),
             pointOfInterest.getContactNumber(),
             pointOfInterest.getDescription(),
-            pointOfInterest.getId());
+            pointOfInterest.getId()), pointOfInterest.getId(), false, old, pointOfInterest);
+  }
+
+  private Optional<PointOfInterest> findById(long id) {
+    return QueryUtils.findOne(jdbcTemplate, "SELECT * FROM points_of_interest WHERE id = ?",
+            (rs, rowNum) -> mapRowToPointOfInterest(rs), id);
+  }
+
+  /**
+   * Records a change and evicts the cached points of interest, and the cached tiles at the
+   * old and the new location with one invalidation of the region covering both. The tiles
+   * are evicted after the lists they are built from.
+   */
+  private int publishIfChanged(int rowsAffected, long id, boolean deleted,
+                               Optional<PointOfInterest> old, PointOfInterest updated) {
+    if (rowsAffected > 0) {
+      changeLogRepo.record(SyncEntity.POINT_OF_INTEREST, id, null, deleted);
+      invalidationBus.publish(CacheNames.POINTS_OF_INTEREST, TwoTierCache.ALL);
+      Stream.concat(old.stream(), Stream.ofNullable(updated))
+              .map(PointOfInterestRepo::region)
+              .reduce(TileRegion::union)
+              .ifPresent(region -> invalidationBus.publish(CacheNames.TILES, region.key()));
+    }
+    return rowsAffected;
+  }
+
+  private static TileRegion region(PointOfInterest pointOfInterest) {
+    return TileRegion.around(pointOfInterest.getLatitude(), pointOfInterest.getLongitude(), 0);
   }
 }
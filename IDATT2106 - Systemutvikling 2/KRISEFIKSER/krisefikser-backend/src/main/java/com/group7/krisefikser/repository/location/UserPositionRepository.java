@@ -1,6 +1,8 @@
 package com.group7.krisefikser.repository.location;
 
 import com.group7.krisefikser.model.location.UserPosition;
+import com.group7.krisefikser.utils.QueryUtils;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -48,6 +50,18 @@ public class UserPositionRepository {
     jdbcTemplate.update(sql, userId);
   }
 
+  /**
+   * Finds the position the user is sharing.
+   *
+   * @param userId The ID of the user.
+   * @return The position, or an empty Optional if the user is not sharing their position.
+   */
+  public Optional<UserPosition> findByUserId(Long userId) {
+    String sql = "SELECT * FROM user_position WHERE user_id = ?";
+    return QueryUtils.findOne(jdbcTemplate, sql, new BeanPropertyRowMapper<>(UserPosition.class),
+        userId);
+  }
+
   /**
    * Checks if the user is sharing their position.
    *
@@ -0,0 +1,352 @@
+package com.group7.krisefikser.repository.other;
+
+import com.group7.krisefikser.model.other.Broadcast;
+import com.group7.krisefikser.model.other.BroadcastRecipient;
+import com.group7.krisefikser.service.location.TileGrid;
+import com.group7.krisefikser.utils.QueryUtils;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+/**
+ * This class is a repository for emergency broadcasts and their recipients.
+ * The recipients of a broadcast are resolved by the database in one statement, and are then
+ * claimed in batches with a random token. A claimed batch that is not marked as sent within
+ * the lease is released again, so a delivery that stops halfway, for example at a restart,
+ * continues where it stopped. Every attempt to deliver to a recipient through a channel is
+ * recorded, so a recipient whose delivery failed is delivered again only through the channels
+ * that failed.
+ */
+@Repository
+public class BroadcastRepo {
+  private static final double EARTH_RADIUS_KM = 6371.0;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Constructor for BroadcastRepo.
+   *
+   * @param jdbcTemplate The JdbcTemplate used to interact with the database.
+   */
+  @Autowired
+  public BroadcastRepo(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Creates a broadcast and sets its ID. Its recipients are resolved later.
+   *
+   * @param broadcast The broadcast to create.
+   */
+  public void create(Broadcast broadcast) {
+    String sql = "INSERT INTO broadcasts (affected_area_id, message, latitude, longitude, "
+        + "radius_km, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    KeyHolder keyHolder = new GeneratedKeyHolder();
+    jdbcTemplate.update(connection -> {
+      PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+      ps.setObject(1, broadcast.getAffectedAreaId());
+      ps.setString(2, broadcast.getMessage());
+      ps.setDouble(3, broadcast.getLatitude());
+      ps.setDouble(4, broadcast.getLongitude());
+      ps.setDouble(5, broadcast.getRadiusKm());
+      ps.setTimestamp(6, Timestamp.valueOf(broadcast.getCreatedAt()));
+      return ps;
+    }, keyHolder);
+    broadcast.setId(keyHolder.getKey().longValue());
+  }
+
+  /**
+   * Finds a broadcast by its ID.
+   *
+   * @param id The ID of the broadcast.
+   * @return The broadcast, or an empty Optional if there is none.
+   */
+  public Optional<Broadcast> findById(long id) {
+    return QueryUtils.findOne(jdbcTemplate, "SELECT * FROM broadcasts WHERE id = ?",
+        (rs, rowNum) -> mapRow(rs), id);
+  }
+
+  /**
+   * Finds the broadcasts that have not been completed, oldest first.
+   *
+   * @return The broadcasts.
+   */
+  public List<Broadcast> findActive() {
+    String sql = "SELECT * FROM broadcasts WHERE completed_at IS NULL ORDER BY id";
+    return jdbcTemplate.query(sql, (rs, rowNum) -> mapRow(rs));
+  }
+
+  /**
+   * Resolves the recipients of a broadcast: every verified user who belongs to a household
+   * within the radius, or who shares a position within it. A user found both ways is added
+   * once, and users already added are skipped, so resolving again after a failure is safe.
+   * The candidates are read through the latitude and longitude indexes within the bounding
+   * box of the radius before the distance is calculated.
+   *
+   * @param broadcast The broadcast.
+   * @param now       The time the recipients are resolved.
+   * @return The number of recipients.
+   */
+  public int resolveRecipients(Broadcast broadcast, LocalDateTime now) {
+    double latOffset = TileGrid.latitudeOffset(broadcast.getRadiusKm() * 1.01);
+    double lonOffset = TileGrid.longitudeOffset(broadcast.getLatitude(),
+        broadcast.getRadiusKm() * 1.01);
+    String sql = "INSERT INTO broadcast_recipients (broadcast_id, user_id) "
+        + "SELECT ?, candidates.user_id FROM ("
+        + "SELECT u.id AS user_id FROM users u JOIN households h ON h.id = u.household_id "
+        + "WHERE u.verified = TRUE "
+        + "AND h.latitude BETWEEN ? AND ? AND h.longitude BETWEEN ? AND ? "
+        + "AND " + distance("h") + " <= ? "
+        + "UNION "
+        + "SELECT u.id AS user_id FROM users u JOIN user_position p ON p.user_id = u.id "
+        + "WHERE u.verified = TRUE "
+        + "AND p.latitude BETWEEN ? AND ? AND p.longitude BETWEEN ? AND ? "
+        + "AND " + distance("p") + " <= ?"
+        + ") candidates WHERE NOT EXISTS (SELECT 1 FROM broadcast_recipients r "
+        + "WHERE r.broadcast_id = ? AND r.user_id = candidates.user_id)";
+    double lat = broadcast.getLatitude();
+    double lon = broadcast.getLongitude();
+    double radius = broadcast.getRadiusKm();
+    jdbcTemplate.update(sql, broadcast.getId(),
+        lat - latOffset, lat + latOffset, lon - lonOffset, lon + lonOffset,
+        lat, lat, lon, radius,
+        lat - latOffset, lat + latOffset, lon - lonOffset, lon + lonOffset,
+        lat, lat, lon, radius,
+        broadcast.getId());
+
+    Integer total = jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM broadcast_recipients WHERE broadcast_id = ?", Integer.class,
+        broadcast.getId());
+    int recipients = total != null ? total : 0;
+    jdbcTemplate.update("UPDATE broadcasts SET total_recipients = ?, resolved_at = ? "
+        + "WHERE id = ?", recipients, Timestamp.valueOf(now), broadcast.getId());
+    return recipients;
+  }
+
+  /**
+   * Releases the batches of a broadcast that were claimed before the given time and not
+   * marked as sent, so they are claimed and delivered again. Recipients that have been given
+   * up on stay claimed.
+   *
+   * @param broadcastId   The ID of the broadcast.
+   * @param claimedBefore The time before which a claim has expired.
+   * @return The number of recipients released.
+   */
+  public int releaseExpiredClaims(long broadcastId, LocalDateTime claimedBefore) {
+    String sql = "UPDATE broadcast_recipients SET claim_token = NULL, claimed_at = NULL "
+        + "WHERE broadcast_id = ? AND sent_at IS NULL AND failed_at IS NULL AND claimed_at < ?";
+    return jdbcTemplate.update(sql, broadcastId, Timestamp.valueOf(claimedBefore));
+  }
+
+  /**
+   * Claims the next batch of unclaimed recipients of a broadcast with a token. The batch is
+   * the range of user IDs up to the given size, and two instances claiming at the same time
+   * each get only the recipients their update reached first.
+   *
+   * @param broadcastId The ID of the broadcast.
+   * @param token       A token unique to this claim.
+   * @param limit       The largest number of recipients to claim.
+   * @param now         The time of the claim.
+   * @return The number of recipients claimed.
+   */
+  public int claimBatch(long broadcastId, String token, int limit, LocalDateTime now) {
+    List<Long> userIds = jdbcTemplate.queryForList("SELECT user_id FROM broadcast_recipients "
+        + "WHERE broadcast_id = ? AND claim_token IS NULL ORDER BY user_id LIMIT ?",
+        Long.class, broadcastId, limit);
+    if (userIds.isEmpty()) {
+      return 0;
+    }
+    String sql = "UPDATE broadcast_recipients SET claim_token = ?, claimed_at = ? "
+        + "WHERE broadcast_id = ? AND claim_token IS NULL AND user_id BETWEEN ? AND ?";
+    return jdbcTemplate.update(sql, token, Timestamp.valueOf(now), broadcastId,
+        userIds.get(0), userIds.get(userIds.size() - 1));
+  }
+
+  /**
+   * Finds the recipients claimed with a token, with their email addresses.
+   *
+   * @param token The token of the claim.
+   * @return The recipients.
+   */
+  public List<BroadcastRecipient> findClaimed(String token) {
+    String sql = "SELECT u.id, u.email FROM broadcast_recipients r "
+        + "JOIN users u ON u.id = r.user_id WHERE r.claim_token = ? ORDER BY u.id";
+    return jdbcTemplate.query(sql, (rs, rowNum) ->
+        new BroadcastRecipient(rs.getLong("id"), rs.getString("email")), token);
+  }
+
+  /**
+   * Finds the recipients claimed with a token that have already been delivered to through a
+   * channel.
+   *
+   * @param token   The token of the claim.
+   * @param channel The name of the channel.
+   * @return The IDs of the users.
+   */
+  public List<Long> findDelivered(String token, String channel) {
+    String sql = "SELECT d.user_id FROM broadcast_recipients r "
+        + "JOIN broadcast_deliveries d ON d.broadcast_id = r.broadcast_id "
+        + "AND d.user_id = r.user_id "
+        + "WHERE r.claim_token = ? AND d.channel = ? AND d.delivered_at IS NOT NULL";
+    return jdbcTemplate.queryForList(sql, Long.class, token, channel);
+  }
+
+  /**
+   * Records an attempt to deliver a broadcast to recipients through a channel.
+   *
+   * @param broadcastId The ID of the broadcast.
+   * @param channel     The name of the channel.
+   * @param userIds     The IDs of the users the broadcast was delivered to.
+   * @param failed      The IDs of the users among them the delivery failed for.
+   * @param now         The time of the attempt.
+   */
+  public void recordDeliveries(long broadcastId, String channel, Collection<Long> userIds,
+                               Collection<Long> failed, LocalDateTime now) {
+    if (userIds.isEmpty()) {
+      return;
+    }
+    List<Object> params = new ArrayList<>(List.of(channel, broadcastId, channel));
+    params.addAll(userIds);
+    jdbcTemplate.update("INSERT INTO broadcast_deliveries (broadcast_id, user_id, channel) "
+        + "SELECT r.broadcast_id, r.user_id, ? FROM broadcast_recipients r "
+        + "WHERE r.broadcast_id = ? AND NOT EXISTS (SELECT 1 FROM broadcast_deliveries d "
+        + "WHERE d.broadcast_id = r.broadcast_id AND d.user_id = r.user_id AND d.channel = ?) "
+        + "AND r.user_id IN (" + placeholders(userIds.size()) + ")", params.toArray());
+
+    params = new ArrayList<>(List.of(broadcastId, channel));
+    params.addAll(userIds);
+    jdbcTemplate.update("UPDATE broadcast_deliveries SET attempts = attempts + 1 "
+        + "WHERE broadcast_id = ? AND channel = ? "
+        + "AND user_id IN (" + placeholders(userIds.size()) + ")", params.toArray());
+
+    List<Long> delivered = userIds.stream().filter(userId -> !failed.contains(userId)).toList();
+    if (delivered.isEmpty()) {
+      return;
+    }
+    params = new ArrayList<>(List.of(Timestamp.valueOf(now), broadcastId, channel));
+    params.addAll(delivered);
+    jdbcTemplate.update("UPDATE broadcast_deliveries SET delivered_at = ? "
+        + "WHERE broadcast_id = ? AND channel = ? "
+        + "AND user_id IN (" + placeholders(delivered.size()) + ")", params.toArray());
+  }
+
+  /**
+   * Marks recipients that have been delivered to through every channel as sent and adds them
+   * to the counter of the broadcast.
+   *
+   * @param broadcastId The ID of the broadcast.
+   * @param userIds     The IDs of the users.
+   * @param now         The time the broadcast was delivered.
+   */
+  public void markSent(long broadcastId, Collection<Long> userIds, LocalDateTime now) {
+    if (userIds.isEmpty()) {
+      return;
+    }
+    List<Object> params = new ArrayList<>(List.of(Timestamp.valueOf(now), broadcastId));
+    params.addAll(userIds);
+    int sent = jdbcTemplate.update("UPDATE broadcast_recipients "
+        + "SET sent_at = ? WHERE broadcast_id = ? AND sent_at IS NULL "
+        + "AND user_id IN (" + placeholders(userIds.size()) + ")", params.toArray());
+    jdbcTemplate.update("UPDATE broadcasts SET sent = sent + ? WHERE id = ?", sent,
+        broadcastId);
+  }
+
+  /**
+   * Records a failed attempt to deliver to recipients. They stay claimed and unsent, so they
+   * are delivered again once the claim has expired, until the given number of attempts has
+   * been made. Then they are given up on and added to the counter of failures of the
+   * broadcast.
+   *
+   * @param broadcastId The ID of the broadcast.
+   * @param userIds     The IDs of the users the delivery failed for.
+   * @param maxAttempts The number of attempts after which a recipient is given up on.
+   * @param now         The time of the attempt.
+   * @return The number of recipients given up on.
+   */
+  public int markFailed(long broadcastId, Collection<Long> userIds, int maxAttempts,
+                        LocalDateTime now) {
+    if (userIds.isEmpty()) {
+      return 0;
+    }
+    List<Object> params = new ArrayList<>(List.of(broadcastId));
+    params.addAll(userIds);
+    jdbcTemplate.update("UPDATE broadcast_recipients SET attempts = attempts + 1 "
+        + "WHERE broadcast_id = ? AND sent_at IS NULL AND failed_at IS NULL "
+        + "AND user_id IN (" + placeholders(userIds.size()) + ")", params.toArray());
+
+    params = new ArrayList<>(List.of(Timestamp.valueOf(now), broadcastId, maxAttempts));
+    params.addAll(userIds);
+    int givenUp = jdbcTemplate.update("UPDATE broadcast_recipients SET failed_at = ? "
+        + "WHERE broadcast_id = ? AND sent_at IS NULL AND failed_at IS NULL AND attempts >= ? "
+        + "AND user_id IN (" + placeholders(userIds.size()) + ")", params.toArray());
+    if (givenUp > 0) {
+      jdbcTemplate.update("UPDATE broadcasts SET failed = failed + ? WHERE id = ?", givenUp,
+          broadcastId);
+    }
+    return givenUp;
+  }
+
+  /**
+   * Completes a broadcast if it has been resolved and every recipient has been delivered to
+   * or given up on.
+   *
+   * @param broadcastId The ID of the broadcast.
+   * @param now         The time of completion.
+   * @return true if the broadcast was completed by this call.
+   */
+  public boolean completeIfDelivered(long broadcastId, LocalDateTime now) {
+    String sql = "UPDATE broadcasts SET completed_at = ? "
+        + "WHERE id = ? AND completed_at IS NULL AND resolved_at IS NOT NULL "
+        + "AND NOT EXISTS (SELECT 1 FROM broadcast_recipients "
+        + "WHERE broadcast_id = ? AND sent_at IS NULL AND failed_at IS NULL)";
+    return jdbcTemplate.update(sql, Timestamp.valueOf(now), broadcastId, broadcastId) > 0;
+  }
+
+  /**
+   * Returns the haversine distance in kilometers between the broadcast and the row with the
+   * given alias. It takes the latitude, the latitude and the longitude of the broadcast as
+   * parameters.
+   */
+  private static String distance(String alias) {
+    return "2 * " + EARTH_RADIUS_KM + " * ASIN(LEAST(1, SQRT("
+        + "POWER(SIN(RADIANS(" + alias + ".latitude - ?) / 2), 2) "
+        + "+ COS(RADIANS(?)) * COS(RADIANS(" + alias + ".latitude)) "
+        + "* POWER(SIN(RADIANS(" + alias + ".longitude - ?) / 2), 2))))";
+  }
+
+  private static String placeholders(int count) {
+    return String.join(",", Collections.nCopies(count, "?"));
+  }
+
+  private Broadcast mapRow(ResultSet rs) throws SQLException {
+    Timestamp resolvedAt = rs.getTimestamp("resolved_at");
+    Timestamp completedAt = rs.getTimestamp("completed_at");
+    return new Broadcast(
+        rs.getLong("id"),
+        rs.getObject("affected_area_id", Long.class),
+        rs.getString("message"),
+        rs.getDouble("latitude"),
+        rs.getDouble("longitude"),
+        rs.getDouble("radius_km"),
+        rs.getInt("total_recipients"),
+        rs.getInt("sent"),
+        rs.getInt("failed"),
+        rs.getTimestamp("created_at").toLocalDateTime(),
+        resolvedAt != null ? resolvedAt.toLocalDateTime() : null,
+        completedAt != null ? completedAt.toLocalDateTime() : null
+    );
+  }
+}
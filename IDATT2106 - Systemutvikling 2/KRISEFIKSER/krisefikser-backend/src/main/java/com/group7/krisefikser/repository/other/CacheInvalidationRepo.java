@@ -0,0 +1,92 @@
+package com.group7.krisefikser.repository.other;
+
+import com.group7.krisefikser.model.other.CacheInvalidation;
+import com.group7.krisefikser.service.cache.InvalidationTransport;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+/**
+ * This class is a repository for the table of cache invalidations, which is used as the
+ * transport between instances of the application. Invalidations are inserted in the same
+ * transaction as the change they describe, so they are published exactly when the change is
+ * committed, and every instance polls the table for new rows. The ID of a row is its version.
+ */
+@Repository
+public class CacheInvalidationRepo implements InvalidationTransport {
+  private final JdbcTemplate jdbcTemplate;
+
+  private final RowMapper<CacheInvalidation> invalidationRowMapper = (rs, rowNum) ->
+      new CacheInvalidation(
+          rs.getLong("id"),
+          rs.getString("cache_name"),
+          rs.getString("cache_key")
+      );
+
+  /**
+   * Constructor for CacheInvalidationRepo.
+   *
+   * @param jdbcTemplate The JdbcTemplate used to interact with the database.
+   */
+  @Autowired
+  public CacheInvalidationRepo(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public long publish(String cacheName, String key) {
+    KeyHolder keyHolder = new GeneratedKeyHolder();
+    jdbcTemplate.update(connection -> {
+      PreparedStatement ps = connection.prepareStatement(
+          "INSERT INTO cache_invalidations (cache_name, cache_key, created_at) "
+              + "VALUES (?, ?, ?)",
+          Statement.RETURN_GENERATED_KEYS);
+      ps.setString(1, cacheName);
+      ps.setString(2, key);
+      ps.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+      return ps;
+    }, keyHolder);
+    return keyHolder.getKey().longValue();
+  }
+
+  @Override
+  public List<CacheInvalidation> findAfter(long afterVersion, int limit) {
+    String sql = "SELECT id, cache_name, cache_key FROM cache_invalidations "
+        + "WHERE id > ? ORDER BY id LIMIT ?";
+    return jdbcTemplate.query(sql, invalidationRowMapper, afterVersion, limit);
+  }
+
+  @Override
+  public List<CacheInvalidation> findVersions(Collection<Long> versions) {
+    if (versions.isEmpty()) {
+      return List.of();
+    }
+    String placeholders = String.join(",", Collections.nCopies(versions.size(), "?"));
+    return jdbcTemplate.query("SELECT id, cache_name, cache_key FROM cache_invalidations "
+        + "WHERE id IN (" + placeholders + ") ORDER BY id", invalidationRowMapper,
+        versions.toArray());
+  }
+
+  @Override
+  public long latestVersion() {
+    Long latest = jdbcTemplate.queryForObject(
+        "SELECT MAX(id) FROM cache_invalidations", Long.class);
+    return latest != null ? latest : 0;
+  }
+
+  @Override
+  public int deleteOlderThan(LocalDateTime before) {
+    return jdbcTemplate.update("DELETE FROM cache_invalidations WHERE created_at < ?",
+        Timestamp.valueOf(before));
+  }
+}
@@ -0,0 +1,223 @@
+package com.group7.krisefikser.repository.other;
+
+import com.group7.krisefikser.enums.SyncEntity;
+import com.group7.krisefikser.model.other.ChangeLogEntry;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * This class is a repository for the append-only change log that offline clients sync from.
+ * The repositories of the synced entities record a row for every insert, update and delete,
+ * and a client asks for the rows after the last version it has seen.
+ * The ID of a row is its version, and rows are stamped with the clock of the database, so
+ * that every instance of the application sees the same times.
+ */
+@Repository
+public class ChangeLogRepo {
+  private final JdbcTemplate jdbcTemplate;
+
+  private final RowMapper<ChangeLogEntry> entryRowMapper = (rs, rowNum) -> new ChangeLogEntry(
+      rs.getLong("id"),
+      SyncEntity.valueOf(rs.getString("entity_type")),
+      rs.getObject("entity_id", Long.class),
+      rs.getObject("household_id", Long.class),
+      rs.getBoolean("deleted")
+  );
+
+  /**
+   * Constructor for ChangeLogRepo.
+   *
+   * @param jdbcTemplate The JdbcTemplate used to interact with the database.
+   */
+  @Autowired
+  public ChangeLogRepo(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Records a change to an entity, or to a whole collection when the entity ID is null.
+   *
+   * @param entityType  The kind of entity that changed.
+   * @param entityId    The ID of the entity, or null if the whole collection changed.
+   * @param householdId The household the entity belongs to, or null if it is visible to all.
+   * @param deleted     Whether the entity was deleted.
+   */
+  public void record(SyncEntity entityType, Long entityId, Long householdId, boolean deleted) {
+    jdbcTemplate.update("INSERT INTO change_log (entity_type, entity_id, household_id, "
+            + "deleted, created_at) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)",
+        entityType.name(), entityId, householdId, deleted);
+  }
+
+  /**
+   * Records a change to several entities of a household using batched inserts.
+   *
+   * @param entityType  The kind of entity that changed.
+   * @param entityIds   The IDs of the entities.
+   * @param householdId The household the entities belong to, or null if they are visible to all.
+   * @param deleted     Whether the entities were deleted.
+   */
+  public void recordAll(SyncEntity entityType, Collection<? extends Number> entityIds,
+                        Long householdId, boolean deleted) {
+    if (entityIds.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate("INSERT INTO change_log (entity_type, entity_id, household_id, "
+            + "deleted, created_at) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)",
+        List.copyOf(entityIds), entityIds.size(), (ps, entityId) -> {
+          ps.setString(1, entityType.name());
+          ps.setLong(2, entityId.longValue());
+          if (householdId != null) {
+            ps.setLong(3, householdId);
+          } else {
+            ps.setNull(3, Types.BIGINT);
+          }
+          ps.setBoolean(4, deleted);
+        });
+  }
+
+  /**
+   * Records the given changes again under new versions, for changes that became visible only
+   * after readers had moved past their versions.
+   *
+   * @param versions The versions of the changes.
+   * @return The number of changes recorded.
+   */
+  public int recordAgain(Collection<Long> versions) {
+    if (versions.isEmpty()) {
+      return 0;
+    }
+    String placeholders = String.join(",", Collections.nCopies(versions.size(), "?"));
+    return jdbcTemplate.update("INSERT INTO change_log (entity_type, entity_id, household_id, "
+        + "deleted, created_at) SELECT entity_type, entity_id, household_id, deleted, "
+        + "CURRENT_TIMESTAMP FROM change_log WHERE id IN (" + placeholders + ") ORDER BY id",
+        versions.toArray());
+  }
+
+  /**
+   * Finds the changes after the given version that are visible to a household,
+   * ordered by version.
+   *
+   * @param afterVersion The last version the client has seen.
+   * @param upToVersion  The highest version to include.
+   * @param householdId  The household of the client, or null to only include
+   *                     the changes visible to all.
+   * @param limit        The maximum number of changes to return.
+   * @return The changes.
+   */
+  public List<ChangeLogEntry> findAfter(long afterVersion, long upToVersion, Long householdId,
+                                        int limit) {
+    String columns = "SELECT id, entity_type, entity_id, household_id, deleted FROM change_log ";
+    if (householdId == null) {
+      return jdbcTemplate.query(columns + "WHERE id > ? AND id <= ? AND household_id IS NULL "
+          + "ORDER BY id LIMIT ?", entryRowMapper, afterVersion, upToVersion, limit);
+    }
+    return jdbcTemplate.query(columns + "WHERE id > ? AND id <= ? "
+            + "AND (household_id IS NULL OR household_id = ?) ORDER BY id LIMIT ?",
+        entryRowMapper, afterVersion, upToVersion, householdId, limit);
+  }
+
+  /**
+   * Finds the changes after the given version to entities of the given kinds that belong to
+   * a household, ordered by version.
+   *
+   * @param afterVersion The last version already read.
+   * @param upToVersion  The highest version to include.
+   * @param entityTypes  The kinds of entities to include.
+   * @param limit        The maximum number of changes to return.
+   * @return The changes.
+   */
+  public List<ChangeLogEntry> findHouseholdChangesAfter(long afterVersion, long upToVersion,
+                                                        Collection<SyncEntity> entityTypes,
+                                                        int limit) {
+    if (entityTypes.isEmpty()) {
+      return List.of();
+    }
+    String placeholders = String.join(",", Collections.nCopies(entityTypes.size(), "?"));
+    List<Object> args = new ArrayList<>();
+    args.add(afterVersion);
+    args.add(upToVersion);
+    entityTypes.forEach(entityType -> args.add(entityType.name()));
+    args.add(limit);
+    return jdbcTemplate.query("SELECT id, entity_type, entity_id, household_id, deleted "
+            + "FROM change_log WHERE id > ? AND id <= ? AND household_id IS NOT NULL "
+            + "AND entity_type IN (" + placeholders + ") ORDER BY id LIMIT ?",
+        entryRowMapper, args.toArray());
+  }
+
+  /**
+   * Finds the versions after the given one, ordered by version.
+   *
+   * @param afterVersion The version to read from, exclusive.
+   * @param limit        The maximum number of versions to return.
+   * @return The versions.
+   */
+  public List<Long> findVersionsAfter(long afterVersion, int limit) {
+    return jdbcTemplate.queryForList("SELECT id FROM change_log WHERE id > ? ORDER BY id LIMIT ?",
+        Long.class, afterVersion, limit);
+  }
+
+  /**
+   * Finds which of the given versions are visible, ordered by version.
+   *
+   * @param versions The versions to look for.
+   * @return The versions that were found.
+   */
+  public List<Long> findVersions(Collection<Long> versions) {
+    if (versions.isEmpty()) {
+      return List.of();
+    }
+    String placeholders = String.join(",", Collections.nCopies(versions.size(), "?"));
+    return jdbcTemplate.queryForList("SELECT id FROM change_log WHERE id IN ("
+        + placeholders + ") ORDER BY id", Long.class, versions.toArray());
+  }
+
+  /**
+   * Finds the highest version recorded at least the given time ago by the clock of the
+   * database.
+   *
+   * @param age The minimum age, rounded up to whole seconds.
+   * @return The version, or 0 if there is none.
+   */
+  public long latestVersionOlderThan(Duration age) {
+    long seconds = age.plusNanos(999_999_999).getSeconds();
+    Long latest = jdbcTemplate.queryForObject("SELECT MAX(id) FROM change_log "
+        + "WHERE created_at <= TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP)", Long.class, -seconds);
+    return latest != null ? latest : 0;
+  }
+
+  /**
+   * Finds the lowest version still in the log.
+   *
+   * @return The version, or 0 if the log is empty.
+   */
+  public long oldestVersion() {
+    Long oldest = jdbcTemplate.queryForObject("SELECT MIN(id) FROM change_log", Long.class);
+    return oldest != null ? oldest : 0;
+  }
+
+  /**
+   * Deletes the changes recorded before the given time. The latest change is always kept,
+   * so the log can tell a token that has expired from one that is simply up to date.
+   *
+   * @param before The time before which changes are deleted.
+   * @return The number of changes deleted.
+   */
+  public int deleteOlderThan(LocalDateTime before) {
+    Long latest = jdbcTemplate.queryForObject("SELECT MAX(id) FROM change_log", Long.class);
+    if (latest == null) {
+      return 0;
+    }
+    return jdbcTemplate.update("DELETE FROM change_log WHERE created_at < ? AND id < ?",
+        Timestamp.valueOf(before), latest);
+  }
+}
@@ -0,0 +1,127 @@
+package com.group7.krisefikser.repository.other;
+
+import com.group7.krisefikser.model.other.IdempotentResponse;
+import com.group7.krisefikser.utils.QueryUtils;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * This class is a repository for the idempotency keys, which lets the instances of the
+ * application agree on which of them runs a request. An instance claims a key by inserting
+ * it with a random token, and stores the response under the key when the request is done.
+ * A claim whose request has not finished within the lease is assumed abandoned and can be
+ * taken over, and so can a key whose response has expired.
+ */
+@Repository
+public class IdempotencyKeyRepo {
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Constructor for IdempotencyKeyRepo.
+   *
+   * @param jdbcTemplate The JdbcTemplate used to interact with the database.
+   */
+  @Autowired
+  public IdempotencyKeyRepo(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Claims a key that has not been used before.
+   *
+   * @param scopeKey    The key, scoped to the user that sent it.
+   * @param fingerprint The fingerprint of the request.
+   * @param claimToken  The token that identifies the claim.
+   * @param now         The current time.
+   * @param expiresAt   When the key and its response expire.
+   * @throws org.springframework.dao.DuplicateKeyException if the key has been claimed
+   */
+  public void insertClaim(String scopeKey, String fingerprint, String claimToken,
+                          LocalDateTime now, LocalDateTime expiresAt) {
+    jdbcTemplate.update("INSERT INTO idempotency_keys (scope_key, fingerprint, claim_token, "
+            + "claimed_at, expires_at) VALUES (?, ?, ?, ?, ?)",
+        scopeKey, fingerprint, claimToken, Timestamp.valueOf(now), Timestamp.valueOf(expiresAt));
+  }
+
+  /**
+   * Claims a key whose claim was not completed before the given time, or whose response has
+   * expired.
+   *
+   * @param scopeKey      The key, scoped to the user that sent it.
+   * @param fingerprint   The fingerprint of the request.
+   * @param claimToken    The token that identifies the new claim.
+   * @param claimedBefore Claims older than this are taken over.
+   * @param now           The current time.
+   * @param expiresAt     When the key and its response expire.
+   * @return true if the key was claimed.
+   */
+  public boolean takeOver(String scopeKey, String fingerprint, String claimToken,
+                          LocalDateTime claimedBefore, LocalDateTime now,
+                          LocalDateTime expiresAt) {
+    String sql = "UPDATE idempotency_keys SET fingerprint = ?, claim_token = ?, status = NULL, "
+        + "content_type = NULL, body = NULL, claimed_at = ?, expires_at = ? "
+        + "WHERE scope_key = ? AND ((status IS NULL AND claimed_at < ?) OR expires_at <= ?)";
+    return jdbcTemplate.update(sql, fingerprint, claimToken, Timestamp.valueOf(now),
+        Timestamp.valueOf(expiresAt), scopeKey, Timestamp.valueOf(claimedBefore),
+        Timestamp.valueOf(now)) == 1;
+  }
+
+  /**
+   * Finds a key that has not expired, with its response if the request is done.
+   *
+   * @param scopeKey The key, scoped to the user that sent it.
+   * @param now      The current time.
+   * @return The key, or an empty Optional if it is not claimed.
+   */
+  public Optional<IdempotentResponse> find(String scopeKey, LocalDateTime now) {
+    String sql = "SELECT fingerprint, status, content_type, body FROM idempotency_keys "
+        + "WHERE scope_key = ? AND expires_at > ?";
+    return QueryUtils.findOne(jdbcTemplate, sql, (rs, rowNum) -> new IdempotentResponse(
+        rs.getString("fingerprint"),
+        rs.getObject("status", Integer.class),
+        rs.getString("content_type"),
+        rs.getBytes("body")
+    ), scopeKey, Timestamp.valueOf(now));
+  }
+
+  /**
+   * Stores the response of a claimed key.
+   *
+   * @param scopeKey   The key, scoped to the user that sent it.
+   * @param claimToken The token of the claim.
+   * @param response   The response.
+   * @return true if the claim was still held and the response was stored.
+   */
+  public boolean complete(String scopeKey, String claimToken, IdempotentResponse response) {
+    String sql = "UPDATE idempotency_keys SET status = ?, content_type = ?, body = ? "
+        + "WHERE scope_key = ? AND claim_token = ? AND status IS NULL";
+    return jdbcTemplate.update(sql, response.getStatus(), response.getContentType(),
+        response.getBody(), scopeKey, claimToken) == 1;
+  }
+
+  /**
+   * Releases a claimed key without a response, so that the request can be tried again.
+   *
+   * @param scopeKey   The key, scoped to the user that sent it.
+   * @param claimToken The token of the claim.
+   */
+  public void release(String scopeKey, String claimToken) {
+    jdbcTemplate.update("DELETE FROM idempotency_keys "
+        + "WHERE scope_key = ? AND claim_token = ? AND status IS NULL", scopeKey, claimToken);
+  }
+
+  /**
+   * Deletes the keys that have expired.
+   *
+   * @param now The current time.
+   * @return The number of keys deleted.
+   */
+  public int deleteExpired(LocalDateTime now) {
+    return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at <= ?",
+        Timestamp.valueOf(now));
+  }
+}
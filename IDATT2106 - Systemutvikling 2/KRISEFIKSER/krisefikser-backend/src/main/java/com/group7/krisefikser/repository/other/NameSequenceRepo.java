@@ -0,0 +1,48 @@
+package com.group7.krisefikser.repository.other;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+/**
+ * This class is a repository for the sequence that name suffixes are taken from.
+ * Every call reserves a new block number, which is never handed out again,
+ * so instances of the application can share the sequence without coordinating.
+ */
+@Repository
+public class NameSequenceRepo {
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Constructor for NameSequenceRepo.
+   *
+   * @param jdbcTemplate The JdbcTemplate used to interact with the database.
+   */
+  @Autowired
+  public NameSequenceRepo(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Reserves the next block of the sequence.
+   *
+   * @return The number of the reserved block, starting at 1.
+   */
+  public long reserveBlock() {
+    KeyHolder keyHolder = new GeneratedKeyHolder();
+    jdbcTemplate.update(connection -> {
+      PreparedStatement ps = connection.prepareStatement(
+          "INSERT INTO name_suffix_blocks (reserved_at) VALUES (?)",
+          Statement.RETURN_GENERATED_KEYS);
+      ps.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+      return ps;
+    }, keyHolder);
+    return keyHolder.getKey().longValue();
+  }
+}
@@ -1,14 +1,19 @@
 package com.group7.krisefikser.repository.user;
 
+import static com.group7.krisefikser.utils.QueryUtils.findOne;
+
 import com.group7.krisefikser.enums.Role;
+import com.group7.krisefikser.enums.SyncEntity;
 import com.group7.krisefikser.model.user.User;
+import com.group7.krisefikser.repository.other.ChangeLogRepo;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.logging.Logger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
@@ -16,23 +21,27 @@ import org.springframework.stereotype.Repository;
  * Repository class for managing user data in the database.
  * This class provides methods to find users by email,
  * save new users, and find users by ID.
+ * Changes to which household a user belongs to are recorded in the change log.
  */
 @Repository
 public class UserRepository {
 
-  private static final Logger logger = Logger.getLogger(UserRepository.class.getName());
+  private static final Logger logger = LoggerFactory.getLogger(UserRepository.class);
 
   private final JdbcTemplate jdbcTemplate;
+  private final ChangeLogRepo changeLogRepo;
 
   /**
    * Constructor for UserRepository.
    * This constructor initializes the JdbcTemplate used for database operations.
    *
-   * @param jdbcTemplate the JdbcTemplate to be used for database operations
+   * @param jdbcTemplate  the JdbcTemplate to be used for database operations
+   * @param changeLogRepo the change log that changes to household members are recorded in
    */
   @Autowired
-  public UserRepository(JdbcTemplate jdbcTemplate) {
+  public UserRepository(JdbcTemplate jdbcTemplate, ChangeLogRepo changeLogRepo) {
     this.jdbcTemplate = jdbcTemplate;
+    this.changeLogRepo = changeLogRepo;
   }
 
   /**
@@ -46,13 +55,7 @@ public class UserRepository {
    */
   public Optional<User> findByEmail(String email) {
     String sql = "SELECT * FROM users WHERE email = ?";
-    try {
-      return Optional.of(jdbcTemplate.queryForObject(sql, (rs, rowNum) ->
-              mapRowToUser(rs), email));
-    } catch (EmptyResultDataAccessException e) {
-      logger.info("No user found with email: " + email);
-      return Optional.empty();
-    }
+    return findOne(jdbcTemplate, sql, (rs, rowNum) -> mapRowToUser(rs), email);
   }
 
   private User mapRowToUser(ResultSet rs) throws SQLException {
@@ -80,13 +83,7 @@ public class UserRepository {
    */
   public Optional<User> findById(Long id) {
     String sql = "SELECT * FROM users WHERE id = ?";
-    try {
-      return Optional.of(jdbcTemplate.queryForObject(sql, (rs, rowNum) ->
-              mapRowToUser(rs), id));
-    } catch (EmptyResultDataAccessException e) {
-      logger.info("No user found with ID: " + id);
-      return Optional.empty();
-    }
+    return findOne(jdbcTemplate, sql, (rs, rowNum) -> mapRowToUser(rs), id);
   }
 
   /**
@@ -109,9 +106,12 @@ public class UserRepository {
     try {
       jdbcTemplate.update(query, user.getEmail(), user.getName(),
               user.getHouseholdId(), user.getPassword(), user.getRole().toString());
+      if (user.getHouseholdId() != null) {
+        changeLogRepo.record(SyncEntity.HOUSEHOLD_MEMBERS, null, user.getHouseholdId(), false);
+      }
       return findByEmail(user.getEmail());
     } catch (Exception e) {
-      logger.info("Failed to save user: " + e.getMessage());
+      logger.warn("Failed to save user: {}", e.getMessage());
       return Optional.empty();
     }
   }
@@ -133,8 +133,7 @@ public class UserRepository {
       jdbcTemplate.update(query, user.getVerified(), user.getEmail());
       return findByEmail(user.getEmail());
     } catch (Exception e) {
-      logger.info("Failed to update verified: " + e.getMessage());
-      e.printStackTrace();
+      logger.warn("Failed to update verified: {}", e.getMessage(), e);
       return Optional.empty();
     }
   }
@@ -162,6 +161,18 @@ public class UserRepository {
         Boolean.class);
   }
 
+  /**
+   * Reserves a username so it is not handed out again.
+   * The username is the primary key of the table, so a reservation is only
+   * made once even when several invitations are sent at the same time.
+   *
+   * @param username the username to reserve
+   * @throws org.springframework.dao.DuplicateKeyException if the username is already reserved
+   */
+  public void reserveUsername(String username) {
+    jdbcTemplate.update("INSERT INTO reserved_usernames (username) VALUES (?)", username);
+  }
+
   /**
    * Updates a user's household association in the database.
    * This method sets the household_id for a user with the specified user ID.
@@ -170,8 +181,13 @@ public class UserRepository {
    * @param householdId the ID of the household to associate with the user
    */
   public void updateUserHousehold(Long userId, Long householdId) {
+    Long previousHouseholdId = findHouseholdIdByUserId(userId);
     jdbcTemplate.update("DELETE FROM join_household_requests WHERE user_id = ?", userId);
     jdbcTemplate.update("UPDATE users SET household_id = ? WHERE id = ?", householdId, userId);
+    recordMembersChanged(previousHouseholdId);
+    if (!Objects.equals(previousHouseholdId, householdId)) {
+      recordMembersChanged(householdId);
+    }
   }
 
   /**
@@ -182,11 +198,7 @@ public class UserRepository {
    */
   public Long findHouseholdIdByUserId(Long userId) {
     String sql = "SELECT household_id FROM users WHERE id = ?";
-    try {
-      return jdbcTemplate.queryForObject(sql, Long.class, userId);
-    } catch (EmptyResultDataAccessException e) {
-      return null;
-    }
+    return findOne(jdbcTemplate, sql, Long.class, userId).orElse(null);
   }
 
   /**
@@ -197,11 +209,7 @@ public class UserRepository {
    */
   public String findNameById(Long userId) {
     String sql = "SELECT name FROM users WHERE id = ?";
-    try {
-      return jdbcTemplate.queryForObject(sql, String.class, userId);
-    } catch (EmptyResultDataAccessException e) {
-      return null;
-    }
+    return findOne(jdbcTemplate, sql, String.class, userId).orElse(null);
   }
   
   /**
@@ -213,8 +221,16 @@ public class UserRepository {
    * @param id the ID of the user to be deleted
    */
   public void deleteById(Long id) {
+    Long householdId = findHouseholdIdByUserId(id);
     jdbcTemplate.update("DELETE FROM join_household_requests WHERE user_id = ?", id);
     jdbcTemplate.update("DELETE FROM users WHERE id = ?", id);
+    recordMembersChanged(householdId);
+  }
+
+  private void recordMembersChanged(Long householdId) {
+    if (householdId != null) {
+      changeLogRepo.record(SyncEntity.HOUSEHOLD_MEMBERS, null, householdId, false);
+    }
   }
 
   /**
@@ -228,13 +244,7 @@ public class UserRepository {
    */
   public List<User> findByRole(Role role) {
     String sql = "SELECT * FROM users WHERE role = ?";
-    try {
-      return jdbcTemplate.query(sql, (rs, rowNum) ->
-          mapRowToUser(rs), role.toString());
-    } catch (EmptyResultDataAccessException e) {
-      logger.info("No users found with role: " + role);
-      return List.of();
-    }
+    return jdbcTemplate.query(sql, (rs, rowNum) -> mapRowToUser(rs), role.toString());
   }
 
   /**
@@ -36,8 +36,6 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
       HttpServletResponse response,
       FilterChain filterChain) throws ServletException, IOException {
 
-    logger.info("JWTAuthorizationFilter called for URI: {}", request.getRequestURI());
-
     String token = null;
     Cookie[] cookies = request.getCookies();
     if (cookies != null) {
@@ -50,14 +48,12 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
     }
 
     if (token == null) {
-      logger.warn("No token found in request");
       filterChain.doFilter(request, response);
       return;
     }
 
     final String username;
     final String role;
-    logger.info("Validating token");
     try {
       username = jwtUtils.validateTokenAndGetUserId(token);
       role = jwtUtils.validateTokenAndGetRole(token);
@@ -79,7 +75,7 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
         authorities);
     SecurityContextHolder.getContext().setAuthentication(auth);
 
-    logger.info("user: {}, role: {}, has been authenticated", username, role);
+    logger.debug("User {} with role {} has been authenticated", username, role);
     filterChain.doFilter(request, response);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,170 @@
+package com.group7.krisefikser.service.article;
+
+import com.group7.krisefikser.dto.response.article.GeneralInfoResponse;
+import com.group7.krisefikser.enums.Theme;
+import com.group7.krisefikser.mapper.article.GeneralInfoMapper;
+import com.group7.krisefikser.model.article.ContentSnapshot;
+import com.group7.krisefikser.model.article.GeneralInfo;
+import com.group7.krisefikser.repository.article.GeneralInfoRepository;
+import com.group7.krisefikser.repository.article.PrivacyPolicyRepository;
+import com.group7.krisefikser.service.cache.CacheNames;
+import com.group7.krisefikser.service.cache.InvalidationBus;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory store for the general information and privacy policy content.
+ * The content is loaded once at startup into an immutable {@link ContentSnapshot}
+ * and served from memory, so readers never touch the database. The repositories publish
+ * every admin change through the invalidation bus, and every instance of the application
+ * then reloads the snapshot in the background and swaps it in atomically, while readers
+ * keep getting the previous one.
+ */
+@Component
+public class ArticleContentStore {
+  private static final Logger logger = LoggerFactory.getLogger(ArticleContentStore.class);
+
+  private final GeneralInfoRepository generalInfoRepo;
+  private final PrivacyPolicyRepository privacyPolicyRepo;
+  private final InvalidationBus invalidationBus;
+  private final AtomicReference<ContentSnapshot> snapshot = new AtomicReference<>();
+  private final ReentrantLock reloadLock = new ReentrantLock();
+  private final AtomicBoolean reloadQueued = new AtomicBoolean();
+  private final Executor reloadExecutor = Executors.newSingleThreadExecutor(task -> {
+    Thread thread = new Thread(task, "article-content-reload");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * Constructor for ArticleContentStore. Subscribes the store to the invalidations of the
+   * article content.
+   *
+   * @param generalInfoRepo   The repository of the general information.
+   * @param privacyPolicyRepo The repository of the privacy policies.
+   * @param invalidationBus   The bus the content changes are published through.
+   */
+  @Autowired
+  public ArticleContentStore(GeneralInfoRepository generalInfoRepo,
+                             PrivacyPolicyRepository privacyPolicyRepo,
+                             InvalidationBus invalidationBus) {
+    this.generalInfoRepo = generalInfoRepo;
+    this.privacyPolicyRepo = privacyPolicyRepo;
+    this.invalidationBus = invalidationBus;
+    invalidationBus.addListener(CacheNames.ARTICLE_CONTENT, key -> queueReload());
+  }
+
+  /**
+   * Loads the content when the application has started.
+   * If loading fails, the content is loaded lazily on the first read instead.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadOnStartup() {
+    try {
+      ContentSnapshot loaded = reload();
+      logger.info("Loaded article content snapshot version {}", loaded.getVersion());
+    } catch (DataAccessException e) {
+      logger.warn("Could not load article content at startup: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Returns the current content snapshot, loading it if it has not been loaded yet.
+   *
+   * @return the current content snapshot
+   */
+  public ContentSnapshot current() {
+    ContentSnapshot current = snapshot.get();
+    return current != null ? current : reload();
+  }
+
+  /**
+   * Reloads all content from the database and swaps in a new snapshot.
+   * Reloads are serialized so that a slower, older read can never replace
+   * a newer snapshot. The lock is not held with synchronized, so a virtual thread
+   * waiting on the database is not pinned to its carrier.
+   *
+   * @return the new content snapshot
+   */
+  public ContentSnapshot reload() {
+    reloadLock.lock();
+    try {
+      return loadSnapshot();
+    } finally {
+      reloadLock.unlock();
+    }
+  }
+
+  /**
+   * Queues a reload on the background thread, unless one is already queued. The queued
+   * reload starts after every change published before it, since the flag is cleared before
+   * the content is read.
+   */
+  private void queueReload() {
+    if (!reloadQueued.compareAndSet(false, true)) {
+      return;
+    }
+    reloadExecutor.execute(() -> {
+      reloadQueued.set(false);
+      try {
+        reload();
+      } catch (DataAccessException e) {
+        // Readers load the content themselves rather than keep serving the changed content
+        snapshot.set(null);
+        logger.warn("Could not reload article content: {}", e.getMessage());
+      }
+    });
+  }
+
+  private ContentSnapshot loadSnapshot() {
+    ContentSnapshot previous = snapshot.get();
+    long version = Math.max(previous == null ? 1 : previous.getVersion() + 1,
+        invalidationBus.watermark());
+
+    List<GeneralInfo> allInfo = generalInfoRepo.getAllGeneralInfo();
+    List<GeneralInfoResponse> responses = Collections.unmodifiableList(
+        new ArrayList<>(GeneralInfoMapper.INSTANCE.generalInfoToResponseList(allInfo)));
+
+    Map<Theme, List<GeneralInfoResponse>> byTheme = new EnumMap<>(Theme.class);
+    for (Theme theme : Theme.values()) {
+      byTheme.put(theme, responses.stream()
+          .filter(info -> theme.name().equals(info.getTheme()))
+          .toList());
+    }
+
+    ContentSnapshot loaded = new ContentSnapshot(
+        version,
+        responses,
+        Collections.unmodifiableMap(byTheme),
+        readOrNull(privacyPolicyRepo::getRegisteredPrivacyPolicy),
+        readOrNull(privacyPolicyRepo::getUnregisteredPrivacyPolicy)
+    );
+    snapshot.set(loaded);
+    return loaded;
+  }
+
+  private String readOrNull(Supplier<String> query) {
+    try {
+      return query.get();
+    } catch (EmptyResultDataAccessException e) {
+      return null;
+    }
+  }
+}
@@ -21,23 +21,29 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class GeneralInfoService {
   private final GeneralInfoRepository generalInfoRepo;
+  private final ArticleContentStore contentStore;
 
+  /**
+   * Retrieves all general information.
+   * The content is served from the in-memory content store.
+   *
+   * @return a list of all general information
+   */
   public List<GeneralInfoResponse> getAllGeneralInfo() {
-    return GeneralInfoMapper
-        .INSTANCE.generalInfoToResponseList(generalInfoRepo.getAllGeneralInfo());
+    return contentStore.current().getGeneralInfo();
   }
 
   /**
    * Retrieves general information by theme.
    * This method filters the general information
    * based on the specified theme.
+   * The content is pre-grouped by theme in the in-memory content store.
    *
    * @param theme the theme to filter the general information
    * @return a list of GeneralInfo objects containing details of the general information
    */
   public List<GeneralInfoResponse> getGeneralInfoByTheme(Theme theme) {
-    return GeneralInfoMapper
-        .INSTANCE.generalInfoToResponseList(generalInfoRepo.getGeneralInfoByTheme(theme));
+    return contentStore.current().getGeneralInfoByTheme().getOrDefault(theme, List.of());
   }
 
   /**
@@ -1,13 +1,19 @@
 package com.group7.krisefikser.service.article;
 
 import com.group7.krisefikser.dto.response.article.NewsArticleResponse;
+import com.group7.krisefikser.dto.response.article.NewsFeedResponse;
 import com.group7.krisefikser.dto.response.article.ShortenedNewsArticleResponse;
 import com.group7.krisefikser.mapper.article.NewsArticleMapper;
 import com.group7.krisefikser.model.article.NewsArticle;
 import com.group7.krisefikser.repository.article.NewsArticleRepository;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service class for handling operations related to news articles.
@@ -17,6 +23,10 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class NewsArticleService {
+  public static final int DEFAULT_FEED_PAGE_SIZE = 20;
+  public static final int MAX_FEED_PAGE_SIZE = 100;
+  private static final String CURSOR_SEPARATOR = "|";
+
   private final NewsArticleRepository newsArticleRepo;
 
   /**
@@ -25,6 +35,7 @@ public class NewsArticleService {
    *
    * @return a list of NewsArticle objects containing details of all articles
    */
+  @Transactional(readOnly = true)
   public List<ShortenedNewsArticleResponse> getAllNewsArticles() {
     List<NewsArticle> articles = newsArticleRepo.getAllNewsArticles();
     return articles.stream()
@@ -40,6 +51,7 @@ public class NewsArticleService {
    * @param id the ID of the news article to be retrieved
    * @return the NewsArticle object containing details of the article
    */
+  @Transactional(readOnly = true)
   public NewsArticleResponse getNewsArticleById(long id) {
     NewsArticle article = newsArticleRepo.getNewsArticleById(id);
     if (article != null) {
@@ -48,4 +60,81 @@ public class NewsArticleService {
       throw new RuntimeException("News article not found with ID: " + id);
     }
   }
+
+  /**
+   * Retrieves one page of the news feed, optionally filtered by a search query.
+   * The feed is paginated with an opaque cursor pointing at the last article
+   * of the previous page, so each page costs the same regardless of how far
+   * into the feed the client has scrolled.
+   *
+   * @param cursor the cursor returned with the previous page, or null for the first page
+   * @param limit  the requested page size, or null for the default page size
+   * @param query  the search query, or null to return all articles
+   * @return a NewsFeedResponse containing the articles and the cursor for the next page
+   * @throws IllegalArgumentException if the cursor is malformed
+   */
+  @Transactional(readOnly = true)
+  public NewsFeedResponse getNewsFeed(String cursor, Integer limit, String query) {
+    int pageSize = limit == null
+        ? DEFAULT_FEED_PAGE_SIZE
+        : Math.max(1, Math.min(limit, MAX_FEED_PAGE_SIZE));
+
+    LocalDateTime beforePublishedAt = null;
+    Long beforeId = null;
+    if (cursor != null && !cursor.isBlank()) {
+      String[] parts = decodeCursor(cursor);
+      beforePublishedAt = parseCursorDate(parts[0]);
+      beforeId = parseCursorId(parts[1]);
+    }
+
+    // Fetch one extra row to find out if there is a next page
+    List<NewsArticle> articles = query == null || query.isBlank()
+        ? newsArticleRepo.getNewsFeedPage(beforePublishedAt, beforeId, pageSize + 1)
+        : newsArticleRepo.searchNewsFeedPage(
+            query.trim(), beforePublishedAt, beforeId, pageSize + 1);
+
+    boolean hasMore = articles.size() > pageSize;
+    List<NewsArticle> page = hasMore ? articles.subList(0, pageSize) : articles;
+    String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1)) : null;
+
+    List<ShortenedNewsArticleResponse> responses = page.stream()
+        .map(NewsArticleMapper.INSTANCE::newsArticleToShortenedNewsArticleResponse)
+        .toList();
+    return new NewsFeedResponse(responses, nextCursor);
+  }
+
+  private String encodeCursor(NewsArticle article) {
+    String raw = article.getPublishedAt() + CURSOR_SEPARATOR + article.getId();
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private String[] decodeCursor(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\" + CURSOR_SEPARATOR);
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Invalid news feed cursor");
+      }
+      return parts;
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid news feed cursor", e);
+    }
+  }
+
+  private LocalDateTime parseCursorDate(String value) {
+    try {
+      return LocalDateTime.parse(value);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid news feed cursor", e);
+    }
+  }
+
+  private Long parseCursorId(String value) {
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid news feed cursor", e);
+    }
+  }
 }
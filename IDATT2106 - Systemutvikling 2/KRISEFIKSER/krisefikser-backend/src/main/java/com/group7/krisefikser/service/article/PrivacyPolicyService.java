@@ -16,26 +16,27 @@ import org.springframework.stereotype.Service;
 public class PrivacyPolicyService {
 
   private final PrivacyPolicyRepository privacyPolicyRepository;
+  private final ArticleContentStore contentStore;
 
   /**
-   * Retrieves the registered privacy policy.
+   * Retrieves the registered privacy policy from the in-memory content store.
    *
    * @return The registered privacy policy as a response object.
    */
   public GetRegisteredPrivacyPolicyResponse getRegisteredPrivacyPolicy() {
     GetRegisteredPrivacyPolicyResponse response = new GetRegisteredPrivacyPolicyResponse();
-    response.setRegistered(privacyPolicyRepository.getRegisteredPrivacyPolicy());
+    response.setRegistered(contentStore.current().getRegisteredPrivacyPolicy());
     return response;
   }
 
   /**
-   * Retrieves the unregistered privacy policy.
+   * Retrieves the unregistered privacy policy from the in-memory content store.
    *
    * @return The unregistered privacy policy as a response object.
    */
   public GetUnregisteredPrivacyPolicyResponse getUnregisteredPrivacyPolicy() {
     GetUnregisteredPrivacyPolicyResponse response = new GetUnregisteredPrivacyPolicyResponse();
-    response.setUnregistered(privacyPolicyRepository.getUnregisteredPrivacyPolicy());
+    response.setUnregistered(contentStore.current().getUnregisteredPrivacyPolicy());
     return response;
   }
 
@@ -0,0 +1,21 @@
+package com.group7.krisefikser.service.cache;
+
+/**
+ * Names of the caches shared through the {@link InvalidationBus}. A repository that changes
+ * cached data publishes invalidations under the same name as the cache, or the listener, that
+ * holds it.
+ */
+public final class CacheNames {
+  public static final String ITEMS = "items";
+  public static final String AFFECTED_AREAS = "affected-areas";
+  public static final String POINTS_OF_INTEREST = "points-of-interest";
+  public static final String HOUSEHOLDS = "households";
+  public static final String HOUSEHOLD_OF_USER = "household-of-user";
+  public static final String TILES = "tiles";
+  public static final String AREA_IMPACT = "area-impact";
+  public static final String AREA_PRESENCE = "area-presence";
+  public static final String ARTICLE_CONTENT = "article-content";
+
+  private CacheNames() {
+  }
+}
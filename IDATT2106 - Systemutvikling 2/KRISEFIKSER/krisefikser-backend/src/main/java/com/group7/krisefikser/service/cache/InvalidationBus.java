@@ -0,0 +1,291 @@
+package com.group7.krisefikser.service.cache;
+
+import com.group7.krisefikser.model.other.CacheInvalidation;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service class that keeps the {@link TwoTierCache}s of all instances of the application
+ * consistent. A published invalidation is applied to the local caches at once, and again
+ * when the surrounding transaction completes. Every instance polls the transport for the
+ * invalidations published by the others and applies them in version order.
+ * Versions can become visible out of order when transactions commit in a different order
+ * than they published, so a missing version is waited for until it shows up or is assumed
+ * rolled back. The watermark is the highest version up to which everything has been applied.
+ * A version that was given up on is still looked for until the invalidations are purged, and
+ * if it shows up after all, it evicts everything that was cached before it did.
+ * Content that is kept in memory outside a cache can listen for the invalidations of a name
+ * instead, and reload itself when they arrive.
+ */
+@Service
+public class InvalidationBus {
+  private static final Logger logger = LoggerFactory.getLogger(InvalidationBus.class);
+  private static final Object PUBLISHED_IN_TRANSACTION = new Object();
+
+  static final int PAGE_SIZE = 1000;
+  static final int MAX_TRACKED_GAP = 1000;
+
+  private final InvalidationTransport transport;
+  private final long gapTimeoutMillis;
+  private final long retentionMinutes;
+  private final Map<String, TwoTierCache<?>> caches = new ConcurrentHashMap<>();
+  private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+  private final ReentrantLock pollLock = new ReentrantLock();
+  private final TreeMap<Long, Long> missingSince = new TreeMap<>();
+  private final TreeMap<Long, Long> abandonedSince = new TreeMap<>();
+
+  private long highestSeen;
+  private volatile long watermark;
+  private volatile boolean started;
+
+  /**
+   * Constructor for InvalidationBus.
+   *
+   * @param transport        The transport the invalidations are published through.
+   * @param gapTimeoutMillis How long to wait for a missing version before assuming that
+   *                         its transaction was rolled back.
+   * @param retentionMinutes How long published invalidations are kept.
+   */
+  @Autowired
+  public InvalidationBus(InvalidationTransport transport,
+                         @Value("${app.cache.gap-timeout-ms:10000}") long gapTimeoutMillis,
+                         @Value("${app.cache.retention-minutes:60}") long retentionMinutes) {
+    this.transport = transport;
+    this.gapTimeoutMillis = gapTimeoutMillis;
+    this.retentionMinutes = retentionMinutes;
+  }
+
+  /**
+   * Creates a cache and subscribes it to the invalidations published under its name.
+   *
+   * @param name             The name of the cache, shared by all instances.
+   * @param maximumSize      The maximum number of entries in the local tier.
+   * @param expireAfterWrite How long an entry is kept in the local tier.
+   * @param <V>              The type of the cached values.
+   * @return The cache.
+   */
+  public <V> TwoTierCache<V> createCache(String name, long maximumSize,
+                                         Duration expireAfterWrite) {
+    return createCache(name, maximumSize, expireAfterWrite, null);
+  }
+
+  /**
+   * Creates a cache that can also be invalidated by ranges of keys, and subscribes it to the
+   * invalidations published under its name.
+   *
+   * @param name             The name of the cache, shared by all instances.
+   * @param maximumSize      The maximum number of entries in the local tier.
+   * @param expireAfterWrite How long an entry is kept in the local tier.
+   * @param ranges           The ranges of keys invalidations may be published for, or null.
+   * @param <V>              The type of the cached values.
+   * @return The cache.
+   */
+  public <V> TwoTierCache<V> createCache(String name, long maximumSize,
+                                         Duration expireAfterWrite, KeyRanges ranges) {
+    TwoTierCache<V> cache = new TwoTierCache<>(name, this, maximumSize, expireAfterWrite,
+        ranges);
+    if (caches.putIfAbsent(name, cache) != null) {
+      throw new IllegalArgumentException("Cache " + name + " already exists");
+    }
+    return cache;
+  }
+
+  /**
+   * Registers a listener for the invalidations published under a name, from this or any other
+   * instance. The listener is called with the invalidated key on the thread that applies it,
+   * which may still be inside the publishing transaction or holding the poll lock, so it must
+   * hand any loading off to another thread. A local invalidation is applied again when its
+   * transaction completes, so the listener is called once more after the commit.
+   *
+   * @param name     The name the invalidations are published under.
+   * @param listener Called with every invalidated key, or {@link TwoTierCache#ALL}.
+   */
+  public void addListener(String name, Consumer<String> listener) {
+    listeners.computeIfAbsent(name, n -> new CopyOnWriteArrayList<>()).add(listener);
+  }
+
+  /**
+   * Publishes an invalidation of a key. Inside a transaction, the invalidation is published
+   * together with the change, and the caches are bypassed for the rest of the transaction.
+   *
+   * @param cacheName The name of the cache.
+   * @param key       The key to invalidate, or {@link TwoTierCache#ALL}.
+   */
+  public void publish(String cacheName, Object key) {
+    String cacheKey = String.valueOf(key);
+    long version = transport.publish(cacheName, cacheKey);
+    apply(cacheName, cacheKey, version);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      if (!TransactionSynchronizationManager.hasResource(PUBLISHED_IN_TRANSACTION)) {
+        TransactionSynchronizationManager.bindResource(PUBLISHED_IN_TRANSACTION, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+              @Override
+              public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(
+                    PUBLISHED_IN_TRANSACTION);
+              }
+            });
+      }
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              apply(cacheName, cacheKey, version);
+            }
+          });
+    }
+  }
+
+  /**
+   * Polls the transport for invalidations published since the last poll. The poll runs in a
+   * read-only transaction, so with a read replica the invalidations are read from the same
+   * database as the data, and are never seen before the change they describe.
+   */
+  @Scheduled(fixedDelayString = "${app.cache.poll-interval-ms:1000}")
+  @Transactional(readOnly = true)
+  public void poll() {
+    pollLock.lock();
+    try {
+      if (!started) {
+        highestSeen = transport.latestVersion();
+        watermark = highestSeen;
+        started = true;
+        return;
+      }
+      long now = System.currentTimeMillis();
+      abandonTimedOutVersions(now);
+      applyLateVersions();
+      long after = missingSince.isEmpty() ? highestSeen : missingSince.firstKey() - 1;
+      List<CacheInvalidation> page;
+      do {
+        page = transport.findAfter(after, PAGE_SIZE);
+        for (CacheInvalidation invalidation : page) {
+          receive(invalidation, now);
+          after = invalidation.getVersion();
+        }
+      } while (page.size() == PAGE_SIZE);
+      watermark = missingSince.isEmpty() ? highestSeen : missingSince.firstKey() - 1;
+    } finally {
+      pollLock.unlock();
+    }
+  }
+
+  /**
+   * Deletes invalidations that every instance has had time to apply.
+   */
+  @Scheduled(cron = "${app.cache.purge-cron:0 */10 * * * *}")
+  public void purge() {
+    int deleted = transport.deleteOlderThan(LocalDateTime.now().minusMinutes(retentionMinutes));
+    logger.debug("Deleted {} old cache invalidations", deleted);
+  }
+
+  /**
+   * Returns the version up to which every invalidation has been applied.
+   *
+   * @return The watermark.
+   */
+  public long watermark() {
+    return watermark;
+  }
+
+  /**
+   * Checks whether the first poll has completed. Until then, the position of the bus is
+   * unknown and nothing is cached.
+   *
+   * @return true if the bus has started.
+   */
+  public boolean isStarted() {
+    return started;
+  }
+
+  /**
+   * Checks whether the current transaction has published invalidations.
+   *
+   * @return true if the caches should be bypassed.
+   */
+  public boolean hasPublishedInTransaction() {
+    return TransactionSynchronizationManager.hasResource(PUBLISHED_IN_TRANSACTION);
+  }
+
+  /**
+   * Gives up waiting for the missing versions that have timed out, but keeps them to look for
+   * until they would have been purged.
+   */
+  private void abandonTimedOutVersions(long now) {
+    Iterator<Map.Entry<Long, Long>> missing = missingSince.entrySet().iterator();
+    while (missing.hasNext()) {
+      Map.Entry<Long, Long> entry = missing.next();
+      if (now - entry.getValue() >= gapTimeoutMillis) {
+        abandonedSince.put(entry.getKey(), now);
+        missing.remove();
+      }
+    }
+    long retentionMillis = Duration.ofMinutes(retentionMinutes).toMillis();
+    abandonedSince.values().removeIf(since -> now - since >= retentionMillis);
+    while (abandonedSince.size() > MAX_TRACKED_GAP) {
+      abandonedSince.pollFirstEntry();
+    }
+  }
+
+  /**
+   * Applies the abandoned versions that have been committed after all. Entries loaded after
+   * the watermark passed such a version may still hold what it changed, so it is applied above
+   * every version seen so far.
+   */
+  private void applyLateVersions() {
+    if (abandonedSince.isEmpty()) {
+      return;
+    }
+    for (CacheInvalidation late : transport.findVersions(List.copyOf(abandonedSince.keySet()))) {
+      abandonedSince.remove(late.getVersion());
+      logger.warn("Cache invalidation {} was committed after it was given up on",
+          late.getVersion());
+      apply(late.getCacheName(), late.getKey(), highestSeen + 1);
+    }
+  }
+
+  private void receive(CacheInvalidation invalidation, long now) {
+    long version = invalidation.getVersion();
+    if (version > highestSeen) {
+      if (version - highestSeen - 1 <= MAX_TRACKED_GAP) {
+        for (long missing = highestSeen + 1; missing < version; missing++) {
+          missingSince.put(missing, now);
+        }
+      } else {
+        logger.warn("Skipped {} cache invalidation versions", version - highestSeen - 1);
+      }
+      highestSeen = version;
+    } else if (missingSince.remove(version) == null) {
+      return;
+    }
+    apply(invalidation.getCacheName(), invalidation.getKey(), version);
+  }
+
+  private void apply(String cacheName, String key, long version) {
+    TwoTierCache<?> cache = caches.get(cacheName);
+    if (cache != null) {
+      cache.apply(key, version);
+    }
+    for (Consumer<String> listener : listeners.getOrDefault(cacheName, List.of())) {
+      listener.accept(key);
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.group7.krisefikser.service.cache;
+
+import com.group7.krisefikser.model.other.CacheInvalidation;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Carries cache invalidations between the instances of the application.
+ */
+public interface InvalidationTransport {
+
+  /**
+   * Publishes an invalidation. When called inside a transaction, the invalidation should
+   * only become visible to other instances if the transaction commits.
+   *
+   * @param cacheName the name of the cache
+   * @param key       the key to invalidate
+   * @return the version of the invalidation
+   */
+  long publish(String cacheName, String key);
+
+  /**
+   * Finds the published invalidations with a version above the given one, ordered by version.
+   *
+   * @param afterVersion the version to read from, exclusive
+   * @param limit        the maximum number of invalidations to return
+   * @return the invalidations
+   */
+  List<CacheInvalidation> findAfter(long afterVersion, int limit);
+
+  /**
+   * Finds the published invalidations with the given versions. Versions that have not been
+   * published are left out.
+   *
+   * @param versions the versions to look for
+   * @return the invalidations
+   */
+  List<CacheInvalidation> findVersions(Collection<Long> versions);
+
+  /**
+   * Finds the highest version published so far.
+   *
+   * @return the highest version, or 0 if nothing has been published
+   */
+  long latestVersion();
+
+  /**
+   * Deletes invalidations published before the given time.
+   *
+   * @param before the time to delete before
+   * @return the number of invalidations deleted
+   */
+  int deleteOlderThan(LocalDateTime before);
+}
@@ -0,0 +1,26 @@
+package com.group7.krisefikser.service.cache;
+
+/**
+ * Invalidation keys of a cache that stand for a range of its keys, such as a region of the map
+ * for the cached map tiles. A change that touches many keys publishes a single range, and each
+ * instance evicts the keys the range covers from its own tier.
+ */
+public interface KeyRanges {
+
+  /**
+   * Checks whether an invalidation key is a range.
+   *
+   * @param key the invalidation key
+   * @return true if the key stands for a range of keys
+   */
+  boolean isRange(String key);
+
+  /**
+   * Checks whether a range covers a cache key.
+   *
+   * @param range the range
+   * @param key   the cache key
+   * @return true if an invalidation of the range invalidates the key
+   */
+  boolean covers(String range, String key);
+}
@@ -0,0 +1,180 @@
+package com.group7.krisefikser.service.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache with a local, size- and time-bounded tier in each instance of the application, kept
+ * consistent between instances by the {@link InvalidationBus}.
+ * Every entry records the version of the bus at the time it started loading. An invalidation
+ * only evicts entries older than itself, and an entry whose key was invalidated while it was
+ * loading is not stored, so neither a slow load nor an invalidation that arrives late can
+ * leave stale data in the cache. A cache with {@link KeyRanges} is also invalidated by ranges
+ * of keys, which evict every key they cover. Cached values are shared between callers and
+ * must not be modified.
+ *
+ * @param <V> the type of the cached values
+ */
+public class TwoTierCache<V> {
+  /**
+   * Key that invalidates every entry of a cache.
+   */
+  public static final String ALL = "*";
+
+  private static final int MAX_TRACKED_INVALIDATIONS = 100_000;
+  private static final int MAX_TRACKED_RANGES = 1000;
+  private static final int TRACK_INVALIDATIONS_MINUTES = 5;
+
+  private final String name;
+  private final InvalidationBus bus;
+  private final Cache<String, Entry<V>> entries;
+  private final Cache<String, Long> invalidatedVersions = CacheBuilder.newBuilder()
+      .maximumSize(MAX_TRACKED_INVALIDATIONS)
+      .expireAfterWrite(TRACK_INVALIDATIONS_MINUTES, TimeUnit.MINUTES)
+      .build();
+  private final Cache<String, Long> invalidatedRanges = CacheBuilder.newBuilder()
+      .maximumSize(MAX_TRACKED_RANGES)
+      .expireAfterWrite(TRACK_INVALIDATIONS_MINUTES, TimeUnit.MINUTES)
+      .build();
+  private final AtomicLong allInvalidatedVersion = new AtomicLong();
+  private final KeyRanges ranges;
+
+  TwoTierCache(String name, InvalidationBus bus, long maximumSize, Duration expireAfterWrite,
+               KeyRanges ranges) {
+    this.name = name;
+    this.bus = bus;
+    this.ranges = ranges;
+    this.entries = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(expireAfterWrite.toMillis(), TimeUnit.MILLISECONDS)
+        .build();
+  }
+
+  /**
+   * Returns the name of the cache.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the cached value for a key, loading and caching it if it is not cached.
+   *
+   * @param key    the key
+   * @param loader loads the value from the database
+   * @return the value
+   */
+  public V get(Object key, Supplier<V> loader) {
+    V cached = getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    long version = version();
+    V loaded = loader.get();
+    put(key, loaded, version);
+    return loaded;
+  }
+
+  /**
+   * Returns the cached value for a key. Nothing is returned inside a transaction that has
+   * published invalidations, since the cache does not contain its uncommitted changes.
+   *
+   * @param key the key
+   * @return the value, or null if it is not cached
+   */
+  public V getIfPresent(Object key) {
+    if (bus.hasPublishedInTransaction()) {
+      return null;
+    }
+    Entry<V> entry = entries.getIfPresent(String.valueOf(key));
+    return entry != null ? entry.value() : null;
+  }
+
+  /**
+   * Returns the version to pass to {@link #put} for a value that is about to be loaded.
+   *
+   * @return the current version of the bus
+   */
+  public long version() {
+    return bus.watermark();
+  }
+
+  /**
+   * Caches a value loaded after {@link #version} returned the given version. The value is
+   * dropped if its key has been invalidated since then.
+   *
+   * @param key     the key
+   * @param value   the value, which is not cached if it is null
+   * @param version the version returned before the value was loaded
+   */
+  public void put(Object key, V value, long version) {
+    if (value == null || !bus.isStarted() || bus.hasPublishedInTransaction()) {
+      return;
+    }
+    String cacheKey = String.valueOf(key);
+    if (invalidatedSince(cacheKey, version)) {
+      return;
+    }
+    entries.put(cacheKey, new Entry<>(value, version));
+    // An invalidation applied between the check and the put must still win
+    if (invalidatedSince(cacheKey, version)) {
+      entries.invalidate(cacheKey);
+    }
+  }
+
+  /**
+   * Invalidates a key in every instance of the application.
+   *
+   * @param key the key
+   */
+  public void invalidate(Object key) {
+    bus.publish(name, key);
+  }
+
+  /**
+   * Invalidates every entry in every instance of the application.
+   */
+  public void invalidateAll() {
+    bus.publish(name, ALL);
+  }
+
+  /**
+   * Applies an invalidation received from the bus to the local tier.
+   *
+   * @param key     the invalidated key, a range of keys, or {@link #ALL}
+   * @param version the version of the invalidation
+   */
+  void apply(String key, long version) {
+    if (ALL.equals(key)) {
+      allInvalidatedVersion.accumulateAndGet(version, Math::max);
+      entries.asMap().values().removeIf(entry -> entry.version() < version);
+    } else if (ranges != null && ranges.isRange(key)) {
+      invalidatedRanges.asMap().merge(key, version, Math::max);
+      entries.asMap().entrySet().removeIf(entry -> entry.getValue().version() < version
+          && ranges.covers(key, entry.getKey()));
+    } else {
+      invalidatedVersions.asMap().merge(key, version, Math::max);
+      entries.asMap().computeIfPresent(key,
+          (k, entry) -> entry.version() < version ? null : entry);
+    }
+  }
+
+  private boolean invalidatedSince(String key, long version) {
+    Long invalidated = invalidatedVersions.getIfPresent(key);
+    if (allInvalidatedVersion.get() > version
+        || (invalidated != null && invalidated > version)) {
+      return true;
+    }
+    return ranges != null && invalidatedRanges.asMap().entrySet().stream()
+        .anyMatch(range -> range.getValue() > version && ranges.covers(range.getKey(), key));
+  }
+
+  private record Entry<V>(V value, long version) {
+  }
+}
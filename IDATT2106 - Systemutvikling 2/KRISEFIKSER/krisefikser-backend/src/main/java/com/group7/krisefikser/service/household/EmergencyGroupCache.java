@@ -0,0 +1,76 @@
+package com.group7.krisefikser.service.household;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.group7.krisefikser.model.household.EmergencyGroup;
+import com.group7.krisefikser.repository.household.EmergencyGroupRepo;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory cache of emergency group metadata, such as the name of each group.
+ * Groups are never renamed or deleted once created, so entries do not need to be evicted,
+ * and the cache is only bounded in size.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmergencyGroupCache {
+  private static final int MAX_GROUPS = 10_000;
+
+  private final EmergencyGroupRepo emergencyGroupRepo;
+
+  private final Cache<Long, EmergencyGroup> groups = CacheBuilder.newBuilder()
+      .maximumSize(MAX_GROUPS)
+      .build();
+
+  /**
+   * Returns an emergency group, loading it if it is not cached.
+   * The returned object is shared between callers and must not be modified.
+   *
+   * @param id the ID of the emergency group
+   * @return the emergency group, or empty if it does not exist
+   */
+  public Optional<EmergencyGroup> get(Long id) {
+    EmergencyGroup cached = groups.getIfPresent(id);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    Optional<EmergencyGroup> loaded = emergencyGroupRepo.getEmergencyGroupById(id);
+    loaded.ifPresent(group -> groups.put(id, group));
+    return loaded;
+  }
+
+  /**
+   * Returns the names of the given emergency groups, loading the groups that are not cached
+   * with a single query.
+   *
+   * @param ids the IDs of the emergency groups
+   * @return the name of each group found, by ID
+   */
+  public Map<Long, String> getNames(Collection<Long> ids) {
+    Map<Long, String> names = new HashMap<>();
+    Set<Long> missing = new LinkedHashSet<>();
+    for (Long id : ids) {
+      EmergencyGroup group = groups.getIfPresent(id);
+      if (group != null) {
+        names.put(id, group.getName());
+      } else {
+        missing.add(id);
+      }
+    }
+    if (missing.isEmpty()) {
+      return names;
+    }
+    for (EmergencyGroup group : emergencyGroupRepo.getEmergencyGroupsByIds(missing)) {
+      groups.put(group.getId(), group);
+      names.put(group.getId(), group.getName());
+    }
+    return names;
+  }
+}
@@ -7,16 +7,17 @@ import com.group7.krisefikser.dto.response.household.EmergencyGroupResponse;
 import com.group7.krisefikser.mapper.household.EmergencyGroupMapper;
 import com.group7.krisefikser.model.household.EmergencyGroup;
 import com.group7.krisefikser.model.household.EmergencyGroupInvitation;
-import com.group7.krisefikser.model.household.Household;
 import com.group7.krisefikser.repository.household.EmergencyGroupInvitationsRepo;
 import com.group7.krisefikser.repository.household.EmergencyGroupRepo;
 import com.group7.krisefikser.repository.household.HouseholdRepository;
+import com.group7.krisefikser.repository.item.GroupInventoryRepo;
 import com.group7.krisefikser.repository.user.UserRepository;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +26,8 @@ import org.springframework.transaction.annotation.Transactional;
  * Service class for handling operations related to emergency groups.
  * The role of this service is to manage the business logic related to
  * emergency groups, such as retrieving and adding.
+ * Invitations are checked by the database in the same statement that changes them,
+ * and group names are read from {@link EmergencyGroupCache}.
  */
 @Service
 @RequiredArgsConstructor
@@ -33,6 +36,8 @@ public class EmergencyGroupService {
   private final EmergencyGroupInvitationsRepo emergencyGroupInvitationsRepo;
   private final UserRepository userRepository;
   private final HouseholdRepository householdRepository;
+  private final GroupInventoryRepo groupInventoryRepo;
+  private final EmergencyGroupCache emergencyGroupCache;
 
   /**
    * Retrieves the EmergencyGroup object with the specified ID from the repository.
@@ -41,12 +46,9 @@ public class EmergencyGroupService {
    * @return the EmergencyGroupResponse object with the specified ID
    */
   public EmergencyGroupResponse getEmergencyGroupById(Long id) {
-    try {
-      EmergencyGroup group = emergencyGroupRepo.getEmergencyGroupById(id);
-      return EmergencyGroupMapper.INSTANCE.emergencyGroupToResponse(group);
-    } catch (EmptyResultDataAccessException e) {
-      throw new NoSuchElementException("Emergency group with ID " + id + " not found.");
-    }
+    EmergencyGroup group = emergencyGroupCache.get(id).orElseThrow(() ->
+            new NoSuchElementException("Emergency group with ID " + id + " not found."));
+    return EmergencyGroupMapper.INSTANCE.emergencyGroupToResponse(group);
   }
 
   /**
@@ -61,11 +63,9 @@ public class EmergencyGroupService {
       EmergencyGroup group = EmergencyGroupMapper.INSTANCE
               .emergencyGroupRequestToEntity(request);
       emergencyGroupRepo.addEmergencyGroup(group);
-      getHouseholdIdForCurrentUser();
-      householdRepository.addHouseholdToGroup(
-              getHouseholdIdForCurrentUser(),
-              group.getId()
-      );
+      long householdId = getHouseholdIdForCurrentUser();
+      householdRepository.addHouseholdToGroup(householdId, group.getId());
+      groupInventoryRepo.refreshHousehold(householdId);
       return EmergencyGroupMapper.INSTANCE.emergencyGroupToResponse(group);
     } catch (DataIntegrityViolationException e) {
       throw new IllegalArgumentException("Failed to add emergency group. Name already taken.");
@@ -74,34 +74,27 @@ public class EmergencyGroupService {
 
   /**
    * Invites a household to an emergency group by its name.
+   * The invitation is inserted in a single statement, and only if it is rejected are the
+   * household and group looked up to report why.
    *
    * @param householdName the name of the household to invite
    */
   public void inviteHouseholdByName(String householdName) {
-    Household householdToInvite = householdRepository.getHouseholdByName(householdName)
-            .orElseThrow(() -> new NoSuchElementException(
-                    "Household with name '" + householdName + "' not found.")
-            );
-    Long oldGroupId = householdToInvite.getEmergencyGroupId();
-    if (oldGroupId != null && oldGroupId == getGroupIdForCurrentUser()) {
-      throw new IllegalArgumentException("The household is already in the group.");
-    }
-
-    if (emergencyGroupInvitationsRepo.isInvitedToGroup(
-            householdToInvite.getId(),
-            getGroupIdForCurrentUser()
-    )) {
+    try {
+      if (emergencyGroupInvitationsRepo.addInvitationByHouseholdName(
+              getCurrentUserId(), householdName) > 0) {
+        return;
+      }
+    } catch (DuplicateKeyException e) {
       throw new IllegalArgumentException("Household is already invited to this group.");
     }
 
-    emergencyGroupInvitationsRepo.addEmergencyGroupInvitation(new EmergencyGroupInvitation(
-                    null,
-                    householdToInvite.getId(),
-                    getGroupIdForCurrentUser(),
-                    null
-            )
-    );
-
+    householdRepository.getHouseholdByName(householdName)
+            .orElseThrow(() -> new NoSuchElementException(
+                    "Household with name '" + householdName + "' not found.")
+            );
+    getGroupIdForCurrentUser();
+    throw new IllegalArgumentException("The household is already in the group.");
   }
 
   /**
@@ -130,15 +123,14 @@ public class EmergencyGroupService {
   @Transactional
   public void answerEmergencyGroupInvitation(Long groupId, boolean accept) {
     long householdId = getHouseholdIdForCurrentUser();
-    if (!emergencyGroupInvitationsRepo.isInvitedToGroup(householdId, groupId)) {
+    if (emergencyGroupInvitationsRepo.deleteEmergencyGroupInvitation(householdId, groupId) == 0) {
       throw new IllegalArgumentException("Household is not invited to this group.");
     }
 
     if (accept) {
       householdRepository.addHouseholdToGroup(householdId, groupId);
+      groupInventoryRepo.refreshHousehold(householdId);
     }
-
-    emergencyGroupInvitationsRepo.deleteEmergencyGroupInvitation(householdId, groupId);
   }
 
   /**
@@ -147,22 +139,31 @@ public class EmergencyGroupService {
    * @return the ID of the household associated with the current user
    */
   private long getHouseholdIdForCurrentUser() {
-    long userId = Long.parseLong(SecurityContextHolder.getContext()
-            .getAuthentication().getName());
-    return userRepository.findById(userId)
+    return userRepository.findById(getCurrentUserId())
             .orElseThrow(() -> new NoSuchElementException("User not found."))
             .getHouseholdId();
   }
 
+  /**
+   * Retrieves the ID of the current user.
+   *
+   * @return the ID of the current user
+   */
+  private long getCurrentUserId() {
+    return Long.parseLong(SecurityContextHolder.getContext().getAuthentication().getName());
+  }
+
   /**
    * Retrieves all emergency group invitations for the current user's household.
    *
    * @return a list of EmergencyGroupInvitationResponse objects
    */
   public List<EmergencyGroupInvitationResponse> getEmergencyGroupInvitationsForCurrentUser() {
-    long householdId = getHouseholdIdForCurrentUser();
     List<EmergencyGroupInvitation> invitations = emergencyGroupInvitationsRepo
-            .getInvitationsByHouseholdId(householdId);
+            .getInvitationsByUserId(getCurrentUserId());
+    Map<Long, String> groupNames = emergencyGroupCache.getNames(invitations.stream()
+            .map(EmergencyGroupInvitation::getGroupId)
+            .toList());
 
     return invitations.stream()
             .map(invitation -> new EmergencyGroupInvitationResponse(
@@ -170,7 +171,7 @@ public class EmergencyGroupService {
                     invitation.getHouseholdId(),
                     invitation.getGroupId(),
                     invitation.getCreatedAt().toString(),
-                    emergencyGroupRepo.getEmergencyGroupById(invitation.getGroupId()).getName()
+                    groupNames.get(invitation.getGroupId())
             ))
             .toList();
   }
@@ -0,0 +1,84 @@
+package com.group7.krisefikser.service.household;
+
+import com.group7.krisefikser.dto.response.household.HouseholdDetailsResponse;
+import com.group7.krisefikser.service.cache.CacheNames;
+import com.group7.krisefikser.service.cache.InvalidationBus;
+import com.group7.krisefikser.service.cache.TwoTierCache;
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of whole households, with their members and non-user members,
+ * and of which household each user belongs to.
+ * Services that change a household or its members evict the affected entries. The evictions
+ * are published through the {@link InvalidationBus}, so every instance of the application
+ * evicts them, and a read that ran before the commit cannot leave the old household behind.
+ */
+@Component
+public class HouseholdCache {
+  private static final int MAX_HOUSEHOLDS = 10_000;
+  private static final Duration EXPIRE_AFTER = Duration.ofMinutes(10);
+
+  private final TwoTierCache<HouseholdDetailsResponse> households;
+  private final TwoTierCache<Long> householdIdByUser;
+
+  /**
+   * Constructor for HouseholdCache.
+   *
+   * @param invalidationBus the bus the caches are kept consistent through
+   */
+  @Autowired
+  public HouseholdCache(InvalidationBus invalidationBus) {
+    this.households = invalidationBus.createCache(
+        CacheNames.HOUSEHOLDS, MAX_HOUSEHOLDS, EXPIRE_AFTER);
+    this.householdIdByUser = invalidationBus.createCache(
+        CacheNames.HOUSEHOLD_OF_USER, MAX_HOUSEHOLDS * 4L, EXPIRE_AFTER);
+  }
+
+  /**
+   * Returns the household of a user, loading it if it is not cached.
+   * The returned object is shared between callers and must not be modified.
+   *
+   * @param userId the ID of the user
+   * @param loader loads the household of the user from the database
+   * @return the household of the user
+   */
+  public HouseholdDetailsResponse getForUser(Long userId,
+                                             Supplier<HouseholdDetailsResponse> loader) {
+    Long householdId = householdIdByUser.getIfPresent(userId);
+    if (householdId != null) {
+      HouseholdDetailsResponse cached = households.getIfPresent(householdId);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    long version = households.version();
+    HouseholdDetailsResponse loaded = loader.get();
+    households.put(loaded.getId(), loaded, version);
+    householdIdByUser.put(userId, loaded.getId(), version);
+    return loaded;
+  }
+
+  /**
+   * Evicts a household, for example after its members have changed.
+   *
+   * @param householdId the ID of the household, or null
+   */
+  public void evictHousehold(Long householdId) {
+    if (householdId != null) {
+      households.invalidate(householdId);
+    }
+  }
+
+  /**
+   * Evicts which household a user belongs to, after the user has moved to another household
+   * or has been deleted.
+   *
+   * @param userId the ID of the user
+   */
+  public void evictUser(Long userId) {
+    householdIdByUser.invalidate(userId);
+  }
+}
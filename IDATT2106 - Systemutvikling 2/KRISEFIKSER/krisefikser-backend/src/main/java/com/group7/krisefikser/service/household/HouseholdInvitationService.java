@@ -29,6 +29,7 @@ public class HouseholdInvitationService {
   private final HouseholdRepository householdRepository;
   private final UserRepository userRepository;
   private final JwtUtils jwtUtils;
+  private final HouseholdCache householdCache;
   private final Logger logger = LoggerFactory.getLogger(HouseholdInvitationService.class);
 
 
@@ -79,6 +80,9 @@ public class HouseholdInvitationService {
       }
 
       userRepository.updateUserHousehold(userId, invitation.getHouseholdId());
+      householdCache.evictUser(userId);
+      householdCache.evictHousehold(user.getHouseholdId());
+      householdCache.evictHousehold(invitation.getHouseholdId());
 
       invitationRepository.delete(invitation.getId());
 
@@ -3,8 +3,6 @@ package com.group7.krisefikser.service.household;
 import com.group7.krisefikser.dto.request.household.JoinHouseholdRequest;
 import com.group7.krisefikser.dto.response.household.GetHouseholdMembersResponse;
 import com.group7.krisefikser.dto.response.household.HouseholdDetailsResponse;
-import com.group7.krisefikser.dto.response.household.HouseholdMemberResponse;
-import com.group7.krisefikser.dto.response.household.NonUserMemberResponse;
 import com.group7.krisefikser.dto.response.household.ReadinessResponse;
 import com.group7.krisefikser.exception.ResourceNotFoundException;
 import com.group7.krisefikser.model.household.Household;
@@ -18,11 +16,13 @@ import com.group7.krisefikser.repository.household.NonUserMemberRepository;
 import com.group7.krisefikser.repository.item.ItemRepo;
 import com.group7.krisefikser.repository.item.StorageItemRepo;
 import com.group7.krisefikser.repository.user.UserRepository;
-import com.group7.krisefikser.utils.UuidUtils;
+import com.group7.krisefikser.service.other.NameAllocationService;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
@@ -44,31 +44,27 @@ public class HouseholdService {
   private final StorageItemRepo storageItemRepo;
   private final ItemRepo itemRepo;
   private final NonUserMemberRepository nonUserMemberRepository;
+  private final NameAllocationService nameAllocationService;
+  private final HouseholdCache householdCache;
 
 
   /**
    * Creates a household for the user with a unique name.
-   * The household name is generated based on the user's name and a UUID.
-   * If a household with the same name already exists, it appends a counter to the name.
+   * The household name is generated based on the user's name.
+   * If a household with the same name already exists, a number is appended to the name.
    *
    * @param userName The name of the user for whom the household is being created.
    * @return The ID of the created household.
    */
   public Long createHouseholdForUser(String userName) {
-    int counter = 1;
-    String baseName = userName + "'s household"
-        + UuidUtils.generateShortenedUuid();
-    String householdName = baseName;
-
-    while (householdRepository.existsByName(householdName)) {
-      counter++;
-      householdName = baseName + " (" + counter + ")";
-    }
+    String householdName = userName + "'s household";
     // Right now we are creating a household with default values for longitude and latitude
     // In the future, we might want to get these values from the user or use a geolocation service
     double longitude = 0.0;
     double latitude = 0.0;
-    return householdRepository.createHousehold(householdName, longitude, latitude);
+    return nameAllocationService.allocate(householdName,
+        suffix -> householdName + " (" + suffix + ")",
+        name -> householdRepository.createHousehold(name, longitude, latitude));
   }
 
   /**
@@ -80,8 +76,11 @@ public class HouseholdService {
    */
   @Transactional
   public Household createHousehold(Household household, Long userId) {
+    Long previousHouseholdId = userRepository.findHouseholdIdByUserId(userId);
     Household saved = householdRepository.save(household);
     userRepository.updateUserHousehold(userId, saved.getId());
+    householdCache.evictUser(userId);
+    householdCache.evictHousehold(previousHouseholdId);
     return saved;
   }
 
@@ -122,9 +121,13 @@ public class HouseholdService {
   @Transactional
   public void acceptJoinRequest(Long requestId) {
     JoinHouseholdRequest request = joinRequestRepo.findById(requestId);
+    Long previousHouseholdId = userRepository.findHouseholdIdByUserId(request.getUserId());
 
     // Update user's household ID
     userRepository.updateUserHousehold(request.getUserId(), request.getHouseholdId());
+    householdCache.evictUser(request.getUserId());
+    householdCache.evictHousehold(previousHouseholdId);
+    householdCache.evictHousehold(request.getHouseholdId());
 
     // Delete the request after accepting
     joinRequestRepo.deleteById(requestId);
@@ -152,41 +155,18 @@ public class HouseholdService {
 
   /**
    * Retrieves the details of a user's household including all members.
+   * The household is read with a single query and cached until it changes.
    *
    * @param userId the ID of the user
    * @return a HouseholdDetailsResponse containing household information and its members
    * @throws ResourceNotFoundException if the household or user is not found
    */
   public HouseholdDetailsResponse getHouseholdDetailsByUserId(Long userId) {
-    // Get the user's household ID
-    Long householdId = userRepository.findHouseholdIdByUserId(userId);
-
-    if (householdId == null) {
-      throw new ResourceNotFoundException("User is not associated with any household");
-    }
-
-    // Get household details
-    Household household = householdRepository.getHouseholdById(householdId)
-        .orElseThrow(() -> new ResourceNotFoundException("Household not found"));
-
-    // Get household members and non-user members
-    List<HouseholdMemberResponse> members =
-        householdRepository.findMembersByHouseholdId(householdId);
-    List<NonUserMemberResponse> nonUserMembers =
-        householdRepository.findNonUserMembersByHouseholdId(householdId);
-
-    // Create response
-    HouseholdDetailsResponse response = new HouseholdDetailsResponse();
-    response.setId(household.getId());
-    response.setName(household.getName());
-    response.setLongitude(household.getLongitude());
-    response.setLatitude(household.getLatitude());
-    response.setMembers(members);
-    response.setNonUserMembers(nonUserMembers);
-
-    return response;
+    return householdCache.getForUser(userId, () -> householdRepository.findDetailsByUserId(userId)
+        .orElseThrow(() -> new ResourceNotFoundException(
+            "User is not associated with any household")));
   }
-  
+
   /**
    * Retrieves a household by its ID.
    *
@@ -204,17 +184,14 @@ public class HouseholdService {
    */
   public List<GetHouseholdMembersResponse> getHouseholdMembers() {
     String userId = SecurityContextHolder.getContext().getAuthentication().getName();
-    long householdId = userRepository.findById(Long.parseLong(userId)).get().getHouseholdId();
-    List<User> users = userRepository.getUsersByHouseholdId(householdId);
-    List<NonUserMember> nonUserMembers =
-        nonUserMemberRepository.getNonUserMembersByHousehold(householdId);
-    List<GetHouseholdMembersResponse> responses = new java.util.ArrayList<>(users.stream()
+    HouseholdDetailsResponse household = getHouseholdDetailsByUserId(Long.parseLong(userId));
+    List<GetHouseholdMembersResponse> responses = new ArrayList<>(household.getMembers().stream()
         .map(user -> new GetHouseholdMembersResponse(user.getId(), user.getName(),
             "USER"))
         .toList());
-    responses.addAll(nonUserMembers.stream()
+    responses.addAll(household.getNonUserMembers().stream()
         .map(nonUserMember -> new GetHouseholdMembersResponse(nonUserMember.getId(),
-            nonUserMember.getName(), nonUserMember.getType().toString()))
+            nonUserMember.getName(), nonUserMember.getType().toUpperCase(Locale.ROOT)))
         .toList());
     return responses;
   }
@@ -261,23 +238,54 @@ public class HouseholdService {
       }
     }
 
-    int people = users.size();
-    double nonUserFactor = 0.75;
-    double totalPeople = people + others.size() * nonUserFactor;
-
-    double dailyCalories = totalPeople * 2000;
-    double dailyLiters = people * 2.0;
-
-    double calorieDays = totalCalories / dailyCalories;
-    double waterDays = totalLiters / dailyLiters;
-
-    double minDays = Math.min(calorieDays, waterDays);
+    double minDays = readinessDays(totalCalories, totalLiters, users.size(), others.size());
     int fullDays = (int) minDays;
     int hours = (int) ((minDays - fullDays) * 24);
 
     return new ReadinessResponse(fullDays, hours);
   }
-  
+
+  /**
+   * Calculates how many days an amount of calories and drinking water lasts. A user needs
+   * 2000 calories and 2 liters of water a day, and a non-user member three quarters of the
+   * calories.
+   *
+   * @param calories       the calories in stock
+   * @param waterLiters    the liters of drinking water in stock
+   * @param users          the number of users to provide for
+   * @param nonUserMembers the number of non-user members to provide for
+   * @return the number of days, which is not finite if there is no one to provide for
+   */
+  public static double readinessDays(double calories, double waterLiters, int users,
+                                     int nonUserMembers) {
+    return Math.min(foodDays(calories, users, nonUserMembers), waterDays(waterLiters, users));
+  }
+
+  /**
+   * Calculates how many days an amount of calories lasts.
+   *
+   * @param calories       the calories in stock
+   * @param users          the number of users to provide for
+   * @param nonUserMembers the number of non-user members to provide for
+   * @return the number of days, which is not finite if there is no one to provide for
+   */
+  public static double foodDays(double calories, int users, int nonUserMembers) {
+    double nonUserFactor = 0.75;
+    double totalPeople = users + nonUserMembers * nonUserFactor;
+    return calories / (totalPeople * 2000);
+  }
+
+  /**
+   * Calculates how many days an amount of drinking water lasts. Only users are counted.
+   *
+   * @param waterLiters the liters of drinking water in stock
+   * @param users       the number of users to provide for
+   * @return the number of days, which is not finite if there are no users
+   */
+  public static double waterDays(double waterLiters, int users) {
+    return waterLiters / (users * 2.0);
+  }
+
   /**
    * Retrieves the groupId of the household associated with the current user.
    *
@@ -20,6 +20,7 @@ public class NonUserMemberService {
 
   private final NonUserMemberRepository nonUserMemberRepository;
   private final UserService userService;
+  private final HouseholdCache householdCache;
 
   /**
    * Adds a non-user member to the household.
@@ -33,6 +34,7 @@ public class NonUserMemberService {
     nonUserMember.setHouseholdId(householdId);
 
     nonUserMemberRepository.addNonUserMember(nonUserMember);
+    householdCache.evictHousehold(householdId);
   }
 
   /**
@@ -47,6 +49,7 @@ public class NonUserMemberService {
     nonUserMember.setHouseholdId(householdId);
 
     nonUserMemberRepository.updateNonUserMember(nonUserMember);
+    householdCache.evictHousehold(householdId);
   }
 
   /**
@@ -57,5 +60,6 @@ public class NonUserMemberService {
   public void deleteNonUserMember(DeleteNonUserMemberRequest request) {
     long householdId = userService.getCurrentUserHouseholdId();
     nonUserMemberRepository.deleteNonUserMember(request.getId(), householdId);
+    householdCache.evictHousehold(householdId);
   }
 }
@@ -0,0 +1,168 @@
+package com.group7.krisefikser.service.household;
+
+import com.group7.krisefikser.dto.response.household.ItemTypeShortageResponse;
+import com.group7.krisefikser.dto.response.household.RegionReadinessResponse;
+import com.group7.krisefikser.enums.ItemType;
+import com.group7.krisefikser.model.household.HouseholdReadiness;
+import com.group7.krisefikser.model.household.ItemTypeRollup;
+import com.group7.krisefikser.model.household.ReadinessRollup;
+import com.group7.krisefikser.model.location.HouseholdSupply;
+import com.group7.krisefikser.repository.household.ReadinessRollupRepository;
+import com.group7.krisefikser.service.location.Geohash;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service class for the readiness of households across the country, for the admin pages.
+ * The readiness of every household is precomputed, with the same calculation as the readiness
+ * page of a household, and rolled up per region, where a region is the geohash prefix of the
+ * household location at the configured precision. Regions of any shorter prefix are served by
+ * adding the precomputed rollups together, so no request reads the households themselves.
+ * {@link ReadinessRollupService} decides which households and regions to recompute.
+ */
+@Service
+public class ReadinessAnalyticsService {
+  private final ReadinessRollupRepository readinessRollupRepository;
+  private final int regionPrecision;
+
+  /**
+   * Constructor for ReadinessAnalyticsService.
+   *
+   * @param readinessRollupRepository The repository for the readiness rollups.
+   * @param regionPrecision           The geohash precision households are rolled up at.
+   */
+  @Autowired
+  public ReadinessAnalyticsService(ReadinessRollupRepository readinessRollupRepository,
+                                   @Value("${app.readiness.region-precision:5}")
+                                   int regionPrecision) {
+    if (regionPrecision < 1 || regionPrecision > Geohash.MAX_PRECISION) {
+      throw new IllegalArgumentException("Readiness region precision must be between 1 and "
+          + Geohash.MAX_PRECISION);
+    }
+    this.readinessRollupRepository = readinessRollupRepository;
+    this.regionPrecision = regionPrecision;
+  }
+
+  /**
+   * Returns the geohash precision households are rolled up at.
+   *
+   * @return the precision
+   */
+  public int getRegionPrecision() {
+    return regionPrecision;
+  }
+
+  /**
+   * Recomputes the readiness of the given households. Households that no longer exist are
+   * removed.
+   *
+   * @param householdIds the IDs of the households
+   * @param now          the time stock expiring before is left out
+   * @return the regions the households were in before and are in now, which need to be
+   *         rolled up again
+   */
+  @Transactional
+  public Set<String> rollUpHouseholds(Collection<Long> householdIds, LocalDateTime now) {
+    Set<String> regions = new TreeSet<>(readinessRollupRepository.findRegionsOf(householdIds));
+    List<HouseholdReadiness> readiness = readinessRollupRepository
+        .findHouseholdSupply(householdIds, now).stream()
+        .map(this::toReadiness)
+        .toList();
+    readiness.forEach(household -> regions.add(household.getRegion()));
+    readinessRollupRepository.replaceHouseholds(householdIds, readiness,
+        readinessRollupRepository.findItemTypeStock(householdIds, now), now);
+    return regions;
+  }
+
+  /**
+   * Recomputes the rollups of the given regions from the readiness of their households.
+   *
+   * @param regions the regions
+   * @param now     the current time
+   */
+  @Transactional
+  public void rollUpRegions(Collection<String> regions, LocalDateTime now) {
+    readinessRollupRepository.replaceRegions(regions, now);
+  }
+
+  /**
+   * Returns the readiness per region.
+   *
+   * @param precision the length of the geohash prefix of the regions, from 0 for the whole
+   *                  country up to the precision households are rolled up at
+   * @param within    a geohash prefix no longer than the precision that the regions must lie
+   *                  within, or null for all
+   * @return the regions with households, ordered by geohash
+   * @throws IllegalArgumentException if the precision or the prefix is not valid
+   */
+  @Transactional(readOnly = true)
+  public List<RegionReadinessResponse> getRegions(int precision, String within) {
+    String prefix = within != null ? within.toLowerCase(Locale.ROOT) : "";
+    if (precision < 0 || precision > regionPrecision) {
+      throw new IllegalArgumentException("Precision must be between 0 and " + regionPrecision);
+    }
+    if (!Geohash.isPrefix(prefix) || prefix.length() > precision) {
+      throw new IllegalArgumentException("Invalid region: " + within);
+    }
+    Map<String, Map<ItemType, Integer>> stocked = new HashMap<>();
+    for (ItemTypeRollup rollup : readinessRollupRepository.findItemTypeRollups(precision,
+        prefix)) {
+      stocked.computeIfAbsent(rollup.getRegion(), region -> new EnumMap<>(ItemType.class))
+          .put(rollup.getItemType(), rollup.getHouseholdsStocked());
+    }
+    return readinessRollupRepository.findRollups(precision, prefix).stream()
+        .map(rollup -> toResponse(rollup, stocked.getOrDefault(rollup.getRegion(), Map.of())))
+        .toList();
+  }
+
+  private HouseholdReadiness toReadiness(HouseholdSupply supply) {
+    String region = Geohash.encode(supply.getLatitude(), supply.getLongitude(),
+        regionPrecision);
+    if (supply.getResidents() == 0) {
+      return new HouseholdReadiness(supply.getHouseholdId(), region, 0,
+          supply.getNonUserMembers(), null, null, null);
+    }
+    double foodDays = HouseholdService.foodDays(supply.getCalories(), supply.getResidents(),
+        supply.getNonUserMembers());
+    double waterDays = HouseholdService.waterDays(supply.getWaterLiters(),
+        supply.getResidents());
+    return new HouseholdReadiness(supply.getHouseholdId(), region, supply.getResidents(),
+        supply.getNonUserMembers(), foodDays, waterDays, Math.min(foodDays, waterDays));
+  }
+
+  private static RegionReadinessResponse toResponse(ReadinessRollup rollup,
+                                                    Map<ItemType, Integer> stocked) {
+    int rated = rollup.getRatedHouseholds();
+    List<ItemTypeShortageResponse> missing = Arrays.stream(ItemType.values())
+        .map(itemType -> {
+          int householdsMissing = rollup.getHouseholds() - stocked.getOrDefault(itemType, 0);
+          return new ItemTypeShortageResponse(itemType, householdsMissing,
+              ratio(householdsMissing, rollup.getHouseholds()));
+        })
+        .sorted(Comparator.comparingInt(ItemTypeShortageResponse::getHouseholdsMissing)
+            .reversed())
+        .toList();
+    return new RegionReadinessResponse(rollup.getRegion(), rollup.getHouseholds(),
+        rollup.getResidents(), rollup.getNonUserMembers(),
+        ratio(rollup.getFoodDaysSum(), rated), ratio(rollup.getWaterDaysSum(), rated),
+        ratio(rollup.getReadinessDaysSum(), rated), ratio(rollup.getUnderThreeDays(), rated),
+        missing, rollup.getComputedAt());
+  }
+
+  private static double ratio(double part, int whole) {
+    return whole > 0 ? part / whole : 0;
+  }
+}
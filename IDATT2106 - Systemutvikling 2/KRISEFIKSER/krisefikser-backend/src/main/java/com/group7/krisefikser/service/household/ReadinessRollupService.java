@@ -0,0 +1,278 @@
+package com.group7.krisefikser.service.household;
+
+import com.group7.krisefikser.enums.SyncEntity;
+import com.group7.krisefikser.model.household.ReadinessCheckpoint;
+import com.group7.krisefikser.model.item.ExpiryNotification;
+import com.group7.krisefikser.model.other.ChangeLogEntry;
+import com.group7.krisefikser.repository.household.ReadinessRollupRepository;
+import com.group7.krisefikser.repository.item.ExpiryNotificationRepo;
+import com.group7.krisefikser.repository.other.ChangeLogRepo;
+import com.group7.krisefikser.service.other.ChangeLogCursor;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service class that keeps the readiness rollups up to date.
+ * A household's readiness changes when its stock or members change, which is found in the
+ * change log after the last version rolled up, and when some of its stock expires, which is
+ * found along the expiration date index after the last run. Only those households, and then
+ * the regions they were and are in, are recomputed, in chunks of IDs that are each written in
+ * a transaction of their own. The rollups are rebuilt from every household on the first run,
+ * when the region precision has changed, when the change log no longer reaches back to the
+ * last version, and once a night to pick up anything the change log does not record, such as
+ * deleted households. Every instance runs the jobs, so a run first takes a lease in the
+ * database, and is skipped while another instance holds it.
+ */
+@Service
+public class ReadinessRollupService {
+  private static final Logger logger = LoggerFactory.getLogger(ReadinessRollupService.class);
+  private static final Set<SyncEntity> HOUSEHOLD_ENTITIES =
+      EnumSet.of(SyncEntity.STORAGE_ITEM, SyncEntity.HOUSEHOLD_MEMBERS);
+
+  private final ReadinessAnalyticsService readinessAnalyticsService;
+  private final ReadinessRollupRepository readinessRollupRepository;
+  private final ChangeLogRepo changeLogRepo;
+  private final ChangeLogCursor changeLogCursor;
+  private final ExpiryNotificationRepo expiryNotificationRepo;
+  private final int chunkSize;
+  private final long leaseSeconds;
+  private final ReentrantLock runLock = new ReentrantLock();
+
+  private String leaseToken;
+
+  /**
+   * Constructor for ReadinessRollupService.
+   *
+   * @param readinessAnalyticsService The service that recomputes households and regions.
+   * @param readinessRollupRepository The repository for the readiness rollups.
+   * @param changeLogRepo             The change log changed households are read from.
+   * @param changeLogCursor           The cursor that tells how far the change log can be read.
+   * @param expiryNotificationRepo    The repository used to walk the expiring storage items.
+   * @param chunkSize                 How many households or regions are read and written
+   *                                  at a time.
+   * @param leaseSeconds              How long a run may go without a chunk before another
+   *                                  instance can take over.
+   */
+  @Autowired
+  public ReadinessRollupService(ReadinessAnalyticsService readinessAnalyticsService,
+                                ReadinessRollupRepository readinessRollupRepository,
+                                ChangeLogRepo changeLogRepo,
+                                ChangeLogCursor changeLogCursor,
+                                ExpiryNotificationRepo expiryNotificationRepo,
+                                @Value("${app.readiness.chunk-size:500}") int chunkSize,
+                                @Value("${app.readiness.lease-seconds:600}") long leaseSeconds) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Readiness chunk size must be positive");
+    }
+    this.readinessAnalyticsService = readinessAnalyticsService;
+    this.readinessRollupRepository = readinessRollupRepository;
+    this.changeLogRepo = changeLogRepo;
+    this.changeLogCursor = changeLogCursor;
+    this.expiryNotificationRepo = expiryNotificationRepo;
+    this.chunkSize = chunkSize;
+    this.leaseSeconds = leaseSeconds;
+  }
+
+  /**
+   * Brings the rollups up to date. Runs on the configured delay after startup and after the
+   * previous run has finished.
+   */
+  @Scheduled(fixedDelayString = "${app.readiness.refresh-delay-ms:300000}",
+      initialDelayString = "${app.readiness.refresh-delay-ms:300000}")
+  public void refresh() {
+    int households = refresh(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+    logger.info("Rolled up the readiness of {} households", households);
+  }
+
+  /**
+   * Rebuilds the rollups from every household. Runs on the configured schedule.
+   */
+  @Scheduled(cron = "${app.readiness.rebuild-cron:0 0 4 * * *}")
+  public void rebuild() {
+    int households = rebuild(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+    logger.info("Rebuilt the readiness rollups of {} households", households);
+  }
+
+  /**
+   * Recomputes the households that have changed since the last run, and the regions they are
+   * in, or rebuilds every rollup if the last run cannot be continued from.
+   *
+   * @param now the current time
+   * @return the number of households recomputed, or 0 if another instance is running
+   */
+  public int refresh(LocalDateTime now) {
+    return underLease(() -> refreshChanged(now));
+  }
+
+  /**
+   * Recomputes every household and region.
+   *
+   * @param now the current time
+   * @return the number of households recomputed, or 0 if another instance is running
+   */
+  public int rebuild(LocalDateTime now) {
+    return underLease(() -> rebuild(now, changeLogCursor.version()));
+  }
+
+  /**
+   * Runs with the lease held, so that only one run at a time updates the rollups. A lock is
+   * used on this instance rather than synchronized, since a run blocks on the database for
+   * minutes and would otherwise pin a virtual thread to its carrier.
+   */
+  private int underLease(IntSupplier run) {
+    runLock.lock();
+    try {
+      String token = UUID.randomUUID().toString();
+      if (!takeLease(token)) {
+        logger.info("Skipped a readiness rollup run, since another instance is running one");
+        return 0;
+      }
+      leaseToken = token;
+      try {
+        return run.getAsInt();
+      } finally {
+        leaseToken = null;
+        readinessRollupRepository.releaseLease(token);
+      }
+    } finally {
+      runLock.unlock();
+    }
+  }
+
+  private boolean takeLease(String token) {
+    try {
+      readinessRollupRepository.insertLease(token, leaseSeconds);
+      return true;
+    } catch (DuplicateKeyException e) {
+      return readinessRollupRepository.extendLease(token, leaseSeconds);
+    }
+  }
+
+  /**
+   * Extends the lease before the next chunk, and stops the run if another instance has taken
+   * it over in the meantime.
+   */
+  private void extendLease() {
+    if (!readinessRollupRepository.extendLease(leaseToken, leaseSeconds)) {
+      throw new IllegalStateException("Readiness rollup lease was taken over by another instance");
+    }
+  }
+
+  private int refreshChanged(LocalDateTime now) {
+    long upTo = changeLogCursor.version();
+    Optional<ReadinessCheckpoint> checkpoint = readinessRollupRepository.findCheckpoint();
+    if (checkpoint.isEmpty()
+        || checkpoint.get().getRegionPrecision() != readinessAnalyticsService.getRegionPrecision()
+        || checkpoint.get().getLastVersion() < changeLogRepo.oldestVersion() - 1) {
+      return rebuild(now, upTo);
+    }
+
+    Set<Long> households = new TreeSet<>();
+    collectChanged(households, checkpoint.get().getLastVersion(), upTo);
+    collectExpired(households, checkpoint.get().getLastRun(), now);
+
+    Set<String> regions = new TreeSet<>();
+    for (List<Long> chunk : chunks(households)) {
+      extendLease();
+      regions.addAll(readinessAnalyticsService.rollUpHouseholds(chunk, now));
+    }
+    for (List<String> chunk : chunks(regions)) {
+      extendLease();
+      readinessAnalyticsService.rollUpRegions(chunk, now);
+    }
+    readinessRollupRepository.saveCheckpoint(new ReadinessCheckpoint(upTo, now,
+        readinessAnalyticsService.getRegionPrecision()));
+    return households.size();
+  }
+
+  private int rebuild(LocalDateTime now, long upTo) {
+    int households = 0;
+    long afterId = 0;
+    List<Long> page;
+    do {
+      page = readinessRollupRepository.findHouseholdIdsAfter(afterId, chunkSize);
+      if (page.isEmpty()) {
+        break;
+      }
+      extendLease();
+      readinessAnalyticsService.rollUpHouseholds(page, now);
+      households += page.size();
+      afterId = page.get(page.size() - 1);
+    } while (page.size() == chunkSize);
+
+    for (List<String> chunk : chunks(readinessRollupRepository.findAllRegions())) {
+      extendLease();
+      readinessAnalyticsService.rollUpRegions(chunk, now);
+    }
+    readinessRollupRepository.deleteEmptyRegions();
+    readinessRollupRepository.saveCheckpoint(new ReadinessCheckpoint(upTo, now,
+        readinessAnalyticsService.getRegionPrecision()));
+    return households;
+  }
+
+  /**
+   * Adds the households whose stock or members changed after the given version.
+   */
+  private void collectChanged(Set<Long> households, long afterVersion, long upTo) {
+    long after = afterVersion;
+    List<ChangeLogEntry> page;
+    do {
+      page = changeLogRepo.findHouseholdChangesAfter(after, upTo, HOUSEHOLD_ENTITIES, chunkSize);
+      page.forEach(change -> households.add(change.getHouseholdId()));
+      if (!page.isEmpty()) {
+        after = page.get(page.size() - 1).getVersion();
+      }
+    } while (page.size() == chunkSize);
+  }
+
+  /**
+   * Adds the households with stock that expired after the given time.
+   */
+  private void collectExpired(Set<Long> households, LocalDateTime lastRun, LocalDateTime now) {
+    LocalDateTime afterDate = lastRun;
+    int afterId = 0;
+    List<ExpiryNotification> page;
+    do {
+      page = expiryNotificationRepo.findExpiringPage(afterDate, afterId, now, chunkSize);
+      page.forEach(item -> households.add((long) item.getHouseholdId()));
+      if (!page.isEmpty()) {
+        ExpiryNotification last = page.get(page.size() - 1);
+        afterDate = last.getExpirationDate();
+        afterId = last.getStorageItemId();
+      }
+    } while (page.size() == chunkSize);
+  }
+
+  private <T> List<List<T>> chunks(Collection<T> values) {
+    List<List<T>> chunks = new ArrayList<>();
+    List<T> chunk = new ArrayList<>(Math.min(chunkSize, values.size()));
+    for (T value : values) {
+      chunk.add(value);
+      if (chunk.size() == chunkSize) {
+        chunks.add(chunk);
+        chunk = new ArrayList<>(chunkSize);
+      }
+    }
+    if (!chunk.isEmpty()) {
+      chunks.add(chunk);
+    }
+    return chunks;
+  }
+}
@@ -0,0 +1,186 @@
+package com.group7.krisefikser.service.item;
+
+import com.group7.krisefikser.enums.EmailTemplateType;
+import com.group7.krisefikser.model.item.ExpiryDigestItem;
+import com.group7.krisefikser.model.item.ExpiryNotification;
+import com.group7.krisefikser.model.user.User;
+import com.group7.krisefikser.repository.item.ExpiryNotificationRepo;
+import com.group7.krisefikser.repository.user.UserRepository;
+import com.group7.krisefikser.service.other.EmailService;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service class for reminding households about storage items that expire soon.
+ * Once a day the storage items expiring within the largest threshold are read in pages along
+ * the expiration date index, and each item is queued once for the smallest threshold it falls
+ * within. The queued reminders are then sent as one email per household. The reminders of
+ * items that have expired are deleted on a separate schedule.
+ */
+@Service
+public class ExpiryReminderService {
+  private static final Logger logger = LoggerFactory.getLogger(ExpiryReminderService.class);
+  private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE;
+
+  static final int PAGE_SIZE = 500;
+
+  private final ExpiryNotificationRepo expiryNotificationRepo;
+  private final UserRepository userRepository;
+  private final EmailService emailService;
+  private final int[] thresholds;
+  private final int retentionDays;
+
+  /**
+   * Constructor for ExpiryReminderService.
+   *
+   * @param expiryNotificationRepo The repository for the reminder queue.
+   * @param userRepository         The repository used to find the members of a household.
+   * @param emailService           The service used to send the reminders.
+   * @param thresholds             The numbers of days before expiration to remind at.
+   * @param retentionDays          How many days the reminders of an expired item are kept.
+   */
+  @Autowired
+  public ExpiryReminderService(ExpiryNotificationRepo expiryNotificationRepo,
+                               UserRepository userRepository,
+                               EmailService emailService,
+                               @Value("${app.expiry-reminder.thresholds-days:1,7}")
+                               int[] thresholds,
+                               @Value("${app.expiry-reminder.retention-days:7}")
+                               int retentionDays) {
+    if (thresholds.length == 0 || Arrays.stream(thresholds).anyMatch(days -> days < 0)) {
+      throw new IllegalArgumentException("Expiry reminder thresholds must be non-negative");
+    }
+    this.expiryNotificationRepo = expiryNotificationRepo;
+    this.userRepository = userRepository;
+    this.emailService = emailService;
+    this.thresholds = Arrays.stream(thresholds).sorted().distinct().toArray();
+    this.retentionDays = retentionDays;
+  }
+
+  /**
+   * Queues and sends the expiry reminders. Runs on the configured schedule.
+   */
+  @Scheduled(cron = "${app.expiry-reminder.cron:0 0 6 * * *}")
+  public void sendReminders() {
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    int queued = queueExpiringItems(now);
+    int households = sendQueuedReminders(now);
+    logger.info("Queued {} expiry reminders and notified {} households", queued, households);
+  }
+
+  /**
+   * Deletes the reminders of storage items that expired more than the retention ago. Runs on
+   * the configured schedule.
+   */
+  @Scheduled(cron = "${app.expiry-reminder.purge-cron:0 30 6 * * *}")
+  public void purgeExpired() {
+    int deleted = expiryNotificationRepo.deleteExpiredBefore(
+        LocalDateTime.now().minusDays(retentionDays));
+    logger.debug("Deleted {} expiry reminders of expired items", deleted);
+  }
+
+  /**
+   * Queues a reminder for every storage item expiring within the largest threshold that has
+   * not already been queued for its threshold and expiration date.
+   *
+   * @param now The current time.
+   * @return The number of reminders queued.
+   */
+  public int queueExpiringItems(LocalDateTime now) {
+    LocalDateTime to = now.plusDays(thresholds[thresholds.length - 1]);
+    LocalDateTime afterDate = now;
+    int afterId = 0;
+    int queued = 0;
+    List<ExpiryNotification> page;
+    do {
+      page = expiryNotificationRepo.findExpiringPage(afterDate, afterId, to, PAGE_SIZE);
+      if (page.isEmpty()) {
+        break;
+      }
+      queued += queuePage(page, now);
+      ExpiryNotification last = page.get(page.size() - 1);
+      afterDate = last.getExpirationDate();
+      afterId = last.getStorageItemId();
+    } while (page.size() == PAGE_SIZE);
+    return queued;
+  }
+
+  /**
+   * Sends the queued reminders, one email per member of each household with pending
+   * reminders. A household's reminders are claimed before they are read, so they are
+   * sent at most once.
+   *
+   * @param now The current time, without fractional seconds.
+   * @return The number of households reminded.
+   */
+  public int sendQueuedReminders(LocalDateTime now) {
+    int households = 0;
+    for (int householdId : expiryNotificationRepo.findHouseholdsWithPending()) {
+      if (expiryNotificationRepo.claimPending(householdId, now) == 0) {
+        continue;
+      }
+      List<ExpiryDigestItem> items = expiryNotificationRepo.findClaimed(householdId, now);
+      if (items.isEmpty()) {
+        continue;
+      }
+      Map<String, String> params = Map.of("items", formatDigest(items));
+      for (User user : userRepository.getUsersByHouseholdId((long) householdId)) {
+        if (Boolean.TRUE.equals(user.getVerified())) {
+          emailService.sendTemplateMessage(user.getEmail(), EmailTemplateType.EXPIRY_REMINDER,
+              params);
+        }
+      }
+      households++;
+    }
+    return households;
+  }
+
+  private int queuePage(List<ExpiryNotification> page, LocalDateTime now) {
+    Set<ExpiryNotification> queued = new HashSet<>(expiryNotificationRepo.findByStorageItemIds(
+        page.stream().map(ExpiryNotification::getStorageItemId).toList()));
+    List<ExpiryNotification> notifications = new ArrayList<>();
+    for (ExpiryNotification notification : page) {
+      notification.setThresholdDays(thresholdFor(notification.getExpirationDate(), now));
+      if (!queued.contains(notification)) {
+        notifications.add(notification);
+      }
+    }
+    return expiryNotificationRepo.queueAll(notifications, now);
+  }
+
+  /**
+   * Finds the smallest threshold the expiration date falls within.
+   */
+  private int thresholdFor(LocalDateTime expirationDate, LocalDateTime now) {
+    for (int days : thresholds) {
+      if (!expirationDate.isAfter(now.plusDays(days))) {
+        return days;
+      }
+    }
+    return thresholds[thresholds.length - 1];
+  }
+
+  private static String formatDigest(List<ExpiryDigestItem> items) {
+    StringBuilder digest = new StringBuilder();
+    for (ExpiryDigestItem item : items) {
+      digest.append("- ").append(item.getItemName())
+          .append(": ").append(item.getQuantity()).append(' ').append(item.getUnit())
+          .append(", expires ").append(DATE_FORMAT.format(item.getExpirationDate()))
+          .append('\n');
+    }
+    return digest.toString();
+  }
+}
@@ -5,12 +5,14 @@ import com.group7.krisefikser.dto.response.item.ItemResponse;
 import com.group7.krisefikser.enums.ItemType;
 import com.group7.krisefikser.model.item.Item;
 import com.group7.krisefikser.repository.item.ItemRepo;
+import com.group7.krisefikser.service.cache.TwoTierCache;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
 /**
@@ -21,15 +23,20 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class ItemService {
+  private static final String ALL_ITEMS = "all";
+
   private final ItemRepo itemRepo;
+  private final TwoTierCache<List<Item>> itemCache;
 
   /**
-   * Retrieves all items from the repository.
+   * Retrieves all items. The item catalogue is cached, and the returned list and items
+   * are shared between callers and must not be modified.
    *
    * @return A list of all items available in the database.
    */
+  @Transactional(readOnly = true)
   public List<Item> getAllItems() {
-    return itemRepo.getAllItems();
+    return itemCache.get(ALL_ITEMS, () -> List.copyOf(itemRepo.getAllItems()));
   }
 
   /**
@@ -38,6 +45,7 @@ public class ItemService {
    * @param id The ID of the item to retrieve.
    * @return The item with the specified ID.
    */
+  @Transactional(readOnly = true)
   public Item getItemById(int id) {
     return itemRepo.findById(id)
       .orElseThrow(() -> new RuntimeException("Item not found with id: " + id));
@@ -49,6 +57,7 @@ public class ItemService {
    * @param types A list of item types to filter by.
    * @return A list of items that match the specified types.
    */
+  @Transactional(readOnly = true)
   public List<Item> getItemsByTypes(List<ItemType> types) {
     if (types == null || types.isEmpty()) {
       return getAllItems();
@@ -84,6 +93,7 @@ public class ItemService {
    * @param sortDirection The direction of sorting (e.g., "asc" or "desc").
    * @return A list of sorted items.
    */
+  @Transactional(readOnly = true)
   public List<Item> getSortedItems(String sortBy, String sortDirection) {
     List<Item> items = getAllItems();
     Comparator<Item> comparator = createComparator(sortBy, sortDirection);
@@ -101,6 +111,7 @@ public class ItemService {
    * @param sortDirection The direction of sorting (e.g., "asc" or "desc").
    * @return A list of filtered and sorted items.
    */
+  @Transactional(readOnly = true)
   public List<Item> getFilteredAndSortedItems(List<ItemType> types,
                                               String sortBy, String sortDirection) {
     // Apply filtering if types are provided
@@ -122,6 +133,7 @@ public class ItemService {
    * @param searchTerm The term to search for in item names
    * @return A list of items that match the search term
    */
+  @Transactional(readOnly = true)
   public List<Item> searchItemsByName(String searchTerm) {
     if (searchTerm == null || searchTerm.trim().isEmpty()) {
       return getAllItems();
@@ -209,10 +221,13 @@ public class ItemService {
 
   /**
    * Checks if an item exists in the repository by its ID.
+   * The check is made before a write, so it reads from the primary rather than a replica
+   * that may not have the row yet.
    *
    * @param id The ID of the item to check.
    * @return true if the item exists, false otherwise.
    */
+  @Transactional
   public boolean itemExists(int id) {
     return itemRepo.findById(id).isPresent();
   }
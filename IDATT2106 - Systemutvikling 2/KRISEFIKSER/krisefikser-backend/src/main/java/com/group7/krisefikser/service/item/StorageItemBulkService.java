@@ -0,0 +1,269 @@
+package com.group7.krisefikser.service.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group7.krisefikser.dto.request.item.StorageItemBulkUpdateRequest;
+import com.group7.krisefikser.dto.request.item.StorageItemRequest;
+import com.group7.krisefikser.dto.response.item.BulkStorageItemResponse;
+import com.group7.krisefikser.model.item.Item;
+import com.group7.krisefikser.model.item.StorageItem;
+import com.group7.krisefikser.repository.item.GroupInventoryRepo;
+import com.group7.krisefikser.repository.item.ItemRepo;
+import com.group7.krisefikser.repository.item.StorageItemRepo;
+import com.group7.krisefikser.utils.BulkRecordReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service class for adding, updating and deleting many storage items at once.
+ * Uploads are read as a stream and processed in chunks. Each chunk is validated with a
+ * single query against the item catalog or the household's storage items, and written
+ * with one batched statement. Every operation runs in a single transaction, so an invalid
+ * row anywhere in the upload rolls back the whole upload.
+ */
+@Service
+@RequiredArgsConstructor
+public class StorageItemBulkService {
+  static final int CHUNK_SIZE = 1000;
+
+  private final StorageItemRepo storageItemRepo;
+  private final ItemRepo itemRepo;
+  private final GroupInventoryRepo groupInventoryRepo;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Adds all storage items in the upload to a household. The items are not shared.
+   *
+   * @param householdId The ID of the household to add the storage items to.
+   * @param body        The upload, a JSON array or CSV of storage item requests.
+   * @param format      The format of the upload.
+   * @return The number of storage items added.
+   * @throws IllegalArgumentException if the upload is malformed or any row is invalid.
+   */
+  @Transactional
+  public BulkStorageItemResponse addStorageItems(int householdId, InputStream body,
+                                                 BulkRecordReader.Format format) {
+    int count = read(body, format, StorageItemRequest.class, this::toStorageItemRequest,
+        (chunk, offset) -> {
+          List<StorageItem> storageItems = new ArrayList<>(chunk.size());
+          for (int i = 0; i < chunk.size(); i++) {
+            StorageItemRequest request = chunk.get(i);
+            validateRow(offset + i, request.getExpirationDate(), request.getQuantity(),
+                    request.getItemId());
+            StorageItem storageItem = request.toEntity();
+            storageItem.setHouseholdId(householdId);
+            storageItems.add(storageItem);
+          }
+          validateItemsExist(chunk.stream().map(StorageItemRequest::getItemId).toList(),
+                  offset);
+          storageItemRepo.addAll(storageItems);
+        });
+    groupInventoryRepo.refreshHousehold(householdId);
+    return new BulkStorageItemResponse(count);
+  }
+
+  /**
+   * Updates all storage items in the upload. The shared status of the items is unchanged.
+   *
+   * @param householdId The ID of the household the storage items belong to.
+   * @param body        The upload, a JSON array or CSV of storage item update requests.
+   * @param format      The format of the upload.
+   * @return The number of storage items updated.
+   * @throws IllegalArgumentException if the upload is malformed or any row is invalid.
+   * @throws NoSuchElementException   if any storage item is not found in the household.
+   */
+  @Transactional
+  public BulkStorageItemResponse updateStorageItems(int householdId, InputStream body,
+                                                    BulkRecordReader.Format format) {
+    int count = read(body, format, StorageItemBulkUpdateRequest.class,
+        this::toStorageItemBulkUpdateRequest, (chunk, offset) -> {
+          List<StorageItem> storageItems = new ArrayList<>(chunk.size());
+          for (int i = 0; i < chunk.size(); i++) {
+            StorageItemBulkUpdateRequest request = chunk.get(i);
+            if (request.getId() == null) {
+              throw new IllegalArgumentException(rowPrefix(offset + i)
+                      + "Storage item ID cannot be null");
+            }
+            validateRow(offset + i, request.getExpirationDate(), request.getQuantity(),
+                    request.getItemId());
+            StorageItem storageItem = new StorageItem();
+            storageItem.setId(request.getId());
+            storageItem.setExpirationDate(request.getExpirationDate());
+            storageItem.setQuantity(request.getQuantity());
+            storageItem.setItemId(request.getItemId());
+            storageItem.setHouseholdId(householdId);
+            storageItems.add(storageItem);
+          }
+          validateItemsExist(chunk.stream().map(StorageItemBulkUpdateRequest::getItemId)
+                  .toList(), offset);
+          validateStorageItemsExist(householdId, chunk.stream()
+                  .map(StorageItemBulkUpdateRequest::getId).toList(), offset);
+          storageItemRepo.updateAll(storageItems);
+        });
+    groupInventoryRepo.refreshHousehold(householdId);
+    return new BulkStorageItemResponse(count);
+  }
+
+  /**
+   * Deletes all storage items in the upload from a household.
+   *
+   * @param householdId The ID of the household the storage items belong to.
+   * @param body        The upload, a JSON array of IDs or a CSV with an id column.
+   * @param format      The format of the upload.
+   * @return The number of storage items deleted.
+   * @throws IllegalArgumentException if the upload is malformed or any row is invalid.
+   * @throws NoSuchElementException   if any storage item is not found in the household.
+   */
+  @Transactional
+  public BulkStorageItemResponse deleteStorageItems(int householdId, InputStream body,
+                                                    BulkRecordReader.Format format) {
+    int[] deleted = {0};
+    read(body, format, Integer.class, row -> parseInteger(row, "id"), (chunk, offset) -> {
+      for (int i = 0; i < chunk.size(); i++) {
+        if (chunk.get(i) == null) {
+          throw new IllegalArgumentException(rowPrefix(offset + i)
+                  + "Storage item ID cannot be null");
+        }
+      }
+      validateStorageItemsExist(householdId, chunk, offset);
+      deleted[0] += storageItemRepo.deleteByIds(Set.copyOf(chunk), householdId);
+    });
+    groupInventoryRepo.refreshHousehold(householdId);
+    return new BulkStorageItemResponse(deleted[0]);
+  }
+
+  private <T> int read(InputStream body, BulkRecordReader.Format format, Class<T> type,
+                       Function<Map<String, String>, T> csvRowMapper,
+                       BulkRecordReader.ChunkHandler<T> handler) {
+    try {
+      if (format == BulkRecordReader.Format.CSV) {
+        return BulkRecordReader.readCsv(body, csvRowMapper, CHUNK_SIZE, handler);
+      }
+      return BulkRecordReader.readJsonArray(body, objectMapper, type, CHUNK_SIZE, handler);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Malformed JSON upload: " + e.getOriginalMessage());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read upload", e);
+    }
+  }
+
+  private static void validateRow(int row, LocalDateTime expirationDate, Double quantity,
+                                  Integer itemId) {
+    if (expirationDate == null) {
+      throw new IllegalArgumentException(rowPrefix(row) + "Expiration date cannot be null");
+    }
+    if (quantity == null || quantity < 0) {
+      throw new IllegalArgumentException(rowPrefix(row) + "Quantity cannot be negative");
+    }
+    if (itemId == null || itemId <= 0) {
+      throw new IllegalArgumentException(rowPrefix(row) + "Invalid item ID");
+    }
+  }
+
+  /**
+   * Checks that every item referenced by a chunk exists in the item catalog,
+   * using one query for the distinct item IDs of the chunk.
+   */
+  private void validateItemsExist(List<Integer> itemIds, int offset) {
+    Set<Integer> distinct = Set.copyOf(itemIds);
+    Set<Integer> found = itemRepo.findByIds(distinct).stream()
+            .map(Item::getId)
+            .collect(Collectors.toSet());
+    for (int i = 0; i < itemIds.size(); i++) {
+      if (!found.contains(itemIds.get(i))) {
+        throw new IllegalArgumentException(rowPrefix(offset + i)
+                + "Item not found with id: " + itemIds.get(i));
+      }
+    }
+  }
+
+  /**
+   * Checks that every storage item of a chunk belongs to the household,
+   * using one query for the whole chunk.
+   */
+  private void validateStorageItemsExist(int householdId, List<Integer> ids, int offset) {
+    Set<Integer> found = storageItemRepo.findIdsInHousehold(Set.copyOf(ids), householdId);
+    for (int i = 0; i < ids.size(); i++) {
+      if (!found.contains(ids.get(i))) {
+        throw new NoSuchElementException(rowPrefix(offset + i)
+                + "Storage item not found with id: " + ids.get(i));
+      }
+    }
+  }
+
+  private StorageItemRequest toStorageItemRequest(Map<String, String> row) {
+    return new StorageItemRequest(
+            parseDateTime(row, "expirationdate"),
+            parseDouble(row, "quantity"),
+            parseInteger(row, "itemid"));
+  }
+
+  private StorageItemBulkUpdateRequest toStorageItemBulkUpdateRequest(Map<String, String> row) {
+    return new StorageItemBulkUpdateRequest(
+            parseInteger(row, "id"),
+            parseDateTime(row, "expirationdate"),
+            parseDouble(row, "quantity"),
+            parseInteger(row, "itemid"));
+  }
+
+  private static String value(Map<String, String> row, String column) {
+    if (!row.containsKey(column)) {
+      throw new IllegalArgumentException("Missing CSV column: " + column);
+    }
+    String value = row.get(column);
+    return value.isEmpty() ? null : value;
+  }
+
+  private static Integer parseInteger(Map<String, String> row, String column) {
+    String value = value(row, column);
+    try {
+      return value == null ? null : Integer.valueOf(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid " + column + ": " + value);
+    }
+  }
+
+  private static Double parseDouble(Map<String, String> row, String column) {
+    String value = value(row, column);
+    try {
+      return value == null ? null : Double.valueOf(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid " + column + ": " + value);
+    }
+  }
+
+  /**
+   * Parses an ISO date-time, or an ISO date which is read as the start of that day.
+   */
+  private static LocalDateTime parseDateTime(Map<String, String> row, String column) {
+    String value = value(row, column);
+    if (value == null) {
+      return null;
+    }
+    try {
+      return value.length() == 10
+              ? LocalDate.parse(value).atStartOfDay()
+              : LocalDateTime.parse(value);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid " + column + ": " + value);
+    }
+  }
+
+  private static String rowPrefix(int row) {
+    return "Row " + (row + 1) + ": ";
+  }
+}
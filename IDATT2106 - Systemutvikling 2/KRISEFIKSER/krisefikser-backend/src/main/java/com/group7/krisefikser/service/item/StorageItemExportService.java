@@ -0,0 +1,162 @@
+package com.group7.krisefikser.service.item;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.group7.krisefikser.enums.ExportFormat;
+import com.group7.krisefikser.model.item.StorageItemExportRow;
+import com.group7.krisefikser.repository.item.StorageItemExportRepo;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service class for exporting storage items as CSV or NDJSON.
+ * Each row is written to the output as soon as it is read from the database,
+ * so an export never holds more than one row in memory.
+ */
+@Service
+@RequiredArgsConstructor
+public class StorageItemExportService {
+  static final String CSV_HEADER = "id,householdName,itemId,itemName,unit,type,quantity,"
+      + "expirationDate,shared";
+
+  private final StorageItemExportRepo storageItemExportRepo;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Exports all storage items of a household.
+   *
+   * @param householdId The ID of the household.
+   * @param format      The format to write.
+   * @param out         The stream to write to. It is flushed but not closed.
+   * @throws IOException if writing to the stream fails.
+   */
+  @Transactional(readOnly = true)
+  public void exportHouseholdStorage(int householdId, ExportFormat format, OutputStream out)
+      throws IOException {
+    export(format, out, consumer ->
+        storageItemExportRepo.streamHouseholdItems(householdId, consumer));
+  }
+
+  /**
+   * Exports all shared storage items in an emergency group.
+   *
+   * @param emergencyGroupId The ID of the emergency group.
+   * @param format           The format to write.
+   * @param out              The stream to write to. It is flushed but not closed.
+   * @throws IOException if writing to the stream fails.
+   */
+  @Transactional(readOnly = true)
+  public void exportGroupStorage(long emergencyGroupId, ExportFormat format, OutputStream out)
+      throws IOException {
+    export(format, out, consumer ->
+        storageItemExportRepo.streamSharedGroupItems(emergencyGroupId, consumer));
+  }
+
+  /**
+   * Exports the storage items of a household that expire within the given number of days.
+   *
+   * @param householdId The ID of the household.
+   * @param days        The number of days within which the items expire.
+   * @param format      The format to write.
+   * @param out         The stream to write to. It is flushed but not closed.
+   * @throws IOException if writing to the stream fails.
+   */
+  @Transactional(readOnly = true)
+  public void exportExpiringItems(int householdId, int days, ExportFormat format,
+                                  OutputStream out) throws IOException {
+    if (days < 0) {
+      throw new IllegalArgumentException("Days cannot be negative");
+    }
+    export(format, out, consumer ->
+        storageItemExportRepo.streamExpiringItems(householdId, days, consumer));
+  }
+
+  private void export(ExportFormat format, OutputStream out,
+                      Consumer<Consumer<StorageItemExportRow>> query) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    try {
+      if (format == ExportFormat.CSV) {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        query.accept(row -> writeCsvRow(writer, row));
+      } else {
+        ObjectWriter rowWriter = objectMapper.writerFor(StorageItemExportRow.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+          generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+          generator.setRootValueSeparator(null);
+          query.accept(row -> writeJsonLine(rowWriter, generator, row));
+        }
+      }
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    writer.flush();
+  }
+
+  private static void writeJsonLine(ObjectWriter rowWriter, JsonGenerator generator,
+                                    StorageItemExportRow row) {
+    try {
+      rowWriter.writeValue(generator, row);
+      generator.writeRaw('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void writeCsvRow(Writer writer, StorageItemExportRow row) {
+    try {
+      writer.write(Integer.toString(row.getId()));
+      writer.write(',');
+      writer.write(csvText(row.getHouseholdName()));
+      writer.write(',');
+      writer.write(Integer.toString(row.getItemId()));
+      writer.write(',');
+      writer.write(csvText(row.getItemName()));
+      writer.write(',');
+      writer.write(csvText(row.getUnit()));
+      writer.write(',');
+      writer.write(row.getType() != null ? row.getType().name().toLowerCase() : "");
+      writer.write(',');
+      writer.write(Double.toString(row.getQuantity()));
+      writer.write(',');
+      writer.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(row.getExpirationDate()));
+      writer.write(',');
+      writer.write(Boolean.toString(row.isShared()));
+      writer.write('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Escapes a text value for CSV. Values that a spreadsheet would read as a formula are
+   * prefixed with an apostrophe, since names are entered by users.
+   */
+  private static String csvText(String value) {
+    if (value == null || value.isEmpty()) {
+      return "";
+    }
+    String text = value;
+    if ("=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+      text = "'" + text;
+    }
+    if (text.contains(",") || text.contains("\"") || text.contains("\n")
+        || text.contains("\r")) {
+      return "\"" + text.replace("\"", "\"\"") + "\"";
+    }
+    return text;
+  }
+}
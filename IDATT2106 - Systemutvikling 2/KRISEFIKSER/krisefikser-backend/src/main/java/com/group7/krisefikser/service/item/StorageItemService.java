@@ -11,9 +11,11 @@ import com.group7.krisefikser.dto.response.item.StorageItemGroupResponse;
 import com.group7.krisefikser.dto.response.item.StorageItemResponse;
 import com.group7.krisefikser.enums.ItemType;
 import com.group7.krisefikser.model.household.Household;
+import com.group7.krisefikser.model.item.GroupInventoryEntry;
 import com.group7.krisefikser.model.item.Item;
 import com.group7.krisefikser.model.item.StorageItem;
 import com.group7.krisefikser.repository.household.HouseholdRepository;
+import com.group7.krisefikser.repository.item.GroupInventoryRepo;
 import com.group7.krisefikser.repository.item.ItemRepo;
 import com.group7.krisefikser.repository.item.StorageItemRepo;
 import com.group7.krisefikser.service.household.HouseholdService;
@@ -43,6 +45,7 @@ public class StorageItemService {
   private final HouseholdService householdService;
   private final HouseholdRepository householdRepository;
   private final ItemService itemService;
+  private final GroupInventoryRepo groupInventoryRepo;
   private static final Logger logger = Logger.getLogger(StorageItemService.class.getName());
 
 
@@ -52,26 +55,39 @@ public class StorageItemService {
    * @param householdId The ID of the household to retrieve storage items for.
    * @return A list of all storage items available for the specified household.
    */
+  @Transactional(readOnly = true)
   public List<StorageItem> getAllStorageItems(int householdId) {
     return storageItemRepo.getAllStorageItems(householdId);
   }
 
   /**
-   * Retrieves all shared storage items for a specific group from the repository.
-   * Using the group ID for the current user, it fetches all storage items that are
-   * marked as shared.
+   * Retrieves all shared storage items for a specific group, aggregated per item.
+   * Using the group ID for the current user, it reads the group inventory projection,
+   * which already holds the totals per item, and fetches the item details in one query.
    *
    * @return A list of all shared storage items available for the specified group.
    */
+  @Transactional(readOnly = true)
   public List<AggregatedStorageItemResponse> getSharedStorageItemsInGroup(
           List<String> itemTypesString,
           StorageItemSortRequest sortRequest) {
     List<ItemType> itemTypes = itemService.convertToItemTypes(itemTypesString);
     long groupId = householdService.getGroupIdForCurrentUser();
-    List<StorageItem> storageItems = storageItemRepo.getAllSharedStorageItemsInGroup(groupId);
-
-    List<AggregatedStorageItemResponse> aggregatedItems =
-            aggregateStorageItems(storageItems, null, null);
+    List<GroupInventoryEntry> inventory = groupInventoryRepo.findByGroupId(groupId);
+
+    Map<Integer, ItemResponse> itemsById = itemRepo.findByIds(inventory.stream()
+                    .map(GroupInventoryEntry::getItemId)
+                    .toList())
+            .stream()
+            .collect(Collectors.toMap(Item::getId, ItemResponse::fromEntity));
+
+    List<AggregatedStorageItemResponse> aggregatedItems = inventory.stream()
+            .map(entry -> new AggregatedStorageItemResponse(
+                    entry.getItemId(),
+                    itemsById.get(entry.getItemId()),
+                    entry.getTotalQuantity(),
+                    entry.getEarliestExpirationDate()))
+            .collect(toList());
 
     return filterAndSortAggregatedStorageItems(
             aggregatedItems,
@@ -88,6 +104,7 @@ public class StorageItemService {
    * @param householdId The ID of the household the storage items belong to.
    * @return A list of storage items of the specified item.
    */
+  @Transactional(readOnly = true)
   public List<StorageItem> getStorageItemsByItemId(int itemId, int householdId) {
     return storageItemRepo.findByItemId(itemId, householdId);
   }
@@ -98,18 +115,26 @@ public class StorageItemService {
    * @param itemId The itemID of the items to retrieve.
    * @return The storage item with the specified ID, or null if not found.
    */
+  @Transactional(readOnly = true)
   public List<StorageItemGroupResponse> getSharedStorageItemsInGroupByItemId(
           int itemId) {
     Long groupId = householdService.getGroupIdForCurrentUser();
 
-    List<StorageItem> storageItems = storageItemRepo
-            .getSharedStorageItemsInGroupByItemId(groupId, itemId);
+    List<Map.Entry<StorageItem, String>> storageItems = storageItemRepo
+            .getSharedStorageItemsInGroupByItemIdWithHousehold(groupId, itemId);
+    if (storageItems.isEmpty()) {
+      return List.of();
+    }
 
+    // All rows share the same item, so it is only fetched once
+    ItemResponse itemResponse = itemRepo.findById(itemId)
+            .map(ItemResponse::fromEntity)
+            .orElse(null);
 
     return storageItems.stream()
-            .map(storageItem -> new StorageItemGroupResponse(
-                    convertToStorageItemResponse(storageItem),
-                    householdService.getHouseholdNameById((long) storageItem.getHouseholdId())
+            .map(row -> new StorageItemGroupResponse(
+                    StorageItemResponse.fromEntityWithItem(row.getKey(), itemResponse),
+                    row.getValue()
             ))
             .toList();
   }
@@ -123,6 +148,7 @@ public class StorageItemService {
    * @param storageItem The storage item to be added.
    * @return The added storage item with its generated ID.
    */
+  @Transactional
   public StorageItem addStorageItem(StorageItem storageItem) {
     validateStorageItem(storageItem);
 
@@ -131,7 +157,9 @@ public class StorageItemService {
       throw new RuntimeException("Item not found with id: " + storageItem.getItemId());
     }
 
-    return storageItemRepo.add(storageItem);
+    StorageItem added = storageItemRepo.add(storageItem);
+    groupInventoryRepo.refreshHouseholdItem(added.getHouseholdId(), added.getItemId());
+    return added;
   }
 
   /**
@@ -144,11 +172,11 @@ public class StorageItemService {
    * @param storageItem The updated storage item details.
    * @return The updated storage item.
    */
+  @Transactional
   public StorageItem updateStorageItem(int id, int householdId, StorageItem storageItem) {
-    if (!storageItemExists(id, householdId)) {
-      throw new RuntimeException("Storage item not found with id: " + id
-              + " in household: " + householdId);
-    }
+    StorageItem existingItem = storageItemRepo.findById(id).orElseThrow(
+        () -> new RuntimeException("Storage item not found with id: " + id
+              + " in household: " + householdId));
 
     validateStorageItem(storageItem);
 
@@ -160,7 +188,9 @@ public class StorageItemService {
     // Ensure household ID is not changed
     storageItem.setId(id);
     storageItem.setHouseholdId(householdId);
-    return storageItemRepo.update(storageItem);
+    StorageItem updated = storageItemRepo.update(storageItem);
+    refreshGroupInventory(householdId, existingItem.getItemId(), updated.getItemId());
+    return updated;
   }
 
   /**
@@ -172,6 +202,7 @@ public class StorageItemService {
    * @param request The request containing the updated storage item details.
    * @return The updated storage item response.
    */
+  @Transactional
   public StorageItemResponse updateSharedStorageItem(int id,
                                                      StorageItemRequest request) {
 
@@ -193,6 +224,7 @@ public class StorageItemService {
       throw new IllegalArgumentException("User is not allowed to update this item");
     }
 
+    int previousItemId = existingItem.getItemId();
     StorageItem updatedItem = request.updateExistingEntity(existingItem);
 
     validateStorageItem(updatedItem);
@@ -202,6 +234,7 @@ public class StorageItemService {
     }
 
     StorageItem result = storageItemRepo.update(updatedItem);
+    refreshGroupInventory(result.getHouseholdId(), previousItemId, result.getItemId());
     return convertToStorageItemResponse(result);
   }
 
@@ -211,6 +244,7 @@ public class StorageItemService {
    * @param id          The ID of the storage item to be deleted.
    * @param householdId The ID of the household the storage item belongs to.
    */
+  @Transactional
   public void deleteStorageItem(int id, int householdId) {
     Long groupId = householdService.getGroupIdForCurrentUser();
     StorageItem storageItem = storageItemRepo.findById(id)
@@ -227,6 +261,22 @@ public class StorageItemService {
     }
 
     storageItemRepo.deleteById(id, householdId);
+    groupInventoryRepo.refreshHouseholdItem(householdId, storageItem.getItemId());
+  }
+
+  /**
+   * Refreshes the group inventory projection for the items a storage item had
+   * before and after a change.
+   *
+   * @param householdId    The ID of the household the storage item belongs to.
+   * @param previousItemId The item ID before the change.
+   * @param currentItemId  The item ID after the change.
+   */
+  private void refreshGroupInventory(long householdId, int previousItemId, int currentItemId) {
+    groupInventoryRepo.refreshHouseholdItem(householdId, previousItemId);
+    if (currentItemId != previousItemId) {
+      groupInventoryRepo.refreshHouseholdItem(householdId, currentItemId);
+    }
   }
 
   /**
@@ -236,6 +286,7 @@ public class StorageItemService {
    * @param householdId The ID of the household to retrieve expiring items for.
    * @return A list of storage items that will expire within the specified number of days.
    */
+  @Transactional(readOnly = true)
   public List<StorageItem> getExpiringStorageItems(int days, int householdId) {
     return storageItemRepo.findExpiringItems(days, householdId);
   }
@@ -270,11 +321,14 @@ public class StorageItemService {
 
   /**
    * Checks if a storage item exists in the repository by its ID for a specific household.
+   * The check is made before a write, so it reads from the primary rather than a replica
+   * that may not have the row yet.
    *
    * @param id          The ID of the storage item to check.
    * @param householdId The ID of the household the storage item belongs to.
    * @return true if the storage item exists, false otherwise.
    */
+  @Transactional
   public boolean storageItemExists(int id, int householdId) {
     return storageItemRepo.findById(id).isPresent();
   }
@@ -327,6 +381,7 @@ public class StorageItemService {
    * @param request     The request containing the storage item details
    * @return The response DTO for the created storage item
    */
+  @Transactional
   public StorageItemResponse addStorageItemFromRequest(int householdId,
                                                        StorageItemRequest request) {
     StorageItem storageItem = request.toEntity();
@@ -343,6 +398,7 @@ public class StorageItemService {
    * @param request     The request containing the updated storage item details
    * @return The response DTO for the updated storage item
    */
+  @Transactional
   public StorageItemResponse updateStorageItemFromRequest(int id, int householdId,
                                                           StorageItemRequest request) {
     StorageItem storageItem = request.toEntity();
@@ -358,6 +414,7 @@ public class StorageItemService {
    * @param householdId The ID of the household
    * @return A list of aggregated storage item responses
    */
+  @Transactional(readOnly = true)
   public List<AggregatedStorageItemResponse> getAggregatedStorageItems(int householdId) {
     return getAggregatedStorageItems(householdId, null, null);
   }
@@ -371,6 +428,7 @@ public class StorageItemService {
    * @param sortDirection The direction of sorting (e.g., "asc" or "desc")
    * @return A list of aggregated storage item responses
    */
+  @Transactional(readOnly = true)
   public List<AggregatedStorageItemResponse> getAggregatedStorageItems(
           int householdId,
           String sortBy,
@@ -480,6 +538,7 @@ public class StorageItemService {
    * @param sortDirection The direction of sorting
    * @return A list of filtered and sorted aggregated storage item responses
    */
+  @Transactional(readOnly = true)
   public List<AggregatedStorageItemResponse> getFilteredAndSortedAggregatedItems(
           int householdId,
           List<ItemType> itemTypes,
@@ -535,6 +594,7 @@ public class StorageItemService {
    * @param sortDirection The direction of sorting (can be null)
    * @return A list of matching aggregated storage item responses
    */
+  @Transactional(readOnly = true)
   public List<AggregatedStorageItemResponse> searchAggregatedStorageItems(
           int householdId,
           String searchTerm,
@@ -602,7 +662,9 @@ public class StorageItemService {
       throw new IllegalArgumentException("Cannot move more than the available quantity");
     } else if (quantityToMove == previousQuantity) {
       storageItem.setShared(request.getIsShared());
-      return convertToStorageItemResponses(List.of(storageItemRepo.update(storageItem)));
+      StorageItem updated = storageItemRepo.update(storageItem);
+      groupInventoryRepo.refreshHouseholdItem(householdId, storageItem.getItemId());
+      return convertToStorageItemResponses(List.of(updated));
     } else {
       StorageItem newStorageItem = new StorageItem();
       newStorageItem.setExpirationDate(storageItem.getExpirationDate());
@@ -618,6 +680,7 @@ public class StorageItemService {
               storageItemRepo.update(storageItem),
               storageItemRepo.add(newStorageItem)
       );
+      groupInventoryRepo.refreshHouseholdItem(householdId, storageItem.getItemId());
 
       return convertToStorageItemResponses(updatedItems);
     }
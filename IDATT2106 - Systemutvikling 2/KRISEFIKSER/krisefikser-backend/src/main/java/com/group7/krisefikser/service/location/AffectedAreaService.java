@@ -5,7 +5,10 @@ import com.group7.krisefikser.dto.response.location.AffectedAreaResponse;
 import com.group7.krisefikser.mapper.location.AffectedAreaMapper;
 import com.group7.krisefikser.model.location.AffectedArea;
 import com.group7.krisefikser.repository.location.AffectedAreaRepo;
+import com.group7.krisefikser.service.cache.TwoTierCache;
+import com.group7.krisefikser.service.other.BroadcastService;
 import java.util.List;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,24 +22,41 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @RequiredArgsConstructor
 public class AffectedAreaService {
+  private static final String ALL_AREAS = "all";
+
   private final AffectedAreaRepo affectedAreaRepo;
+  private final TwoTierCache<List<AffectedAreaResponse>> affectedAreaCache;
+  private final BroadcastService broadcastService;
 
   /**
    * Retrieves all affected areas from the repository and maps them to AffectedAreaResponse
-   * objects.
+   * objects. The result is cached, and must not be modified.
    *
    * @return a list of AffectedAreaResponse objects containing details of all
    *         affected areas.
    */
+  @Transactional(readOnly = true)
   public List<AffectedAreaResponse> getAllAffectedAreas() {
-    return affectedAreaRepo.getAllAffectedAreas()
+    return affectedAreaCache.get(ALL_AREAS, () -> affectedAreaRepo.getAllAffectedAreas()
             .stream()
             .map(AffectedAreaMapper.INSTANCE::affectedAreaToResponse)
-            .toList();
+            .toList());
+  }
+
+  /**
+   * Retrieves an affected area by its ID.
+   *
+   * @param id the ID of the affected area
+   * @return the affected area, or empty if it does not exist
+   */
+  @Transactional(readOnly = true)
+  public Optional<AffectedAreaResponse> getAffectedAreaById(long id) {
+    return affectedAreaRepo.findById(id).map(AffectedAreaMapper.INSTANCE::affectedAreaToResponse);
   }
 
   /**
-   * Adds a new affected area to the repository.
+   * Adds a new affected area to the repository. A severe enough area is broadcast to
+   * everyone inside it.
    *
    * @param affectedAreaRequest the request object containing details of the affected area
    *                            to be added.
@@ -48,6 +68,7 @@ public class AffectedAreaService {
     affectedAreaRepo.addAffectedArea(area);
 
     if (area.getId() != null) {
+      broadcastService.broadcastIncident(area);
       return AffectedAreaMapper.INSTANCE.affectedAreaToResponse(area);
     } else {
       throw new IllegalStateException("Failed to add affected area");
@@ -0,0 +1,202 @@
+package com.group7.krisefikser.service.location;
+
+import com.group7.krisefikser.dto.response.location.AffectedAreaResponse;
+import com.group7.krisefikser.dto.response.location.AreaImpactResponse;
+import com.group7.krisefikser.dto.response.location.ZoneImpactResponse;
+import com.group7.krisefikser.model.location.HouseholdSupply;
+import com.group7.krisefikser.model.location.UserPosition;
+import com.group7.krisefikser.repository.location.AreaImpactRepo;
+import com.group7.krisefikser.service.cache.TwoTierCache;
+import com.group7.krisefikser.service.household.HouseholdService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service class for the impact of affected areas: how many households, residents, non-user
+ * members and users sharing their position are inside each danger zone, and how long the
+ * stock of those households lasts.
+ * Only the households and positions within the bounding box of the outermost zone are read,
+ * and they are sorted into zones as one batch with {@link GeoDistance}.
+ * The household part and the position part are cached separately per area. Editing an area
+ * evicts both, and a user moving in or out of an area evicts only the position part. Changes
+ * to stock and household members are not published, so the household part expires after a
+ * minute, and until then it may not show them.
+ */
+@Service
+@RequiredArgsConstructor
+public class AreaImpactService {
+  static final List<String> ZONES = List.of("high", "medium", "low");
+  /**
+   * How much the bounding box is widened, so that it covers the zones even though it uses a
+   * slightly different length of a degree than the distance calculation.
+   */
+  private static final double BOX_MARGIN = 1.01;
+
+  private final AreaImpactRepo areaImpactRepo;
+  private final AffectedAreaService affectedAreaService;
+  private final TwoTierCache<List<ZoneImpactResponse>> areaImpactCache;
+  private final TwoTierCache<List<Integer>> areaPresenceCache;
+
+  /**
+   * Returns the impact of an affected area.
+   *
+   * @param areaId the ID of the affected area
+   * @return the impact, per danger zone
+   * @throws IllegalArgumentException if the affected area does not exist
+   */
+  @Transactional(readOnly = true)
+  public AreaImpactResponse getImpact(long areaId) {
+    AffectedAreaResponse area = affectedAreaService.getAffectedAreaById(areaId)
+        .orElseThrow(() -> new IllegalArgumentException("Affected area not found"));
+
+    List<ZoneImpactResponse> zones = areaImpactCache.get(areaId, () -> householdImpact(area));
+    List<Integer> present = areaPresenceCache.get(areaId, () -> presence(area));
+
+    List<ZoneImpactResponse> impact = new ArrayList<>(zones.size());
+    for (int i = 0; i < zones.size(); i++) {
+      ZoneImpactResponse zone = zones.get(i);
+      impact.add(new ZoneImpactResponse(zone.getZone(), zone.getRadiusKm(),
+          zone.getHouseholds(), zone.getResidents(), zone.getNonUserMembers(), present.get(i),
+          zone.getCalories(), zone.getWaterLiters(), zone.getReadinessDays()));
+    }
+    return new AreaImpactResponse(area.getId(), area.getName(), impact);
+  }
+
+  /**
+   * Evicts the position part of the impact of the areas that any of the given positions is
+   * inside. Called with the old and the new position when a user shares, moves or stops
+   * sharing their position.
+   *
+   * @param positions the positions, where null is ignored
+   */
+  public void positionsChanged(UserPosition... positions) {
+    for (AffectedAreaResponse area : affectedAreaService.getAllAffectedAreas()) {
+      double[] radii = radii(area);
+      for (UserPosition position : positions) {
+        if (position != null && zoneOf(area, radii,
+            position.getLatitude(), position.getLongitude()) >= 0) {
+          areaPresenceCache.invalidate(area.getId());
+          break;
+        }
+      }
+    }
+  }
+
+  private List<ZoneImpactResponse> householdImpact(AffectedAreaResponse area) {
+    double[] radii = radii(area);
+    double[] box = boundingBox(area, radii);
+    int[] households = new int[radii.length];
+    int[] residents = new int[radii.length];
+    int[] nonUserMembers = new int[radii.length];
+    double[] calories = new double[radii.length];
+    double[] waterLiters = new double[radii.length];
+
+    List<HouseholdSupply> supplies = areaImpactRepo.findHouseholdSupplyWithin(
+        box[0], box[1], box[2], box[3], LocalDateTime.now());
+    GeoPoints points = new GeoPoints(supplies.size());
+    supplies.forEach(household -> points.add(household.getLatitude(),
+        household.getLongitude()));
+    int[] zoneOf = zones(area, radii, points);
+    for (int i = 0; i < supplies.size(); i++) {
+      int zone = zoneOf[i];
+      if (zone < 0) {
+        continue;
+      }
+      HouseholdSupply household = supplies.get(i);
+      households[zone]++;
+      residents[zone] += household.getResidents();
+      nonUserMembers[zone] += household.getNonUserMembers();
+      calories[zone] += household.getCalories();
+      waterLiters[zone] += household.getWaterLiters();
+    }
+
+    List<ZoneImpactResponse> zones = new ArrayList<>(radii.length);
+    for (int i = 0; i < radii.length; i++) {
+      double days = HouseholdService.readinessDays(calories[i], waterLiters[i], residents[i],
+          nonUserMembers[i]);
+      zones.add(new ZoneImpactResponse(ZONES.get(i), radii[i], households[i], residents[i],
+          nonUserMembers[i], 0, calories[i], waterLiters[i],
+          Double.isFinite(days) ? Math.round(days * 10) / 10.0 : 0));
+    }
+    return zones;
+  }
+
+  private List<Integer> presence(AffectedAreaResponse area) {
+    double[] radii = radii(area);
+    double[] box = boundingBox(area, radii);
+    List<double[]> positions = areaImpactRepo.findPositionsWithin(box[0], box[1], box[2],
+        box[3]);
+    GeoPoints points = new GeoPoints(positions.size());
+    positions.forEach(position -> points.add(position[0], position[1]));
+    int[] present = new int[radii.length];
+    for (int zone : zones(area, radii, points)) {
+      if (zone >= 0) {
+        present[zone]++;
+      }
+    }
+    List<Integer> counts = new ArrayList<>(radii.length);
+    for (int count : present) {
+      counts.add(count);
+    }
+    return counts;
+  }
+
+  /**
+   * Returns the innermost zone of an area a point is inside, or -1 if it is outside all of
+   * them.
+   */
+  private static int zoneOf(AffectedAreaResponse area, double[] radii, double latitude,
+                            double longitude) {
+    double distance = GeoDistance.haversineKm(area.getLatitude(), area.getLongitude(),
+        latitude, longitude);
+    for (int i = 0; i < radii.length; i++) {
+      if (distance <= radii[i]) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the innermost zone of an area each point of a batch is inside, or -1 for the
+   * points outside all of them.
+   */
+  private static int[] zones(AffectedAreaResponse area, double[] radii, GeoPoints points) {
+    int[] zones = new int[points.size()];
+    GeoDistance.zones(area.getLatitude(), area.getLongitude(), radii, points, zones);
+    return zones;
+  }
+
+  private static double[] radii(AffectedAreaResponse area) {
+    return new double[] {
+        radius(area.getHighDangerRadiusKm()),
+        radius(area.getMediumDangerRadiusKm()),
+        radius(area.getLowDangerRadiusKm())
+    };
+  }
+
+  private static double radius(Double radiusKm) {
+    return radiusKm != null ? radiusKm : 0;
+  }
+
+  /**
+   * Returns the southern, northern, western and eastern edges of the box around the
+   * outermost zone of an area.
+   */
+  private static double[] boundingBox(AffectedAreaResponse area, double[] radii) {
+    double outer = 0;
+    for (double radius : radii) {
+      outer = Math.max(outer, radius * BOX_MARGIN);
+    }
+    double latOffset = TileGrid.latitudeOffset(outer);
+    double lonOffset = TileGrid.longitudeOffset(area.getLatitude(), outer);
+    return new double[] {
+        area.getLatitude() - latOffset, area.getLatitude() + latOffset,
+        area.getLongitude() - lonOffset, area.getLongitude() + lonOffset
+    };
+  }
+}
@@ -0,0 +1,146 @@
+package com.group7.krisefikser.service.location;
+
+/**
+ * Great-circle distances on a sphere the size of the Earth, for one pair of locations or for a
+ * point against a batch of {@link GeoPoints}.
+ * The batch methods measure the straight line through the sphere, the chord, between the
+ * positions of the locations on the unit sphere. The chord grows with the great-circle
+ * distance, so comparing it with the chord of a radius decides exactly whether a location is
+ * within the radius, at the cost of three subtractions and three multiply-adds. Converting a
+ * chord to kilometers needs one arc sine and is only done when the distance itself is asked
+ * for. This gives the same distances as the haversine formula.
+ */
+public final class GeoDistance {
+  public static final double EARTH_RADIUS_KM = 6371.0;
+
+  private GeoDistance() {
+  }
+
+  /**
+   * Calculates the distance between two locations using the haversine formula.
+   *
+   * @param lat1 the latitude of the first location
+   * @param lon1 the longitude of the first location
+   * @param lat2 the latitude of the second location
+   * @param lon2 the longitude of the second location
+   * @return the distance in kilometers
+   */
+  public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+    double sinLat = Math.sin(Math.toRadians(lat2 - lat1) / 2);
+    double sinLon = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+    double a = sinLat * sinLat
+        + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+    return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+  }
+
+  /**
+   * Calculates the distance from a point to every location in a batch.
+   *
+   * @param latitude  the latitude of the point
+   * @param longitude the longitude of the point
+   * @param points    the batch
+   * @param distances the array the distances in kilometers are written to, in batch order,
+   *                  at least as long as the batch
+   */
+  public static void distancesKm(double latitude, double longitude, GeoPoints points,
+                                 double[] distances) {
+    squaredChords(latitude, longitude, points, distances);
+    for (int i = 0; i < points.size(); i++) {
+      distances[i] = chordToKm(distances[i]);
+    }
+  }
+
+  /**
+   * Finds the locations in a batch that are within a radius of a point.
+   *
+   * @param latitude  the latitude of the point
+   * @param longitude the longitude of the point
+   * @param radiusKm  the radius in kilometers
+   * @param points    the batch
+   * @param indexes   the array the batch indexes of the locations within the radius are
+   *                  written to, in batch order, at least as long as the batch
+   * @return the number of locations within the radius
+   */
+  public static int withinKm(double latitude, double longitude, double radiusKm,
+                             GeoPoints points, int[] indexes) {
+    double[] chords = new double[points.size()];
+    squaredChords(latitude, longitude, points, chords);
+    double limit = squaredChord(radiusKm);
+    int count = 0;
+    for (int i = 0; i < chords.length; i++) {
+      if (chords[i] <= limit) {
+        indexes[count++] = i;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Finds the first of several radii around a point that each location in a batch is within.
+   * With the radii ordered from the smallest, this is the innermost zone of the location.
+   *
+   * @param latitude  the latitude of the point
+   * @param longitude the longitude of the point
+   * @param radiiKm   the radii in kilometers
+   * @param points    the batch
+   * @param zones     the array the index of the radius of each location is written to, in
+   *                  batch order, or -1 if it is outside all of them, at least as long as the
+   *                  batch
+   */
+  public static void zones(double latitude, double longitude, double[] radiiKm,
+                           GeoPoints points, int[] zones) {
+    double[] chords = new double[points.size()];
+    squaredChords(latitude, longitude, points, chords);
+    double[] limits = new double[radiiKm.length];
+    for (int r = 0; r < radiiKm.length; r++) {
+      limits[r] = squaredChord(radiiKm[r]);
+    }
+    for (int i = 0; i < chords.length; i++) {
+      int zone = -1;
+      for (int r = 0; r < limits.length; r++) {
+        if (chords[i] <= limits[r]) {
+          zone = r;
+          break;
+        }
+      }
+      zones[i] = zone;
+    }
+  }
+
+  /**
+   * Writes the squared chord between the point and each location of the batch. The loop only
+   * does arithmetic on the arrays, so the JIT compiler turns it into SIMD instructions.
+   */
+  private static void squaredChords(double latitude, double longitude, GeoPoints points,
+                                    double[] chords) {
+    double lat = Math.toRadians(latitude);
+    double lon = Math.toRadians(longitude);
+    double x = Math.cos(lat) * Math.cos(lon);
+    double y = Math.cos(lat) * Math.sin(lon);
+    double z = Math.sin(lat);
+    double[] xs = points.xs();
+    double[] ys = points.ys();
+    double[] zs = points.zs();
+    int size = points.size();
+    for (int i = 0; i < size; i++) {
+      double dx = xs[i] - x;
+      double dy = ys[i] - y;
+      double dz = zs[i] - z;
+      chords[i] = dx * dx + dy * dy + dz * dz;
+    }
+  }
+
+  /**
+   * Returns the squared chord of a great-circle distance. Distances beyond half the
+   * circumference are within reach of every location.
+   */
+  private static double squaredChord(double distanceKm) {
+    double angle = Math.min(Math.PI, Math.max(0, distanceKm / EARTH_RADIUS_KM));
+    double chord = 2 * Math.sin(angle / 2);
+    return chord * chord;
+  }
+
+  private static double chordToKm(double squaredChord) {
+    return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(squaredChord) / 2));
+  }
+}
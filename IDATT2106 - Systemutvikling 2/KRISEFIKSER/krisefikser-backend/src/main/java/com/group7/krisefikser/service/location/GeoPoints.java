@@ -0,0 +1,70 @@
+package com.group7.krisefikser.service.location;
+
+import java.util.Arrays;
+
+/**
+ * A batch of locations for {@link GeoDistance}, stored as three primitive arrays with the
+ * position of each location on the unit sphere. The sines and cosines are taken once when a
+ * location is added, so measuring the batch against a point needs no trigonometry per
+ * location, and the loops over the arrays can be compiled to SIMD instructions.
+ */
+public final class GeoPoints {
+  private double[] xs;
+  private double[] ys;
+  private double[] zs;
+  private int size;
+
+  /**
+   * Creates an empty batch.
+   *
+   * @param capacity the number of locations to make room for
+   */
+  public GeoPoints(int capacity) {
+    xs = new double[capacity];
+    ys = new double[capacity];
+    zs = new double[capacity];
+  }
+
+  /**
+   * Adds a location to the end of the batch.
+   *
+   * @param latitude  the latitude of the location
+   * @param longitude the longitude of the location
+   */
+  public void add(double latitude, double longitude) {
+    if (size == xs.length) {
+      int capacity = Math.max(16, size * 2);
+      xs = Arrays.copyOf(xs, capacity);
+      ys = Arrays.copyOf(ys, capacity);
+      zs = Arrays.copyOf(zs, capacity);
+    }
+    double lat = Math.toRadians(latitude);
+    double lon = Math.toRadians(longitude);
+    double cosLat = Math.cos(lat);
+    xs[size] = cosLat * Math.cos(lon);
+    ys[size] = cosLat * Math.sin(lon);
+    zs[size] = Math.sin(lat);
+    size++;
+  }
+
+  /**
+   * Returns the number of locations in the batch.
+   *
+   * @return the number of locations
+   */
+  public int size() {
+    return size;
+  }
+
+  double[] xs() {
+    return xs;
+  }
+
+  double[] ys() {
+    return ys;
+  }
+
+  double[] zs() {
+    return zs;
+  }
+}
@@ -0,0 +1,82 @@
+package com.group7.krisefikser.service.location;
+
+/**
+ * Encodes locations as geohashes, where each character narrows the cell a location lies in
+ * by a factor of 32. Locations whose geohashes share a prefix lie in the same cell of the
+ * prefix length, so a region of any size is a prefix: four characters is about 39 by 20 km,
+ * the size of a municipality, and two characters is about 1250 by 625 km.
+ */
+public final class Geohash {
+  public static final int MAX_PRECISION = 12;
+
+  private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+  private Geohash() {
+  }
+
+  /**
+   * Returns the geohash of a location.
+   *
+   * @param latitude  the latitude of the location
+   * @param longitude the longitude of the location
+   * @param precision the number of characters, between 1 and {@link #MAX_PRECISION}
+   * @return the geohash
+   * @throws IllegalArgumentException if the precision is out of range
+   */
+  public static String encode(double latitude, double longitude, int precision) {
+    if (precision < 1 || precision > MAX_PRECISION) {
+      throw new IllegalArgumentException("Geohash precision must be between 1 and "
+          + MAX_PRECISION);
+    }
+    double minLat = -90;
+    double maxLat = 90;
+    double minLon = -180;
+    double maxLon = 180;
+    StringBuilder hash = new StringBuilder(precision);
+    boolean longitudeBit = true;
+    int bits = 0;
+    int value = 0;
+    while (hash.length() < precision) {
+      if (longitudeBit) {
+        double mid = (minLon + maxLon) / 2;
+        if (longitude >= mid) {
+          value = value << 1 | 1;
+          minLon = mid;
+        } else {
+          value = value << 1;
+          maxLon = mid;
+        }
+      } else {
+        double mid = (minLat + maxLat) / 2;
+        if (latitude >= mid) {
+          value = value << 1 | 1;
+          minLat = mid;
+        } else {
+          value = value << 1;
+          maxLat = mid;
+        }
+      }
+      longitudeBit = !longitudeBit;
+      if (++bits == 5) {
+        hash.append(BASE32.charAt(value));
+        bits = 0;
+        value = 0;
+      }
+    }
+    return hash.toString();
+  }
+
+  /**
+   * Checks that a string could be a geohash prefix.
+   *
+   * @param prefix the string
+   * @return true if it is no longer than {@link #MAX_PRECISION} and only has geohash
+   *         characters
+   */
+  public static boolean isPrefix(String prefix) {
+    if (prefix.length() > MAX_PRECISION) {
+      return false;
+    }
+    return prefix.chars().allMatch(c -> BASE32.indexOf(c) >= 0);
+  }
+}
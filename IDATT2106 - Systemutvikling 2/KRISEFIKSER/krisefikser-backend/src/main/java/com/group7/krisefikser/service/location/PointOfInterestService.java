@@ -6,9 +6,11 @@ import com.group7.krisefikser.dto.response.location.PointOfInterestResponse;
 import com.group7.krisefikser.enums.PointOfInterestType;
 import com.group7.krisefikser.model.location.PointOfInterest;
 import com.group7.krisefikser.repository.location.PointOfInterestRepo;
+import com.group7.krisefikser.service.cache.TwoTierCache;
 import com.group7.krisefikser.utils.JwtUtils;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,15 +24,18 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class PointOfInterestService {
   private final PointOfInterestRepo pointOfInterestRepo;
+  private final TwoTierCache<List<PointOfInterestResponse>> pointOfInterestCache;
   private final JwtUtils jwtUtils;
 
   /**
    * Method to get all points of interest.
    * This method will interact with the repository to fetch all points of
-   * interest from the database.
+   * interest from the database. The result is cached for each combination of types,
+   * and must not be modified.
    *
    * @return List of all points of interest
    */
+  @Transactional(readOnly = true)
   public List<PointOfInterestResponse> getPointsOfInterestByTypes(
           GetPointsOfInterestRequest request) {
     List<PointOfInterestType> types;
@@ -41,20 +46,45 @@ public class PointOfInterestService {
       throw new IllegalArgumentException("Invalid point of interest type provided", e);
     }
 
-    return pointOfInterestRepo.getPointsOfInterestByTypes(types)
+    String key = types.stream().map(Enum::name).distinct().sorted()
+            .collect(Collectors.joining(","));
+    return pointOfInterestCache.get(key, () -> pointOfInterestRepo
+            .getPointsOfInterestByTypes(types)
             .stream()
-            .map(point -> new PointOfInterestResponse(
-                    point.getId(),
-                    point.getLatitude(),
-                    point.getLongitude(),
-                    point.getType().name(),
-                    point.getOpensAt() != null ? point.getOpensAt().toString() : null,
-                    point.getClosesAt() != null ? point.getClosesAt().toString() : null,
-                    point.getContactNumber(),
-                    point.getDescription()
-            ))
+            .map(PointOfInterestService::toResponse)
+            .toList());
+
+  }
+
+  /**
+   * Method to get the points of interest within a bounding box, such as a map tile.
+   * The result is not cached, since the tiles built from it are.
+   *
+   * @param south The southern edge of the box in degrees.
+   * @param west  The western edge of the box in degrees.
+   * @param north The northern edge of the box in degrees.
+   * @param east  The eastern edge of the box in degrees.
+   * @return List of the points of interest within the box
+   */
+  @Transactional(readOnly = true)
+  public List<PointOfInterestResponse> getPointsOfInterestWithin(double south, double west,
+                                                                 double north, double east) {
+    return pointOfInterestRepo.getPointsOfInterestWithin(south, west, north, east).stream()
+            .map(PointOfInterestService::toResponse)
             .toList();
+  }
 
+  private static PointOfInterestResponse toResponse(PointOfInterest point) {
+    return new PointOfInterestResponse(
+            point.getId(),
+            point.getLatitude(),
+            point.getLongitude(),
+            point.getType().name(),
+            point.getOpensAt() != null ? point.getOpensAt().toString() : null,
+            point.getClosesAt() != null ? point.getClosesAt().toString() : null,
+            point.getContactNumber(),
+            point.getDescription()
+    );
   }
 
   /**
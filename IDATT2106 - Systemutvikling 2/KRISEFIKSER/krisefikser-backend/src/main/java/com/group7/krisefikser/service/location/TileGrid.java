@@ -0,0 +1,128 @@
+package com.group7.krisefikser.service.location;
+
+/**
+ * Arithmetic for the web map tile grid, where zoom level z divides the Web Mercator projection
+ * into 2^z by 2^z tiles of 256 pixels, numbered from the north-west corner.
+ */
+public final class TileGrid {
+  public static final int MAX_ZOOM = 20;
+  public static final int TILE_SIZE = 256;
+
+  private static final double MAX_LATITUDE = 85.05112878;
+  private static final double EARTH_CIRCUMFERENCE_M = 40_075_016.686;
+  private static final double KM_PER_DEGREE = 111.32;
+
+  private TileGrid() {
+  }
+
+  /**
+   * Returns the cache key of a tile.
+   *
+   * @param z the zoom level
+   * @param x the column of the tile
+   * @param y the row of the tile
+   * @return the key
+   */
+  public static String key(int z, int x, int y) {
+    return z + "/" + x + "/" + y;
+  }
+
+  /**
+   * Checks that a tile exists.
+   *
+   * @param z the zoom level
+   * @param x the column of the tile
+   * @param y the row of the tile
+   * @return true if the zoom level is served and the tile lies within it
+   */
+  public static boolean isValid(int z, int x, int y) {
+    if (z < 0 || z > MAX_ZOOM) {
+      return false;
+    }
+    int tiles = 1 << z;
+    return x >= 0 && x < tiles && y >= 0 && y < tiles;
+  }
+
+  /**
+   * Returns the column of the tile containing a longitude.
+   *
+   * @param longitude the longitude in degrees
+   * @param z         the zoom level
+   * @return the column
+   */
+  public static int tileX(double longitude, int z) {
+    int tiles = 1 << z;
+    int x = (int) Math.floor((longitude + 180) / 360 * tiles);
+    return Math.max(0, Math.min(tiles - 1, x));
+  }
+
+  /**
+   * Returns the row of the tile containing a latitude.
+   *
+   * @param latitude the latitude in degrees
+   * @param z        the zoom level
+   * @return the row
+   */
+  public static int tileY(double latitude, int z) {
+    int tiles = 1 << z;
+    double lat = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude)));
+    double mercator = Math.log(Math.tan(lat) + 1 / Math.cos(lat));
+    int y = (int) Math.floor((1 - mercator / Math.PI) / 2 * tiles);
+    return Math.max(0, Math.min(tiles - 1, y));
+  }
+
+  /**
+   * Returns the longitude of the western edge of a column of tiles.
+   *
+   * @param x the column, or the number of columns for the eastern edge of the last one
+   * @param z the zoom level
+   * @return the longitude in degrees
+   */
+  public static double longitude(int x, int z) {
+    return (double) x / (1 << z) * 360 - 180;
+  }
+
+  /**
+   * Returns the latitude of the northern edge of a row of tiles.
+   *
+   * @param y the row, or the number of rows for the southern edge of the last one
+   * @param z the zoom level
+   * @return the latitude in degrees
+   */
+  public static double latitude(int y, int z) {
+    double n = Math.PI * (1 - 2.0 * y / (1 << z));
+    return Math.toDegrees(Math.atan(Math.sinh(n)));
+  }
+
+  /**
+   * Returns how many meters one pixel covers at a latitude and zoom level.
+   *
+   * @param latitude the latitude in degrees
+   * @param z        the zoom level
+   * @return the meters per pixel
+   */
+  public static double metersPerPixel(double latitude, int z) {
+    return EARTH_CIRCUMFERENCE_M * Math.cos(Math.toRadians(latitude)) / (TILE_SIZE * (1L << z));
+  }
+
+  /**
+   * Returns the latitude difference a distance north of a point covers.
+   *
+   * @param radiusKm the distance in kilometers
+   * @return the difference in degrees
+   */
+  public static double latitudeOffset(double radiusKm) {
+    return radiusKm / KM_PER_DEGREE;
+  }
+
+  /**
+   * Returns the longitude difference a distance east of a point covers at a latitude.
+   *
+   * @param latitude the latitude of the point in degrees
+   * @param radiusKm the distance in kilometers
+   * @return the difference in degrees
+   */
+  public static double longitudeOffset(double latitude, double radiusKm) {
+    return radiusKm / (KM_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(latitude))));
+  }
+}
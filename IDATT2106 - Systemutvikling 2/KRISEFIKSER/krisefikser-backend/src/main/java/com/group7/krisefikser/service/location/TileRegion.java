@@ -0,0 +1,111 @@
+package com.group7.krisefikser.service.location;
+
+import com.group7.krisefikser.service.cache.KeyRanges;
+import java.util.Locale;
+
+/**
+ * A bounding box on the map over a range of zoom levels, used to invalidate the cached tiles a
+ * change touches with one invalidation. The region is published as a key, and every instance
+ * evicts the cached tiles that overlap it, so a change costs one invalidation however many
+ * tiles it lies within.
+ *
+ * @param minZoom the lowest zoom level of the tiles the region covers
+ * @param maxZoom the highest zoom level of the tiles the region covers
+ * @param south   the southern edge in degrees
+ * @param west    the western edge in degrees
+ * @param north   the northern edge in degrees
+ * @param east    the eastern edge in degrees
+ */
+public record TileRegion(int minZoom, int maxZoom, double south, double west, double north,
+                         double east) {
+  private static final String PREFIX = "region:";
+
+  /**
+   * The ranges of tile keys the tile cache can be invalidated by.
+   */
+  public static final KeyRanges TILE_KEYS = new KeyRanges() {
+    @Override
+    public boolean isRange(String key) {
+      return key.startsWith(PREFIX);
+    }
+
+    @Override
+    public boolean covers(String range, String key) {
+      return parse(range).covers(key);
+    }
+  };
+
+  /**
+   * Returns the region within a radius of a point, at every zoom level.
+   *
+   * @param latitude  the latitude of the point in degrees
+   * @param longitude the longitude of the point in degrees
+   * @param radiusKm  the radius in kilometers, or 0 for the point itself
+   * @return the region
+   */
+  public static TileRegion around(double latitude, double longitude, double radiusKm) {
+    double latOffset = TileGrid.latitudeOffset(radiusKm);
+    double lonOffset = TileGrid.longitudeOffset(latitude, radiusKm);
+    return new TileRegion(0, TileGrid.MAX_ZOOM, latitude - latOffset, longitude - lonOffset,
+        latitude + latOffset, longitude + lonOffset);
+  }
+
+  /**
+   * Returns the smallest region that covers both this region and another.
+   *
+   * @param other the other region
+   * @return the region
+   */
+  public TileRegion union(TileRegion other) {
+    return new TileRegion(Math.min(minZoom, other.minZoom), Math.max(maxZoom, other.maxZoom),
+        Math.min(south, other.south), Math.min(west, other.west),
+        Math.max(north, other.north), Math.max(east, other.east));
+  }
+
+  /**
+   * Returns the key the region is published as.
+   *
+   * @return the key
+   */
+  public String key() {
+    return String.format(Locale.ROOT, "%s%d-%d:%.6f,%.6f,%.6f,%.6f", PREFIX, minZoom, maxZoom,
+        Math.floor(south * 1e6) / 1e6, Math.floor(west * 1e6) / 1e6,
+        Math.ceil(north * 1e6) / 1e6, Math.ceil(east * 1e6) / 1e6);
+  }
+
+  /**
+   * Reads a region from its key.
+   *
+   * @param key the key
+   * @return the region
+   * @throws IllegalArgumentException if the key is not a region
+   */
+  public static TileRegion parse(String key) {
+    if (!key.startsWith(PREFIX)) {
+      throw new IllegalArgumentException("Not a tile region: " + key);
+    }
+    String[] parts = key.substring(PREFIX.length()).split(":");
+    String[] zooms = parts[0].split("-");
+    String[] edges = parts[1].split(",");
+    return new TileRegion(Integer.parseInt(zooms[0]), Integer.parseInt(zooms[1]),
+        Double.parseDouble(edges[0]), Double.parseDouble(edges[1]),
+        Double.parseDouble(edges[2]), Double.parseDouble(edges[3]));
+  }
+
+  /**
+   * Checks whether the region overlaps a tile. Tiles touching the edge of the region count as
+   * overlapping, so a point on the border between two tiles evicts both.
+   *
+   * @param tileKey the key of the tile
+   * @return true if the tile is within the zoom levels of the region and overlaps it
+   */
+  public boolean covers(String tileKey) {
+    String[] parts = tileKey.split("/");
+    int z = Integer.parseInt(parts[0]);
+    int x = Integer.parseInt(parts[1]);
+    int y = Integer.parseInt(parts[2]);
+    return z >= minZoom && z <= maxZoom
+        && TileGrid.longitude(x, z) <= east && TileGrid.longitude(x + 1, z) >= west
+        && TileGrid.latitude(y + 1, z) <= north && TileGrid.latitude(y, z) >= south;
+  }
+}
@@ -0,0 +1,161 @@
+package com.group7.krisefikser.service.location;
+
+import com.group7.krisefikser.dto.response.location.AffectedAreaResponse;
+import com.group7.krisefikser.dto.response.location.AffectedAreaShapeResponse;
+import com.group7.krisefikser.dto.response.location.PointOfInterestClusterResponse;
+import com.group7.krisefikser.dto.response.location.PointOfInterestResponse;
+import com.group7.krisefikser.dto.response.location.TileResponse;
+import com.group7.krisefikser.service.cache.TwoTierCache;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service class for map tiles. A tile holds the points of interest within it, clustered per
+ * type on a grid of cells so that points drawn close together at the zoom level are sent as
+ * one cluster, and the affected areas overlapping it, as polygons with only as many vertices
+ * as the zoom level needs. Only the points of interest within the tile are read, through the
+ * latitude and longitude index, and the affected areas come from their cache. Tiles are cached
+ * at every zoom level, and the repositories evict the tiles a change touches by publishing the
+ * {@link TileRegion} it lies within.
+ */
+@Service
+@RequiredArgsConstructor
+public class TileService {
+  static final int CLUSTER_CELLS = 8;
+  static final int MIN_VERTICES = 8;
+  static final int MAX_VERTICES = 64;
+  private static final double PIXELS_PER_SEGMENT = 8;
+  private static final double COORDINATE_SCALE = 1e6;
+
+  private final PointOfInterestService pointOfInterestService;
+  private final AffectedAreaService affectedAreaService;
+  private final TwoTierCache<TileResponse> tileCache;
+
+  /**
+   * Returns a map tile. The returned tile may be shared between callers and must not be
+   * modified.
+   *
+   * @param z the zoom level
+   * @param x the column of the tile
+   * @param y the row of the tile
+   * @return the tile
+   * @throws IllegalArgumentException if the tile does not exist
+   */
+  @Transactional(readOnly = true)
+  public TileResponse getTile(int z, int x, int y) {
+    if (!TileGrid.isValid(z, x, y)) {
+      throw new IllegalArgumentException("Invalid tile " + TileGrid.key(z, x, y));
+    }
+    return tileCache.get(TileGrid.key(z, x, y), () -> buildTile(z, x, y));
+  }
+
+  private TileResponse buildTile(int z, int x, int y) {
+    return new TileResponse(z, x, y, clusters(z, x, y), affectedAreas(z, x, y));
+  }
+
+  /**
+   * Clusters the points of interest within a tile per type and grid cell. The cells are the
+   * tiles three zoom levels further in, so a cell is 32 pixels wide.
+   */
+  private List<PointOfInterestClusterResponse> clusters(int z, int x, int y) {
+    int cellZoom = z + Integer.numberOfTrailingZeros(CLUSTER_CELLS);
+    Map<String, List<PointOfInterestResponse>> cells = new LinkedHashMap<>();
+    for (PointOfInterestResponse point : pointOfInterestService.getPointsOfInterestWithin(
+        TileGrid.latitude(y + 1, z), TileGrid.longitude(x, z), TileGrid.latitude(y, z),
+        TileGrid.longitude(x + 1, z))) {
+      if (TileGrid.tileX(point.getLongitude(), z) != x
+          || TileGrid.tileY(point.getLatitude(), z) != y) {
+        continue;
+      }
+      int cellX = TileGrid.tileX(point.getLongitude(), cellZoom) - x * CLUSTER_CELLS;
+      int cellY = TileGrid.tileY(point.getLatitude(), cellZoom) - y * CLUSTER_CELLS;
+      cells.computeIfAbsent(point.getType() + ":" + cellX + ":" + cellY,
+          cell -> new ArrayList<>()).add(point);
+    }
+    List<PointOfInterestClusterResponse> clusters = new ArrayList<>(cells.size());
+    for (List<PointOfInterestResponse> points : cells.values()) {
+      double latitude = 0;
+      double longitude = 0;
+      for (PointOfInterestResponse point : points) {
+        latitude += point.getLatitude();
+        longitude += point.getLongitude();
+      }
+      PointOfInterestResponse first = points.get(0);
+      clusters.add(new PointOfInterestClusterResponse(first.getType(), points.size(),
+          round(latitude / points.size()), round(longitude / points.size()),
+          points.size() == 1 ? first.getId() : null));
+    }
+    return clusters;
+  }
+
+  /**
+   * Finds the affected areas whose outermost zone overlaps a tile.
+   */
+  private List<AffectedAreaShapeResponse> affectedAreas(int z, int x, int y) {
+    double west = TileGrid.longitude(x, z);
+    double east = TileGrid.longitude(x + 1, z);
+    double north = TileGrid.latitude(y, z);
+    double south = TileGrid.latitude(y + 1, z);
+    List<AffectedAreaShapeResponse> shapes = new ArrayList<>();
+    for (AffectedAreaResponse area : affectedAreaService.getAllAffectedAreas()) {
+      double radius = outerRadius(area);
+      double latOffset = TileGrid.latitudeOffset(radius);
+      double lonOffset = TileGrid.longitudeOffset(area.getLatitude(), radius);
+      if (area.getLatitude() - latOffset > north || area.getLatitude() + latOffset < south
+          || area.getLongitude() - lonOffset > east || area.getLongitude() + lonOffset < west) {
+        continue;
+      }
+      shapes.add(new AffectedAreaShapeResponse(area.getId(), area.getName(),
+          area.getSeverityLevel(),
+          ring(area, area.getHighDangerRadiusKm(), z),
+          ring(area, area.getMediumDangerRadiusKm(), z),
+          ring(area, area.getLowDangerRadiusKm(), z)));
+    }
+    return shapes;
+  }
+
+  /**
+   * Approximates a danger zone by a closed ring. The number of vertices is chosen so each
+   * segment is about {@link #PIXELS_PER_SEGMENT} pixels long at the zoom level, so a zone that
+   * is a few pixels wide at country zoom is sent as an octagon.
+   */
+  private static List<double[]> ring(AffectedAreaResponse area, Double radiusKm, int z) {
+    if (radiusKm == null || radiusKm <= 0) {
+      return List.of();
+    }
+    double radiusPixels = radiusKm * 1000 / TileGrid.metersPerPixel(area.getLatitude(), z);
+    int vertices = (int) Math.max(MIN_VERTICES, Math.min(MAX_VERTICES,
+        Math.ceil(2 * Math.PI * radiusPixels / PIXELS_PER_SEGMENT)));
+    double latOffset = TileGrid.latitudeOffset(radiusKm);
+    double lonOffset = TileGrid.longitudeOffset(area.getLatitude(), radiusKm);
+    List<double[]> ring = new ArrayList<>(vertices + 1);
+    for (int i = 0; i < vertices; i++) {
+      double angle = 2 * Math.PI * i / vertices;
+      ring.add(new double[] {
+          round(area.getLongitude() + lonOffset * Math.cos(angle)),
+          round(area.getLatitude() + latOffset * Math.sin(angle))
+      });
+    }
+    ring.add(ring.get(0));
+    return ring;
+  }
+
+  private static double outerRadius(AffectedAreaResponse area) {
+    return Stream.of(area.getHighDangerRadiusKm(), area.getMediumDangerRadiusKm(),
+            area.getLowDangerRadiusKm())
+        .filter(radius -> radius != null)
+        .mapToDouble(Double::doubleValue)
+        .max()
+        .orElse(0);
+  }
+
+  private static double round(double coordinate) {
+    return Math.round(coordinate * COORDINATE_SCALE) / COORDINATE_SCALE;
+  }
+}
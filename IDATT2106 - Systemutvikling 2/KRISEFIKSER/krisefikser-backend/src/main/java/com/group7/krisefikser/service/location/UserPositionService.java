@@ -6,9 +6,11 @@ import com.group7.krisefikser.dto.response.location.HouseholdMemberPositionRespo
 import com.group7.krisefikser.mapper.location.UserPositionMapper;
 import com.group7.krisefikser.model.location.UserPosition;
 import com.group7.krisefikser.repository.location.UserPositionRepository;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service class for managing user positions.
@@ -19,11 +21,13 @@ import org.springframework.stereotype.Service;
 public class UserPositionService {
 
   private final UserPositionRepository userPositionRepository;
+  private final AreaImpactService areaImpactService;
 
   /**
    * Shares the user's position.
    * If the user is already sharing a position, it updates the existing position.
-   * Otherwise, it adds a new position.
+   * Otherwise, it adds a new position. The impact of the affected areas the user was or is
+   * inside is evicted.
    *
    * @param request The request containing the user's position details.
    */
@@ -37,8 +41,11 @@ public class UserPositionService {
 
     if (!isSharingPosition) {
       userPositionRepository.addUserPosition(userPosition);
+      areaImpactService.positionsChanged(userPosition);
     } else {
+      Optional<UserPosition> old = userPositionRepository.findByUserId(userPosition.getUserId());
       userPositionRepository.updateUserPosition(userPosition);
+      areaImpactService.positionsChanged(old.orElse(null), userPosition);
     }
   }
 
@@ -47,6 +54,7 @@ public class UserPositionService {
    *
    * @return true if the user is sharing their position, false otherwise.
    */
+  @Transactional(readOnly = true)
   public boolean isSharingPosition() {
     String userId = SecurityContextHolder.getContext().getAuthentication().getName();
     return userPositionRepository.isSharingPosition(Long.parseLong(userId));
@@ -58,6 +66,7 @@ public class UserPositionService {
    * @return An array of HouseholdMemberPositionResponse
    *        containing the positions of household members.
    */
+  @Transactional(readOnly = true)
   public HouseholdMemberPositionResponse[] getHouseholdPositions() {
     String userId = SecurityContextHolder.getContext().getAuthentication().getName();
     UserPosition[] userPositions = userPositionRepository
@@ -72,6 +81,7 @@ public class UserPositionService {
    * @return An array of HouseholdMemberPositionResponse
    *        containing the positions of household members.
    */
+  @Transactional(readOnly = true)
   public GroupMemberPositionResponse[] getGroupPositions() {
     String userId = SecurityContextHolder.getContext().getAuthentication().getName();
     UserPosition[] userPositions = userPositionRepository
@@ -83,9 +93,13 @@ public class UserPositionService {
   /**
    * Deletes the user's position.
    * This stops sharing the user's position.
+   * The impact of the affected area the user was inside is evicted.
    */
   public void deleteUserPosition() {
-    String userId = SecurityContextHolder.getContext().getAuthentication().getName();
-    userPositionRepository.deleteUserPosition(Long.parseLong(userId));
+    Long userId = Long.parseLong(
+        SecurityContextHolder.getContext().getAuthentication().getName());
+    Optional<UserPosition> old = userPositionRepository.findByUserId(userId);
+    userPositionRepository.deleteUserPosition(userId);
+    areaImpactService.positionsChanged(old.orElse(null));
   }
 }
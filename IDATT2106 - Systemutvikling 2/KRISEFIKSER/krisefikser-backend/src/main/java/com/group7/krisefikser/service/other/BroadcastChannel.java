@@ -0,0 +1,32 @@
+package com.group7.krisefikser.service.other;
+
+import com.group7.krisefikser.model.other.Broadcast;
+import com.group7.krisefikser.model.other.BroadcastRecipient;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A channel emergency broadcasts are delivered through. The {@link BroadcastService} hands
+ * every batch of recipients to each channel, so a new channel, such as push notifications,
+ * is added by declaring another bean implementing this interface.
+ */
+public interface BroadcastChannel {
+
+  /**
+   * Returns the name the deliveries through this channel are recorded under. It must not
+   * change between releases, or recipients are delivered to again through the channel.
+   *
+   * @return the name of the channel, at most 50 characters
+   */
+  String getName();
+
+  /**
+   * Delivers a broadcast to a batch of recipients. It runs on the thread delivering the
+   * broadcast and should return once the batch has been handed over.
+   *
+   * @param broadcast  the broadcast
+   * @param recipients the recipients of the batch
+   * @return the IDs of the users the delivery failed for
+   */
+  Set<Long> deliver(Broadcast broadcast, List<BroadcastRecipient> recipients);
+}
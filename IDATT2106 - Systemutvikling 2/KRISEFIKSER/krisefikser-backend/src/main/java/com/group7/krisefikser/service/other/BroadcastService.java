@@ -0,0 +1,199 @@
+package com.group7.krisefikser.service.other;
+
+import com.group7.krisefikser.dto.response.other.BroadcastResponse;
+import com.group7.krisefikser.model.location.AffectedArea;
+import com.group7.krisefikser.model.other.Broadcast;
+import com.group7.krisefikser.model.other.BroadcastRecipient;
+import com.group7.krisefikser.repository.other.BroadcastRepo;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service class for emergency broadcasts to everyone inside an affected area.
+ * Creating a severe enough affected area creates a broadcast, which is delivered in the
+ * background: the recipients are resolved once by the database, and then one batch of them
+ * per broadcast is claimed and handed to every {@link BroadcastChannel} on each run. The
+ * batch size and the delay between runs bound how hard a broadcast loads the database and the
+ * mail server, and the progress is stored, so delivery continues after a restart. A batch
+ * claimed by an instance that stopped before marking it as sent is delivered again once its
+ * lease has expired, so a recipient may rarely get a broadcast twice, but never not at all.
+ * A recipient is only marked as sent once every channel has delivered to them. A recipient a
+ * channel failed for stays unsent and is delivered again through that channel once the lease
+ * has expired, until the maximum number of attempts has been made.
+ */
+@Service
+public class BroadcastService {
+  private static final Logger logger = LoggerFactory.getLogger(BroadcastService.class);
+
+  private final BroadcastRepo broadcastRepo;
+  private final List<BroadcastChannel> channels;
+  private final int minSeverity;
+  private final int batchSize;
+  private final Duration lease;
+  private final int maxAttempts;
+
+  /**
+   * Constructor for BroadcastService.
+   *
+   * @param broadcastRepo The repository for broadcasts and their recipients.
+   * @param channels      The channels broadcasts are delivered through.
+   * @param minSeverity   The lowest severity level of an affected area that is broadcast.
+   * @param batchSize     How many recipients are delivered to per broadcast and run.
+   * @param leaseMillis   How long a claimed batch may take before it is delivered again.
+   * @param maxAttempts   How many times delivery to a recipient is tried before giving up.
+   */
+  @Autowired
+  public BroadcastService(BroadcastRepo broadcastRepo,
+                          List<BroadcastChannel> channels,
+                          @Value("${app.broadcast.min-severity:3}") int minSeverity,
+                          @Value("${app.broadcast.batch-size:2000}") int batchSize,
+                          @Value("${app.broadcast.lease-ms:300000}") long leaseMillis,
+                          @Value("${app.broadcast.max-attempts:5}") int maxAttempts) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Broadcast batch size must be positive");
+    }
+    this.broadcastRepo = broadcastRepo;
+    this.channels = channels;
+    this.minSeverity = minSeverity;
+    this.batchSize = batchSize;
+    this.lease = Duration.ofMillis(leaseMillis);
+    this.maxAttempts = maxAttempts;
+  }
+
+  /**
+   * Creates a broadcast to everyone within the outermost danger zone of a new affected area,
+   * if its severity level is high enough. The broadcast is delivered in the background once
+   * the surrounding transaction has committed.
+   *
+   * @param area the affected area, with its ID set
+   * @return the broadcast, or an empty Optional if the area is not severe enough
+   */
+  public Optional<Broadcast> broadcastIncident(AffectedArea area) {
+    if (area.getSeverityLevel() < minSeverity) {
+      return Optional.empty();
+    }
+    double radiusKm = Stream.of(area.getHighDangerRadiusKm(), area.getMediumDangerRadiusKm(),
+            area.getLowDangerRadiusKm())
+        .filter(radius -> radius != null)
+        .mapToDouble(Double::doubleValue)
+        .max()
+        .orElse(0);
+    String message = area.getName() + ": "
+        + (area.getDescription() != null ? area.getDescription() : "");
+    Broadcast broadcast = new Broadcast(null, area.getId(), message, area.getLatitude(),
+        area.getLongitude(), radiusKm, 0, 0, 0, LocalDateTime.now(), null, null);
+    broadcastRepo.create(broadcast);
+    logger.info("Created broadcast {} for affected area {}", broadcast.getId(), area.getId());
+    return Optional.of(broadcast);
+  }
+
+  /**
+   * Delivers the next batch of every broadcast that has not been completed. Runs on the
+   * configured delay after the previous run has finished.
+   */
+  @Scheduled(fixedDelayString = "${app.broadcast.delay-ms:1000}")
+  public void deliverPending() {
+    for (Broadcast broadcast : broadcastRepo.findActive()) {
+      try {
+        deliverBatch(broadcast, LocalDateTime.now());
+      } catch (Exception e) {
+        logger.error("Failed to deliver broadcast {}", broadcast.getId(), e);
+      }
+    }
+  }
+
+  /**
+   * Delivers the next batch of a broadcast, resolving its recipients first if that has not
+   * been done, and completes the broadcast once every recipient has been delivered to.
+   *
+   * @param broadcast the broadcast
+   * @param now       the current time
+   * @return the number of recipients in the batch
+   */
+  public int deliverBatch(Broadcast broadcast, LocalDateTime now) {
+    if (broadcast.getResolvedAt() == null) {
+      int recipients = broadcastRepo.resolveRecipients(broadcast, now);
+      logger.info("Resolved {} recipients of broadcast {}", recipients, broadcast.getId());
+    }
+    broadcastRepo.releaseExpiredClaims(broadcast.getId(), now.minus(lease));
+
+    String token = UUID.randomUUID().toString();
+    if (broadcastRepo.claimBatch(broadcast.getId(), token, batchSize, now) == 0) {
+      if (broadcastRepo.completeIfDelivered(broadcast.getId(), now)) {
+        logger.info("Completed broadcast {}", broadcast.getId());
+      }
+      return 0;
+    }
+
+    List<BroadcastRecipient> recipients = broadcastRepo.findClaimed(token);
+    Set<Long> failed = new HashSet<>();
+    for (BroadcastChannel channel : channels) {
+      Set<Long> delivered = new HashSet<>(broadcastRepo.findDelivered(token, channel.getName()));
+      List<BroadcastRecipient> pending = recipients.stream()
+          .filter(recipient -> !delivered.contains(recipient.getUserId()))
+          .toList();
+      if (pending.isEmpty()) {
+        continue;
+      }
+      Set<Long> channelFailed = channel.deliver(broadcast, pending);
+      broadcastRepo.recordDeliveries(broadcast.getId(), channel.getName(),
+          pending.stream().map(BroadcastRecipient::getUserId).toList(), channelFailed,
+          LocalDateTime.now());
+      if (!channelFailed.isEmpty()) {
+        logger.warn("Channel {} failed to deliver broadcast {} to {} recipients",
+            channel.getName(), broadcast.getId(), channelFailed.size());
+        failed.addAll(channelFailed);
+      }
+    }
+    broadcastRepo.markSent(broadcast.getId(), recipients.stream()
+        .map(BroadcastRecipient::getUserId)
+        .filter(userId -> !failed.contains(userId))
+        .toList(), LocalDateTime.now());
+    int givenUp = broadcastRepo.markFailed(broadcast.getId(), failed, maxAttempts,
+        LocalDateTime.now());
+    if (givenUp > 0) {
+      logger.error("Gave up delivering broadcast {} to {} recipients after {} attempts",
+          broadcast.getId(), givenUp, maxAttempts);
+    }
+    return recipients.size();
+  }
+
+  /**
+   * Returns the broadcasts that are still being delivered, oldest first.
+   *
+   * @return the broadcasts and how far their delivery has come
+   */
+  @Transactional(readOnly = true)
+  public List<BroadcastResponse> getActiveBroadcasts() {
+    return broadcastRepo.findActive().stream()
+        .map(BroadcastResponse::fromEntity)
+        .toList();
+  }
+
+  /**
+   * Returns the progress of a broadcast.
+   *
+   * @param id the ID of the broadcast
+   * @return the broadcast and how far its delivery has come
+   * @throws IllegalArgumentException if the broadcast does not exist
+   */
+  @Transactional(readOnly = true)
+  public BroadcastResponse getBroadcast(long id) {
+    return broadcastRepo.findById(id)
+        .map(BroadcastResponse::fromEntity)
+        .orElseThrow(() -> new IllegalArgumentException("Broadcast not found"));
+  }
+}
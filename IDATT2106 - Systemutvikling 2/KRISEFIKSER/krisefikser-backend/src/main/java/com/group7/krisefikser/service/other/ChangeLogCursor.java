@@ -0,0 +1,168 @@
+package com.group7.krisefikser.service.other;
+
+import com.group7.krisefikser.repository.other.ChangeLogRepo;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service class that tracks how far the change log can be read without skipping a change.
+ * The version of a change is taken when it is inserted, but the change only becomes visible
+ * when its transaction commits, so versions can show up out of order, and a reader that
+ * moved past a missing version would never see it. Every instance polls the log for new
+ * versions, and a missing version is waited for until it shows up or is assumed rolled back,
+ * the same way the cache invalidations are ordered. The version of the cursor is the highest
+ * version up to which every change is visible.
+ * A version that was given up on is still looked for, and if its change was committed after
+ * all, the change is recorded again under a new version, so that readers still see it.
+ */
+@Service
+public class ChangeLogCursor {
+  private static final Logger logger = LoggerFactory.getLogger(ChangeLogCursor.class);
+
+  static final int PAGE_SIZE = 1000;
+  static final int MAX_TRACKED_GAP = 1000;
+
+  private final ChangeLogRepo changeLogRepo;
+  private final long gapTimeoutMillis;
+  private final long lateWatchMillis;
+  private final ReentrantLock pollLock = new ReentrantLock();
+  private final TreeMap<Long, Long> missingSince = new TreeMap<>();
+  private final TreeMap<Long, Long> abandonedSince = new TreeMap<>();
+
+  private long highestSeen;
+  private volatile long version;
+  private volatile boolean started;
+
+  /**
+   * Constructor for ChangeLogCursor.
+   *
+   * @param changeLogRepo    The repository for the change log.
+   * @param gapTimeoutMillis How long to wait for a missing version before assuming that its
+   *                         transaction was rolled back.
+   * @param lateWatchMinutes How long a version that was given up on is still looked for.
+   */
+  @Autowired
+  public ChangeLogCursor(ChangeLogRepo changeLogRepo,
+                         @Value("${app.sync.gap-timeout-ms:10000}") long gapTimeoutMillis,
+                         @Value("${app.sync.late-watch-minutes:60}") long lateWatchMinutes) {
+    this.changeLogRepo = changeLogRepo;
+    this.gapTimeoutMillis = gapTimeoutMillis;
+    this.lateWatchMillis = Duration.ofMinutes(lateWatchMinutes).toMillis();
+  }
+
+  /**
+   * Polls the change log for versions that have become visible since the last poll. The poll
+   * runs in a read-only transaction, so with a read replica the log is read from the same
+   * database as the changes. The first poll starts from the latest version older than the gap
+   * timeout by the clock of the database, so the changes of transactions that started before
+   * the instance are waited for too.
+   */
+  @Scheduled(fixedDelayString = "${app.sync.poll-interval-ms:1000}")
+  @Transactional(readOnly = true)
+  public void poll() {
+    pollLock.lock();
+    try {
+      if (!started) {
+        highestSeen = changeLogRepo.latestVersionOlderThan(Duration.ofMillis(gapTimeoutMillis));
+      }
+      long now = System.currentTimeMillis();
+      abandonTimedOutVersions(now);
+      long after = missingSince.isEmpty() ? highestSeen : missingSince.firstKey() - 1;
+      List<Long> page;
+      do {
+        page = changeLogRepo.findVersionsAfter(after, PAGE_SIZE);
+        for (long visible : page) {
+          receive(visible, now);
+          after = visible;
+        }
+      } while (page.size() == PAGE_SIZE);
+      version = missingSince.isEmpty() ? highestSeen : missingSince.firstKey() - 1;
+      started = true;
+    } finally {
+      pollLock.unlock();
+    }
+  }
+
+  /**
+   * Records the changes that were given up on but have been committed after all again, so
+   * readers that have moved past their versions see them. Runs outside a transaction, so the
+   * changes are looked for in and recorded to the primary database.
+   */
+  @Scheduled(fixedDelayString = "${app.sync.poll-interval-ms:1000}")
+  public void recordLateChanges() {
+    pollLock.lock();
+    try {
+      if (abandonedSince.isEmpty()) {
+        return;
+      }
+      List<Long> late = changeLogRepo.findVersions(List.copyOf(abandonedSince.keySet()));
+      if (late.isEmpty()) {
+        return;
+      }
+      changeLogRepo.recordAgain(late);
+      late.forEach(abandonedSince::remove);
+      logger.warn("Recorded {} changes again that were committed after they were given up on",
+          late.size());
+    } finally {
+      pollLock.unlock();
+    }
+  }
+
+  /**
+   * Returns the highest version up to which every change is visible. Until the first poll,
+   * the log is polled first.
+   *
+   * @return The version.
+   */
+  public long version() {
+    if (!started) {
+      poll();
+    }
+    return version;
+  }
+
+  /**
+   * Gives up waiting for the missing versions that have timed out, but keeps them to look for
+   * until the late watch has passed.
+   */
+  private void abandonTimedOutVersions(long now) {
+    Iterator<Map.Entry<Long, Long>> missing = missingSince.entrySet().iterator();
+    while (missing.hasNext()) {
+      Map.Entry<Long, Long> entry = missing.next();
+      if (now - entry.getValue() >= gapTimeoutMillis) {
+        abandonedSince.put(entry.getKey(), now);
+        missing.remove();
+      }
+    }
+    abandonedSince.values().removeIf(since -> now - since >= lateWatchMillis);
+    while (abandonedSince.size() > MAX_TRACKED_GAP) {
+      abandonedSince.pollFirstEntry();
+    }
+  }
+
+  private void receive(long visible, long now) {
+    if (visible > highestSeen) {
+      if (visible - highestSeen - 1 <= MAX_TRACKED_GAP) {
+        for (long missing = highestSeen + 1; missing < visible; missing++) {
+          missingSince.put(missing, now);
+        }
+      } else {
+        logger.warn("Skipped {} change log versions", visible - highestSeen - 1);
+      }
+      highestSeen = visible;
+    } else {
+      missingSince.remove(visible);
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package com.group7.krisefikser.service.other;
+
+import com.group7.krisefikser.enums.EmailTemplateType;
+import com.group7.krisefikser.model.other.Broadcast;
+import com.group7.krisefikser.model.other.BroadcastRecipient;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers emergency broadcasts by email, sending a batch over one connection to the mail
+ * server.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailBroadcastChannel implements BroadcastChannel {
+  private final EmailService emailService;
+
+  @Override
+  public String getName() {
+    return "email";
+  }
+
+  @Override
+  public Set<Long> deliver(Broadcast broadcast, List<BroadcastRecipient> recipients) {
+    Set<String> failed = new HashSet<>(emailService.sendTemplateMessages(
+        recipients.stream().map(BroadcastRecipient::getEmail).toList(),
+        EmailTemplateType.EMERGENCY_BROADCAST,
+        Map.of("message", broadcast.getMessage())));
+    Set<Long> failedUsers = new HashSet<>();
+    for (BroadcastRecipient recipient : recipients) {
+      if (failed.contains(recipient.getEmail())) {
+        failedUsers.add(recipient.getUserId());
+      }
+    }
+    return failedUsers;
+  }
+}
@@ -1,10 +1,14 @@
 package com.group7.krisefikser.service.other;
 
 import com.group7.krisefikser.enums.EmailTemplateType;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.Async;
@@ -58,4 +62,48 @@ public class EmailService {
     String body = emailTemplateService.getBody(type, params);
     sendSimpleMessage(to, subject, body);
   }
-}
\ No newline at end of file
+
+  /**
+   * Sends the same template-based email to many recipients, as separate messages over one
+   * connection to the mail server. Unlike the other methods, it runs on the calling thread,
+   * so a large batch does not fill the queue of the async executor.
+   *
+   * @param to     The recipients' email addresses.
+   * @param type   The type of the email template.
+   * @param params The parameters to be used in the template.
+   * @return The addresses the email could not be sent to.
+   */
+  public List<String> sendTemplateMessages(List<String> to, EmailTemplateType type,
+                                           Map<String, String> params) {
+    if (to.isEmpty()) {
+      return List.of();
+    }
+    String subject = emailTemplateService.getSubject(type);
+    String body = emailTemplateService.getBody(type, params);
+    SimpleMailMessage[] messages = to.stream().map(address -> {
+      SimpleMailMessage message = new SimpleMailMessage();
+      message.setFrom("krisefikser@gmail.com");
+      message.setTo(address);
+      message.setSubject(subject);
+      message.setText(body);
+      return message;
+    }).toArray(SimpleMailMessage[]::new);
+    try {
+      mailSender.send(messages);
+      logger.info("Email sent to {} recipients", messages.length);
+      return List.of();
+    } catch (MailSendException e) {
+      List<String> failed = e.getFailedMessages().isEmpty() ? to
+          : e.getFailedMessages().keySet().stream()
+              .filter(SimpleMailMessage.class::isInstance)
+              .flatMap(message -> Arrays.stream(((SimpleMailMessage) message).getTo()))
+              .toList();
+      logger.error("Failed to send email to {} of {} recipients: {}", failed.size(),
+          messages.length, e.getMessage());
+      return failed;
+    } catch (MailException e) {
+      logger.error("Failed to send email to {} recipients: {}", messages.length, e.getMessage());
+      return to;
+    }
+  }
+}
@@ -25,6 +25,8 @@ public class EmailTemplateService {
       case ADMIN_INVITE -> "Admin Invite";
       case ADMIN_VERIFICATION -> "Admin Verification";
       case VERIFY_EMAIL -> "Email Verification";
+      case EXPIRY_REMINDER -> "Items Expiring Soon";
+      case EMERGENCY_BROADCAST -> "Emergency Alert";
     };
   }
 
@@ -49,6 +51,10 @@ public class EmailTemplateService {
           + params.get("loginLink");
       case VERIFY_EMAIL -> "Click the link below to verify your email address:\n"
           + params.get("verificationLink");
+      case EXPIRY_REMINDER -> "The following items in your household storage expire soon:\n"
+          + params.get("items");
+      case EMERGENCY_BROADCAST -> "An emergency has been declared in your area.\n"
+          + params.get("message");
     };
   }
 }
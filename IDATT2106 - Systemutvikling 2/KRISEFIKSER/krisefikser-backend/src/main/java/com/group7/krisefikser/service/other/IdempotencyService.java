@@ -0,0 +1,250 @@
+package com.group7.krisefikser.service.other;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.group7.krisefikser.model.other.IdempotentResponse;
+import com.group7.krisefikser.repository.other.IdempotencyKeyRepo;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service class that makes sure a request sent with an idempotency key runs once, however
+ * often it is retried. The first request with a key claims it in the database, runs, and
+ * stores its response, which every retry then gets back. Finished responses are also kept in
+ * a bounded local tier, so a retry that reaches the same instance reads nothing. Duplicates
+ * that arrive while the request is running wait for it: on the same instance they wait for
+ * the running request itself, and on another instance for the response to be stored. A
+ * request that fails releases the key, so it can be tried again.
+ */
+@Service
+public class IdempotencyService {
+  private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+  private final IdempotencyKeyRepo idempotencyKeyRepo;
+  private final Duration ttl;
+  private final long waitMillis;
+  private final long pollMillis;
+  private final Duration lease;
+  private final Cache<String, IdempotentResponse> completed;
+  private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for IdempotencyService.
+   *
+   * @param idempotencyKeyRepo The repository the keys are claimed in.
+   * @param ttlHours           How long a response is kept for retries.
+   * @param localSize          The maximum number of responses kept in the local tier.
+   * @param waitMillis         How long a duplicate waits for the running request before it
+   *                           is told to retry later.
+   * @param pollMillis         How often a duplicate checks whether another instance has
+   *                           finished the request.
+   * @param leaseMillis        How long a claim is held before it is assumed abandoned.
+   */
+  @Autowired
+  public IdempotencyService(IdempotencyKeyRepo idempotencyKeyRepo,
+                            @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+                            @Value("${app.idempotency.local-size:10000}") long localSize,
+                            @Value("${app.idempotency.wait-ms:10000}") long waitMillis,
+                            @Value("${app.idempotency.poll-ms:100}") long pollMillis,
+                            @Value("${app.idempotency.lease-ms:60000}") long leaseMillis) {
+    this.idempotencyKeyRepo = idempotencyKeyRepo;
+    this.ttl = Duration.ofHours(ttlHours);
+    this.waitMillis = waitMillis;
+    this.pollMillis = pollMillis;
+    this.lease = Duration.ofMillis(leaseMillis);
+    this.completed = CacheBuilder.newBuilder()
+        .maximumSize(localSize)
+        .expireAfterWrite(ttlHours, TimeUnit.HOURS)
+        .build();
+  }
+
+  /**
+   * Starts a request with an idempotency key. If the key has been used before, the stored
+   * response is returned. Otherwise the caller now holds the key, and must run the request
+   * and then call {@link #complete} or {@link #release}.
+   *
+   * @param scopeKey    the key, scoped to the user that sent it
+   * @param fingerprint the fingerprint of the request
+   * @return the stored response, or an empty Optional if the caller holds the key
+   * @throws IllegalArgumentException if the key was used for a different request
+   * @throws IllegalStateException    if the request with the key is still running
+   */
+  public Optional<IdempotentResponse> begin(String scopeKey, String fingerprint) {
+    long deadline = System.currentTimeMillis() + waitMillis;
+    while (true) {
+      IdempotentResponse cached = completed.getIfPresent(scopeKey);
+      if (cached != null) {
+        return Optional.of(replay(cached, fingerprint));
+      }
+      InFlight claim = new InFlight();
+      InFlight running = inFlight.putIfAbsent(scopeKey, claim);
+      if (running == null) {
+        return claim(scopeKey, fingerprint, claim, deadline);
+      }
+      IdempotentResponse response = await(running, deadline);
+      if (response != null) {
+        return Optional.of(replay(response, fingerprint));
+      }
+    }
+  }
+
+  /**
+   * Stores the response of a request the caller holds the key of.
+   *
+   * @param scopeKey the key, scoped to the user that sent it
+   * @param response the response
+   */
+  public void complete(String scopeKey, IdempotentResponse response) {
+    InFlight claim = inFlight.get(scopeKey);
+    try {
+      if (!idempotencyKeyRepo.complete(scopeKey, claim.token, response)) {
+        logger.warn("Idempotency key was taken over before its response was stored");
+      }
+    } catch (DataAccessException e) {
+      logger.warn("Could not store the response of an idempotency key", e);
+    }
+    completed.put(scopeKey, response);
+    finish(scopeKey, claim, response);
+  }
+
+  /**
+   * Releases a key the caller holds without storing a response, so that the request can be
+   * tried again.
+   *
+   * @param scopeKey the key, scoped to the user that sent it
+   */
+  public void release(String scopeKey) {
+    InFlight claim = inFlight.get(scopeKey);
+    try {
+      idempotencyKeyRepo.release(scopeKey, claim.token);
+    } catch (DataAccessException e) {
+      logger.warn("Could not release an idempotency key", e);
+    }
+    finish(scopeKey, claim, null);
+  }
+
+  /**
+   * Deletes the keys that have expired. Runs on the configured schedule.
+   */
+  @Scheduled(cron = "${app.idempotency.purge-cron:0 */10 * * * *}")
+  public void purge() {
+    int deleted = idempotencyKeyRepo.deleteExpired(LocalDateTime.now());
+    logger.debug("Deleted {} expired idempotency keys", deleted);
+  }
+
+  /**
+   * Claims a key in the database, or waits for the instance that has claimed it to finish.
+   * Duplicates on this instance wait for the given claim in the meantime.
+   */
+  private Optional<IdempotentResponse> claim(String scopeKey, String fingerprint,
+                                             InFlight claim, long deadline) {
+    try {
+      while (true) {
+        String token = UUID.randomUUID().toString();
+        if (tryClaim(scopeKey, fingerprint, token)) {
+          claim.token = token;
+          return Optional.empty();
+        }
+        Optional<IdempotentResponse> stored = idempotencyKeyRepo.find(scopeKey,
+            LocalDateTime.now());
+        if (stored.isPresent() && stored.get().getStatus() != null) {
+          completed.put(scopeKey, stored.get());
+          finish(scopeKey, claim, stored.get());
+          return Optional.of(replay(stored.get(), fingerprint));
+        }
+        if (stored.isPresent() && !stored.get().getFingerprint().equals(fingerprint)) {
+          throw new IllegalArgumentException("Idempotency key was used for a different request");
+        }
+        if (stored.isPresent()) {
+          sleepUntil(deadline);
+        }
+      }
+    } catch (RuntimeException e) {
+      finish(scopeKey, claim, null);
+      throw e;
+    }
+  }
+
+  private boolean tryClaim(String scopeKey, String fingerprint, String token) {
+    LocalDateTime now = LocalDateTime.now();
+    try {
+      idempotencyKeyRepo.insertClaim(scopeKey, fingerprint, token, now, now.plus(ttl));
+      return true;
+    } catch (DuplicateKeyException e) {
+      return idempotencyKeyRepo.takeOver(scopeKey, fingerprint, token, now.minus(lease), now,
+          now.plus(ttl));
+    }
+  }
+
+  /**
+   * Waits for a request running on this instance, and returns its response, or null if it
+   * failed.
+   */
+  private static IdempotentResponse await(InFlight running, long deadline) {
+    try {
+      return running.response.get(Math.max(0, deadline - System.currentTimeMillis()),
+          TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      throw new IllegalStateException("Request with this idempotency key is still running");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the request", e);
+    } catch (ExecutionException e) {
+      return null;
+    }
+  }
+
+  private void sleepUntil(long deadline) {
+    long remaining = deadline - System.currentTimeMillis();
+    if (remaining <= 0) {
+      throw new IllegalStateException("Request with this idempotency key is still running");
+    }
+    try {
+      Thread.sleep(Math.min(pollMillis, remaining));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the request", e);
+    }
+  }
+
+  /**
+   * Hands the response, or null if the request failed, to the duplicates waiting on this
+   * instance. The claim is removed first, so a duplicate that arrives later finds the
+   * response in the local tier or claims the key itself.
+   */
+  private void finish(String scopeKey, InFlight claim, IdempotentResponse response) {
+    inFlight.remove(scopeKey, claim);
+    claim.response.complete(response);
+  }
+
+  private static IdempotentResponse replay(IdempotentResponse response, String fingerprint) {
+    if (!response.getFingerprint().equals(fingerprint)) {
+      throw new IllegalArgumentException("Idempotency key was used for a different request");
+    }
+    return response;
+  }
+
+  /**
+   * A key being run on this instance, with the token of its claim in the database.
+   */
+  private static final class InFlight {
+    private final CompletableFuture<IdempotentResponse> response = new CompletableFuture<>();
+    private volatile String token;
+  }
+}
@@ -0,0 +1,74 @@
+package com.group7.krisefikser.service.other;
+
+import com.group7.krisefikser.repository.other.NameSequenceRepo;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service class for allocating unique names, such as household names and admin usernames.
+ * Instead of checking whether a name is taken before using it, the name is inserted directly
+ * and the unique constraint of the table decides. When the name is taken, the insert is
+ * retried with a suffix from a shared sequence, so a name is allocated in a single round trip
+ * unless it collides, and two concurrent requests can never be given the same name.
+ * Suffixes are reserved from the database in blocks, so most retries need no extra query.
+ */
+@Service
+@RequiredArgsConstructor
+public class NameAllocationService {
+  static final int BLOCK_SIZE = 100;
+  static final int MAX_ATTEMPTS = 5;
+
+  private final NameSequenceRepo nameSequenceRepo;
+  private final ReentrantLock suffixLock = new ReentrantLock();
+
+  private long nextSuffix;
+  private long suffixLimit;
+
+  /**
+   * Allocates a name by inserting it, retrying with a suffix while the name is taken.
+   *
+   * @param name       The name to try first.
+   * @param withSuffix Builds the name to retry with from a suffix.
+   * @param insert     Inserts a row with the given name, throwing a
+   *                   {@link DuplicateKeyException} if the name is taken.
+   * @param <T>        The result of the insert.
+   * @return The result of the first insert that succeeded.
+   * @throws DuplicateKeyException if every attempt collided with an existing name.
+   */
+  public <T> T allocate(String name, LongFunction<String> withSuffix,
+                        Function<String, T> insert) {
+    String candidate = name;
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return insert.apply(candidate);
+      } catch (DuplicateKeyException e) {
+        if (attempt == MAX_ATTEMPTS) {
+          throw e;
+        }
+        candidate = withSuffix.apply(nextSuffix());
+      }
+    }
+  }
+
+  /**
+   * Takes the next suffix from the current block, reserving a new block when it is used up.
+   * A lock is used rather than synchronized, since reserving a block blocks on the database
+   * and would otherwise pin a virtual thread to its carrier.
+   */
+  long nextSuffix() {
+    suffixLock.lock();
+    try {
+      if (nextSuffix == suffixLimit) {
+        nextSuffix = nameSequenceRepo.reserveBlock() * BLOCK_SIZE;
+        suffixLimit = nextSuffix + BLOCK_SIZE;
+      }
+      return nextSuffix++;
+    } finally {
+      suffixLock.unlock();
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.group7.krisefikser.service.other;
 import com.group7.krisefikser.dto.response.location.AffectedAreaResponse;
 import com.group7.krisefikser.dto.response.other.NotificationResponse;
 import com.group7.krisefikser.service.location.AffectedAreaService;
+import com.group7.krisefikser.service.location.GeoDistance;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -18,7 +19,6 @@ import org.springframework.stereotype.Service;
 public class NotificationService {
 
   private final AffectedAreaService affectedAreaService;
-  private static final double EARTH_RADIUS_KM = 6371.0;
 
   /**
    * Retrieves a list of incident notifications.
@@ -39,7 +39,8 @@ public class NotificationService {
   /**
    * Calculates the distance between two geographical points using the Haversine formula.
    * This method is used to determine the distance between two points on the Earth's surface
-   * given their latitude and longitude.
+   * given their latitude and longitude. Use {@link GeoDistance} to measure many points
+   * against the same point.
    *
    * @param lat1 the latitude of the first point
    * @param lon1 the longitude of the first point
@@ -48,15 +49,6 @@ public class NotificationService {
    * @return the distance in kilometers between the two points
    */
   public static double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-    double latDistance = Math.toRadians(lat2 - lat1);
-    double lonDistance = Math.toRadians(lon2 - lon1);
-
-    double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-        + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-        * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-
-    double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-
-    return EARTH_RADIUS_KM * c;
+    return GeoDistance.haversineKm(lat1, lon1, lat2, lon2);
   }
 }
@@ -0,0 +1,282 @@
+package com.group7.krisefikser.service.other;
+
+import com.group7.krisefikser.dto.request.location.GetPointsOfInterestRequest;
+import com.group7.krisefikser.dto.response.household.GetHouseholdMembersResponse;
+import com.group7.krisefikser.dto.response.item.ItemResponse;
+import com.group7.krisefikser.dto.response.item.StorageItemResponse;
+import com.group7.krisefikser.dto.response.location.AffectedAreaResponse;
+import com.group7.krisefikser.dto.response.location.PointOfInterestResponse;
+import com.group7.krisefikser.dto.response.other.SyncChanges;
+import com.group7.krisefikser.dto.response.other.SyncResponse;
+import com.group7.krisefikser.enums.SyncEntity;
+import com.group7.krisefikser.model.item.Item;
+import com.group7.krisefikser.model.item.StorageItem;
+import com.group7.krisefikser.model.other.ChangeLogEntry;
+import com.group7.krisefikser.repository.item.StorageItemRepo;
+import com.group7.krisefikser.repository.other.ChangeLogRepo;
+import com.group7.krisefikser.repository.user.UserRepository;
+import com.group7.krisefikser.service.household.HouseholdService;
+import com.group7.krisefikser.service.item.ItemService;
+import com.group7.krisefikser.service.location.AffectedAreaService;
+import com.group7.krisefikser.service.location.PointOfInterestService;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service class for syncing offline clients from the change log.
+ * A client sends the token from its last sync and is given only the entities inserted,
+ * updated or deleted since then, so the cost of a sync follows the number of changes rather
+ * than the size of the collections. A client without a token, or with a token older than the
+ * retained log, is sent every collection in full.
+ * Changes are only synced up to the version of the {@link ChangeLogCursor}, since a
+ * transaction that started earlier may still commit a change with a lower version.
+ */
+@Service
+public class SyncService {
+  private static final Logger logger = LoggerFactory.getLogger(SyncService.class);
+  private static final String TOKEN_SEPARATOR = ":";
+
+  static final int MAX_CHANGES = 1000;
+
+  private final ChangeLogRepo changeLogRepo;
+  private final ChangeLogCursor changeLogCursor;
+  private final StorageItemRepo storageItemRepo;
+  private final UserRepository userRepository;
+  private final ItemService itemService;
+  private final HouseholdService householdService;
+  private final AffectedAreaService affectedAreaService;
+  private final PointOfInterestService pointOfInterestService;
+  private final int retentionDays;
+
+  /**
+   * Constructor for SyncService.
+   *
+   * @param changeLogRepo          The repository for the change log.
+   * @param changeLogCursor        The cursor that tells how far the change log can be read.
+   * @param storageItemRepo        The repository used to load changed storage items.
+   * @param userRepository         The repository used to find the household of the user.
+   * @param itemService            The service used to look up the items of storage items.
+   * @param householdService       The service used to load the members of the household.
+   * @param affectedAreaService    The service used to load changed affected areas.
+   * @param pointOfInterestService The service used to load changed points of interest.
+   * @param retentionDays          How many days changes are kept in the log.
+   */
+  @Autowired
+  public SyncService(ChangeLogRepo changeLogRepo,
+                     ChangeLogCursor changeLogCursor,
+                     StorageItemRepo storageItemRepo,
+                     UserRepository userRepository,
+                     ItemService itemService,
+                     HouseholdService householdService,
+                     AffectedAreaService affectedAreaService,
+                     PointOfInterestService pointOfInterestService,
+                     @Value("${app.sync.retention-days:30}") int retentionDays) {
+    this.changeLogRepo = changeLogRepo;
+    this.changeLogCursor = changeLogCursor;
+    this.storageItemRepo = storageItemRepo;
+    this.userRepository = userRepository;
+    this.itemService = itemService;
+    this.householdService = householdService;
+    this.affectedAreaService = affectedAreaService;
+    this.pointOfInterestService = pointOfInterestService;
+    this.retentionDays = retentionDays;
+  }
+
+  /**
+   * Returns the changes visible to the current user since the given token.
+   *
+   * @param token the token returned by the previous sync, or null for the first sync
+   * @return the changes and the token for the next sync
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  @Transactional(readOnly = true)
+  public SyncResponse sync(String token) {
+    Long userId = Long.parseLong(SecurityContextHolder.getContext().getAuthentication().getName());
+    Long householdId = userRepository.findHouseholdIdByUserId(userId);
+    long upTo = changeLogCursor.version();
+
+    if (token == null || token.isBlank()) {
+      return fullSync(upTo, householdId);
+    }
+    String[] parts = decodeToken(token);
+    long since = parseVersion(parts[0]);
+    Long tokenHouseholdId = parts[1].isEmpty() ? null : parseVersion(parts[1]);
+    if (!Objects.equals(tokenHouseholdId, householdId)
+        || since < changeLogRepo.oldestVersion() - 1) {
+      return fullSync(upTo, householdId);
+    }
+    if (since >= upTo) {
+      return new SyncResponse(token, false, false, SyncChanges.unchanged(),
+          SyncChanges.unchanged(), SyncChanges.unchanged(), SyncChanges.unchanged());
+    }
+
+    List<ChangeLogEntry> changes = changeLogRepo.findAfter(since, upTo, householdId, MAX_CHANGES);
+    boolean hasMore = changes.size() == MAX_CHANGES;
+    long version = hasMore ? changes.get(changes.size() - 1).getVersion() : upTo;
+
+    Set<SyncEntity> replaced = EnumSet.noneOf(SyncEntity.class);
+    Map<SyncEntity, Map<Long, Boolean>> deletedById = new EnumMap<>(SyncEntity.class);
+    for (ChangeLogEntry change : changes) {
+      if (change.getEntityId() == null) {
+        replaced.add(change.getEntityType());
+      } else {
+        deletedById.computeIfAbsent(change.getEntityType(), type -> new LinkedHashMap<>())
+            .put(change.getEntityId(), change.isDeleted());
+      }
+    }
+
+    return new SyncResponse(encodeToken(version, householdId), false, hasMore,
+        storageItemChanges(householdId, replaced, deletedById),
+        replaced.contains(SyncEntity.HOUSEHOLD_MEMBERS)
+            ? SyncChanges.replacedBy(members(householdId)) : SyncChanges.unchanged(),
+        changesIn(affectedAreaService::getAllAffectedAreas, AffectedAreaResponse::getId,
+            deletedById.getOrDefault(SyncEntity.AFFECTED_AREA, Map.of())),
+        changesIn(this::allPointsOfInterest, PointOfInterestResponse::getId,
+            deletedById.getOrDefault(SyncEntity.POINT_OF_INTEREST, Map.of())));
+  }
+
+  /**
+   * Deletes the changes older than the retention period. Clients whose token is older are
+   * sent every collection in full at their next sync. Runs on the configured schedule.
+   */
+  @Scheduled(cron = "${app.sync.purge-cron:0 30 3 * * *}")
+  public void purge() {
+    int deleted = changeLogRepo.deleteOlderThan(LocalDateTime.now().minusDays(retentionDays));
+    logger.info("Deleted {} old changes from the change log", deleted);
+  }
+
+  private SyncResponse fullSync(long version, Long householdId) {
+    List<StorageItemResponse> storageItems = householdId != null
+        ? toResponses(storageItemRepo.getAllStorageItems(householdId.intValue()))
+        : List.of();
+    return new SyncResponse(encodeToken(version, householdId), true, false,
+        SyncChanges.replacedBy(storageItems),
+        SyncChanges.replacedBy(members(householdId)),
+        SyncChanges.replacedBy(affectedAreaService.getAllAffectedAreas()),
+        SyncChanges.replacedBy(allPointsOfInterest()));
+  }
+
+  private SyncChanges<StorageItemResponse> storageItemChanges(
+      Long householdId, Set<SyncEntity> replaced,
+      Map<SyncEntity, Map<Long, Boolean>> deletedById) {
+    if (householdId == null) {
+      return SyncChanges.unchanged();
+    }
+    if (replaced.contains(SyncEntity.STORAGE_ITEM)) {
+      return SyncChanges.replacedBy(
+          toResponses(storageItemRepo.getAllStorageItems(householdId.intValue())));
+    }
+    Map<Long, Boolean> changed = deletedById.getOrDefault(SyncEntity.STORAGE_ITEM, Map.of());
+    if (changed.isEmpty()) {
+      return SyncChanges.unchanged();
+    }
+    List<Long> upsertIds = changed.entrySet().stream()
+        .filter(entry -> !entry.getValue())
+        .map(Map.Entry::getKey)
+        .toList();
+    List<StorageItemResponse> upserted =
+        toResponses(storageItemRepo.findByIds(upsertIds, householdId.intValue()));
+    return new SyncChanges<>(false, upserted,
+        deletedIds(changed, upserted, response -> (long) response.getId()));
+  }
+
+  /**
+   * Picks the changed entities from a cached collection, which is only read if something in
+   * it changed. Entities that were changed but no longer exist are sent as deleted.
+   */
+  private static <T> SyncChanges<T> changesIn(Supplier<List<T>> all, Function<T, Long> id,
+                                              Map<Long, Boolean> changed) {
+    if (changed.isEmpty()) {
+      return SyncChanges.unchanged();
+    }
+    List<T> upserted = all.get().stream()
+        .filter(entity -> Boolean.FALSE.equals(changed.get(id.apply(entity))))
+        .toList();
+    return new SyncChanges<>(false, upserted, deletedIds(changed, upserted, id));
+  }
+
+  private static <T> List<Long> deletedIds(Map<Long, Boolean> changed, List<T> upserted,
+                                           Function<T, Long> id) {
+    Set<Long> found = upserted.stream().map(id).collect(Collectors.toSet());
+    List<Long> deleted = new ArrayList<>();
+    for (Long changedId : changed.keySet()) {
+      if (!found.contains(changedId)) {
+        deleted.add(changedId);
+      }
+    }
+    return deleted;
+  }
+
+  private List<GetHouseholdMembersResponse> members(Long householdId) {
+    return householdId != null ? householdService.getHouseholdMembers() : List.of();
+  }
+
+  private List<PointOfInterestResponse> allPointsOfInterest() {
+    return pointOfInterestService.getPointsOfInterestByTypes(
+        new GetPointsOfInterestRequest(List.of()));
+  }
+
+  private List<StorageItemResponse> toResponses(List<StorageItem> storageItems) {
+    Map<Integer, Item> items = itemService.getAllItems().stream()
+        .collect(Collectors.toMap(Item::getId, Function.identity(), (a, b) -> a));
+    return storageItems.stream()
+        .map(storageItem -> {
+          Item item = items.get(storageItem.getItemId());
+          return item != null
+              ? StorageItemResponse.fromEntityWithItem(storageItem, ItemResponse.fromEntity(item))
+              : StorageItemResponse.fromEntity(storageItem);
+        })
+        .toList();
+  }
+
+  private static String encodeToken(long version, Long householdId) {
+    String raw = version + TOKEN_SEPARATOR + (householdId != null ? householdId : "");
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String[] decodeToken(String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      String[] parts = raw.split(TOKEN_SEPARATOR, -1);
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Invalid sync token");
+      }
+      return parts;
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid sync token", e);
+    }
+  }
+
+  private static long parseVersion(String value) {
+    try {
+      long version = Long.parseLong(value);
+      if (version < 0) {
+        throw new IllegalArgumentException("Invalid sync token");
+      }
+      return version;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid sync token", e);
+    }
+  }
+}
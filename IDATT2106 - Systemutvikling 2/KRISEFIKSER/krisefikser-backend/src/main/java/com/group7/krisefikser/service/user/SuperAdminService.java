@@ -9,7 +9,9 @@ import com.group7.krisefikser.exception.UsernameGenerationException;
 import com.group7.krisefikser.mapper.user.AdminMapper;
 import com.group7.krisefikser.model.user.User;
 import com.group7.krisefikser.repository.user.UserRepository;
+import com.group7.krisefikser.service.household.HouseholdCache;
 import com.group7.krisefikser.service.other.EmailService;
+import com.group7.krisefikser.service.other.NameAllocationService;
 import com.group7.krisefikser.utils.JwtUtils;
 import com.group7.krisefikser.utils.UuidUtils;
 import java.util.List;
@@ -17,6 +19,7 @@ import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -43,6 +46,8 @@ public class SuperAdminService {
   private final UserService userService;
   private final JwtUtils jwtUtils;
   private final EmailService emailService;
+  private final NameAllocationService nameAllocationService;
+  private final HouseholdCache householdCache;
 
   /**
    * Invites an admin by generating a jwt invite token and sending an email with the invite link.
@@ -53,18 +58,16 @@ public class SuperAdminService {
   public void inviteAdmin(InviteAdminRequest request)
       throws JwtMissingPropertyException, UsernameGenerationException {
 
-    String username = "admin" + UuidUtils.generateShortenedUuid();
-
-    for (int i = 0; i < 15; i++) {
-      if (userRepository.existAdminByUsername(username)) {
-        username = "admin" + UuidUtils.generateShortenedUuid();
-      } else {
-        break;
-      }
-    }
-
-    if (userRepository.existAdminByUsername(username)) {
-      throw new UsernameGenerationException("Failed to generate a unique username");
+    String baseName = "admin" + UuidUtils.generateShortenedUuid();
+    String username;
+    try {
+      username = nameAllocationService.allocate(baseName, suffix -> "admin" + suffix,
+          name -> {
+            userRepository.reserveUsername(name);
+            return name;
+          });
+    } catch (DuplicateKeyException e) {
+      throw new UsernameGenerationException("Failed to generate a unique username", e);
     }
 
     String inviteToken = jwtUtils.generateInviteToken(username);
@@ -118,6 +121,8 @@ public class SuperAdminService {
           throw new IllegalArgumentException("User is not an admin");
         }
         userRepository.deleteById(adminId);
+        householdCache.evictUser(adminId);
+        householdCache.evictHousehold(user.get().getHouseholdId());
       } else {
         throw new IllegalArgumentException("User not found");
       }
@@ -0,0 +1,216 @@
+package com.group7.krisefikser.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.http.MediaType;
+
+/**
+ * Utility class for reading large uploads of records, either as a JSON array or as CSV.
+ * The input is parsed as a stream and handed over in chunks of a fixed size, so the memory
+ * used does not grow with the size of the upload.
+ */
+public class BulkRecordReader {
+
+  /**
+   * Media type of CSV uploads.
+   */
+  public static final String TEXT_CSV_VALUE = "text/csv";
+
+  /**
+   * Private constructor to prevent instantiation of the utility class.
+   */
+  private BulkRecordReader() {
+  }
+
+  /**
+   * The formats an upload can be read from.
+   */
+  public enum Format {
+    JSON,
+    CSV;
+
+    /**
+     * Resolves the format from the content type of a request.
+     * Anything that is not CSV is read as JSON.
+     *
+     * @param contentType the content type header, may be null
+     * @return the format of the upload
+     */
+    public static Format fromContentType(String contentType) {
+      if (contentType != null
+              && MediaType.parseMediaType(contentType).isCompatibleWith(
+                      MediaType.parseMediaType(TEXT_CSV_VALUE))) {
+        return CSV;
+      }
+      return JSON;
+    }
+  }
+
+  /**
+   * Callback receiving the records of an upload one chunk at a time.
+   *
+   * @param <T> the type of the records
+   */
+  @FunctionalInterface
+  public interface ChunkHandler<T> {
+    /**
+     * Handles a chunk of records.
+     *
+     * @param chunk  the records of the chunk
+     * @param offset the number of records before this chunk, used for error messages
+     */
+    void handle(List<T> chunk, int offset);
+  }
+
+  /**
+   * Reads a JSON array of records, one element at a time.
+   *
+   * @param in           the input to read
+   * @param objectMapper the mapper used to bind each element
+   * @param type         the type of the records
+   * @param chunkSize    the number of records per chunk
+   * @param handler      the handler receiving the chunks
+   * @param <T>          the type of the records
+   * @return the total number of records read
+   * @throws IOException if the input could not be read or is not a JSON array
+   */
+  public static <T> int readJsonArray(InputStream in, ObjectMapper objectMapper, Class<T> type,
+                                      int chunkSize, ChunkHandler<T> handler)
+          throws IOException {
+    try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new IllegalArgumentException("Expected a JSON array of records");
+      }
+      List<T> chunk = new ArrayList<>(chunkSize);
+      int total = 0;
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        chunk.add(objectMapper.readValue(parser, type));
+        if (chunk.size() == chunkSize) {
+          handler.handle(chunk, total);
+          total += chunk.size();
+          chunk = new ArrayList<>(chunkSize);
+        }
+      }
+      return flush(chunk, total, handler);
+    }
+  }
+
+  /**
+   * Reads CSV records, one line at a time. The first line must be a header naming the columns.
+   * Column names are matched without regard to case and underscores, so both "itemId" and
+   * "item_id" are accepted. Values may be enclosed in double quotes.
+   *
+   * @param in        the input to read
+   * @param rowMapper maps the values of a row, keyed by normalized column name, to a record
+   * @param chunkSize the number of records per chunk
+   * @param handler   the handler receiving the chunks
+   * @param <T>       the type of the records
+   * @return the total number of records read
+   * @throws IOException if the input could not be read
+   */
+  public static <T> int readCsv(InputStream in, Function<Map<String, String>, T> rowMapper,
+                                int chunkSize, ChunkHandler<T> handler) throws IOException {
+    try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(in, StandardCharsets.UTF_8))) {
+      String headerLine = reader.readLine();
+      if (headerLine == null) {
+        return 0;
+      }
+      List<String> header = splitCsvLine(stripByteOrderMark(headerLine)).stream()
+              .map(BulkRecordReader::normalizeColumn)
+              .toList();
+
+      List<T> chunk = new ArrayList<>(chunkSize);
+      int total = 0;
+      int lineNumber = 1;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.isBlank()) {
+          continue;
+        }
+        List<String> values = splitCsvLine(line);
+        if (values.size() != header.size()) {
+          throw new IllegalArgumentException("Line " + lineNumber + ": expected "
+                  + header.size() + " values but found " + values.size());
+        }
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+          row.put(header.get(i), values.get(i));
+        }
+        try {
+          chunk.add(rowMapper.apply(row));
+        } catch (IllegalArgumentException e) {
+          throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+        }
+        if (chunk.size() == chunkSize) {
+          handler.handle(chunk, total);
+          total += chunk.size();
+          chunk = new ArrayList<>(chunkSize);
+        }
+      }
+      return flush(chunk, total, handler);
+    }
+  }
+
+  /**
+   * Normalizes a column name so it can be looked up regardless of its case and underscores.
+   *
+   * @param column the column name
+   * @return the normalized column name
+   */
+  public static String normalizeColumn(String column) {
+    return column.trim().replace("_", "").toLowerCase(Locale.ROOT);
+  }
+
+  private static <T> int flush(List<T> chunk, int total, ChunkHandler<T> handler) {
+    if (!chunk.isEmpty()) {
+      handler.handle(chunk, total);
+    }
+    return total + chunk.size();
+  }
+
+  private static String stripByteOrderMark(String line) {
+    return line.startsWith("\uFEFF") ? line.substring(1) : line;
+  }
+
+  private static List<String> splitCsvLine(String line) {
+    List<String> values = new ArrayList<>();
+    StringBuilder value = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          value.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          value.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        values.add(value.toString().trim());
+        value.setLength(0);
+      } else {
+        value.append(c);
+      }
+    }
+    values.add(value.toString().trim());
+    return values;
+  }
+}
@@ -0,0 +1,53 @@
+package com.group7.krisefikser.utils;
+
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+
+/**
+ * Utility class for repository lookups that may not find a row.
+ * Unlike {@link JdbcTemplate#queryForObject}, a missing row is reported as an empty
+ * Optional rather than an EmptyResultDataAccessException, so a lookup that misses,
+ * such as one for an unknown email or invitation token, costs no more than one that hits.
+ */
+public class QueryUtils {
+
+  private QueryUtils() {
+  }
+
+  /**
+   * Runs a query expected to return at most one row and maps the first row.
+   * Any further rows are not read.
+   *
+   * @param jdbcTemplate The JdbcTemplate to run the query with.
+   * @param sql          The SQL of the query.
+   * @param rowMapper    Maps the row to an object.
+   * @param args         The arguments of the query.
+   * @param <T>          The type of the result.
+   * @return The mapped row, or an empty Optional if there is no row or it maps to null.
+   */
+  public static <T> Optional<T> findOne(JdbcTemplate jdbcTemplate, String sql,
+                                        RowMapper<T> rowMapper, Object... args) {
+    ResultSetExtractor<Optional<T>> firstRow = rs ->
+        rs.next() ? Optional.ofNullable(rowMapper.mapRow(rs, 0)) : Optional.empty();
+    Optional<T> result = jdbcTemplate.query(sql, firstRow, args);
+    return result != null ? result : Optional.empty();
+  }
+
+  /**
+   * Runs a query expected to return at most one row with a single column.
+   *
+   * @param jdbcTemplate The JdbcTemplate to run the query with.
+   * @param sql          The SQL of the query.
+   * @param type         The type of the column.
+   * @param args         The arguments of the query.
+   * @param <T>          The type of the result.
+   * @return The value of the column, or an empty Optional if there is no row or it is NULL.
+   */
+  public static <T> Optional<T> findOne(JdbcTemplate jdbcTemplate, String sql, Class<T> type,
+                                        Object... args) {
+    return findOne(jdbcTemplate, sql, new SingleColumnRowMapper<>(type), args);
+  }
+}
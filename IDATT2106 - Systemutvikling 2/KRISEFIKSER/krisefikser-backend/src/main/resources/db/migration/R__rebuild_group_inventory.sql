@@ -0,0 +1,19 @@
+-- Rebuilds the group inventory projection from the storage items.
+-- Runs after all versioned migrations (including seed data), and again whenever this file changes.
+DELETE FROM group_inventory;
+DELETE FROM group_inventory_contributions;
+
+INSERT INTO group_inventory_contributions
+    (emergency_group_id, item_id, household_id, total_quantity, earliest_expiration)
+SELECT h.emergency_group_id, si.item_id, si.household_id, SUM(si.quantity),
+       MIN(si.expiration_date)
+FROM storage_items si
+JOIN households h ON si.household_id = h.id
+WHERE si.is_shared = TRUE AND h.emergency_group_id IS NOT NULL
+GROUP BY h.emergency_group_id, si.item_id, si.household_id;
+
+INSERT INTO group_inventory
+    (emergency_group_id, item_id, total_quantity, earliest_expiration, household_count)
+SELECT emergency_group_id, item_id, SUM(total_quantity), MIN(earliest_expiration), COUNT(*)
+FROM group_inventory_contributions
+GROUP BY emergency_group_id, item_id;
@@ -0,0 +1,14 @@
+CREATE INDEX idx_storage_items_household_shared_item ON storage_items (household_id, is_shared, item_id);
+CREATE INDEX idx_storage_items_household_expiration ON storage_items (household_id, expiration_date);
+
+CREATE INDEX idx_households_emergency_group ON households (emergency_group_id);
+
+CREATE INDEX idx_emergency_group_invitations_household_group
+    ON emergency_group_invitations (household_id, emergency_group_id);
+
+CREATE INDEX idx_household_invitations_token ON household_invitations (invitation_token);
+CREATE INDEX idx_household_invitations_email ON household_invitations (invited_email);
+
+CREATE INDEX idx_points_of_interest_type ON points_of_interest (type);
+
+CREATE INDEX idx_users_role_name ON users (role, name);
@@ -0,0 +1,23 @@
+CREATE TABLE group_inventory_contributions (
+    emergency_group_id  INT       NOT NULL,
+    item_id             INT       NOT NULL,
+    household_id        INT       NOT NULL,
+    total_quantity      DOUBLE    NOT NULL,
+    earliest_expiration TIMESTAMP NULL,
+    PRIMARY KEY (emergency_group_id, item_id, household_id),
+    FOREIGN KEY (emergency_group_id) REFERENCES emergency_groups (id) ON DELETE CASCADE,
+    FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
+    FOREIGN KEY (household_id) REFERENCES households (id) ON DELETE CASCADE,
+    INDEX (household_id, item_id)
+);
+
+CREATE TABLE group_inventory (
+    emergency_group_id  INT       NOT NULL,
+    item_id             INT       NOT NULL,
+    total_quantity      DOUBLE    NOT NULL,
+    earliest_expiration TIMESTAMP NULL,
+    household_count     INT       NOT NULL,
+    PRIMARY KEY (emergency_group_id, item_id),
+    FOREIGN KEY (emergency_group_id) REFERENCES emergency_groups (id) ON DELETE CASCADE,
+    FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE
+);
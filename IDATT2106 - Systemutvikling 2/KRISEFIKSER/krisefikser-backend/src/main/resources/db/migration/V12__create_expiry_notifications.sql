@@ -0,0 +1,14 @@
+CREATE INDEX idx_storage_items_expiration ON storage_items (expiration_date, id);
+
+CREATE TABLE expiry_notifications (
+    storage_item_id INT       NOT NULL,
+    threshold_days  INT       NOT NULL,
+    household_id    INT       NOT NULL,
+    expiration_date TIMESTAMP NOT NULL,
+    queued_at       TIMESTAMP NOT NULL,
+    sent_at         TIMESTAMP NULL,
+    PRIMARY KEY (storage_item_id, threshold_days),
+    FOREIGN KEY (storage_item_id) REFERENCES storage_items (id) ON DELETE CASCADE,
+    FOREIGN KEY (household_id) REFERENCES households (id) ON DELETE CASCADE,
+    INDEX (household_id, sent_at)
+);
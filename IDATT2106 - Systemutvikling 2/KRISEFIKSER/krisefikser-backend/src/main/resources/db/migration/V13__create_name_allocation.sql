@@ -0,0 +1,12 @@
+CREATE TABLE reserved_usernames (
+    username    VARCHAR(255) PRIMARY KEY,
+    reserved_at TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO reserved_usernames (username)
+SELECT DISTINCT name FROM users WHERE role = 'ROLE_ADMIN';
+
+CREATE TABLE name_suffix_blocks (
+    id          BIGINT    PRIMARY KEY AUTO_INCREMENT,
+    reserved_at TIMESTAMP NOT NULL
+);
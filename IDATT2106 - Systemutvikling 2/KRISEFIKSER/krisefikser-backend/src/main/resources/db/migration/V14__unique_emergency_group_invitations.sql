@@ -0,0 +1,13 @@
+DELETE FROM emergency_group_invitations
+WHERE id NOT IN (
+    SELECT id FROM (
+        SELECT MIN(id) AS id FROM emergency_group_invitations
+        GROUP BY household_id, emergency_group_id
+    ) AS kept
+);
+
+ALTER TABLE emergency_group_invitations
+    ADD CONSTRAINT uq_emergency_group_invitations_household_group
+    UNIQUE (household_id, emergency_group_id);
+
+DROP INDEX idx_emergency_group_invitations_household_group ON emergency_group_invitations;
@@ -0,0 +1,7 @@
+CREATE TABLE cache_invalidations (
+    id         BIGINT       PRIMARY KEY AUTO_INCREMENT,
+    cache_name VARCHAR(64)  NOT NULL,
+    cache_key  VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP    NOT NULL,
+    INDEX (created_at)
+);
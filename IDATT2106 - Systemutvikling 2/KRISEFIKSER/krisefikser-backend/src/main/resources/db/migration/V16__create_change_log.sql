@@ -0,0 +1,10 @@
+CREATE TABLE change_log (
+    id           BIGINT      PRIMARY KEY AUTO_INCREMENT,
+    entity_type  VARCHAR(32) NOT NULL,
+    entity_id    BIGINT,
+    household_id BIGINT,
+    deleted      BOOLEAN     NOT NULL DEFAULT FALSE,
+    created_at   TIMESTAMP   NOT NULL,
+    INDEX (household_id, id),
+    INDEX (created_at)
+);
@@ -0,0 +1,5 @@
+-- Bounding box lookups range scan these indexes on latitude only. The longitude is not a
+-- range in the index, but it is filtered from the index entries before any row is read.
+CREATE INDEX idx_households_latitude_longitude ON households (latitude, longitude);
+
+CREATE INDEX idx_user_position_latitude_longitude ON user_position (latitude, longitude);
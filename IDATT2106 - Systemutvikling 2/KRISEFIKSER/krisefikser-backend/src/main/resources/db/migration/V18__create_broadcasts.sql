@@ -0,0 +1,28 @@
+CREATE TABLE broadcasts (
+    id               BIGINT PRIMARY KEY AUTO_INCREMENT,
+    affected_area_id INT           NULL,
+    message          VARCHAR(2000) NOT NULL,
+    latitude         DOUBLE        NOT NULL,
+    longitude        DOUBLE        NOT NULL,
+    radius_km        DOUBLE        NOT NULL,
+    total_recipients INT           NOT NULL DEFAULT 0,
+    sent             INT           NOT NULL DEFAULT 0,
+    failed           INT           NOT NULL DEFAULT 0,
+    created_at       TIMESTAMP     NOT NULL,
+    resolved_at      TIMESTAMP     NULL,
+    completed_at     TIMESTAMP     NULL,
+    INDEX (completed_at)
+);
+
+CREATE TABLE broadcast_recipients (
+    broadcast_id BIGINT    NOT NULL,
+    user_id      INT       NOT NULL,
+    claim_token  CHAR(36)  NULL,
+    claimed_at   TIMESTAMP NULL,
+    sent_at      TIMESTAMP NULL,
+    PRIMARY KEY (broadcast_id, user_id),
+    FOREIGN KEY (broadcast_id) REFERENCES broadcasts (id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    INDEX (broadcast_id, claim_token, user_id),
+    INDEX (claim_token)
+);
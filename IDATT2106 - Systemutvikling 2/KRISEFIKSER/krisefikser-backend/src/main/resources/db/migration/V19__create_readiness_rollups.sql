@@ -0,0 +1,48 @@
+CREATE TABLE household_readiness (
+    household_id     INT         PRIMARY KEY,
+    region           VARCHAR(12) NOT NULL,
+    residents        INT         NOT NULL,
+    non_user_members INT         NOT NULL,
+    food_days        DOUBLE      NULL,
+    water_days       DOUBLE      NULL,
+    readiness_days   DOUBLE      NULL,
+    computed_at      TIMESTAMP   NOT NULL,
+    FOREIGN KEY (household_id) REFERENCES households (id) ON DELETE CASCADE,
+    INDEX (region)
+);
+
+CREATE TABLE household_item_type_stock (
+    household_id INT         NOT NULL,
+    item_type    VARCHAR(16) NOT NULL,
+    quantity     DOUBLE      NOT NULL,
+    PRIMARY KEY (household_id, item_type),
+    FOREIGN KEY (household_id) REFERENCES households (id) ON DELETE CASCADE
+);
+
+CREATE TABLE readiness_rollups (
+    region             VARCHAR(12) PRIMARY KEY,
+    households         INT         NOT NULL,
+    residents          INT         NOT NULL,
+    non_user_members   INT         NOT NULL,
+    rated_households   INT         NOT NULL,
+    food_days_sum      DOUBLE      NOT NULL,
+    water_days_sum     DOUBLE      NOT NULL,
+    readiness_days_sum DOUBLE      NOT NULL,
+    under_three_days   INT         NOT NULL,
+    computed_at        TIMESTAMP   NOT NULL
+);
+
+CREATE TABLE readiness_item_type_rollups (
+    region             VARCHAR(12) NOT NULL,
+    item_type          VARCHAR(16) NOT NULL,
+    households_stocked INT         NOT NULL,
+    quantity           DOUBLE      NOT NULL,
+    PRIMARY KEY (region, item_type)
+);
+
+CREATE TABLE readiness_rollup_checkpoint (
+    id                INT       PRIMARY KEY,
+    last_version      BIGINT    NOT NULL,
+    last_run          TIMESTAMP NOT NULL,
+    region_precision  INT       NOT NULL
+);
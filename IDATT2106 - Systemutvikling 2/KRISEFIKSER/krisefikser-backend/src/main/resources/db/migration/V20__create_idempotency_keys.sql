@@ -0,0 +1,11 @@
+CREATE TABLE idempotency_keys (
+    scope_key    CHAR(64)     PRIMARY KEY,
+    fingerprint  CHAR(64)     NOT NULL,
+    claim_token  CHAR(36)     NOT NULL,
+    status       INT          NULL,
+    content_type VARCHAR(255) NULL,
+    body         MEDIUMBLOB   NULL,
+    claimed_at   TIMESTAMP    NOT NULL,
+    expires_at   TIMESTAMP    NOT NULL,
+    INDEX (expires_at)
+);
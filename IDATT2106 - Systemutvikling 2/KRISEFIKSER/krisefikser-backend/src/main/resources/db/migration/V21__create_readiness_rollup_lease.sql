@@ -0,0 +1,5 @@
+CREATE TABLE readiness_rollup_lease (
+    id           INT       PRIMARY KEY,
+    token        CHAR(36)  NOT NULL,
+    leased_until TIMESTAMP NOT NULL
+);
@@ -0,0 +1,13 @@
+ALTER TABLE broadcast_recipients ADD COLUMN attempts INT NOT NULL DEFAULT 0;
+ALTER TABLE broadcast_recipients ADD COLUMN failed_at TIMESTAMP NULL;
+
+CREATE TABLE broadcast_deliveries (
+    broadcast_id BIGINT      NOT NULL,
+    user_id      INT         NOT NULL,
+    channel      VARCHAR(50) NOT NULL,
+    attempts     INT         NOT NULL DEFAULT 0,
+    delivered_at TIMESTAMP   NULL,
+    PRIMARY KEY (broadcast_id, user_id, channel),
+    FOREIGN KEY (broadcast_id, user_id) REFERENCES broadcast_recipients (broadcast_id, user_id)
+        ON DELETE CASCADE
+);
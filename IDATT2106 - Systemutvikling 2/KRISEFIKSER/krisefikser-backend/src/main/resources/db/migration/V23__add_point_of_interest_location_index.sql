@@ -0,0 +1 @@
+CREATE INDEX idx_points_of_interest_latitude_longitude ON points_of_interest (latitude, longitude);
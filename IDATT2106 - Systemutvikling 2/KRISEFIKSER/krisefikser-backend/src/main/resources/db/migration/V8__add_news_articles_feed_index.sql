@@ -0,0 +1 @@
+CREATE INDEX idx_news_articles_published_at_id ON news_articles (published_at, id);
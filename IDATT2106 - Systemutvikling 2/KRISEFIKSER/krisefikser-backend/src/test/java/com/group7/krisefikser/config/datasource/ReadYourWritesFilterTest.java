@@ -0,0 +1,95 @@
+package com.group7.krisefikser.config.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesFilterTest {
+
+  private final ReadYourWritesTracker tracker = new ReadYourWritesTracker("secret", 60_000);
+  private final ReadYourWritesFilter filter = new ReadYourWritesFilter(tracker);
+  private final AtomicBoolean readFromPrimary = new AtomicBoolean();
+  private final FilterChain chain = (req, res) -> readFromPrimary.set(tracker.readsFromPrimary());
+
+  @BeforeEach
+  void setUp() {
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken("1", null, List.of()));
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void write_readsFromPrimaryAndSetsSignedCookie() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(new MockHttpServletRequest("POST", "/api/storage-items"), response, chain);
+
+    assertThat(readFromPrimary).isTrue();
+    assertThat(tracker.readsFromPrimary()).isFalse();
+    Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+    assertThat(cookie).isNotNull();
+    assertThat(cookie.isHttpOnly()).isTrue();
+    assertThat(tracker.wroteRecently("1", cookie.getValue(), System.currentTimeMillis()))
+        .isTrue();
+  }
+
+  @Test
+  void write_setsCookieBeforeTheResponseIsCommitted() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(new MockHttpServletRequest("PUT", "/api/storage-items/1"), response,
+        (req, res) -> res.getWriter().flush());
+
+    assertThat(response.getCookie(ReadYourWritesFilter.COOKIE_NAME)).isNotNull();
+  }
+
+  @Test
+  void readWithRecentWriteCookie_readsFromPrimary() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/storage-items");
+    request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME,
+        tracker.sign("1", System.currentTimeMillis())));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, chain);
+
+    assertThat(readFromPrimary).isTrue();
+    assertThat(response.getCookie(ReadYourWritesFilter.COOKIE_NAME)).isNull();
+  }
+
+  @Test
+  void readWithCookieOfAnotherUser_readsFromReplica() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/storage-items");
+    request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME,
+        tracker.sign("2", System.currentTimeMillis())));
+
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    assertThat(readFromPrimary).isFalse();
+  }
+
+  @Test
+  void requestWithoutAuthentication_readsFromReplica() throws Exception {
+    SecurityContextHolder.clearContext();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(new MockHttpServletRequest("POST", "/api/auth/login"), response, chain);
+
+    assertThat(readFromPrimary).isFalse();
+    assertThat(response.getCookie(ReadYourWritesFilter.COOKIE_NAME)).isNull();
+  }
+}
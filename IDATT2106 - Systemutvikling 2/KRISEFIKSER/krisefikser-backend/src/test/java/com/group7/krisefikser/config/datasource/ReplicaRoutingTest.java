@@ -0,0 +1,103 @@
+package com.group7.krisefikser.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingTest {
+
+  private DataSource primary;
+  private DataSource replica;
+
+  @BeforeEach
+  void setUp() {
+    primary = database("routing_primary");
+    replica = database("routing_replica");
+  }
+
+  @AfterEach
+  void tearDown() {
+    new ReadYourWritesTracker("secret", 0).reset();
+  }
+
+  @Test
+  void readOnlyTransaction_usesReplica() {
+    JdbcTemplate jdbcTemplate = routedTemplate(tracker(60_000));
+
+    assertThat(query(jdbcTemplate, true)).isEqualTo("routing_replica");
+  }
+
+  @Test
+  void writeTransactionAndNoTransaction_usePrimary() {
+    JdbcTemplate jdbcTemplate = routedTemplate(tracker(60_000));
+
+    assertThat(query(jdbcTemplate, false)).isEqualTo("routing_primary");
+    assertThat(jdbcTemplate.queryForObject("SELECT name FROM source", String.class))
+        .isEqualTo("routing_primary");
+  }
+
+  @Test
+  void readOnlyTransaction_whileReadingFromPrimary_usesPrimary() {
+    ReadYourWritesTracker tracker = tracker(60_000);
+    JdbcTemplate jdbcTemplate = routedTemplate(tracker);
+    tracker.readFromPrimary();
+
+    assertThat(query(jdbcTemplate, true)).isEqualTo("routing_primary");
+
+    tracker.reset();
+    assertThat(query(jdbcTemplate, true)).isEqualTo("routing_replica");
+  }
+
+  @Test
+  void wroteRecently_acceptsOnlyValuesSignedForTheUserWithinTheWindow() {
+    ReadYourWritesTracker tracker = tracker(5_000);
+    String value = tracker.sign("1", 1_000);
+
+    assertThat(tracker.wroteRecently("1", value, 5_999)).isTrue();
+    assertThat(tracker.wroteRecently("1", value, 6_000)).isFalse();
+    assertThat(tracker.wroteRecently("2", value, 2_000)).isFalse();
+    assertThat(tracker.wroteRecently("1", tracker(5_000, "other").sign("1", 1_000), 2_000))
+        .isFalse();
+    assertThat(tracker.wroteRecently("1", "2000." + value.substring(5), 2_000)).isFalse();
+    assertThat(tracker.wroteRecently("1", "garbage", 2_000)).isFalse();
+    assertThat(tracker.wroteRecently("1", null, 2_000)).isFalse();
+  }
+
+  private JdbcTemplate routedTemplate(ReadYourWritesTracker tracker) {
+    return new JdbcTemplate(ReplicaDataSourceConfig.routingDataSource(primary, replica, tracker));
+  }
+
+  private static String query(JdbcTemplate jdbcTemplate, boolean readOnly) {
+    TransactionTemplate transaction =
+        new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+    transaction.setReadOnly(readOnly);
+    return transaction.execute(status ->
+        jdbcTemplate.queryForObject("SELECT name FROM source", String.class));
+  }
+
+  private static ReadYourWritesTracker tracker(long windowMillis) {
+    return tracker(windowMillis, "secret");
+  }
+
+  private static ReadYourWritesTracker tracker(long windowMillis, String secret) {
+    return new ReadYourWritesTracker(secret, windowMillis);
+  }
+
+  private static DataSource database(String name) {
+    DriverManagerDataSource dataSource =
+        new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS source (name VARCHAR(50))");
+    jdbcTemplate.update("DELETE FROM source");
+    jdbcTemplate.update("INSERT INTO source (name) VALUES (?)", name);
+    return dataSource;
+  }
+}
@@ -0,0 +1,83 @@
+package com.group7.krisefikser.config.jdbc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitedDataSourceTest {
+
+  private DriverManagerDataSource target;
+
+  @BeforeEach
+  void setUp() {
+    target = new DriverManagerDataSource("jdbc:h2:mem:jdbc_limit;DB_CLOSE_DELAY=-1", "sa", "");
+  }
+
+  @Test
+  void closingConnection_releasesPermitOnce() throws Exception {
+    ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 2, 0, 0);
+
+    Connection connection = dataSource.getConnection();
+    assertThat(dataSource.availablePermits()).isEqualTo(1);
+
+    connection.close();
+    connection.close();
+    assertThat(dataSource.availablePermits()).isEqualTo(2);
+  }
+
+  @Test
+  void getConnection_overLimitWithoutWaiting_isRejected() throws Exception {
+    ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, 0, 0);
+
+    try (Connection ignored = dataSource.getConnection()) {
+      assertThatThrownBy(dataSource::getConnection)
+          .isInstanceOf(SQLTransientConnectionException.class);
+    }
+    assertThat(dataSource.availablePermits()).isEqualTo(1);
+  }
+
+  @Test
+  void getConnection_waitsForReleasedConnection() throws Exception {
+    ConcurrencyLimitedDataSource dataSource =
+        new ConcurrencyLimitedDataSource(target, 1, 10, 5000);
+    Connection first = dataSource.getConnection();
+    CountDownLatch waiting = new CountDownLatch(1);
+
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    try {
+      Future<Integer> result = executor.submit(() -> {
+        waiting.countDown();
+        return new JdbcTemplate(dataSource).queryForObject("SELECT 1", Integer.class);
+      });
+      waiting.await();
+      first.close();
+
+      assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(dataSource.availablePermits()).isEqualTo(1);
+  }
+
+  @Test
+  void failedConnection_releasesPermit() {
+    DriverManagerDataSource broken = new DriverManagerDataSource("jdbc:no-such-driver:test");
+    ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(broken, 1, 0, 0);
+
+    assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class);
+    assertThat(dataSource.availablePermits()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,114 @@
+package com.group7.krisefikser.config.jdbc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InstrumentedDataSourceTest {
+
+  private SimpleMeterRegistry registry;
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    DriverManagerDataSource target = new DriverManagerDataSource(
+        "jdbc:h2:mem:jdbc_metrics;DB_CLOSE_DELAY=-1", "sa", "");
+    InstrumentedDataSource dataSource =
+        new InstrumentedDataSource(target, new JdbcMetrics(registry, 250, 10));
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("DROP TABLE IF EXISTS metric_items");
+    jdbcTemplate.execute("CREATE TABLE metric_items (id INT PRIMARY KEY, name VARCHAR(50))");
+  }
+
+  @Test
+  void update_recordsTimerAndAffectedRows() {
+    String sql = "INSERT INTO metric_items (id, name) VALUES (?, ?)";
+    jdbcTemplate.update(sql, 1, "Water");
+
+    Timer timer = registry.find(JdbcMetrics.QUERY_TIMER)
+        .tag("sql", "INSERT INTO metric_items (id, name) VALUES (?)")
+        .tag("outcome", "success")
+        .timer();
+    assertThat(timer).isNotNull();
+    assertThat(timer.count()).isEqualTo(1);
+
+    DistributionSummary rows = registry.find(JdbcMetrics.QUERY_ROWS)
+        .tag("sql", "INSERT INTO metric_items (id, name) VALUES (?)")
+        .summary();
+    assertThat(rows).isNotNull();
+    assertThat(rows.totalAmount()).isEqualTo(1);
+  }
+
+  @Test
+  void query_recordsRowsReadFromResultSet() {
+    jdbcTemplate.batchUpdate("INSERT INTO metric_items (id, name) VALUES (?, ?)",
+        List.of(new Object[] {1, "Water"}, new Object[] {2, "Food"}, new Object[] {3, "Radio"}));
+
+    List<String> names = jdbcTemplate.queryForList(
+        "SELECT name FROM metric_items WHERE id > ?", String.class, 1);
+
+    assertThat(names).hasSize(2);
+    DistributionSummary rows = registry.find(JdbcMetrics.QUERY_ROWS)
+        .tag("sql", "SELECT name FROM metric_items WHERE id > ?")
+        .summary();
+    assertThat(rows).isNotNull();
+    assertThat(rows.totalAmount()).isEqualTo(2);
+  }
+
+  @Test
+  void failingStatement_isRecordedAsError() {
+    assertThatThrownBy(() -> jdbcTemplate.queryForList("SELECT * FROM missing_table"))
+        .isInstanceOf(Exception.class);
+
+    Timer timer = registry.find(JdbcMetrics.QUERY_TIMER)
+        .tag("outcome", "error")
+        .timer();
+    assertThat(timer).isNotNull();
+    assertThat(timer.count()).isEqualTo(1);
+  }
+
+  @Test
+  void getConnection_recordsAcquireTime() {
+    jdbcTemplate.queryForObject("SELECT COUNT(*) FROM metric_items", Integer.class);
+
+    Timer timer = registry.find(JdbcMetrics.CONNECTION_ACQUIRE_TIMER).timer();
+    assertThat(timer).isNotNull();
+    assertThat(timer.count()).isGreaterThan(0);
+  }
+
+  @Test
+  void statementsBeyondTheLimit_shareTheOtherMeters() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    JdbcMetrics metrics = new JdbcMetrics(registry, 250, 2);
+    for (int id = 0; id < 5; id++) {
+      metrics.recordExecution("SELECT name FROM metric_items WHERE id = " + id, 1000, true);
+      metrics.recordExecution("SELECT name FROM metric_items WHERE id = " + id, 1000, true);
+    }
+
+    assertThat(registry.find(JdbcMetrics.QUERY_TIMER).timers()).hasSize(3);
+    Timer other = registry.find(JdbcMetrics.QUERY_TIMER)
+        .tag("sql", JdbcMetrics.OTHER_SQL)
+        .tag("outcome", "success")
+        .timer();
+    assertThat(other).isNotNull();
+    assertThat(other.count()).isEqualTo(6);
+  }
+
+  @Test
+  void normalize_collapsesWhitespaceAndPlaceholderLists() {
+    String normalized = JdbcMetrics.normalize(
+        "SELECT *\n  FROM items\n WHERE id IN (?, ?,?)");
+
+    assertThat(normalized).isEqualTo("SELECT * FROM items WHERE id IN (?)");
+  }
+}
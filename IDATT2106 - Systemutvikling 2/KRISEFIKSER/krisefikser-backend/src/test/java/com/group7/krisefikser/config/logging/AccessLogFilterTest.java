@@ -0,0 +1,54 @@
+package com.group7.krisefikser.config.logging;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogFilterTest {
+
+  private final AccessLogFilter filter = new AccessLogFilter(1.0, 1000);
+
+  @Test
+  void requestId_isInLoggingContextDuringRequestAndReturned() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/storage-items");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    AtomicReference<String> seen = new AtomicReference<>();
+    FilterChain chain = (req, res) -> seen.set(MDC.get(AccessLogFilter.REQUEST_ID_KEY));
+
+    filter.doFilter(request, response, chain);
+
+    assertThat(seen.get()).isNotBlank();
+    assertThat(response.getHeader(AccessLogFilter.REQUEST_ID_HEADER)).isEqualTo(seen.get());
+    assertThat(MDC.get(AccessLogFilter.REQUEST_ID_KEY)).isNull();
+  }
+
+  @Test
+  void validIncomingRequestId_isKept() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/storage-items");
+    request.addHeader(AccessLogFilter.REQUEST_ID_HEADER, "abc-123");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, (req, res) -> { });
+
+    assertThat(response.getHeader(AccessLogFilter.REQUEST_ID_HEADER)).isEqualTo("abc-123");
+  }
+
+  @Test
+  void invalidIncomingRequestId_isReplaced() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/storage-items");
+    request.addHeader(AccessLogFilter.REQUEST_ID_HEADER, "bad id\nwith newline");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, (req, res) -> { });
+
+    assertThat(response.getHeader(AccessLogFilter.REQUEST_ID_HEADER))
+        .isNotEqualTo("bad id\nwith newline")
+        .matches("[0-9a-f]+");
+  }
+}
@@ -0,0 +1,113 @@
+package com.group7.krisefikser.config.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group7.krisefikser.dto.response.item.AggregatedStorageItemResponse;
+import com.group7.krisefikser.dto.response.item.ItemResponse;
+import com.group7.krisefikser.dto.response.location.GroupMemberPositionResponse;
+import com.group7.krisefikser.dto.response.location.PointOfInterestResponse;
+import com.group7.krisefikser.enums.ItemType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the size on the wire and the time to serialize the largest responses as JSON and
+ * CBOR, each with and without gzip. Only runs when asked for, with
+ * {@code ./mvnw test -Dtest=EncodingBenchmarkTest -Dbenchmark=true},
+ * and prints the bytes and the average time per response.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EncodingBenchmarkTest {
+  private static final int SIZE = 1_000;
+  private static final int WARMUP = 2_000;
+  private static final int ITERATIONS = 5_000;
+
+  private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+  private final ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+
+  @Test
+  void compareEncodings() {
+    report("aggregated storage items", aggregatedStorageItems());
+    report("group member positions", groupMemberPositions());
+    report("points of interest", pointsOfInterest());
+  }
+
+  private void report(String name, Object payload) {
+    System.out.printf("%s (%d entries)%n", name, SIZE);
+    report("json", () -> write(json, payload));
+    report("json+gzip", () -> gzip(write(json, payload)));
+    report("cbor", () -> write(cbor, payload));
+    report("cbor+gzip", () -> gzip(write(cbor, payload)));
+  }
+
+  private static void report(String encoding, Supplier<byte[]> encoder) {
+    for (int i = 0; i < WARMUP; i++) {
+      encoder.get();
+    }
+    int bytes = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      bytes = encoder.get().length;
+    }
+    long microsPerResponse = (System.nanoTime() - start) / ITERATIONS / 1_000;
+    System.out.printf("  %-10s %8d bytes %6d us/response%n", encoding, bytes, microsPerResponse);
+  }
+
+  private static byte[] write(ObjectMapper mapper, Object payload) {
+    try {
+      return mapper.writeValueAsBytes(payload);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static byte[] gzip(byte[] bytes) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(bytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private static List<AggregatedStorageItemResponse> aggregatedStorageItems() {
+    List<AggregatedStorageItemResponse> items = new ArrayList<>();
+    for (int i = 0; i < SIZE; i++) {
+      items.add(new AggregatedStorageItemResponse(i,
+          new ItemResponse(i, "Item " + i, "kg", 100 + i, ItemType.FOOD),
+          i * 0.75, LocalDateTime.of(2030, 1, 1, 0, 0).plusHours(i)));
+    }
+    return items;
+  }
+
+  private static GroupMemberPositionResponse[] groupMemberPositions() {
+    GroupMemberPositionResponse[] positions = new GroupMemberPositionResponse[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      positions[i] = new GroupMemberPositionResponse();
+      positions[i].setLatitude(63.4305 + i * 0.000123);
+      positions[i].setLongitude(10.3951 + i * 0.000321);
+      positions[i].setName("Member " + i);
+    }
+    return positions;
+  }
+
+  private static List<PointOfInterestResponse> pointsOfInterest() {
+    List<PointOfInterestResponse> points = new ArrayList<>();
+    for (int i = 0; i < SIZE; i++) {
+      points.add(new PointOfInterestResponse((long) i, 63.4305 + i * 0.000123,
+          10.3951 + i * 0.000321, "SHELTER", "08:00", "20:00", "12345678",
+          "Shelter number " + i));
+    }
+    return points;
+  }
+}
@@ -0,0 +1,161 @@
+package com.group7.krisefikser.config.web;
+
+import com.group7.krisefikser.model.other.IdempotentResponse;
+import com.group7.krisefikser.service.other.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class IdempotencyFilterTest {
+
+  private final IdempotencyService idempotencyService = mock(IdempotencyService.class);
+  private final IdempotencyFilter filter = new IdempotencyFilter(idempotencyService,
+      List.of("/api/position/share"), 1024);
+
+  @Test
+  void firstRequest_runsWithItsBodyAndStoresTheResponse() throws Exception {
+    when(idempotencyService.begin(anyString(), anyString())).thenReturn(Optional.empty());
+    AtomicReference<String> seenBody = new AtomicReference<>();
+    FilterChain chain = (req, res) -> {
+      seenBody.set(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+      res.setContentType("text/plain");
+      res.getWriter().write("Position shared successfully");
+    };
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request("key-1", "{\"latitude\":1}"), response, chain);
+
+    assertThat(seenBody.get()).isEqualTo("{\"latitude\":1}");
+    assertThat(response.getContentAsString()).isEqualTo("Position shared successfully");
+    assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    verify(idempotencyService).complete(anyString(), any(IdempotentResponse.class));
+    verify(idempotencyService, never()).release(anyString());
+  }
+
+  @Test
+  void retry_getsTheStoredResponseWithoutRunning() throws Exception {
+    when(idempotencyService.begin(anyString(), anyString())).thenReturn(Optional.of(
+        new IdempotentResponse("fingerprint", 200, "text/plain", "stored".getBytes())));
+    AtomicInteger runs = new AtomicInteger();
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request("key-1", "{}"), response, (req, res) -> runs.incrementAndGet());
+
+    assertThat(runs.get()).isZero();
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(response.getContentAsString()).isEqualTo("stored");
+    assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+  }
+
+  @Test
+  void sameKeyWithDifferentBody_hasSameScopeButDifferentFingerprint() throws Exception {
+    when(idempotencyService.begin(anyString(), anyString())).thenReturn(Optional.empty());
+
+    filter.doFilter(request("key-1", "{}"), new MockHttpServletResponse(), (req, res) -> { });
+    filter.doFilter(request("key-1", "{\"a\":1}"), new MockHttpServletResponse(),
+        (req, res) -> { });
+
+    ArgumentCaptor<String> scopes = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<String> fingerprints = ArgumentCaptor.forClass(String.class);
+    verify(idempotencyService, times(2)).begin(scopes.capture(), fingerprints.capture());
+    assertThat(scopes.getAllValues().get(0)).matches("[0-9a-f]{64}")
+        .isEqualTo(scopes.getAllValues().get(1));
+    assertThat(fingerprints.getAllValues().get(0))
+        .isNotEqualTo(fingerprints.getAllValues().get(1));
+  }
+
+  @Test
+  void serverError_releasesTheKey() throws Exception {
+    when(idempotencyService.begin(anyString(), anyString())).thenReturn(Optional.empty());
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request("key-1", "{}"), response, (req, res) ->
+        ((HttpServletResponse) res).setStatus(500));
+
+    assertThat(response.getStatus()).isEqualTo(500);
+    verify(idempotencyService).release(anyString());
+    verify(idempotencyService, never()).complete(anyString(), any());
+  }
+
+  @Test
+  void keyReusedForDifferentRequest_isRejected() throws Exception {
+    when(idempotencyService.begin(anyString(), anyString()))
+        .thenThrow(new IllegalArgumentException("different request"));
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request("key-1", "{}"), response, (req, res) -> { });
+
+    assertThat(response.getStatus()).isEqualTo(422);
+  }
+
+  @Test
+  void keyStillRunning_isConflict() throws Exception {
+    when(idempotencyService.begin(anyString(), anyString()))
+        .thenThrow(new IllegalStateException("still running"));
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request("key-1", "{}"), response, (req, res) -> { });
+
+    assertThat(response.getStatus()).isEqualTo(409);
+    assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+  }
+
+  @Test
+  void invalidKey_isRejected() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request("bad key\n", "{}"), response, (req, res) -> { });
+
+    assertThat(response.getStatus()).isEqualTo(400);
+    verifyNoInteractions(idempotencyService);
+  }
+
+  @Test
+  void requestsWithoutKeyOrToOtherPaths_passThrough() throws Exception {
+    AtomicInteger runs = new AtomicInteger();
+    FilterChain chain = (req, res) -> runs.incrementAndGet();
+
+    MockHttpServletRequest withoutKey = new MockHttpServletRequest("POST", "/api/position/share");
+    filter.doFilter(withoutKey, new MockHttpServletResponse(), chain);
+    MockHttpServletRequest otherPath = request("key-1", "{}");
+    otherPath.setRequestURI("/api/storage-items");
+    filter.doFilter(otherPath, new MockHttpServletResponse(), chain);
+
+    assertThat(runs.get()).isEqualTo(2);
+    verifyNoInteractions(idempotencyService);
+  }
+
+  @Test
+  void largeBody_isPassedOnWholeWithoutTheKey() throws Exception {
+    String body = "x".repeat(2000);
+    AtomicReference<String> seenBody = new AtomicReference<>();
+    FilterChain chain = (req, res) ->
+        seenBody.set(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+
+    filter.doFilter(request("key-1", body), new MockHttpServletResponse(), chain);
+
+    assertThat(seenBody.get()).isEqualTo(body);
+    verifyNoInteractions(idempotencyService);
+  }
+
+  private static MockHttpServletRequest request(String key, String body) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/position/share");
+    request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+    request.setContentType("application/json");
+    request.setContent(body.getBytes(StandardCharsets.UTF_8));
+    return request;
+  }
+}
@@ -1,6 +1,7 @@
 package com.group7.krisefikser.controller;
 
 import com.group7.krisefikser.dto.response.article.NewsArticleResponse;
+import com.group7.krisefikser.dto.response.article.NewsFeedResponse;
 import com.group7.krisefikser.dto.response.article.ShortenedNewsArticleResponse;
 import com.group7.krisefikser.service.article.NewsArticleService;
 
@@ -15,6 +16,7 @@ import org.springframework.http.MediaType;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -95,4 +97,32 @@ class NewsArticleControllerTest {
     mockMvc.perform(get("/api/news/1").accept(MediaType.APPLICATION_JSON))
         .andExpect(status().isInternalServerError());
   }
-}
\ No newline at end of file
+
+  @Test
+  void testGetNewsFeed_ReturnsPageWithCursor() throws Exception {
+    ShortenedNewsArticleResponse article = new ShortenedNewsArticleResponse();
+    article.setId(1L);
+    article.setTitle("Title One");
+    article.setPublishedAt("2025-05-07T08:00");
+
+    when(newsArticleService.getNewsFeed(null, 1, null))
+        .thenReturn(new NewsFeedResponse(List.of(article), "abc"));
+
+    mockMvc.perform(get("/api/news/feed").param("limit", "1")
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.articles.length()").value(1))
+        .andExpect(jsonPath("$.articles[0].title").value("Title One"))
+        .andExpect(jsonPath("$.nextCursor").value("abc"));
+  }
+
+  @Test
+  void testGetNewsFeed_InvalidCursor() throws Exception {
+    when(newsArticleService.getNewsFeed(any(), any(), any()))
+        .thenThrow(new IllegalArgumentException("Invalid news feed cursor"));
+
+    mockMvc.perform(get("/api/news/feed").param("cursor", "bad")
+            .accept(MediaType.APPLICATION_JSON))
+        .andExpect(status().isBadRequest());
+  }
+}
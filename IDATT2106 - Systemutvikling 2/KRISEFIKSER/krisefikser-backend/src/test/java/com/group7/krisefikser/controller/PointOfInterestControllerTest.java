@@ -2,6 +2,7 @@ package com.group7.krisefikser.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.group7.krisefikser.dto.request.location.GetPointsOfInterestRequest;
 import com.group7.krisefikser.dto.request.location.PointOfInterestRequest;
 import com.group7.krisefikser.dto.response.location.PointOfInterestResponse;
@@ -107,6 +108,39 @@ class PointOfInterestControllerTest {
     assertEquals("SHELTER", actualResponses.get(0).getType());
   }
 
+  /**
+   * Test for the getPointsOfInterest method.
+   * This test verifies that the points of interest are encoded as CBOR
+   * when the client asks for it, and as JSON otherwise.
+   *
+   * @throws Exception if an error occurs during the test
+   */
+  @Test
+  void getPointsOfInterest_shouldReturnCbor_whenClientAcceptsCbor() throws Exception {
+    GetPointsOfInterestRequest request = new GetPointsOfInterestRequest(List.of("SHELTER"));
+    List<PointOfInterestResponse> mockResponses = List.of(
+            new PointOfInterestResponse(1L, 63.4297, 10.3933, "SHELTER",
+                    "08:00", "20:00", "123456789", "A shelter for people in need"));
+    when(pointOfInterestService.getPointsOfInterestByTypes(request)).thenReturn(mockResponses);
+
+    MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(BASE_URL + "?types=SHELTER")
+                    .accept(MediaType.APPLICATION_CBOR))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn();
+
+    List<PointOfInterestResponse> actualResponses = new CBORMapper().readValue(
+            result.getResponse().getContentAsByteArray(),
+            new TypeReference<List<PointOfInterestResponse>>() {
+            });
+    assertEquals(mockResponses, actualResponses);
+
+    mockMvc.perform(MockMvcRequestBuilders.get(BASE_URL + "?types=SHELTER")
+                    .accept(MediaType.ALL))
+            .andExpect(MockMvcResultMatchers.content()
+                    .contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+  }
+
   /**
    * Test for the getPointsOfInterest method.
    * This test verifies that the method returns an empty list
@@ -6,14 +6,20 @@ import com.group7.krisefikser.dto.request.item.ChangeStorageItemSharedStatusRequ
 import com.group7.krisefikser.dto.request.item.StorageItemRequest;
 import com.group7.krisefikser.dto.request.item.StorageItemSortRequest;
 import com.group7.krisefikser.dto.response.item.AggregatedStorageItemResponse;
+import com.group7.krisefikser.dto.response.item.BulkStorageItemResponse;
 import com.group7.krisefikser.dto.response.item.ItemResponse;
 import com.group7.krisefikser.dto.response.item.StorageItemGroupResponse;
 import com.group7.krisefikser.dto.response.item.StorageItemResponse;
+import com.group7.krisefikser.enums.ExportFormat;
 import com.group7.krisefikser.enums.ItemType;
 import com.group7.krisefikser.model.item.StorageItem;
+import com.group7.krisefikser.service.household.HouseholdService;
 import com.group7.krisefikser.service.item.ItemService;
+import com.group7.krisefikser.service.item.StorageItemBulkService;
+import com.group7.krisefikser.service.item.StorageItemExportService;
 import com.group7.krisefikser.service.item.StorageItemService;
 import com.group7.krisefikser.service.user.UserService;
+import com.group7.krisefikser.utils.BulkRecordReader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +32,8 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
@@ -49,6 +57,15 @@ class StorageItemControllerTest {
   @MockitoBean
   private StorageItemService storageItemService;
 
+  @MockitoBean
+  private StorageItemBulkService storageItemBulkService;
+
+  @MockitoBean
+  private StorageItemExportService storageItemExportService;
+
+  @MockitoBean
+  private HouseholdService householdService;
+
   @MockitoBean
   private ItemService itemService;
 
@@ -63,7 +80,8 @@ class StorageItemControllerTest {
   @BeforeEach
   void setup() {
     // Reset all mocks before each test
-    reset(storageItemService, itemService, userService);
+    reset(storageItemService, storageItemBulkService, storageItemExportService,
+            householdService, itemService, userService);
 
     when(userService.getCurrentUserHouseholdId()).thenReturn(MOCK_HOUSEHOLD_ID);
   }
@@ -653,6 +671,90 @@ class StorageItemControllerTest {
 
   // Helper methods to create test data
 
+
+  @Test
+  @WithMockUser
+  void addStorageItemsInBulk_csv_returnsCreatedWithCount() throws Exception {
+    when(storageItemBulkService.addStorageItems(eq(MOCK_HOUSEHOLD_ID), any(),
+            eq(BulkRecordReader.Format.CSV))).thenReturn(new BulkStorageItemResponse(2));
+
+    mockMvc.perform(post("/api/storage-items/household/bulk")
+                    .contentType("text/csv")
+                    .content("expirationDate,quantity,itemId\n2030-01-01,1,1\n2030-01-01,2,2\n"))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.count").value(2));
+  }
+
+  @Test
+  @WithMockUser
+  void addStorageItemsInBulk_invalidRow_returnsBadRequest() throws Exception {
+    when(storageItemBulkService.addStorageItems(eq(MOCK_HOUSEHOLD_ID), any(),
+            eq(BulkRecordReader.Format.JSON)))
+            .thenThrow(new IllegalArgumentException("Row 1: Invalid item ID"));
+
+    mockMvc.perform(post("/api/storage-items/household/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{\"quantity\":1}]"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Row 1: Invalid item ID"));
+  }
+
+  @Test
+  @WithMockUser
+  void deleteStorageItemsInBulk_missingItem_returnsNotFound() throws Exception {
+    when(storageItemBulkService.deleteStorageItems(eq(MOCK_HOUSEHOLD_ID), any(),
+            eq(BulkRecordReader.Format.JSON)))
+            .thenThrow(new NoSuchElementException("Row 1: Storage item not found with id: 5"));
+
+    mockMvc.perform(delete("/api/storage-items/household/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[5]"))
+            .andExpect(status().isNotFound());
+  }
+
+
+  @Test
+  @WithMockUser
+  void exportHouseholdStorageItems_csv_streamsExport() throws Exception {
+    doAnswer(invocation -> {
+      OutputStream out = invocation.getArgument(2);
+      out.write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+      return null;
+    }).when(storageItemExportService).exportHouseholdStorage(eq(MOCK_HOUSEHOLD_ID),
+            eq(ExportFormat.CSV), any());
+
+    MvcResult result = mockMvc.perform(get("/api/storage-items/household/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", "text/csv"))
+            .andExpect(header().string("Content-Disposition",
+                    "attachment; filename=\"household-storage.csv\""))
+            .andExpect(content().string("id\n1\n"));
+  }
+
+  @Test
+  @WithMockUser
+  void exportHouseholdStorageItems_unknownFormat_returnsBadRequest() throws Exception {
+    mockMvc.perform(get("/api/storage-items/household/export").param("format", "xlsx"))
+            .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(storageItemExportService);
+  }
+
+  @Test
+  @WithMockUser
+  void exportSharedStorageItemsInGroup_noGroup_returnsNotFound() throws Exception {
+    when(householdService.getGroupIdForCurrentUser())
+            .thenThrow(new NoSuchElementException("Emergency group ID not found"));
+
+    mockMvc.perform(get("/api/storage-items/emergency-group/export")
+                    .param("format", "ndjson"))
+            .andExpect(status().isNotFound());
+  }
+
   private StorageItem createStorageItem(int id, int itemId, int householdId, int quantity, LocalDateTime expirationDate) {
     StorageItem item = new StorageItem();
     item.setId(id);
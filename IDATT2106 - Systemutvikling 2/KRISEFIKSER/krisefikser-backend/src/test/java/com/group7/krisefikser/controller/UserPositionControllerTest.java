@@ -17,7 +17,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.UUID;
+
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -57,6 +61,30 @@ class UserPositionControllerTest {
         .andExpect(content().string("Position shared successfully"));
   }
 
+  @Test
+  @WithMockUser
+  void testSharePosition_RetryWithSameIdempotencyKey_RunsOnce() throws Exception {
+    doNothing().when(userPositionService).sharePosition(Mockito.any());
+    String key = UUID.randomUUID().toString();
+    String body = objectMapper.writeValueAsString(validRequest);
+
+    mockMvc.perform(post("/api/position/share")
+            .header("Idempotency-Key", key)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist("Idempotent-Replayed"));
+    mockMvc.perform(post("/api/position/share")
+            .header("Idempotency-Key", key)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Idempotent-Replayed", "true"))
+        .andExpect(content().string("Position shared successfully"));
+
+    verify(userPositionService, times(1)).sharePosition(Mockito.any());
+  }
+
   @Test
   @WithMockUser
   void testStopSharingPosition_Success() throws Exception {
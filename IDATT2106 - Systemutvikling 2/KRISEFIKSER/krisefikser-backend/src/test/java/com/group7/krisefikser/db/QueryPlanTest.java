@@ -0,0 +1,319 @@
+package com.group7.krisefikser.db;
+
+import com.group7.krisefikser.KrisefikserApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on every filtered SQL statement found in the repository package and fails
+ * if any of them does a full table scan on a table that is expected to grow large.
+ * Statements are read from string literals and their concatenations, with the String
+ * constants and local variables of the same file filled in. Statements built piece by piece
+ * at run time are listed in {@link #DYNAMIC_STATEMENTS} instead, and an SQL fragment that
+ * ends up in no statement fails the test, as does a statement the database cannot explain.
+ * Statements without a WHERE clause are listing queries that scan by design and are skipped,
+ * and so are the bulk statements in {@link #SCANS_BY_DESIGN}.
+ * Works against both H2 (the test profile) and MySQL.
+ */
+@SpringBootTest(classes = KrisefikserApplication.class)
+@ActiveProfiles("test")
+class QueryPlanTest {
+
+  private static final Path REPOSITORY_SOURCES =
+      Paths.get("src/main/java/com/group7/krisefikser/repository");
+
+  private static final Set<String> LARGE_TABLES = Set.of(
+      "users", "households", "non_user_members", "storage_items",
+      "emergency_group_invitations", "household_invitations", "join_household_requests",
+      "points_of_interest", "user_position", "news_articles");
+
+  private static final String NEWS_FEED = "SELECT id, title, published_at FROM news_articles";
+  private static final String NEWS_KEYSET = "(published_at < ? OR (published_at = ? AND id < ?))";
+  private static final String NEWS_ORDER = " ORDER BY published_at DESC, id DESC LIMIT ?";
+  private static final String NEWS_MATCH =
+      "MATCH (title, content) AGAINST (? IN NATURAL LANGUAGE MODE)";
+  private static final String NEWS_LIKE = "(LOWER(title) LIKE ? OR LOWER(content) LIKE ?)";
+
+  /**
+   * Statements that a repository builds piece by piece at run time, by source file name.
+   * Every SQL fragment in such a file must be part of one of its statements here.
+   */
+  private static final Map<String, List<DynamicStatement>> DYNAMIC_STATEMENTS = Map.of(
+      "NewsArticleRepository.java", List.of(
+          new DynamicStatement(NEWS_FEED + " WHERE " + NEWS_KEYSET + NEWS_ORDER, RunsOn.ALL),
+          new DynamicStatement(NEWS_FEED + " WHERE " + NEWS_MATCH + NEWS_ORDER, RunsOn.MYSQL),
+          new DynamicStatement(NEWS_FEED + " WHERE " + NEWS_MATCH + " AND " + NEWS_KEYSET
+              + NEWS_ORDER, RunsOn.MYSQL),
+          new DynamicStatement(NEWS_FEED + " WHERE " + NEWS_LIKE + NEWS_ORDER, RunsOn.NOT_MYSQL),
+          new DynamicStatement(NEWS_FEED + " WHERE " + NEWS_LIKE + " AND " + NEWS_KEYSET
+              + NEWS_ORDER, RunsOn.NOT_MYSQL)));
+
+  /**
+   * Parts of the statements that are allowed to scan a large table, because they work
+   * through the whole table on purpose.
+   */
+  private static final Set<String> SCANS_BY_DESIGN = Set.of(
+      // GroupInventoryRepo.rebuild() recomputes every shared contribution
+      "FROM storage_items si JOIN households h ON si.household_id = h.id "
+          + "WHERE si.is_shared = TRUE AND h.emergency_group_id IS NOT NULL GROUP BY");
+
+  private static final String LITERAL = "\"(?:[^\"\\\\]|\\\\.)*\"";
+  private static final String CHARACTER = "'(?:[^'\\\\]|\\\\.)*'";
+  private static final String ARGUMENTS = "\\((?:[^()\"]|" + LITERAL + "|\\([^()]*\\))*\\)";
+  private static final String EXPRESSION =
+      "[A-Za-z_]\\w*(?:" + ARGUMENTS + ")?(?:\\.[A-Za-z_]\\w*(?:" + ARGUMENTS + ")?)*";
+  private static final String CONCATENATION_SOURCE =
+      LITERAL + "(?:\\s*\\+\\s*(?:" + LITERAL + "|" + EXPRESSION + "))*";
+  private static final Pattern CONCATENATION = Pattern.compile(CONCATENATION_SOURCE);
+  private static final Pattern PART = Pattern.compile(LITERAL + "|" + EXPRESSION);
+  private static final Pattern STRING_DECLARATION = Pattern.compile(
+      "\\bString\\s+([A-Za-z_]\\w*)(\\s*=\\s*(" + CONCATENATION_SOURCE + ")\\s*;)?");
+  private static final Pattern COMMENT = Pattern.compile(
+      LITERAL + "|" + CHARACTER + "|//[^\\n]*|/\\*.*?\\*/", Pattern.DOTALL);
+  private static final Pattern TOKEN =
+      Pattern.compile(LITERAL + "|" + CHARACTER + "|[A-Za-z_]\\w*");
+  private static final Pattern STATEMENT = Pattern.compile(
+      "^\\s*(?:SELECT|INSERT|UPDATE|DELETE|MERGE|WITH)\\b.*", Pattern.DOTALL);
+  private static final Pattern FILTERED_STATEMENT = Pattern.compile(
+      "^\\s*(?:SELECT|UPDATE|DELETE|INSERT\\b.*?\\bSELECT)\\b.*\\bWHERE\\b.*", Pattern.DOTALL);
+  private static final Pattern SQL_KEYWORD = Pattern.compile(
+      "\\b(?:FROM|WHERE|JOIN|AND|OR|IN|LIKE|MATCH|SET|VALUES|LIMIT|ORDER BY|GROUP BY)\\b");
+  private static final Pattern H2_TABLE_SCAN =
+      Pattern.compile("/\\*\\s*\"?\\w+\"?\\.\"?(\\w+)\"?\\.tableScan", Pattern.CASE_INSENSITIVE);
+  private static final Pattern TABLE_REFERENCE = Pattern.compile(
+      "\\b(?:FROM|JOIN|UPDATE)\\s+(\\w+)(?:\\s+(?:AS\\s+)?(\\w+))?", Pattern.CASE_INSENSITIVE);
+  private static final Set<String> KEYWORDS = Set.of(
+      "where", "join", "on", "set", "inner", "left", "right", "order", "group", "limit");
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void repositoryQueries_doNotScanLargeTables() throws IOException {
+    boolean mysql = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+        connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT)
+            .contains("mysql"));
+
+    List<String> unresolved = new ArrayList<>();
+    Set<String> statements = findRepositoryStatements(mysql, unresolved);
+    assertThat(statements).isNotEmpty();
+    assertThat(unresolved)
+        .as("SQL fragments no statement could be built from")
+        .isEmpty();
+
+    List<String> violations = new ArrayList<>();
+    List<String> unexplained = new ArrayList<>();
+    for (String sql : statements) {
+      Set<String> scannedTables;
+      try {
+        scannedTables = jdbcTemplate.execute((ConnectionCallback<Set<String>>)
+            connection -> explain(connection, sql, mysql));
+      } catch (DataAccessException e) {
+        unexplained.add(sql + " (" + e.getMostSpecificCause().getMessage() + ")");
+        continue;
+      }
+      boolean scansByDesign = SCANS_BY_DESIGN.stream().anyMatch(sql::contains);
+      for (String table : scannedTables) {
+        if (LARGE_TABLES.contains(table) && !scansByDesign) {
+          violations.add(table + " <- " + sql);
+        }
+      }
+    }
+
+    assertThat(unexplained)
+        .as("Queries the database could not explain")
+        .isEmpty();
+    assertThat(violations)
+        .as("Queries doing a full scan on a large table")
+        .isEmpty();
+  }
+
+  /**
+   * Collects every filtered SQL statement in the repository sources that runs on the current
+   * database. Non-literal parts of a concatenation, such as a generated placeholder list, are
+   * replaced by a single placeholder. Literals that look like SQL but are not a statement of
+   * their own, and do not appear in the file's dynamic statements either, are added to
+   * {@code unresolved}.
+   */
+  private static Set<String> findRepositoryStatements(boolean mysql, List<String> unresolved)
+      throws IOException {
+    Set<String> statements = new LinkedHashSet<>();
+    try (Stream<Path> files = Files.walk(REPOSITORY_SOURCES)) {
+      for (Path file : files.filter(p -> p.toString().endsWith(".java")).toList()) {
+        List<DynamicStatement> dynamic =
+            DYNAMIC_STATEMENTS.getOrDefault(file.getFileName().toString(), List.of());
+        for (DynamicStatement statement : dynamic) {
+          if (statement.runsOn().includes(mysql)) {
+            statements.add(statement.sql());
+          }
+        }
+
+        Matcher concatenation = CONCATENATION.matcher(resolveVariables(Files.readString(file)));
+        while (concatenation.find()) {
+          String sql = build(concatenation.group()).trim();
+          if (STATEMENT.matcher(sql).matches()) {
+            if (FILTERED_STATEMENT.matcher(sql).matches()) {
+              statements.add(sql);
+            }
+          } else if (SQL_KEYWORD.matcher(sql).find()
+              && dynamic.stream().noneMatch(statement -> statement.sql().contains(sql))) {
+            unresolved.add(file.getFileName() + ": " + sql);
+          }
+        }
+      }
+    }
+    return statements;
+  }
+
+  /**
+   * Replaces every use of a String constant or local variable that is set to a literal or a
+   * concatenation with its value, from its declaration up to the next declaration of the same
+   * name. The declared values themselves are removed, since they are checked where they are
+   * used. Comments are removed as well.
+   */
+  private static String resolveVariables(String source) {
+    String code = COMMENT.matcher(source).replaceAll(comment ->
+        comment.group().startsWith("/") ? " " : Matcher.quoteReplacement(comment.group()));
+    Map<String, String> values = new HashMap<>();
+    StringBuilder resolved = new StringBuilder();
+    Matcher declaration = STRING_DECLARATION.matcher(code);
+    int position = 0;
+    while (declaration.find()) {
+      resolved.append(substitute(code.substring(position, declaration.start()), values));
+      String name = declaration.group(1);
+      values.remove(name);
+      if (declaration.group(3) != null) {
+        values.put(name, build(substitute(declaration.group(3), values)));
+        resolved.append("String ").append(name).append(";");
+      } else {
+        resolved.append(declaration.group());
+      }
+      position = declaration.end();
+    }
+    return resolved.append(substitute(code.substring(position), values)).toString();
+  }
+
+  private static String substitute(String code, Map<String, String> values) {
+    StringBuilder substituted = new StringBuilder();
+    Matcher token = TOKEN.matcher(code);
+    int position = 0;
+    while (token.find()) {
+      String value = values.get(token.group());
+      boolean variable = value != null
+          && !code.substring(0, token.start()).stripTrailing().endsWith(".")
+          && !code.substring(token.end()).stripLeading().startsWith("(");
+      substituted.append(code, position, token.start())
+          .append(variable ? "\"" + value + "\"" : token.group());
+      position = token.end();
+    }
+    return substituted.append(code.substring(position)).toString();
+  }
+
+  private static String build(String concatenation) {
+    StringBuilder sql = new StringBuilder();
+    Matcher part = PART.matcher(concatenation);
+    while (part.find()) {
+      String token = part.group();
+      sql.append(token.startsWith("\"") ? token.substring(1, token.length() - 1) : "?");
+    }
+    return sql.toString();
+  }
+
+  private static Set<String> explain(Connection connection, String sql, boolean mysql)
+      throws SQLException {
+    return mysql ? explainMysql(connection, sql) : explainH2(connection, sql);
+  }
+
+  private static Set<String> explainH2(Connection connection, String sql) throws SQLException {
+    Set<String> scanned = new LinkedHashSet<>();
+    try (PreparedStatement ps = prepareExplain(connection, sql);
+         ResultSet rs = ps.executeQuery()) {
+      while (rs.next()) {
+        Matcher scan = H2_TABLE_SCAN.matcher(rs.getString(1));
+        while (scan.find()) {
+          scanned.add(scan.group(1).toLowerCase(Locale.ROOT));
+        }
+      }
+    }
+    return scanned;
+  }
+
+  private static Set<String> explainMysql(Connection connection, String sql) throws SQLException {
+    Map<String, String> aliases = new HashMap<>();
+    Matcher reference = TABLE_REFERENCE.matcher(sql);
+    while (reference.find()) {
+      String table = reference.group(1).toLowerCase(Locale.ROOT);
+      aliases.put(table, table);
+      String alias = reference.group(2);
+      if (alias != null && !KEYWORDS.contains(alias.toLowerCase(Locale.ROOT))) {
+        aliases.put(alias.toLowerCase(Locale.ROOT), table);
+      }
+    }
+
+    Set<String> scanned = new LinkedHashSet<>();
+    try (PreparedStatement ps = prepareExplain(connection, sql);
+         ResultSet rs = ps.executeQuery()) {
+      while (rs.next()) {
+        String table = rs.getString("table");
+        if ("ALL".equalsIgnoreCase(rs.getString("type")) && table != null) {
+          String key = table.toLowerCase(Locale.ROOT);
+          scanned.add(aliases.getOrDefault(key, key));
+        }
+      }
+    }
+    return scanned;
+  }
+
+  private static PreparedStatement prepareExplain(Connection connection, String sql)
+      throws SQLException {
+    PreparedStatement ps = connection.prepareStatement("EXPLAIN " + sql);
+    try {
+      int parameters = ps.getParameterMetaData().getParameterCount();
+      for (int i = 1; i <= parameters; i++) {
+        ps.setNull(i, Types.NULL);
+      }
+      return ps;
+    } catch (SQLException e) {
+      ps.close();
+      throw e;
+    }
+  }
+
+  private enum RunsOn {
+    ALL, MYSQL, NOT_MYSQL;
+
+    boolean includes(boolean mysql) {
+      return this == ALL || (this == MYSQL) == mysql;
+    }
+  }
+
+  private record DynamicStatement(String sql, RunsOn runsOn) {
+  }
+}
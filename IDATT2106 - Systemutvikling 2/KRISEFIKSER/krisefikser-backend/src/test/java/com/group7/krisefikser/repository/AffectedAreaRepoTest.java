@@ -79,6 +79,13 @@ class AffectedAreaRepoTest {
     assertEquals("2023-10-01T12:00", affectedAreaList.get(0).getStartDate().toString());
   }
 
+  @Test
+  void findById_shouldReturnAreaOrEmpty() {
+    assertEquals("Evacuate immediately due to chemical spill.",
+        affectedAreaRepo.findById(1L).orElseThrow().getDescription());
+    assertTrue(affectedAreaRepo.findById(-1L).isEmpty());
+  }
+
   @Test
   @Rollback
   void addAffectedArea_shouldInsertNewAreaAndAssignId() {
@@ -0,0 +1,59 @@
+package com.group7.krisefikser.repository;
+
+import com.group7.krisefikser.model.location.HouseholdSupply;
+import com.group7.krisefikser.repository.location.AreaImpactRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a test class for the AreaImpactRepo.
+ * It checks that only the households and positions within the bounding box are returned,
+ * using the households and positions of the test data.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class AreaImpactRepoTest {
+    @Autowired
+    private AreaImpactRepo areaImpactRepo;
+
+    @Test
+    void findHouseholdSupplyWithin_returnsHouseholdsInsideTheBox() {
+        List<HouseholdSupply> households = areaImpactRepo.findHouseholdSupplyWithin(
+            59.90, 59.92, 10.70, 10.80, LocalDateTime.now());
+
+        assertEquals(1, households.size());
+        HouseholdSupply household = households.get(0);
+        assertEquals(59.91, household.getLatitude());
+        assertEquals(10.75, household.getLongitude());
+        assertTrue(household.getResidents() > 0);
+        assertTrue(household.getCalories() >= 0);
+        assertTrue(household.getWaterLiters() >= 0);
+    }
+
+    @Test
+    void findHouseholdSupplyWithin_leavesOutExpiredStock() {
+        List<HouseholdSupply> households = areaImpactRepo.findHouseholdSupplyWithin(
+            59.90, 59.92, 10.70, 10.80, LocalDateTime.now().plusYears(100));
+
+        assertEquals(0, households.get(0).getCalories());
+        assertEquals(0, households.get(0).getWaterLiters());
+    }
+
+    @Test
+    void findPositionsWithin_returnsPositionsInsideTheBox() {
+        List<double[]> positions = areaImpactRepo.findPositionsWithin(59.89, 59.92, 10.70, 10.82);
+
+        assertEquals(2, positions.size());
+        assertTrue(positions.stream().allMatch(position ->
+            position[0] >= 59.89 && position[0] <= 59.92));
+    }
+}
@@ -0,0 +1,124 @@
+package com.group7.krisefikser.repository;
+
+import com.group7.krisefikser.model.other.Broadcast;
+import com.group7.krisefikser.model.other.BroadcastRecipient;
+import com.group7.krisefikser.repository.other.BroadcastRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a test class for the BroadcastRepo.
+ * The broadcast is sent within 2 km of the Smith household, which reaches the three users of
+ * that household, one of them also through their shared position.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class BroadcastRepoTest {
+    @Autowired
+    private BroadcastRepo broadcastRepo;
+
+    private Broadcast broadcast;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+        broadcast = new Broadcast(null, null, "Evacuate", 59.91, 10.75, 2.0, 0, 0, 0, now,
+            null, null);
+        broadcastRepo.create(broadcast);
+    }
+
+    @Test
+    void resolveRecipients_addsEveryUserWithinTheRadiusOnce() {
+        assertEquals(3, broadcastRepo.resolveRecipients(broadcast, now));
+        assertEquals(3, broadcastRepo.resolveRecipients(broadcast, now));
+
+        Broadcast resolved = broadcastRepo.findById(broadcast.getId()).orElseThrow();
+        assertEquals(3, resolved.getTotalRecipients());
+        assertNotNull(resolved.getResolvedAt());
+        assertNull(resolved.getCompletedAt());
+    }
+
+    @Test
+    void claimBatch_claimsEachRecipientOnce() {
+        broadcastRepo.resolveRecipients(broadcast, now);
+
+        assertEquals(2, broadcastRepo.claimBatch(broadcast.getId(), "first", 2, now));
+        assertEquals(1, broadcastRepo.claimBatch(broadcast.getId(), "second", 2, now));
+        assertEquals(0, broadcastRepo.claimBatch(broadcast.getId(), "third", 2, now));
+
+        List<BroadcastRecipient> first = broadcastRepo.findClaimed("first");
+        List<BroadcastRecipient> second = broadcastRepo.findClaimed("second");
+        assertEquals(2, first.size());
+        assertTrue(first.stream().allMatch(recipient -> recipient.getEmail() != null));
+        assertTrue(first.get(1).getUserId() < second.get(0).getUserId());
+    }
+
+    @Test
+    void releaseExpiredClaims_releasesOnlyUnsentClaims() {
+        broadcastRepo.resolveRecipients(broadcast, now);
+        broadcastRepo.claimBatch(broadcast.getId(), "sent", 1, now.minusHours(1));
+        broadcastRepo.markSent(broadcast.getId(), userIds("sent"), now);
+        broadcastRepo.claimBatch(broadcast.getId(), "stale", 2, now.minusHours(1));
+        List<Long> stale = userIds("stale");
+        broadcastRepo.markFailed(broadcast.getId(), stale.subList(0, 1), 1, now);
+
+        assertEquals(1, broadcastRepo.releaseExpiredClaims(broadcast.getId(), now));
+        assertEquals(1, broadcastRepo.claimBatch(broadcast.getId(), "retry", 2, now));
+    }
+
+    @Test
+    void completeIfDelivered_completesOnlyWhenEveryRecipientIsSent() {
+        assertFalse(broadcastRepo.completeIfDelivered(broadcast.getId(), now));
+        broadcastRepo.resolveRecipients(broadcast, now);
+        broadcastRepo.claimBatch(broadcast.getId(), "first", 2, now);
+        broadcastRepo.markSent(broadcast.getId(), userIds("first"), now);
+        assertFalse(broadcastRepo.completeIfDelivered(broadcast.getId(), now));
+
+        broadcastRepo.claimBatch(broadcast.getId(), "second", 2, now);
+        assertEquals(0, broadcastRepo.markFailed(broadcast.getId(), userIds("second"), 2, now));
+        assertFalse(broadcastRepo.completeIfDelivered(broadcast.getId(), now));
+        assertEquals(1, broadcastRepo.markFailed(broadcast.getId(), userIds("second"), 2, now));
+
+        assertTrue(broadcastRepo.completeIfDelivered(broadcast.getId(), now));
+        Broadcast completed = broadcastRepo.findById(broadcast.getId()).orElseThrow();
+        assertEquals(2, completed.getSent());
+        assertEquals(1, completed.getFailed());
+        assertNotNull(completed.getCompletedAt());
+        assertTrue(broadcastRepo.findActive().stream()
+            .noneMatch(active -> active.getId().equals(broadcast.getId())));
+    }
+
+    @Test
+    void recordDeliveries_recordsWhichChannelsHaveDeliveredToARecipient() {
+        broadcastRepo.resolveRecipients(broadcast, now);
+        broadcastRepo.claimBatch(broadcast.getId(), "first", 2, now);
+        List<Long> claimed = userIds("first");
+
+        broadcastRepo.recordDeliveries(broadcast.getId(), "email", claimed,
+            Set.of(claimed.get(0)), now);
+        assertEquals(List.of(claimed.get(1)), broadcastRepo.findDelivered("first", "email"));
+        assertTrue(broadcastRepo.findDelivered("first", "push").isEmpty());
+
+        broadcastRepo.recordDeliveries(broadcast.getId(), "email", claimed.subList(0, 1),
+            Set.of(), now);
+        assertEquals(2, broadcastRepo.findDelivered("first", "email").size());
+    }
+
+    private List<Long> userIds(String token) {
+        return broadcastRepo.findClaimed(token).stream()
+            .map(BroadcastRecipient::getUserId)
+            .toList();
+    }
+}
@@ -0,0 +1,64 @@
+package com.group7.krisefikser.repository;
+
+import com.group7.krisefikser.model.other.CacheInvalidation;
+import com.group7.krisefikser.repository.other.CacheInvalidationRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a test class for the CacheInvalidationRepo.
+ * It checks that published invalidations are read back in version order.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CacheInvalidationRepoTest {
+    @Autowired
+    private CacheInvalidationRepo cacheInvalidationRepo;
+
+    @Test
+    void publish_isReadBackInVersionOrder() {
+        long start = cacheInvalidationRepo.latestVersion();
+
+        long first = cacheInvalidationRepo.publish("items", "*");
+        long second = cacheInvalidationRepo.publish("households", "5");
+
+        assertTrue(second > first);
+        assertEquals(second, cacheInvalidationRepo.latestVersion());
+        List<CacheInvalidation> invalidations = cacheInvalidationRepo.findAfter(start, 10);
+        assertEquals(List.of(
+            new CacheInvalidation(first, "items", "*"),
+            new CacheInvalidation(second, "households", "5")
+        ), invalidations);
+        assertEquals(1, cacheInvalidationRepo.findAfter(start, 1).size());
+        assertTrue(cacheInvalidationRepo.findAfter(second, 10).isEmpty());
+    }
+
+    @Test
+    void findVersions_leavesOutVersionsThatWereNotPublished() {
+        long version = cacheInvalidationRepo.publish("items", "3");
+
+        assertEquals(List.of(new CacheInvalidation(version, "items", "3")),
+            cacheInvalidationRepo.findVersions(List.of(version, version + 1)));
+        assertTrue(cacheInvalidationRepo.findVersions(List.of()).isEmpty());
+    }
+
+    @Test
+    void deleteOlderThan_keepsNewerInvalidations() {
+        long version = cacheInvalidationRepo.publish("items", "*");
+
+        cacheInvalidationRepo.deleteOlderThan(LocalDateTime.now().minusMinutes(1));
+        assertEquals(version, cacheInvalidationRepo.latestVersion());
+
+        cacheInvalidationRepo.deleteOlderThan(LocalDateTime.now().plusMinutes(1));
+        assertTrue(cacheInvalidationRepo.findAfter(0, 10).isEmpty());
+    }
+}
@@ -0,0 +1,119 @@
+package com.group7.krisefikser.repository;
+
+import com.group7.krisefikser.enums.SyncEntity;
+import com.group7.krisefikser.model.other.ChangeLogEntry;
+import com.group7.krisefikser.repository.other.ChangeLogRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a test class for the ChangeLogRepo.
+ * It checks that recorded changes are read back in version order and scoped to a household.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ChangeLogRepoTest {
+    @Autowired
+    private ChangeLogRepo changeLogRepo;
+
+    @Test
+    void findAfter_returnsGlobalChangesAndChangesOfHousehold() {
+        long start = changeLogRepo.latestVersionOlderThan(Duration.ZERO);
+
+        changeLogRepo.record(SyncEntity.AFFECTED_AREA, 3L, null, false);
+        changeLogRepo.recordAll(SyncEntity.STORAGE_ITEM, List.of(1, 2), 5L, true);
+        changeLogRepo.record(SyncEntity.HOUSEHOLD_MEMBERS, null, 6L, false);
+        long end = changeLogRepo.latestVersionOlderThan(Duration.ZERO);
+
+        List<ChangeLogEntry> changes = changeLogRepo.findAfter(start, end, 5L, 10);
+        assertEquals(3, changes.size());
+        assertEquals(SyncEntity.AFFECTED_AREA, changes.get(0).getEntityType());
+        assertNull(changes.get(0).getHouseholdId());
+        assertEquals(List.of(1L, 2L), changes.stream().skip(1)
+            .map(ChangeLogEntry::getEntityId).toList());
+        assertTrue(changes.get(1).isDeleted());
+        assertTrue(changes.get(1).getVersion() > changes.get(0).getVersion());
+
+        List<ChangeLogEntry> global = changeLogRepo.findAfter(start, end, null, 10);
+        assertEquals(1, global.size());
+        assertEquals(1, changeLogRepo.findAfter(start, end, 5L, 1).size());
+        assertTrue(changeLogRepo.findAfter(start, start, 5L, 10).isEmpty());
+    }
+
+    @Test
+    void findHouseholdChangesAfter_returnsChangesOfTheGivenKindsWithAHousehold() {
+        long start = changeLogRepo.latestVersionOlderThan(Duration.ZERO);
+
+        changeLogRepo.record(SyncEntity.AFFECTED_AREA, 3L, null, false);
+        changeLogRepo.record(SyncEntity.STORAGE_ITEM, 1L, 5L, false);
+        changeLogRepo.record(SyncEntity.HOUSEHOLD_MEMBERS, null, 6L, false);
+        long end = changeLogRepo.latestVersionOlderThan(Duration.ZERO);
+
+        List<ChangeLogEntry> changes = changeLogRepo.findHouseholdChangesAfter(start, end,
+            EnumSet.of(SyncEntity.STORAGE_ITEM, SyncEntity.HOUSEHOLD_MEMBERS), 10);
+        assertEquals(List.of(5L, 6L), changes.stream()
+            .map(ChangeLogEntry::getHouseholdId).toList());
+        assertEquals(1, changeLogRepo.findHouseholdChangesAfter(start, end,
+            EnumSet.of(SyncEntity.HOUSEHOLD_MEMBERS), 10).size());
+        assertTrue(changeLogRepo.findHouseholdChangesAfter(start, end,
+            EnumSet.of(SyncEntity.AFFECTED_AREA), 10).isEmpty());
+    }
+
+    @Test
+    void deleteOlderThan_keepsLatestChange() {
+        changeLogRepo.record(SyncEntity.POINT_OF_INTEREST, 1L, null, false);
+        changeLogRepo.record(SyncEntity.POINT_OF_INTEREST, 2L, null, true);
+        long latest = changeLogRepo.latestVersionOlderThan(Duration.ZERO);
+
+        changeLogRepo.deleteOlderThan(LocalDateTime.now().minusMinutes(1));
+        assertTrue(changeLogRepo.oldestVersion() < latest);
+
+        changeLogRepo.deleteOlderThan(LocalDateTime.now().plusMinutes(1));
+        assertEquals(latest, changeLogRepo.oldestVersion());
+    }
+
+    @Test
+    void latestVersionOlderThan_ignoresNewerChanges() {
+        long before = changeLogRepo.latestVersionOlderThan(Duration.ofMinutes(1));
+        changeLogRepo.record(SyncEntity.AFFECTED_AREA, 1L, null, false);
+
+        assertEquals(before, changeLogRepo.latestVersionOlderThan(Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void findVersions_returnsOnlyVisibleVersions() {
+        long start = changeLogRepo.latestVersionOlderThan(Duration.ZERO);
+        changeLogRepo.recordAll(SyncEntity.STORAGE_ITEM, List.of(1, 2), 5L, false);
+        long end = changeLogRepo.latestVersionOlderThan(Duration.ZERO);
+
+        assertEquals(List.of(end - 1, end), changeLogRepo.findVersionsAfter(start, 10));
+        assertEquals(List.of(end - 1), changeLogRepo.findVersionsAfter(start, 1));
+        assertEquals(List.of(end), changeLogRepo.findVersions(List.of(end, end + 1)));
+        assertTrue(changeLogRepo.findVersions(List.of()).isEmpty());
+    }
+
+    @Test
+    void recordAgain_copiesChangesUnderNewVersions() {
+        changeLogRepo.record(SyncEntity.STORAGE_ITEM, 7L, 5L, true);
+        long version = changeLogRepo.latestVersionOlderThan(Duration.ZERO);
+
+        assertEquals(1, changeLogRepo.recordAgain(List.of(version, version + 100)));
+
+        List<ChangeLogEntry> changes = changeLogRepo.findAfter(version, version + 10, 5L, 10);
+        assertEquals(1, changes.size());
+        assertEquals(7L, changes.get(0).getEntityId());
+        assertEquals(5L, changes.get(0).getHouseholdId());
+        assertTrue(changes.get(0).isDeleted());
+    }
+}
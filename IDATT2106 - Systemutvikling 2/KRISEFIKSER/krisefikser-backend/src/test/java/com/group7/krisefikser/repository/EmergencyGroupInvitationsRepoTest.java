@@ -5,9 +5,11 @@ import com.group7.krisefikser.repository.household.EmergencyGroupInvitationsRepo
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -88,4 +90,58 @@ class EmergencyGroupInvitationsRepoTest {
     assertNotNull(invitations);
     assertTrue(invitations.isEmpty());
   }
-}
\ No newline at end of file
+
+  @Test
+  @Transactional
+  void addInvitationByHouseholdName_shouldInviteToInvitingUsersGroup() {
+    int inserted = invitationsRepo.addInvitationByHouseholdName(1L, "Team Rocket");
+
+    assertEquals(1, inserted);
+    assertTrue(invitationsRepo.isInvitedToGroup(2L, 1L));
+  }
+
+  @Test
+  @Transactional
+  void addInvitationByHouseholdName_shouldThrowIfAlreadyInvited() {
+    invitationsRepo.addInvitationByHouseholdName(1L, "Team Rocket");
+
+    assertThrows(DuplicateKeyException.class,
+            () -> invitationsRepo.addInvitationByHouseholdName(1L, "Team Rocket"));
+  }
+
+  @Test
+  @Transactional
+  void addInvitationByHouseholdName_shouldInsertNothingIfInviteIsInvalid() {
+    // The Johnsons are already in the group of user 1
+    assertEquals(0, invitationsRepo.addInvitationByHouseholdName(1L, "The Johnsons"));
+    // User 3 belongs to a household without a group
+    assertEquals(0, invitationsRepo.addInvitationByHouseholdName(3L, "The Waltons"));
+    assertEquals(0, invitationsRepo.addInvitationByHouseholdName(1L, "No Such Household"));
+  }
+
+  @Test
+  @Transactional
+  void addEmergencyGroupInvitation_shouldRejectDuplicateInvitation() {
+    EmergencyGroupInvitation duplicate = new EmergencyGroupInvitation();
+    duplicate.setHouseholdId(2L);
+    duplicate.setGroupId(4L);
+
+    assertThrows(DuplicateKeyException.class,
+            () -> invitationsRepo.addEmergencyGroupInvitation(duplicate));
+  }
+
+  @Test
+  void getInvitationsByUserId_shouldReturnInvitationsOfUsersHousehold() {
+    List<EmergencyGroupInvitation> invitations = invitationsRepo.getInvitationsByUserId(3L);
+
+    assertEquals(2, invitations.size());
+    assertEquals(2L, invitations.get(0).getHouseholdId());
+    assertEquals(2L, invitations.get(0).getGroupId());
+    assertEquals(4L, invitations.get(1).getGroupId());
+  }
+
+  @Test
+  void getInvitationsByUserId_shouldReturnEmptyListForUnknownUser() {
+    assertTrue(invitationsRepo.getInvitationsByUserId(999L).isEmpty());
+  }
+}
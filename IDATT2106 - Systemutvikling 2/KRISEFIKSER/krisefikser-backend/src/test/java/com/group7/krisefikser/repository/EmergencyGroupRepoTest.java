@@ -5,13 +5,13 @@ import com.group7.krisefikser.repository.household.EmergencyGroupRepo;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.sql.Date;
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,7 +26,7 @@ class EmergencyGroupRepoTest {
 
   @Test
   void getEmergencyGroupById_existingId_groupA() {
-    EmergencyGroup fetchedGroup = emergencyGroupRepo.getEmergencyGroupById(1L);
+    EmergencyGroup fetchedGroup = emergencyGroupRepo.getEmergencyGroupById(1L).orElseThrow();
 
     assertNotNull(fetchedGroup);
     assertEquals(1L, fetchedGroup.getId());
@@ -36,7 +36,21 @@ class EmergencyGroupRepoTest {
 
   @Test
   void getEmergencyGroupById_nonExistingId() {
-    assertThrows(EmptyResultDataAccessException.class, () -> emergencyGroupRepo.getEmergencyGroupById(999L));
+    assertTrue(emergencyGroupRepo.getEmergencyGroupById(999L).isEmpty());
+  }
+
+  @Test
+  void getEmergencyGroupsByIds_returnsExistingGroups() {
+    List<EmergencyGroup> groups = emergencyGroupRepo.getEmergencyGroupsByIds(List.of(1L, 2L, 999L));
+
+    assertEquals(2, groups.size());
+    assertTrue(groups.stream().anyMatch(group -> group.getName().equals("Group A")));
+    assertTrue(groups.stream().anyMatch(group -> group.getName().equals("Group B")));
+  }
+
+  @Test
+  void getEmergencyGroupsByIds_emptyIds() {
+    assertTrue(emergencyGroupRepo.getEmergencyGroupsByIds(List.of()).isEmpty());
   }
 
   @Test
@@ -48,7 +62,7 @@ class EmergencyGroupRepoTest {
     emergencyGroupRepo.addEmergencyGroup(group);
 
     Long newGroupId = jdbcTemplate.queryForObject("SELECT id FROM emergency_groups WHERE name = ?", Long.class, "New Group");
-    EmergencyGroup fetchedGroup = emergencyGroupRepo.getEmergencyGroupById(newGroupId);
+    EmergencyGroup fetchedGroup = emergencyGroupRepo.getEmergencyGroupById(newGroupId).orElseThrow();
 
     assertEquals(newGroupId, group.getId());
     assertNotNull(fetchedGroup);
@@ -64,7 +78,7 @@ class EmergencyGroupRepoTest {
     emergencyGroupRepo.addEmergencyGroup(group);
 
     Long newGroupId = jdbcTemplate.queryForObject("SELECT id FROM emergency_groups WHERE name = ?", Long.class, "Another New Group");
-    EmergencyGroup fetchedGroup = emergencyGroupRepo.getEmergencyGroupById(newGroupId);
+    EmergencyGroup fetchedGroup = emergencyGroupRepo.getEmergencyGroupById(newGroupId).orElseThrow();
 
     assertEquals(newGroupId, group.getId());
     assertNotNull(fetchedGroup);
@@ -0,0 +1,147 @@
+package com.group7.krisefikser.repository;
+
+import com.group7.krisefikser.model.item.ExpiryDigestItem;
+import com.group7.krisefikser.model.item.ExpiryNotification;
+import com.group7.krisefikser.repository.item.ExpiryNotificationRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a test class for the ExpiryNotificationRepo.
+ * It walks the storage items of the test data in pages and checks that queued reminders
+ * are replaced, claimed once, read back per household and deleted once their item expired.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ExpiryNotificationRepoTest {
+    private static final LocalDateTime QUEUED_AT = LocalDateTime.of(2026, 9, 1, 6, 0);
+
+    @Autowired
+    private ExpiryNotificationRepo expiryNotificationRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Storage items 12, 7, 5, 8 and 13 expire during 2024, in that order.
+     */
+    @Test
+    void findExpiringPage_walksItemsInExpirationOrder() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        List<ExpiryNotification> first = expiryNotificationRepo.findExpiringPage(from, 0, to, 3);
+        ExpiryNotification last = first.get(2);
+        List<ExpiryNotification> second = expiryNotificationRepo.findExpiringPage(
+                last.getExpirationDate(), last.getStorageItemId(), to, 3);
+
+        assertEquals(List.of(12, 7, 5),
+                first.stream().map(ExpiryNotification::getStorageItemId).toList());
+        assertEquals(List.of(8, 13),
+                second.stream().map(ExpiryNotification::getStorageItemId).toList());
+        assertEquals(5, first.get(0).getHouseholdId());
+    }
+
+    @Test
+    void queueAll_sameItemAndThreshold_replacesReminder() {
+        expiryNotificationRepo.queueAll(List.of(
+                new ExpiryNotification(4, 3, 7, LocalDateTime.of(2026, 9, 2, 0, 0))), QUEUED_AT);
+        expiryNotificationRepo.queueAll(List.of(
+                new ExpiryNotification(4, 3, 7, LocalDateTime.of(2026, 9, 5, 0, 0))), QUEUED_AT);
+
+        List<ExpiryNotification> queued = expiryNotificationRepo.findByStorageItemIds(List.of(4));
+
+        assertEquals(1, queued.size());
+        assertEquals(LocalDateTime.of(2026, 9, 5, 0, 0), queued.get(0).getExpirationDate());
+    }
+
+    @Test
+    void queueAll_sameReminderQueuedAgain_keepsItClaimed() {
+        ExpiryNotification reminder =
+                new ExpiryNotification(4, 3, 1, LocalDateTime.of(2026, 9, 2, 0, 0));
+        expiryNotificationRepo.queueAll(List.of(reminder), QUEUED_AT);
+        expiryNotificationRepo.claimPending(3, QUEUED_AT.plusMinutes(1));
+
+        expiryNotificationRepo.queueAll(List.of(reminder), QUEUED_AT.plusMinutes(2));
+
+        assertEquals(1, expiryNotificationRepo.findByStorageItemIds(List.of(4)).size());
+        assertTrue(expiryNotificationRepo.findHouseholdsWithPending().isEmpty());
+    }
+
+    @Test
+    void queueAll_claimedReminderWithNewExpirationDate_becomesPendingAgain() {
+        expiryNotificationRepo.queueAll(List.of(
+                new ExpiryNotification(4, 3, 1, LocalDateTime.of(2026, 9, 2, 0, 0))), QUEUED_AT);
+        expiryNotificationRepo.claimPending(3, QUEUED_AT.plusMinutes(1));
+
+        expiryNotificationRepo.queueAll(List.of(
+                new ExpiryNotification(4, 3, 1, LocalDateTime.of(2026, 9, 5, 0, 0))),
+                QUEUED_AT.plusMinutes(2));
+
+        assertEquals(List.of(3), expiryNotificationRepo.findHouseholdsWithPending());
+    }
+
+    @Test
+    void deleteExpiredBefore_deletesOnlyRemindersOfExpiredItems() {
+        expiryNotificationRepo.queueAll(List.of(
+                new ExpiryNotification(4, 3, 1, LocalDateTime.of(2026, 9, 2, 0, 0)),
+                new ExpiryNotification(5, 3, 1, LocalDateTime.of(2026, 9, 20, 0, 0))), QUEUED_AT);
+        expiryNotificationRepo.claimPending(3, QUEUED_AT);
+
+        int deleted = expiryNotificationRepo.deleteExpiredBefore(
+                LocalDateTime.of(2026, 9, 10, 0, 0));
+
+        assertEquals(1, deleted);
+        assertTrue(expiryNotificationRepo.findByStorageItemIds(List.of(4)).isEmpty());
+        assertEquals(1, expiryNotificationRepo.findByStorageItemIds(List.of(5)).size());
+    }
+
+    @Test
+    void claimPending_claimsRemindersOnlyOnce() {
+        expiryNotificationRepo.queueAll(List.of(
+                new ExpiryNotification(4, 3, 1, LocalDateTime.of(2026, 9, 2, 0, 0))), QUEUED_AT);
+        LocalDateTime claimedAt = QUEUED_AT.plusMinutes(1);
+
+        assertEquals(List.of(3), expiryNotificationRepo.findHouseholdsWithPending());
+        assertEquals(1, expiryNotificationRepo.claimPending(3, claimedAt));
+        assertEquals(0, expiryNotificationRepo.claimPending(3, claimedAt.plusMinutes(1)));
+        assertTrue(expiryNotificationRepo.findHouseholdsWithPending().isEmpty());
+
+        List<ExpiryDigestItem> items = expiryNotificationRepo.findClaimed(3, claimedAt);
+        assertEquals(1, items.size());
+        assertEquals("Bottled Water", items.get(0).getItemName());
+        assertEquals(5, items.get(0).getQuantity());
+        assertEquals(1, items.get(0).getThresholdDays());
+    }
+
+    @Test
+    void findClaimed_expirationDateChanged_leavesReminderOut() {
+        expiryNotificationRepo.queueAll(List.of(
+                new ExpiryNotification(4, 3, 1, LocalDateTime.of(2026, 9, 2, 0, 0))), QUEUED_AT);
+        jdbcTemplate.update("UPDATE storage_items SET expiration_date = '2027-01-01 00:00:00' "
+                + "WHERE id = 4");
+        expiryNotificationRepo.claimPending(3, QUEUED_AT);
+
+        assertTrue(expiryNotificationRepo.findClaimed(3, QUEUED_AT).isEmpty());
+    }
+
+    @Test
+    void deletingStorageItem_removesItsReminders() {
+        expiryNotificationRepo.queueAll(List.of(
+                new ExpiryNotification(4, 3, 7, LocalDateTime.of(2026, 9, 2, 0, 0))), QUEUED_AT);
+
+        jdbcTemplate.update("DELETE FROM storage_items WHERE id = 4");
+
+        assertTrue(expiryNotificationRepo.findByStorageItemIds(List.of(4)).isEmpty());
+    }
+}
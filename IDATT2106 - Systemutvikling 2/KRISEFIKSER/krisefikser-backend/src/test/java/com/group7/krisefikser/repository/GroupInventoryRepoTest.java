@@ -0,0 +1,113 @@
+package com.group7.krisefikser.repository;
+
+import com.group7.krisefikser.model.item.GroupInventoryEntry;
+import com.group7.krisefikser.repository.item.GroupInventoryRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a test class for the GroupInventoryRepo.
+ * It checks that the projection built from the test data matches the shared storage items,
+ * and that the refresh methods keep it up to date after changes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class GroupInventoryRepoTest {
+    @Autowired
+    private GroupInventoryRepo groupInventoryRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Households 1 and 3 are in group 1. Their shared items should be aggregated per item.
+     */
+    @Test
+    void findByGroupId_returnsAggregatedSharedItems() {
+        List<GroupInventoryEntry> inventory = groupInventoryRepo.findByGroupId(1L);
+
+        assertEquals(5, inventory.size());
+        GroupInventoryEntry water = findEntry(inventory, 1).orElseThrow();
+        assertEquals(19, water.getTotalQuantity());
+        assertEquals(2, water.getHouseholdCount());
+        assertEquals(LocalDateTime.of(2026, 9, 2, 0, 0), water.getEarliestExpirationDate());
+        assertTrue(findEntry(inventory, 7).isEmpty());
+    }
+
+    @Test
+    void findByGroupId_groupWithoutItems_returnsEmptyList() {
+        assertTrue(groupInventoryRepo.findByGroupId(2L).isEmpty());
+    }
+
+    @Test
+    void refreshHouseholdItem_afterAddingSharedItem_updatesTotals() {
+        jdbcTemplate.update("INSERT INTO storage_items "
+                + "(expiration_date, quantity, household_id, item_id, is_shared) "
+                + "VALUES ('2030-01-01 00:00:00', 4, 3, 2, TRUE)");
+
+        groupInventoryRepo.refreshHouseholdItem(3L, 2);
+
+        GroupInventoryEntry beans = findEntry(groupInventoryRepo.findByGroupId(1L), 2)
+                .orElseThrow();
+        assertEquals(9, beans.getTotalQuantity());
+        assertEquals(2, beans.getHouseholdCount());
+    }
+
+    @Test
+    void refreshHouseholdItem_afterUnsharingItem_removesContribution() {
+        jdbcTemplate.update("UPDATE storage_items SET is_shared = FALSE "
+                + "WHERE household_id = 1 AND item_id = 10");
+        jdbcTemplate.update("UPDATE storage_items SET is_shared = FALSE "
+                + "WHERE household_id = 1 AND item_id = 1");
+
+        groupInventoryRepo.refreshHouseholdItem(1L, 10);
+        groupInventoryRepo.refreshHouseholdItem(1L, 1);
+
+        List<GroupInventoryEntry> inventory = groupInventoryRepo.findByGroupId(1L);
+        assertTrue(findEntry(inventory, 10).isEmpty());
+        GroupInventoryEntry water = findEntry(inventory, 1).orElseThrow();
+        assertEquals(7, water.getTotalQuantity());
+        assertEquals(1, water.getHouseholdCount());
+    }
+
+    @Test
+    void refreshHousehold_afterJoiningGroup_addsHouseholdItems() {
+        jdbcTemplate.update("UPDATE households SET emergency_group_id = 1 WHERE id = 2");
+
+        groupInventoryRepo.refreshHousehold(2L);
+
+        List<GroupInventoryEntry> inventory = groupInventoryRepo.findByGroupId(1L);
+        assertEquals(6, inventory.size());
+        assertEquals(20, findEntry(inventory, 4).orElseThrow().getTotalQuantity());
+        assertTrue(findEntry(inventory, 5).isEmpty());
+    }
+
+    @Test
+    void rebuild_matchesIncrementalProjection() {
+        List<GroupInventoryEntry> before = groupInventoryRepo.findByGroupId(1L);
+
+        groupInventoryRepo.rebuild();
+
+        List<GroupInventoryEntry> after = groupInventoryRepo.findByGroupId(1L);
+        assertEquals(before.size(), after.size());
+        assertTrue(after.containsAll(before));
+    }
+
+    private static Optional<GroupInventoryEntry> findEntry(List<GroupInventoryEntry> inventory,
+                                                           int itemId) {
+        return inventory.stream()
+                .filter(entry -> entry.getItemId() == itemId)
+                .findFirst();
+    }
+}
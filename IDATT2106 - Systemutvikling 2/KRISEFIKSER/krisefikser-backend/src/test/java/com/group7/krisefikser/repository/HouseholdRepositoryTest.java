@@ -1,5 +1,8 @@
 package com.group7.krisefikser.repository;
 
+import com.group7.krisefikser.dto.response.household.HouseholdDetailsResponse;
+import com.group7.krisefikser.dto.response.household.HouseholdMemberResponse;
+import com.group7.krisefikser.dto.response.household.NonUserMemberResponse;
 import com.group7.krisefikser.model.household.Household;
 import com.group7.krisefikser.repository.household.HouseholdRepository;
 import org.junit.jupiter.api.Test;
@@ -9,6 +12,7 @@ import org.springframework.test.annotation.Rollback;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -93,4 +97,24 @@ class HouseholdRepositoryTest {
     Household household = householdOptional.get();
     assertEquals(groupId, household.getEmergencyGroupId());
   }
-}
\ No newline at end of file
+
+  @Test
+  void findDetailsByUserId_returnsHouseholdWithAllMembers() {
+    HouseholdDetailsResponse details = householdRepository.findDetailsByUserId(1L).orElseThrow();
+
+    assertEquals(1L, details.getId());
+    assertEquals("The Smiths", details.getName());
+    assertEquals(10.75, details.getLongitude());
+    assertEquals(List.of("Alice Admin", "Bob User", "David Nolan"),
+        details.getMembers().stream().map(HouseholdMemberResponse::getName).toList());
+    assertEquals("admin@example.com", details.getMembers().get(0).getEmail());
+    assertEquals(List.of("Charlie", "Doggo"),
+        details.getNonUserMembers().stream().map(NonUserMemberResponse::getName).toList());
+    assertEquals("animal", details.getNonUserMembers().get(1).getType());
+  }
+
+  @Test
+  void findDetailsByUserId_nonExistingUser_returnsEmpty() {
+    assertTrue(householdRepository.findDetailsByUserId(999L).isEmpty());
+  }
+}
@@ -0,0 +1,101 @@
+package com.group7.krisefikser.repository;
+
+import com.group7.krisefikser.model.other.IdempotentResponse;
+import com.group7.krisefikser.repository.other.IdempotencyKeyRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a test class for the IdempotencyKeyRepo.
+ * It checks that a key is claimed by one request at a time and keeps its response.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class IdempotencyKeyRepoTest {
+    private static final String KEY = "a".repeat(64);
+    private static final String FINGERPRINT = "f".repeat(64);
+    private static final String TOKEN = "00000000-0000-0000-0000-000000000001";
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @Autowired
+    private IdempotencyKeyRepo idempotencyKeyRepo;
+
+    @Test
+    void insertClaim_throws_whenKeyIsClaimed() {
+        idempotencyKeyRepo.insertClaim(KEY, FINGERPRINT, TOKEN, NOW, NOW.plusHours(1));
+
+        assertThrows(DuplicateKeyException.class, () -> idempotencyKeyRepo.insertClaim(KEY,
+            FINGERPRINT, "00000000-0000-0000-0000-000000000002", NOW, NOW.plusHours(1)));
+        assertEquals(Optional.of(new IdempotentResponse(FINGERPRINT, null, null, null)),
+            idempotencyKeyRepo.find(KEY, NOW));
+    }
+
+    @Test
+    void complete_storesResponse_onlyForTheHolderOfTheClaim() {
+        idempotencyKeyRepo.insertClaim(KEY, FINGERPRINT, TOKEN, NOW, NOW.plusHours(1));
+        IdempotentResponse response = new IdempotentResponse(FINGERPRINT, 201,
+            "application/json", "{\"id\":7}".getBytes());
+
+        assertFalse(idempotencyKeyRepo.complete(KEY, "00000000-0000-0000-0000-000000000002",
+            response));
+        assertTrue(idempotencyKeyRepo.complete(KEY, TOKEN, response));
+
+        IdempotentResponse stored = idempotencyKeyRepo.find(KEY, NOW).orElseThrow();
+        assertEquals(201, stored.getStatus());
+        assertEquals("application/json", stored.getContentType());
+        assertArrayEquals("{\"id\":7}".getBytes(), stored.getBody());
+    }
+
+    @Test
+    void takeOver_onlyTakesAbandonedClaimsAndExpiredKeys() {
+        idempotencyKeyRepo.insertClaim(KEY, FINGERPRINT, TOKEN, NOW.minusMinutes(5),
+            NOW.plusHours(1));
+        String newToken = "00000000-0000-0000-0000-000000000002";
+
+        assertFalse(idempotencyKeyRepo.takeOver(KEY, FINGERPRINT, newToken, NOW.minusMinutes(10),
+            NOW, NOW.plusHours(1)));
+        assertTrue(idempotencyKeyRepo.takeOver(KEY, FINGERPRINT, newToken, NOW.minusMinutes(1),
+            NOW, NOW.plusHours(1)));
+        assertFalse(idempotencyKeyRepo.complete(KEY, TOKEN,
+            new IdempotentResponse(FINGERPRINT, 200, null, null)));
+
+        idempotencyKeyRepo.complete(KEY, newToken,
+            new IdempotentResponse(FINGERPRINT, 200, null, null));
+        assertFalse(idempotencyKeyRepo.takeOver(KEY, FINGERPRINT, TOKEN, NOW.plusMinutes(1),
+            NOW, NOW.plusHours(1)));
+        assertTrue(idempotencyKeyRepo.takeOver(KEY, FINGERPRINT, TOKEN, NOW,
+            NOW.plusHours(1), NOW.plusHours(2)));
+    }
+
+    @Test
+    void release_deletesClaimWithoutResponse() {
+        idempotencyKeyRepo.insertClaim(KEY, FINGERPRINT, TOKEN, NOW, NOW.plusHours(1));
+
+        idempotencyKeyRepo.release(KEY, TOKEN);
+
+        assertTrue(idempotencyKeyRepo.find(KEY, NOW).isEmpty());
+    }
+
+    @Test
+    void deleteExpired_keepsKeysThatHaveNotExpired() {
+        String otherKey = "b".repeat(64);
+        idempotencyKeyRepo.insertClaim(KEY, FINGERPRINT, TOKEN, NOW, NOW.plusHours(1));
+        idempotencyKeyRepo.insertClaim(otherKey, FINGERPRINT, TOKEN, NOW, NOW.plusHours(3));
+
+        assertEquals(1, idempotencyKeyRepo.deleteExpired(NOW.plusHours(2)));
+
+        assertTrue(idempotencyKeyRepo.find(KEY, NOW).isEmpty());
+        assertTrue(idempotencyKeyRepo.find(otherKey, NOW).isPresent());
+    }
+}
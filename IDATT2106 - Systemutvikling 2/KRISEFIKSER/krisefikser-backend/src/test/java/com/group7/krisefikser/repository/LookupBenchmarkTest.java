@@ -0,0 +1,66 @@
+package com.group7.krisefikser.repository;
+
+import com.group7.krisefikser.utils.QueryUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.Optional;
+import java.util.function.IntFunction;
+
+/**
+ * Compares the latency of single row lookups that hit and miss, using queryForObject with
+ * a caught EmptyResultDataAccessException against {@link QueryUtils#findOne}.
+ * Only runs when asked for, with {@code ./mvnw test -Dtest=LookupBenchmarkTest -Dbenchmark=true},
+ * and prints the average time per lookup.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LookupBenchmarkTest {
+  private static final int WARMUP = 50_000;
+  private static final int ITERATIONS = 200_000;
+  private static final String SQL = "SELECT id, email FROM bench_users WHERE id = ?";
+  private static final RowMapper<String> EMAIL = (rs, rowNum) -> rs.getString("email");
+
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(
+        "jdbc:h2:mem:lookup_benchmark;DB_CLOSE_DELAY=-1", "sa", "", true));
+    jdbcTemplate.execute("DROP TABLE IF EXISTS bench_users");
+    jdbcTemplate.execute("CREATE TABLE bench_users (id INT PRIMARY KEY, email VARCHAR(100))");
+    jdbcTemplate.update("INSERT INTO bench_users (id, email) VALUES (1, 'user@example.com')");
+  }
+
+  @Test
+  void compareHitAndMissLatency() {
+    report("queryForObject hit", id -> catchingLookup(1));
+    report("queryForObject miss", id -> catchingLookup(-id));
+    report("findOne hit", id -> QueryUtils.findOne(jdbcTemplate, SQL, EMAIL, 1));
+    report("findOne miss", id -> QueryUtils.findOne(jdbcTemplate, SQL, EMAIL, -id));
+  }
+
+  private Optional<String> catchingLookup(int id) {
+    try {
+      return Optional.ofNullable(jdbcTemplate.queryForObject(SQL, EMAIL, id));
+    } catch (EmptyResultDataAccessException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static void report(String name, IntFunction<Optional<String>> lookup) {
+    for (int i = 1; i <= WARMUP; i++) {
+      lookup.apply(i);
+    }
+    long start = System.nanoTime();
+    for (int i = 1; i <= ITERATIONS; i++) {
+      lookup.apply(i);
+    }
+    long nanosPerLookup = (System.nanoTime() - start) / ITERATIONS;
+    System.out.printf("%-20s %6d ns/lookup%n", name, nanosPerLookup);
+  }
+}
@@ -43,4 +43,38 @@ class NewsArticleRepositoryTest {
     assertThat(article.getContent()).isEqualTo("Heavy rains have led to severe flooding in southern Brazil, displacing thousands and causing significant property damage. Emergency services are on high alert.");
     assertThat(article.getPublishedAt()).isEqualTo(LocalDateTime.of(2025, 5, 6, 10, 30));
   }
-}
\ No newline at end of file
+
+  @Test
+  void testGetNewsFeedPage_firstPageReturnsNewestWithoutContent() {
+    List<NewsArticle> page = repository.getNewsFeedPage(null, null, 2);
+
+    assertThat(page).hasSize(2);
+    assertThat(page.get(0).getTitle()).isEqualTo("Earthquake Strikes Eastern Turkey");
+    assertThat(page.get(1).getTitle()).isEqualTo("Severe Flooding in Southern Brazil");
+    assertThat(page.get(0).getContent()).isNull();
+  }
+
+  @Test
+  void testGetNewsFeedPage_continuesAfterCursor() {
+    List<NewsArticle> firstPage = repository.getNewsFeedPage(null, null, 2);
+    NewsArticle last = firstPage.get(1);
+
+    List<NewsArticle> secondPage =
+        repository.getNewsFeedPage(last.getPublishedAt(), last.getId(), 2);
+
+    assertThat(secondPage).hasSize(2);
+    assertThat(secondPage.get(0).getTitle()).isEqualTo("Wildfires Rage in California");
+    assertThat(secondPage.get(1).getTitle()).isEqualTo("Hurricane Approaches Gulf Coast");
+  }
+
+  @Test
+  void testSearchNewsFeedPage_matchesTitleAndContent() {
+    List<NewsArticle> byTitle = repository.searchNewsFeedPage("tornado", null, null, 10);
+    List<NewsArticle> byContent = repository.searchNewsFeedPage("evacuat", null, null, 10);
+
+    assertThat(byTitle).extracting(NewsArticle::getTitle)
+        .containsExactly("Tornado Touches Down in Oklahoma");
+    assertThat(byContent).extracting(NewsArticle::getTitle)
+        .containsExactly("Wildfires Rage in California", "Hurricane Approaches Gulf Coast");
+  }
+}
@@ -67,6 +67,22 @@ class PointOfInterestRepoTest {
     assertEquals("SHELTER", pointsOfInterest.get(0).getType().name());
   }
 
+  /**
+   * This method tests the getPointsOfInterestWithin method in the PointOfInterestRepo class.
+   * It retrieves the points of interest within a bounding box and checks that only the two
+   * points inside it are returned.
+   */
+  @Test
+  void getPointsOfInterestWithin() {
+    List<PointOfInterest> pointsOfInterest =
+            pointOfInterestRepo.getPointsOfInterestWithin(59.89, 10.75, 59.92, 10.81);
+
+    assertEquals(2, pointsOfInterest.size());
+    assertTrue(pointsOfInterest.stream().allMatch(point -> point.getLatitude() >= 59.89
+            && point.getLatitude() <= 59.92 && point.getLongitude() >= 10.75
+            && point.getLongitude() <= 10.81));
+  }
+
   /**
    * This method tests the addPointOfInterest method in the PointOfInterestRepo class.
    * It creates a new PointOfInterest object, adds it to the database, and checks if the
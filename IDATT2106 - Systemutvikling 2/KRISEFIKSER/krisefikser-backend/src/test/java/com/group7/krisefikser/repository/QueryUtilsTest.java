@@ -0,0 +1,57 @@
+package com.group7.krisefikser.repository;
+
+import com.group7.krisefikser.utils.QueryUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryUtilsTest {
+
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+        "jdbc:h2:mem:query_utils;DB_CLOSE_DELAY=-1", "sa", ""));
+    jdbcTemplate.execute("DROP TABLE IF EXISTS lookup_items");
+    jdbcTemplate.execute("CREATE TABLE lookup_items (id INT PRIMARY KEY, name VARCHAR(50))");
+    jdbcTemplate.update("INSERT INTO lookup_items (id, name) VALUES (1, 'Water'), (2, NULL)");
+  }
+
+  @Test
+  void findOne_existingRow_isMapped() {
+    Optional<String> name = QueryUtils.findOne(jdbcTemplate,
+        "SELECT name FROM lookup_items WHERE id = ?", (rs, rowNum) -> rs.getString("name"), 1);
+
+    assertEquals(Optional.of("Water"), name);
+  }
+
+  @Test
+  void findOne_missingRow_isEmpty() {
+    Optional<String> name = QueryUtils.findOne(jdbcTemplate,
+        "SELECT name FROM lookup_items WHERE id = ?", String.class, 999);
+
+    assertTrue(name.isEmpty());
+  }
+
+  @Test
+  void findOne_nullColumn_isEmpty() {
+    Optional<String> name = QueryUtils.findOne(jdbcTemplate,
+        "SELECT name FROM lookup_items WHERE id = ?", String.class, 2);
+
+    assertTrue(name.isEmpty());
+  }
+
+  @Test
+  void findOne_severalRows_returnsFirst() {
+    Optional<Integer> id = QueryUtils.findOne(jdbcTemplate,
+        "SELECT id FROM lookup_items ORDER BY id", Integer.class);
+
+    assertEquals(Optional.of(1), id);
+  }
+}
@@ -0,0 +1,135 @@
+package com.group7.krisefikser.repository;
+
+import com.group7.krisefikser.enums.ItemType;
+import com.group7.krisefikser.model.household.HouseholdReadiness;
+import com.group7.krisefikser.model.household.ItemTypeRollup;
+import com.group7.krisefikser.model.household.ItemTypeStock;
+import com.group7.krisefikser.model.household.ReadinessCheckpoint;
+import com.group7.krisefikser.model.household.ReadinessRollup;
+import com.group7.krisefikser.model.location.HouseholdSupply;
+import com.group7.krisefikser.repository.household.ReadinessRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a test class for the ReadinessRollupRepository.
+ * At the start of 2026 the Smith household has 12 liters of water and two flashlights that
+ * have not expired, and three users and two non-user members to provide for.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ReadinessRollupRepositoryTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Autowired
+    private ReadinessRollupRepository readinessRollupRepository;
+
+    @Test
+    void findHouseholdSupply_returnsMembersAndUnexpiredStock() {
+        List<HouseholdSupply> households = readinessRollupRepository.findHouseholdSupply(
+            List.of(1L, 9999L), NOW);
+
+        assertEquals(1, households.size());
+        HouseholdSupply smiths = households.get(0);
+        assertEquals(3, smiths.getResidents());
+        assertEquals(2, smiths.getNonUserMembers());
+        assertEquals(0, smiths.getCalories());
+        assertEquals(12, smiths.getWaterLiters());
+    }
+
+    @Test
+    void findItemTypeStock_returnsUnexpiredQuantityPerType() {
+        Map<ItemType, Double> stock = readinessRollupRepository
+            .findItemTypeStock(List.of(1L), NOW).stream()
+            .collect(Collectors.toMap(ItemTypeStock::getItemType, ItemTypeStock::getQuantity));
+
+        assertEquals(Map.of(ItemType.DRINK, 12.0, ItemType.ACCESSORIES, 2.0), stock);
+    }
+
+    @Test
+    void replaceRegions_rollsUpHouseholdsAndAddsRegionsTogether() {
+        readinessRollupRepository.replaceHouseholds(List.of(1L, 3L), List.of(
+                new HouseholdReadiness(1L, "u4xsu", 3, 2, 0.5, 2.0, 0.5),
+                new HouseholdReadiness(3L, "u4xsv", 2, 1, 6.0, 5.0, 5.0)),
+            List.of(new ItemTypeStock(1L, ItemType.DRINK, 12)), NOW);
+        readinessRollupRepository.replaceRegions(List.of("u4xsu", "u4xsv"), NOW);
+
+        assertEquals(List.of("u4xsu", "u4xsv"), readinessRollupRepository.findAllRegions());
+        List<ReadinessRollup> regions = readinessRollupRepository.findRollups(5, "");
+        assertEquals(2, regions.size());
+        assertEquals(1, regions.get(0).getUnderThreeDays());
+
+        List<ReadinessRollup> merged = readinessRollupRepository.findRollups(4, "u4");
+        assertEquals(1, merged.size());
+        ReadinessRollup rollup = merged.get(0);
+        assertEquals("u4xs", rollup.getRegion());
+        assertEquals(2, rollup.getHouseholds());
+        assertEquals(5, rollup.getResidents());
+        assertEquals(2, rollup.getRatedHouseholds());
+        assertEquals(5.5, rollup.getReadinessDaysSum());
+        assertEquals(1, rollup.getUnderThreeDays());
+
+        List<ItemTypeRollup> itemTypes = readinessRollupRepository.findItemTypeRollups(0, "");
+        assertEquals(1, itemTypes.size());
+        assertEquals(ItemType.DRINK, itemTypes.get(0).getItemType());
+        assertEquals(1, itemTypes.get(0).getHouseholdsStocked());
+        assertTrue(readinessRollupRepository.findRollups(4, "u5").isEmpty());
+    }
+
+    @Test
+    void replaceHouseholds_removesHouseholdsWithoutNewRows() {
+        readinessRollupRepository.replaceHouseholds(List.of(1L), List.of(
+            new HouseholdReadiness(1L, "u4xsu", 3, 2, null, null, null)), List.of(), NOW);
+        readinessRollupRepository.replaceRegions(List.of("u4xsu"), NOW);
+        assertEquals(0, readinessRollupRepository.findRollups(5, "").get(0)
+            .getRatedHouseholds());
+
+        readinessRollupRepository.replaceHouseholds(List.of(1L), List.of(), List.of(), NOW);
+        readinessRollupRepository.replaceRegions(List.of("u4xsu"), NOW);
+
+        assertTrue(readinessRollupRepository.findRegionsOf(List.of(1L)).isEmpty());
+        assertTrue(readinessRollupRepository.findRollups(5, "").isEmpty());
+    }
+
+    @Test
+    void saveCheckpoint_insertsAndThenUpdates() {
+        assertTrue(readinessRollupRepository.findCheckpoint().isEmpty());
+
+        readinessRollupRepository.saveCheckpoint(new ReadinessCheckpoint(5L, NOW, 5));
+        readinessRollupRepository.saveCheckpoint(new ReadinessCheckpoint(9L, NOW.plusHours(1), 4));
+
+        assertEquals(new ReadinessCheckpoint(9L, NOW.plusHours(1), 4),
+            readinessRollupRepository.findCheckpoint().orElseThrow());
+    }
+
+    @Test
+    void lease_isHeldByOneTokenUntilReleasedOrRunOut() {
+        String token = "00000000-0000-0000-0000-000000000001";
+        String other = "00000000-0000-0000-0000-000000000002";
+        readinessRollupRepository.insertLease(token, 600);
+
+        assertThrows(DuplicateKeyException.class,
+            () -> readinessRollupRepository.insertLease(other, 600));
+        assertFalse(readinessRollupRepository.extendLease(other, 600));
+        assertTrue(readinessRollupRepository.extendLease(token, -60));
+        assertTrue(readinessRollupRepository.extendLease(other, 600));
+        assertFalse(readinessRollupRepository.extendLease(token, 600));
+
+        readinessRollupRepository.releaseLease(token);
+        assertFalse(readinessRollupRepository.extendLease(token, 600));
+        readinessRollupRepository.releaseLease(other);
+        readinessRollupRepository.insertLease(token, 600);
+    }
+}
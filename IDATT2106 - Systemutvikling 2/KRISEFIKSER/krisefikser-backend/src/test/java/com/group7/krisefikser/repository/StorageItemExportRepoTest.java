@@ -0,0 +1,71 @@
+package com.group7.krisefikser.repository;
+
+import com.group7.krisefikser.enums.ItemType;
+import com.group7.krisefikser.model.item.StorageItemExportRow;
+import com.group7.krisefikser.repository.item.StorageItemExportRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a test class for the StorageItemExportRepo.
+ * It checks that the streamed rows match the test data and are ordered as documented.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class StorageItemExportRepoTest {
+  @Autowired
+  private StorageItemExportRepo storageItemExportRepo;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void streamHouseholdItems_returnsAllItemsOrderedByExpiration() {
+    List<StorageItemExportRow> rows = new ArrayList<>();
+    storageItemExportRepo.streamHouseholdItems(1, rows::add);
+
+    assertEquals(5, rows.size());
+    assertTrue(rows.stream().allMatch(row -> "The Smiths".equals(row.getHouseholdName())));
+    for (int i = 1; i < rows.size(); i++) {
+      assertFalse(rows.get(i).getExpirationDate().isBefore(rows.get(i - 1).getExpirationDate()));
+    }
+    StorageItemExportRow beans = rows.get(0);
+    assertEquals("Canned Beans", beans.getItemName());
+    assertEquals("g", beans.getUnit());
+    assertEquals(ItemType.FOOD, beans.getType());
+  }
+
+  @Test
+  void streamSharedGroupItems_returnsOnlySharedItemsOfGroupHouseholds() {
+    List<StorageItemExportRow> rows = new ArrayList<>();
+    storageItemExportRepo.streamSharedGroupItems(1L, rows::add);
+
+    assertEquals(7, rows.size());
+    assertTrue(rows.stream().allMatch(StorageItemExportRow::isShared));
+    assertEquals("The Smiths", rows.get(0).getHouseholdName());
+    assertEquals("The Johnsons", rows.get(rows.size() - 1).getHouseholdName());
+  }
+
+  @Test
+  void streamExpiringItems_returnsOnlyItemsWithinRange() {
+    jdbcTemplate.update("INSERT INTO storage_items "
+            + "(expiration_date, quantity, household_id, item_id, is_shared) "
+            + "VALUES (DATEADD('DAY', 2, CURRENT_TIMESTAMP), 1, 5, 1, FALSE)");
+
+    List<StorageItemExportRow> rows = new ArrayList<>();
+    storageItemExportRepo.streamExpiringItems(5, 7, rows::add);
+
+    assertEquals(1, rows.size());
+    assertEquals("Bottled Water", rows.get(0).getItemName());
+  }
+}
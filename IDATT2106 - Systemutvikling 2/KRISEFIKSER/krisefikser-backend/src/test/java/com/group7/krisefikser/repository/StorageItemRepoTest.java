@@ -13,6 +13,7 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -315,6 +316,51 @@ class StorageItemRepoTest {
     assertTrue(itemsAfterDelete.isEmpty());
   }
 
+  /**
+   * This method tests the addAll and updateAll methods in the StorageItemRepo class.
+   * It adds several items in one batch, updates them in another and checks the stored values.
+   */
+  @Test
+  void addAllAndUpdateAll() {
+    int householdId = 4;
+    List<StorageItem> newItems = List.of(
+            new StorageItem(0, LocalDateTime.now().plusDays(10), 5, householdId, 1, false),
+            new StorageItem(0, LocalDateTime.now().plusDays(20), 7, householdId, 2, true));
+
+    assertEquals(2, storageItemRepo.addAll(newItems));
+
+    List<StorageItem> stored = storageItemRepo.getAllStorageItems(householdId);
+    assertEquals(3, stored.size());
+    StorageItem shared = stored.stream().filter(StorageItem::isShared).findFirst().orElseThrow();
+    assertEquals(7, shared.getQuantity());
+
+    shared.setQuantity(9);
+    shared.setItemId(3);
+    shared.setShared(false);
+    assertEquals(1, storageItemRepo.updateAll(List.of(shared)));
+
+    StorageItem updated = storageItemRepo.findById(shared.getId()).orElseThrow();
+    assertEquals(9, updated.getQuantity());
+    assertEquals(3, updated.getItemId());
+    assertTrue(updated.isShared());
+  }
+
+  /**
+   * This method tests the findIdsInHousehold and deleteByIds methods in the StorageItemRepo
+   * class. Only the storage items of the given household should be found and deleted.
+   */
+  @Test
+  void findIdsInHouseholdAndDeleteByIds() {
+    List<Integer> ids = List.of(3, 4, 5, 999);
+
+    assertEquals(Set.of(3, 4), storageItemRepo.findIdsInHousehold(ids, 3));
+    assertTrue(storageItemRepo.findIdsInHousehold(List.of(), 3).isEmpty());
+
+    assertEquals(2, storageItemRepo.deleteByIds(ids, 3));
+    assertTrue(storageItemRepo.findById(3).isEmpty());
+    assertTrue(storageItemRepo.findById(5).isPresent());
+  }
+
   /**
    * This method tests the findExpiringItems method in the StorageItemRepo class.
    * It adds items with different expiration dates and verifies that only items
@@ -5,7 +5,9 @@ import com.group7.krisefikser.dto.response.location.AffectedAreaResponse;
 import com.group7.krisefikser.mapper.location.AffectedAreaMapper;
 import com.group7.krisefikser.model.location.AffectedArea;
 import com.group7.krisefikser.repository.location.AffectedAreaRepo;
+import com.group7.krisefikser.service.cache.TwoTierCache;
 import com.group7.krisefikser.service.location.AffectedAreaService;
+import com.group7.krisefikser.service.other.BroadcastService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,8 +19,11 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
@@ -31,6 +36,10 @@ import static org.mockito.Mockito.*;
 class AffectedAreaServiceTest {
   @Mock
   private AffectedAreaRepo affectedAreaRepo;
+  @Mock
+  private TwoTierCache<List<AffectedAreaResponse>> affectedAreaCache;
+  @Mock
+  private BroadcastService broadcastService;
   @InjectMocks
   private AffectedAreaService affectedAreaService;
 
@@ -39,6 +48,8 @@ class AffectedAreaServiceTest {
   private AffectedArea testArea1;
   @BeforeEach
   void setUp() {
+    lenient().when(affectedAreaCache.get(any(), any())).thenAnswer(invocation ->
+        invocation.<Supplier<List<AffectedAreaResponse>>>getArgument(1).get());
     testAreaRequest1 = new AffectedAreaRequest();
     testAreaRequest1.setLongitude(11.5);
     testAreaRequest1.setLatitude(63.5);
@@ -108,6 +119,20 @@ class AffectedAreaServiceTest {
             response2.getStartDate());
   }
 
+  /**
+   * Test for getAffectedAreaById method.
+   * This test verifies that an existing area is mapped to a response
+   * and that a missing area gives an empty result.
+   */
+  @Test
+  void getAffectedAreaById_shouldMapAreaOrReturnEmpty() {
+    when(affectedAreaRepo.findById(1L)).thenReturn(Optional.of(new AffectedArea(1L, "Name 1",
+            10.0, 60.0, 5.0, 6.1, 7.0, 1, "High danger area 1", LocalDateTime.now())));
+
+    assertEquals("Name 1", affectedAreaService.getAffectedAreaById(1L).orElseThrow().getName());
+    assertTrue(affectedAreaService.getAffectedAreaById(2L).isEmpty());
+  }
+
   /**
    * Test for getAllAffectedAreas method.
    * This test verifies that the method returns an empty list
@@ -143,6 +168,7 @@ class AffectedAreaServiceTest {
     assertEquals(testAreaRequest1.getStartDate(), response.getStartDate());
     assertNotNull(response.getId());
     verify(affectedAreaRepo, times(1)).addAffectedArea(any(AffectedArea.class));
+    verify(broadcastService).broadcastIncident(argThat(area -> area.getId() == 1L));
   }
 
   @Test
@@ -159,6 +185,7 @@ class AffectedAreaServiceTest {
 
     assertEquals("Failed to add affected area", exception.getMessage());
     verify(affectedAreaRepo, times(1)).addAffectedArea(any(AffectedArea.class));
+    verifyNoInteractions(broadcastService);
   }
 
   @Test
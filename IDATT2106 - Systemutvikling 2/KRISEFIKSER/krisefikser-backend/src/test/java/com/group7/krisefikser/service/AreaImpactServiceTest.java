@@ -0,0 +1,113 @@
+package com.group7.krisefikser.service;
+
+import com.group7.krisefikser.dto.response.location.AffectedAreaResponse;
+import com.group7.krisefikser.dto.response.location.AreaImpactResponse;
+import com.group7.krisefikser.dto.response.location.ZoneImpactResponse;
+import com.group7.krisefikser.model.location.HouseholdSupply;
+import com.group7.krisefikser.model.location.UserPosition;
+import com.group7.krisefikser.repository.location.AreaImpactRepo;
+import com.group7.krisefikser.service.cache.TwoTierCache;
+import com.group7.krisefikser.service.location.AffectedAreaService;
+import com.group7.krisefikser.service.location.AreaImpactService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the AreaImpactService class.
+ * The area used has danger zones of 1, 2 and 3 km around Oslo.
+ */
+@ExtendWith(MockitoExtension.class)
+class AreaImpactServiceTest {
+  private static final double LAT = 59.91;
+  private static final double LON = 10.75;
+
+  @Mock
+  private AreaImpactRepo areaImpactRepo;
+  @Mock
+  private AffectedAreaService affectedAreaService;
+  @Mock
+  private TwoTierCache<List<ZoneImpactResponse>> areaImpactCache;
+  @Mock
+  private TwoTierCache<List<Integer>> areaPresenceCache;
+
+  private AreaImpactService areaImpactService;
+
+  @BeforeEach
+  void setUp() {
+    areaImpactService = new AreaImpactService(areaImpactRepo, affectedAreaService,
+        areaImpactCache, areaPresenceCache);
+    lenient().when(areaImpactCache.get(any(), any())).thenAnswer(invocation ->
+        invocation.<Supplier<List<ZoneImpactResponse>>>getArgument(1).get());
+    lenient().when(areaPresenceCache.get(any(), any())).thenAnswer(invocation ->
+        invocation.<Supplier<List<Integer>>>getArgument(1).get());
+    lenient().when(affectedAreaService.getAllAffectedAreas()).thenReturn(List.of(
+        area(1L, LAT, LON), area(2L, 63.43, 10.39)));
+    lenient().when(affectedAreaService.getAffectedAreaById(1L))
+        .thenReturn(Optional.of(area(1L, LAT, LON)));
+  }
+
+  @Test
+  void getImpact_shouldCountHouseholdsAndPositionsInTheirInnermostZone() {
+    when(areaImpactRepo.findHouseholdSupplyWithin(anyDouble(), anyDouble(), anyDouble(),
+        anyDouble(), any())).thenReturn(List.of(
+            new HouseholdSupply(1L, LAT, LON, 2, 1, 20_000, 8),
+            new HouseholdSupply(2L, LAT + 0.015, LON, 1, 0, 0, 0),
+            new HouseholdSupply(3L, LAT + 0.03, LON, 4, 0, 0, 0)));
+    when(areaImpactRepo.findPositionsWithin(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+        .thenReturn(List.of(new double[] {LAT, LON}, new double[] {LAT + 0.02, LON}));
+
+    AreaImpactResponse impact = areaImpactService.getImpact(1L);
+
+    assertEquals(1L, impact.getAreaId());
+    List<ZoneImpactResponse> zones = impact.getZones();
+    assertEquals(List.of("high", "medium", "low"),
+        zones.stream().map(ZoneImpactResponse::getZone).toList());
+    assertEquals(1, zones.get(0).getHouseholds());
+    assertEquals(2, zones.get(0).getResidents());
+    assertEquals(1, zones.get(0).getNonUserMembers());
+    assertEquals(1, zones.get(0).getUsersPresent());
+    assertEquals(2.0, zones.get(0).getReadinessDays());
+    assertEquals(1, zones.get(1).getHouseholds());
+    assertEquals(0, zones.get(1).getUsersPresent());
+    assertEquals(0, zones.get(2).getHouseholds());
+    assertEquals(1, zones.get(2).getUsersPresent());
+    assertEquals(0, zones.get(2).getReadinessDays());
+    verify(affectedAreaService, never()).getAllAffectedAreas();
+  }
+
+  @Test
+  void getImpact_shouldThrow_whenAreaDoesNotExist() {
+    assertThrows(IllegalArgumentException.class, () -> areaImpactService.getImpact(3L));
+    verifyNoInteractions(areaImpactRepo);
+  }
+
+  @Test
+  void positionsChanged_shouldEvictOnlyAreasThePositionsAreInside() {
+    UserPosition inside = new UserPosition();
+    inside.setLatitude(LAT + 0.01);
+    inside.setLongitude(LON);
+
+    areaImpactService.positionsChanged(null, inside);
+
+    verify(areaPresenceCache).invalidate(1L);
+    verify(areaPresenceCache, never()).invalidate(2L);
+    verify(areaImpactCache, never()).invalidate(any());
+  }
+
+  private static AffectedAreaResponse area(Long id, double latitude, double longitude) {
+    return new AffectedAreaResponse(id, "Area " + id, longitude, latitude, 1.0, 2.0, 3.0, 3,
+        "Evacuate", "2025-01-01T00:00");
+  }
+}
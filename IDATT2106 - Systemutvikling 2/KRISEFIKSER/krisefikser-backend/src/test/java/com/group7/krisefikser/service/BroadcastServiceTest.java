@@ -0,0 +1,194 @@
+package com.group7.krisefikser.service;
+
+import com.group7.krisefikser.model.location.AffectedArea;
+import com.group7.krisefikser.model.other.Broadcast;
+import com.group7.krisefikser.model.other.BroadcastRecipient;
+import com.group7.krisefikser.repository.other.BroadcastRepo;
+import com.group7.krisefikser.service.other.BroadcastChannel;
+import com.group7.krisefikser.service.other.BroadcastService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the BroadcastService class.
+ */
+@ExtendWith(MockitoExtension.class)
+class BroadcastServiceTest {
+  private static final int BATCH_SIZE = 2;
+
+  @Mock
+  private BroadcastRepo broadcastRepo;
+  @Mock
+  private BroadcastChannel emailChannel;
+  @Mock
+  private BroadcastChannel otherChannel;
+
+  private BroadcastService broadcastService;
+
+  @BeforeEach
+  void setUp() {
+    broadcastService = new BroadcastService(broadcastRepo, List.of(emailChannel, otherChannel),
+        3, BATCH_SIZE, 60_000, 3);
+  }
+
+  @Test
+  void constructor_shouldThrow_whenBatchSizeIsNotPositive() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new BroadcastService(broadcastRepo, List.of(), 3, 0, 60_000, 3));
+  }
+
+  @Test
+  void broadcastIncident_shouldCreateBroadcastOverTheOutermostZone() {
+    doAnswer(invocation -> {
+      invocation.<Broadcast>getArgument(0).setId(7L);
+      return null;
+    }).when(broadcastRepo).create(any(Broadcast.class));
+
+    Optional<Broadcast> broadcast = broadcastService.broadcastIncident(area(3));
+
+    assertTrue(broadcast.isPresent());
+    assertEquals(7L, broadcast.get().getId());
+    assertEquals(1L, broadcast.get().getAffectedAreaId());
+    assertEquals(3.0, broadcast.get().getRadiusKm());
+    assertEquals("Chemical Spill: Stay indoors", broadcast.get().getMessage());
+  }
+
+  @Test
+  void broadcastIncident_shouldSkipAreasBelowTheMinimumSeverity() {
+    assertTrue(broadcastService.broadcastIncident(area(2)).isEmpty());
+    verifyNoInteractions(broadcastRepo);
+  }
+
+  @Test
+  void deliverBatch_shouldResolveAndDeliverTheClaimedBatch() {
+    Broadcast broadcast = broadcast(null);
+    List<BroadcastRecipient> recipients = recipients();
+    when(emailChannel.getName()).thenReturn("email");
+    when(otherChannel.getName()).thenReturn("other");
+    when(broadcastRepo.claimBatch(eq(1L), anyString(), eq(BATCH_SIZE), any())).thenReturn(2);
+    when(broadcastRepo.findClaimed(anyString())).thenReturn(recipients);
+    when(emailChannel.deliver(broadcast, recipients)).thenReturn(Set.of());
+    when(otherChannel.deliver(broadcast, recipients)).thenReturn(Set.of());
+
+    int delivered = broadcastService.deliverBatch(broadcast, LocalDateTime.now());
+
+    assertEquals(2, delivered);
+    verify(broadcastRepo).resolveRecipients(eq(broadcast), any());
+    verify(broadcastRepo).releaseExpiredClaims(eq(1L), any());
+    ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+    verify(broadcastRepo).claimBatch(eq(1L), token.capture(), eq(BATCH_SIZE), any());
+    verify(broadcastRepo).findClaimed(token.getValue());
+    verify(broadcastRepo).recordDeliveries(eq(1L), eq("email"), eq(List.of(1L, 2L)),
+        eq(Set.of()), any());
+    verify(broadcastRepo).markSent(eq(1L), eq(List.of(1L, 2L)), any());
+    verify(broadcastRepo).markFailed(eq(1L), eq(Set.of()), eq(3), any());
+    verify(broadcastRepo, never()).completeIfDelivered(anyLong(), any());
+  }
+
+  @Test
+  void deliverBatch_shouldLeaveRecipientsUnsent_whenAnyChannelFailsForThem() {
+    Broadcast broadcast = broadcast(LocalDateTime.now());
+    List<BroadcastRecipient> recipients = recipients();
+    when(emailChannel.getName()).thenReturn("email");
+    when(otherChannel.getName()).thenReturn("other");
+    when(broadcastRepo.claimBatch(eq(1L), anyString(), eq(BATCH_SIZE), any())).thenReturn(2);
+    when(broadcastRepo.findClaimed(anyString())).thenReturn(recipients);
+    when(emailChannel.deliver(broadcast, recipients)).thenReturn(Set.of(1L));
+    when(otherChannel.deliver(broadcast, recipients)).thenReturn(Set.of(2L));
+
+    broadcastService.deliverBatch(broadcast, LocalDateTime.now());
+
+    verify(broadcastRepo).recordDeliveries(eq(1L), eq("email"), eq(List.of(1L, 2L)),
+        eq(Set.of(1L)), any());
+    verify(broadcastRepo).recordDeliveries(eq(1L), eq("other"), eq(List.of(1L, 2L)),
+        eq(Set.of(2L)), any());
+    verify(broadcastRepo).markSent(eq(1L), eq(List.of()), any());
+    verify(broadcastRepo).markFailed(eq(1L), eq(Set.of(1L, 2L)), eq(3), any());
+  }
+
+  @Test
+  void deliverBatch_shouldOnlyRetryTheChannelsThatFailed() {
+    Broadcast broadcast = broadcast(LocalDateTime.now());
+    List<BroadcastRecipient> recipients = recipients();
+    when(emailChannel.getName()).thenReturn("email");
+    when(otherChannel.getName()).thenReturn("other");
+    when(broadcastRepo.claimBatch(eq(1L), anyString(), eq(BATCH_SIZE), any())).thenReturn(2);
+    when(broadcastRepo.findClaimed(anyString())).thenReturn(recipients);
+    when(broadcastRepo.findDelivered(anyString(), eq("email"))).thenReturn(List.of(1L, 2L));
+    when(broadcastRepo.findDelivered(anyString(), eq("other"))).thenReturn(List.of(1L));
+    when(otherChannel.deliver(broadcast, recipients.subList(1, 2))).thenReturn(Set.of());
+
+    broadcastService.deliverBatch(broadcast, LocalDateTime.now());
+
+    verify(emailChannel, never()).deliver(any(), any());
+    verify(broadcastRepo).markSent(eq(1L), eq(List.of(1L, 2L)), any());
+  }
+
+  @Test
+  void deliverBatch_shouldComplete_whenNothingIsLeftToClaim() {
+    Broadcast broadcast = broadcast(LocalDateTime.now());
+    when(broadcastRepo.claimBatch(eq(1L), anyString(), anyInt(), any())).thenReturn(0);
+    when(broadcastRepo.completeIfDelivered(eq(1L), any())).thenReturn(true);
+
+    int delivered = broadcastService.deliverBatch(broadcast, LocalDateTime.now());
+
+    assertEquals(0, delivered);
+    verify(broadcastRepo, never()).resolveRecipients(any(), any());
+    verify(broadcastRepo).completeIfDelivered(eq(1L), any());
+    verifyNoInteractions(emailChannel, otherChannel);
+  }
+
+  @Test
+  void deliverPending_shouldContinueWithTheNextBroadcast_whenOneFails() {
+    Broadcast failing = broadcast(LocalDateTime.now());
+    Broadcast next = broadcast(LocalDateTime.now());
+    next.setId(2L);
+    when(broadcastRepo.findActive()).thenReturn(List.of(failing, next));
+    when(broadcastRepo.releaseExpiredClaims(anyLong(), any()))
+        .thenThrow(new RuntimeException("Database unavailable"))
+        .thenReturn(0);
+
+    broadcastService.deliverPending();
+
+    verify(broadcastRepo).claimBatch(eq(2L), anyString(), anyInt(), any());
+  }
+
+  @Test
+  void getBroadcast_shouldThrow_whenBroadcastDoesNotExist() {
+    when(broadcastRepo.findById(1L)).thenReturn(Optional.empty());
+
+    assertThrows(IllegalArgumentException.class, () -> broadcastService.getBroadcast(1L));
+  }
+
+  private static List<BroadcastRecipient> recipients() {
+    return List.of(
+        new BroadcastRecipient(1L, "a@example.com"), new BroadcastRecipient(2L, "b@example.com"));
+  }
+
+  private static AffectedArea area(int severityLevel) {
+    return new AffectedArea(1L, "Chemical Spill", 10.77, 59.92, 1.0, 2.0, 3.0, severityLevel,
+        "Stay indoors", LocalDateTime.now());
+  }
+
+  private static Broadcast broadcast(LocalDateTime resolvedAt) {
+    return new Broadcast(1L, 1L, "Chemical Spill: Stay indoors", 59.92, 10.77, 3.0, 0, 0, 0,
+        LocalDateTime.now(), resolvedAt, null);
+  }
+}
@@ -0,0 +1,93 @@
+package com.group7.krisefikser.service;
+
+import com.group7.krisefikser.repository.other.ChangeLogRepo;
+import com.group7.krisefikser.service.other.ChangeLogCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the ChangeLogCursor class.
+ */
+class ChangeLogCursorTest {
+  private ChangeLogRepo changeLogRepo;
+  private ChangeLogCursor cursor;
+
+  @BeforeEach
+  void setUp() {
+    changeLogRepo = mock(ChangeLogRepo.class);
+    cursor = new ChangeLogCursor(changeLogRepo, 10_000, 60);
+  }
+
+  @Test
+  void version_beforeFirstPoll_pollsFromVersionOlderThanGapTimeout() {
+    when(changeLogRepo.latestVersionOlderThan(any())).thenReturn(40L);
+    when(changeLogRepo.findVersionsAfter(40, ChangeLogCursor.PAGE_SIZE))
+        .thenReturn(List.of(41L, 43L));
+
+    assertEquals(41, cursor.version());
+    assertEquals(41, cursor.version());
+    verify(changeLogRepo, times(1)).latestVersionOlderThan(any());
+  }
+
+  @Test
+  void poll_stopsBeforeMissingVersionUntilItShowsUp() {
+    cursor.poll();
+    when(changeLogRepo.findVersionsAfter(0, ChangeLogCursor.PAGE_SIZE))
+        .thenReturn(List.of(1L, 3L));
+    cursor.poll();
+    assertEquals(1, cursor.version());
+
+    when(changeLogRepo.findVersionsAfter(1, ChangeLogCursor.PAGE_SIZE))
+        .thenReturn(List.of(2L, 3L));
+    cursor.poll();
+
+    assertEquals(3, cursor.version());
+  }
+
+  @Test
+  void poll_missingVersionTimesOut_movesOn() {
+    cursor = new ChangeLogCursor(changeLogRepo, 0, 60);
+    cursor.poll();
+    when(changeLogRepo.findVersionsAfter(0, ChangeLogCursor.PAGE_SIZE))
+        .thenReturn(List.of(2L));
+    cursor.poll();
+
+    cursor.poll();
+
+    assertEquals(2, cursor.version());
+  }
+
+  @Test
+  void recordLateChanges_recordsAbandonedVersionThatShowsUpAgain() {
+    cursor = new ChangeLogCursor(changeLogRepo, 0, 60);
+    cursor.poll();
+    when(changeLogRepo.findVersionsAfter(0, ChangeLogCursor.PAGE_SIZE))
+        .thenReturn(List.of(2L));
+    cursor.poll();
+    cursor.poll();
+
+    cursor.recordLateChanges();
+    verify(changeLogRepo, never()).recordAgain(any());
+
+    when(changeLogRepo.findVersions(List.of(1L))).thenReturn(List.of(1L));
+    cursor.recordLateChanges();
+    cursor.recordLateChanges();
+
+    verify(changeLogRepo, times(1)).recordAgain(List.of(1L));
+  }
+
+  @Test
+  void recordLateChanges_withoutAbandonedVersions_readsNothing() {
+    cursor.poll();
+
+    cursor.recordLateChanges();
+
+    verify(changeLogRepo, never()).findVersions(any());
+  }
+}
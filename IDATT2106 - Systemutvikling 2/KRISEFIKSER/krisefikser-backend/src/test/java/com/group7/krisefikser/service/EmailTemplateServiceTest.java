@@ -41,6 +41,18 @@ public class EmailTemplateServiceTest {
     assertEquals("Admin Verification", subject);
   }
 
+  @Test
+  void testGetSubject_expiryReminder() {
+    String subject = emailTemplateService.getSubject(EmailTemplateType.EXPIRY_REMINDER);
+    assertEquals("Items Expiring Soon", subject);
+  }
+
+  @Test
+  void testGetSubject_emergencyBroadcast() {
+    String subject = emailTemplateService.getSubject(EmailTemplateType.EMERGENCY_BROADCAST);
+    assertEquals("Emergency Alert", subject);
+  }
+
   @Test
   void testGetBody_passwordReset() {
     Map<String, String> params = Map.of("resetLink", "http://example.com/reset");
@@ -68,4 +80,11 @@ public class EmailTemplateServiceTest {
     String body = emailTemplateService.getBody(EmailTemplateType.ADMIN_VERIFICATION, params);
     assertEquals("Your admin account has been verified. You can now log in.\nhttp://example.com/login", body);
   }
+
+  @Test
+  void testGetBody_emergencyBroadcast() {
+    Map<String, String> params = Map.of("message", "Flood: Move to higher ground");
+    String body = emailTemplateService.getBody(EmailTemplateType.EMERGENCY_BROADCAST, params);
+    assertEquals("An emergency has been declared in your area.\nFlood: Move to higher ground", body);
+  }
 }
@@ -0,0 +1,81 @@
+package com.group7.krisefikser.service;
+
+import com.group7.krisefikser.model.household.EmergencyGroup;
+import com.group7.krisefikser.repository.household.EmergencyGroupRepo;
+import com.group7.krisefikser.service.household.EmergencyGroupCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the EmergencyGroupCache class.
+ */
+@ExtendWith(MockitoExtension.class)
+class EmergencyGroupCacheTest {
+  @Mock
+  private EmergencyGroupRepo emergencyGroupRepo;
+
+  @InjectMocks
+  private EmergencyGroupCache emergencyGroupCache;
+
+  @Test
+  void get_secondCall_isServedFromCache() {
+    EmergencyGroup group = group(1L, "Group A");
+    when(emergencyGroupRepo.getEmergencyGroupById(1L)).thenReturn(Optional.of(group));
+
+    assertSame(group, emergencyGroupCache.get(1L).orElseThrow());
+    assertSame(group, emergencyGroupCache.get(1L).orElseThrow());
+    verify(emergencyGroupRepo, times(1)).getEmergencyGroupById(1L);
+  }
+
+  @Test
+  void get_missingGroup_isNotCached() {
+    when(emergencyGroupRepo.getEmergencyGroupById(999L)).thenReturn(Optional.empty());
+
+    assertTrue(emergencyGroupCache.get(999L).isEmpty());
+    assertTrue(emergencyGroupCache.get(999L).isEmpty());
+    verify(emergencyGroupRepo, times(2)).getEmergencyGroupById(999L);
+  }
+
+  @Test
+  void getNames_loadsOnlyMissingGroupsInOneQuery() {
+    when(emergencyGroupRepo.getEmergencyGroupById(1L)).thenReturn(Optional.of(group(1L, "Group A")));
+    when(emergencyGroupRepo.getEmergencyGroupsByIds(Set.of(2L, 3L)))
+        .thenReturn(List.of(group(2L, "Group B"), group(3L, "Group C")));
+    emergencyGroupCache.get(1L);
+
+    Map<Long, String> names = emergencyGroupCache.getNames(List.of(1L, 2L, 3L, 2L));
+
+    assertEquals(Map.of(1L, "Group A", 2L, "Group B", 3L, "Group C"), names);
+    verify(emergencyGroupRepo, times(1)).getEmergencyGroupsByIds(any());
+  }
+
+  @Test
+  void getNames_cachedGroups_needNoQuery() {
+    when(emergencyGroupRepo.getEmergencyGroupsByIds(Set.of(2L)))
+        .thenReturn(List.of(group(2L, "Group B")));
+    emergencyGroupCache.getNames(List.of(2L));
+
+    Map<Long, String> names = emergencyGroupCache.getNames(List.of(2L));
+
+    assertEquals(Map.of(2L, "Group B"), names);
+    verify(emergencyGroupRepo, times(1)).getEmergencyGroupsByIds(any());
+  }
+
+  private static EmergencyGroup group(long id, String name) {
+    EmergencyGroup group = new EmergencyGroup();
+    group.setId(id);
+    group.setName(name);
+    return group;
+  }
+}
@@ -8,10 +8,12 @@ import com.group7.krisefikser.dto.response.household.EmergencyGroupInvitationRes
 import com.group7.krisefikser.dto.response.household.EmergencyGroupResponse;
 import com.group7.krisefikser.model.household.EmergencyGroup;
 
+import com.group7.krisefikser.service.household.EmergencyGroupCache;
 import com.group7.krisefikser.service.household.EmergencyGroupService;
 import java.sql.Date;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
@@ -21,6 +23,7 @@ import com.group7.krisefikser.model.user.User;
 import com.group7.krisefikser.repository.household.EmergencyGroupInvitationsRepo;
 import com.group7.krisefikser.repository.household.EmergencyGroupRepo;
 import com.group7.krisefikser.repository.household.HouseholdRepository;
+import com.group7.krisefikser.repository.item.GroupInventoryRepo;
 import com.group7.krisefikser.repository.user.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,7 +32,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -46,6 +49,10 @@ class EmergencyGroupServiceTest {
   private UserRepository userRepository;
   @Mock
   private EmergencyGroupInvitationsRepo emergencyGroupInvitationsRepo;
+  @Mock
+  private GroupInventoryRepo groupInventoryRepo;
+  @Mock
+  private EmergencyGroupCache emergencyGroupCache;
 
   @InjectMocks
   private EmergencyGroupService emergencyGroupService;
@@ -86,7 +93,7 @@ class EmergencyGroupServiceTest {
 
   @Test
   void getEmergencyGroupById_Success() {
-    when(emergencyGroupRepo.getEmergencyGroupById(1L)).thenReturn(testEmergencyGroup);
+    when(emergencyGroupCache.get(1L)).thenReturn(Optional.of(testEmergencyGroup));
 
     EmergencyGroupResponse response = emergencyGroupService.getEmergencyGroupById(1L);
 
@@ -94,19 +101,18 @@ class EmergencyGroupServiceTest {
     assertEquals(testEmergencyGroup.getId(), response.getId());
     assertEquals(testEmergencyGroup.getName(), response.getName());
     assertEquals(testEmergencyGroup.getCreatedAt().toString(), response.getCreatedAt());
-    verify(emergencyGroupRepo, times(1)).getEmergencyGroupById(1L);
+    verify(emergencyGroupCache, times(1)).get(1L);
   }
 
   @Test
   void getEmergencyGroupById_NotFound() {
-    when(emergencyGroupRepo.getEmergencyGroupById(999L))
-            .thenThrow(new EmptyResultDataAccessException(1));
+    when(emergencyGroupCache.get(999L)).thenReturn(Optional.empty());
 
     NoSuchElementException exception = assertThrows(NoSuchElementException.class, () ->
             emergencyGroupService.getEmergencyGroupById(999L));
 
     assertEquals("Emergency group with ID 999 not found.", exception.getMessage());
-    verify(emergencyGroupRepo, times(1)).getEmergencyGroupById(999L);
+    verify(emergencyGroupCache, times(1)).get(999L);
   }
 
 
@@ -135,6 +141,7 @@ class EmergencyGroupServiceTest {
     assertEquals(testEmergencyGroupRequest.getName(), response.getName());
     assertNotNull(response.getCreatedAt());
     verify(emergencyGroupRepo, times(1)).addEmergencyGroup(any(EmergencyGroup.class));
+    verify(groupInventoryRepo, times(1)).refreshHousehold(testUser.getHouseholdId());
   }
 
   @Test
@@ -157,23 +164,47 @@ class EmergencyGroupServiceTest {
     SecurityContextHolder.setContext(securityContext);
     when(SecurityContextHolder.getContext().getAuthentication().getName()).thenReturn("100");
 
-    when(householdRepository.getHouseholdByName("Neighbor's Household")).thenReturn(Optional.of(householdToInvite));
-    when(userRepository.findById(100L)).thenReturn(Optional.of(testUser));
-    when(householdRepository.getEmergencyIdByHouseholdId(200L)).thenReturn(1L); // Mock group ID
+    when(emergencyGroupInvitationsRepo.addInvitationByHouseholdName(100L, "Neighbor's Household"))
+            .thenReturn(1);
 
     emergencyGroupService.inviteHouseholdByName("Neighbor's Household");
 
-    verify(emergencyGroupInvitationsRepo, times(1)).addEmergencyGroupInvitation(any(EmergencyGroupInvitation.class));
+    verify(emergencyGroupInvitationsRepo, times(1))
+            .addInvitationByHouseholdName(100L, "Neighbor's Household");
+    verifyNoInteractions(householdRepository, userRepository);
   }
 
+  @Test
+  void inviteHouseholdByName_alreadyInvited() {
+    Authentication authentication = mock(Authentication.class);
+    SecurityContext securityContext = mock(SecurityContext.class);
+    when(securityContext.getAuthentication()).thenReturn(authentication);
+    SecurityContextHolder.setContext(securityContext);
+    when(SecurityContextHolder.getContext().getAuthentication().getName()).thenReturn("100");
+
+    when(emergencyGroupInvitationsRepo.addInvitationByHouseholdName(100L, "Neighbor's Household"))
+            .thenThrow(new DuplicateKeyException("Duplicate entry"));
+
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+            emergencyGroupService.inviteHouseholdByName("Neighbor's Household"));
+
+    assertEquals("Household is already invited to this group.", exception.getMessage());
+  }
 
   @Test
   void inviteHouseholdByName_householdNotFound() {
+    Authentication authentication = mock(Authentication.class);
+    SecurityContext securityContext = mock(SecurityContext.class);
+    when(securityContext.getAuthentication()).thenReturn(authentication);
+    SecurityContextHolder.setContext(securityContext);
+    when(SecurityContextHolder.getContext().getAuthentication().getName()).thenReturn("100");
+
     when(householdRepository.getHouseholdByName("NonExistentHousehold")).thenReturn(Optional.empty());
 
     assertThrows(NoSuchElementException.class, () -> emergencyGroupService.inviteHouseholdByName("NonExistentHousehold"));
 
-    verify(emergencyGroupInvitationsRepo, never()).addEmergencyGroupInvitation(any());
+    verify(emergencyGroupInvitationsRepo, times(1))
+            .addInvitationByHouseholdName(100L, "NonExistentHousehold");
   }
 
   @Test
@@ -188,31 +219,43 @@ class EmergencyGroupServiceTest {
     when(userRepository.findById(100L)).thenReturn(Optional.empty());
 
     assertThrows(NoSuchElementException.class, () -> emergencyGroupService.inviteHouseholdByName("Neighbor's Household"));
-
-    verify(emergencyGroupInvitationsRepo, never()).addEmergencyGroupInvitation(any());
   }
 
   @Test
-  void inviteHouseholdByName_requestingHouseholdNotFound() {
+  void inviteHouseholdByName_requestingHouseholdNotInGroup() {
     Authentication authentication = mock(Authentication.class);
     SecurityContext securityContext = mock(SecurityContext.class);
     when(securityContext.getAuthentication()).thenReturn(authentication);
     SecurityContextHolder.setContext(securityContext);
     when(SecurityContextHolder.getContext().getAuthentication().getName()).thenReturn("100");
 
-    // The household to invite exists
     when(householdRepository.getHouseholdByName("Neighbor's Household")).thenReturn(Optional.of(householdToInvite));
+    when(userRepository.findById(100L)).thenReturn(Optional.of(testUser));
+    when(householdRepository.getEmergencyIdByHouseholdId(200L)).thenReturn(null);
 
-    // But the requesting user is not found in the system
-    when(userRepository.findById(100L)).thenReturn(Optional.empty());
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+            emergencyGroupService.inviteHouseholdByName("Neighbor's Household"));
 
-    // Should throw due to user not being found
-    assertThrows(NoSuchElementException.class, () ->
-      emergencyGroupService.inviteHouseholdByName("Neighbor's Household")
-    );
+    assertEquals("Your household is not part of any emergency group", exception.getMessage());
+  }
 
-    // Verify no invitation was created
-    verify(emergencyGroupInvitationsRepo, never()).addEmergencyGroupInvitation(any());
+  @Test
+  void inviteHouseholdByName_householdAlreadyInGroup() {
+    Authentication authentication = mock(Authentication.class);
+    SecurityContext securityContext = mock(SecurityContext.class);
+    when(securityContext.getAuthentication()).thenReturn(authentication);
+    SecurityContextHolder.setContext(securityContext);
+    when(SecurityContextHolder.getContext().getAuthentication().getName()).thenReturn("100");
+
+    householdToInvite.setEmergencyGroupId(1L);
+    when(householdRepository.getHouseholdByName("Neighbor's Household")).thenReturn(Optional.of(householdToInvite));
+    when(userRepository.findById(100L)).thenReturn(Optional.of(testUser));
+    when(householdRepository.getEmergencyIdByHouseholdId(200L)).thenReturn(1L);
+
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+            emergencyGroupService.inviteHouseholdByName("Neighbor's Household"));
+
+    assertEquals("The household is already in the group.", exception.getMessage());
   }
 
   @Test
@@ -225,11 +268,12 @@ class EmergencyGroupServiceTest {
 
     when(SecurityContextHolder.getContext().getAuthentication().getName()).thenReturn("100");
     when(userRepository.findById(100L)).thenReturn(Optional.of(testUser));
-    when(emergencyGroupInvitationsRepo.isInvitedToGroup(200L, 50L)).thenReturn(true);
+    when(emergencyGroupInvitationsRepo.deleteEmergencyGroupInvitation(200L, 50L)).thenReturn(1);
 
     emergencyGroupService.answerEmergencyGroupInvitation(50L, true);
 
     verify(householdRepository, times(1)).addHouseholdToGroup(200L, 50L);
+    verify(groupInventoryRepo, times(1)).refreshHousehold(200L);
     verify(emergencyGroupInvitationsRepo, times(1)).deleteEmergencyGroupInvitation(200L, 50L);
   }
 
@@ -243,7 +287,7 @@ class EmergencyGroupServiceTest {
 
     when(SecurityContextHolder.getContext().getAuthentication().getName()).thenReturn("100");
     when(userRepository.findById(100L)).thenReturn(Optional.of(testUser));
-    when(emergencyGroupInvitationsRepo.isInvitedToGroup(200L, 50L)).thenReturn(true);
+    when(emergencyGroupInvitationsRepo.deleteEmergencyGroupInvitation(200L, 50L)).thenReturn(1);
 
     emergencyGroupService.answerEmergencyGroupInvitation(50L, false);
 
@@ -278,12 +322,12 @@ class EmergencyGroupServiceTest {
 
     when(SecurityContextHolder.getContext().getAuthentication().getName()).thenReturn("100");
     when(userRepository.findById(100L)).thenReturn(Optional.of(testUser));
-    when(emergencyGroupInvitationsRepo.isInvitedToGroup(200L, 50L)).thenReturn(false);
+    when(emergencyGroupInvitationsRepo.deleteEmergencyGroupInvitation(200L, 50L)).thenReturn(0);
 
     assertThrows(IllegalArgumentException.class, () -> emergencyGroupService.answerEmergencyGroupInvitation(50L, true));
 
     verify(householdRepository, never()).addHouseholdToGroup(anyLong(), anyLong());
-    verify(emergencyGroupInvitationsRepo, never()).deleteEmergencyGroupInvitation(anyLong(), anyLong());
+    verify(groupInventoryRepo, never()).refreshHousehold(anyLong());
   }
 
   @Test
@@ -293,8 +337,6 @@ class EmergencyGroupServiceTest {
     SecurityContextHolder.setContext(securityContext);
     when(securityContext.getAuthentication()).thenReturn(authentication);
     when(authentication.getName()).thenReturn(String.valueOf(testUser.getId()));
-    when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
-
 
     EmergencyGroupInvitation invitation1 = new EmergencyGroupInvitation();
     invitation1.setId(1L);
@@ -309,17 +351,9 @@ class EmergencyGroupServiceTest {
     invitation2.setCreatedAt(createdAtDateTime);
 
     List<EmergencyGroupInvitation> invitations = List.of(invitation1, invitation2);
-    when(emergencyGroupInvitationsRepo.getInvitationsByHouseholdId(testHousehold.getId())).thenReturn(invitations);
-
-    EmergencyGroup group1 = new EmergencyGroup();
-    group1.setId(10L);
-    group1.setName("First Responders");
-    when(emergencyGroupRepo.getEmergencyGroupById(10L)).thenReturn(group1);
-
-    EmergencyGroup group2 = new EmergencyGroup();
-    group2.setId(11L);
-    group2.setName("Medical Team");
-    when(emergencyGroupRepo.getEmergencyGroupById(11L)).thenReturn(group2);
+    when(emergencyGroupInvitationsRepo.getInvitationsByUserId(testUser.getId())).thenReturn(invitations);
+    when(emergencyGroupCache.getNames(List.of(10L, 11L)))
+            .thenReturn(Map.of(10L, "First Responders", 11L, "Medical Team"));
 
     List<EmergencyGroupInvitationResponse> responses = emergencyGroupService.getEmergencyGroupInvitationsForCurrentUser();
 
@@ -348,9 +382,8 @@ class EmergencyGroupServiceTest {
     SecurityContextHolder.setContext(securityContext);
     when(securityContext.getAuthentication()).thenReturn(authentication);
     when(authentication.getName()).thenReturn(String.valueOf(testUser.getId()));
-    when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
 
-    when(emergencyGroupInvitationsRepo.getInvitationsByHouseholdId(testHousehold.getId())).thenReturn(List.of());
+    when(emergencyGroupInvitationsRepo.getInvitationsByUserId(testUser.getId())).thenReturn(List.of());
 
     List<EmergencyGroupInvitationResponse> responses = emergencyGroupService.getEmergencyGroupInvitationsForCurrentUser();
 
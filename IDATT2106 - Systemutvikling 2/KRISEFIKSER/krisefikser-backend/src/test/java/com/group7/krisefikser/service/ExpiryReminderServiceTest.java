@@ -0,0 +1,163 @@
+package com.group7.krisefikser.service;
+
+import com.group7.krisefikser.enums.EmailTemplateType;
+import com.group7.krisefikser.enums.Role;
+import com.group7.krisefikser.model.item.ExpiryDigestItem;
+import com.group7.krisefikser.model.item.ExpiryNotification;
+import com.group7.krisefikser.model.user.User;
+import com.group7.krisefikser.repository.item.ExpiryNotificationRepo;
+import com.group7.krisefikser.repository.user.UserRepository;
+import com.group7.krisefikser.service.item.ExpiryReminderService;
+import com.group7.krisefikser.service.other.EmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the ExpiryReminderService class.
+ * The reminder queue is mocked, so the tests check which reminders are queued and sent.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExpiryReminderServiceTest {
+  private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 6, 0);
+
+  @Mock
+  private ExpiryNotificationRepo expiryNotificationRepo;
+
+  @Mock
+  private UserRepository userRepository;
+
+  @Mock
+  private EmailService emailService;
+
+  private ExpiryReminderService expiryReminderService;
+
+  @BeforeEach
+  void setUp() {
+    expiryReminderService = new ExpiryReminderService(expiryNotificationRepo, userRepository,
+            emailService, new int[] {7, 1}, 7);
+  }
+
+  @Test
+  void queueExpiringItems_queuesEachItemForItsSmallestThreshold() {
+    when(expiryNotificationRepo.findExpiringPage(NOW, 0, NOW.plusDays(7), 500))
+            .thenReturn(List.of(
+                    candidate(1, NOW.plusHours(12)),
+                    candidate(2, NOW.plusDays(3))));
+    when(expiryNotificationRepo.findByStorageItemIds(List.of(1, 2))).thenReturn(List.of());
+    when(expiryNotificationRepo.queueAll(anyList(), eq(NOW))).thenAnswer(invocation ->
+            invocation.<List<ExpiryNotification>>getArgument(0).size());
+
+    int queued = expiryReminderService.queueExpiringItems(NOW);
+
+    assertEquals(2, queued);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<ExpiryNotification>> captor = ArgumentCaptor.forClass(List.class);
+    verify(expiryNotificationRepo).queueAll(captor.capture(), eq(NOW));
+    assertEquals(1, captor.getValue().get(0).getThresholdDays());
+    assertEquals(7, captor.getValue().get(1).getThresholdDays());
+  }
+
+  @Test
+  void queueExpiringItems_skipsItemsAlreadyQueuedForTheSameThreshold() {
+    ExpiryNotification reported = new ExpiryNotification(1, 10, 7, NOW.plusDays(3));
+    ExpiryNotification movedUp = new ExpiryNotification(2, 10, 7, NOW.plusHours(6));
+    when(expiryNotificationRepo.findExpiringPage(NOW, 0, NOW.plusDays(7), 500))
+            .thenReturn(List.of(candidate(2, NOW.plusHours(6)), candidate(1, NOW.plusDays(3))));
+    when(expiryNotificationRepo.findByStorageItemIds(List.of(2, 1)))
+            .thenReturn(List.of(reported, movedUp));
+    when(expiryNotificationRepo.queueAll(anyList(), eq(NOW))).thenAnswer(invocation ->
+            invocation.<List<ExpiryNotification>>getArgument(0).size());
+
+    int queued = expiryReminderService.queueExpiringItems(NOW);
+
+    assertEquals(1, queued);
+    verify(expiryNotificationRepo).queueAll(
+            List.of(new ExpiryNotification(2, 10, 1, NOW.plusHours(6))), NOW);
+  }
+
+  @Test
+  void queueExpiringItems_fullPage_continuesAfterLastItem() {
+    List<ExpiryNotification> firstPage = new ArrayList<>();
+    for (int i = 1; i <= 500; i++) {
+      firstPage.add(candidate(i, NOW.plusDays(2)));
+    }
+    when(expiryNotificationRepo.findExpiringPage(NOW, 0, NOW.plusDays(7), 500))
+            .thenReturn(firstPage);
+    when(expiryNotificationRepo.findExpiringPage(NOW.plusDays(2), 500, NOW.plusDays(7), 500))
+            .thenReturn(List.of(candidate(501, NOW.plusDays(5))));
+    when(expiryNotificationRepo.findByStorageItemIds(anyList())).thenReturn(List.of());
+    when(expiryNotificationRepo.queueAll(anyList(), eq(NOW))).thenAnswer(invocation ->
+            invocation.<List<ExpiryNotification>>getArgument(0).size());
+
+    assertEquals(501, expiryReminderService.queueExpiringItems(NOW));
+    verify(expiryNotificationRepo, times(2)).findExpiringPage(any(), anyInt(), any(), anyInt());
+  }
+
+  @Test
+  void sendQueuedReminders_sendsOneDigestPerVerifiedMember() {
+    when(expiryNotificationRepo.findHouseholdsWithPending()).thenReturn(List.of(10));
+    when(expiryNotificationRepo.claimPending(10, NOW)).thenReturn(2);
+    when(expiryNotificationRepo.findClaimed(10, NOW)).thenReturn(List.of(
+            new ExpiryDigestItem(1, "Bottled Water", "L", 6, NOW.plusHours(12), 1),
+            new ExpiryDigestItem(2, "Canned Beans", "g", 400, NOW.plusDays(3), 7)));
+    when(userRepository.getUsersByHouseholdId(10L)).thenReturn(List.of(
+            createUser("a@example.com", true), createUser("b@example.com", false)));
+
+    int households = expiryReminderService.sendQueuedReminders(NOW);
+
+    assertEquals(1, households);
+    verify(emailService).sendTemplateMessage("a@example.com", EmailTemplateType.EXPIRY_REMINDER,
+            Map.of("items", "- Bottled Water: 6.0 L, expires 2030-01-01\n"
+                    + "- Canned Beans: 400.0 g, expires 2030-01-04\n"));
+    verify(emailService, never()).sendTemplateMessage(eq("b@example.com"), any(), any());
+  }
+
+  @Test
+  void sendQueuedReminders_alreadyClaimed_sendsNothing() {
+    when(expiryNotificationRepo.findHouseholdsWithPending()).thenReturn(List.of(10));
+    when(expiryNotificationRepo.claimPending(10, NOW)).thenReturn(0);
+
+    assertEquals(0, expiryReminderService.sendQueuedReminders(NOW));
+    verify(expiryNotificationRepo, never()).findClaimed(anyInt(), any());
+    verifyNoInteractions(emailService);
+  }
+
+  @Test
+  void purgeExpired_deletesRemindersOfItemsExpiredBeforeTheRetention() {
+    LocalDateTime before = LocalDateTime.now().minusDays(7);
+
+    expiryReminderService.purgeExpired();
+
+    ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+    verify(expiryNotificationRepo).deleteExpiredBefore(cutoff.capture());
+    assertFalse(cutoff.getValue().isBefore(before));
+    assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusDays(6)));
+  }
+
+  @Test
+  void constructor_negativeThreshold_throwsIllegalArgumentException() {
+    assertThrows(IllegalArgumentException.class, () -> new ExpiryReminderService(
+            expiryNotificationRepo, userRepository, emailService, new int[] {-1}, 7));
+  }
+
+  private static ExpiryNotification candidate(int storageItemId, LocalDateTime expirationDate) {
+    return new ExpiryNotification(storageItemId, 10, 0, expirationDate);
+  }
+
+  private static User createUser(String email, boolean verified) {
+    return new User(1L, email, "Name", 10L, "password", Role.ROLE_NORMAL, verified);
+  }
+}
@@ -3,14 +3,21 @@ package com.group7.krisefikser.service;
 import com.group7.krisefikser.dto.request.article.GeneralInfoRequest;
 import com.group7.krisefikser.dto.response.article.GeneralInfoResponse;
 import com.group7.krisefikser.enums.Theme;
+import com.group7.krisefikser.model.article.ContentSnapshot;
 import com.group7.krisefikser.model.article.GeneralInfo;
 import com.group7.krisefikser.repository.article.GeneralInfoRepository;
+import com.group7.krisefikser.repository.article.PrivacyPolicyRepository;
+import com.group7.krisefikser.service.article.ArticleContentStore;
 import com.group7.krisefikser.service.article.GeneralInfoService;
+import com.group7.krisefikser.service.cache.CacheNames;
+import com.group7.krisefikser.service.cache.InvalidationBus;
+import com.group7.krisefikser.service.cache.TwoTierCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import java.util.List;
 import java.util.Collections;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -20,12 +27,24 @@ class GeneralInfoServiceTest {
   @Mock
   private GeneralInfoRepository generalInfoRepo;
 
-  @InjectMocks
+  @Mock
+  private PrivacyPolicyRepository privacyPolicyRepo;
+
+  @Mock
+  private InvalidationBus invalidationBus;
+
+  @Captor
+  private ArgumentCaptor<Consumer<String>> listener;
+
+  private ArticleContentStore contentStore;
   private GeneralInfoService generalInfoService;
 
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
+    contentStore = new ArticleContentStore(generalInfoRepo, privacyPolicyRepo, invalidationBus);
+    verify(invalidationBus).addListener(eq(CacheNames.ARTICLE_CONTENT), listener.capture());
+    generalInfoService = new GeneralInfoService(generalInfoRepo, contentStore);
   }
 
   @Test
@@ -47,7 +66,7 @@ class GeneralInfoServiceTest {
   void getGeneralInfoByTheme_shouldReturnListForTheme() {
     Theme theme = Theme.DURING_CRISIS;
 
-    when(generalInfoRepo.getGeneralInfoByTheme(theme)).thenReturn(Collections.emptyList());
+    when(generalInfoRepo.getAllGeneralInfo()).thenReturn(Collections.emptyList());
 
     List<GeneralInfoResponse> result = generalInfoService.getGeneralInfoByTheme(theme);
     assertTrue(result.isEmpty());
@@ -60,8 +79,7 @@ class GeneralInfoServiceTest {
     request.setTitle("Title");
     request.setContent("Content");
 
-    GeneralInfoService service = new GeneralInfoService(generalInfoRepo);
-    service.addGeneralInfo(request);
+    generalInfoService.addGeneralInfo(request);
 
     verify(generalInfoRepo).addGeneralInfo(any(GeneralInfo.class));
   }
@@ -82,4 +100,42 @@ class GeneralInfoServiceTest {
     generalInfoService.deleteGeneralInfo(10L);
     verify(generalInfoRepo).deleteGeneralInfo(10L);
   }
-}
\ No newline at end of file
+
+  @Test
+  void getGeneralInfoByTheme_shouldServeGroupedContentFromMemory() {
+    GeneralInfo before = new GeneralInfo(1L, Theme.BEFORE_CRISIS, "Before", "Content");
+    GeneralInfo during = new GeneralInfo(2L, Theme.DURING_CRISIS, "During", "Content");
+    when(generalInfoRepo.getAllGeneralInfo()).thenReturn(List.of(before, during));
+    contentStore.loadOnStartup();
+
+    List<GeneralInfoResponse> result = generalInfoService.getGeneralInfoByTheme(Theme.DURING_CRISIS);
+    generalInfoService.getGeneralInfoByTheme(Theme.BEFORE_CRISIS);
+
+    assertEquals(1, result.size());
+    assertEquals("During", result.get(0).getTitle());
+    verify(generalInfoRepo, times(1)).getAllGeneralInfo();
+  }
+
+  @Test
+  void reload_shouldSwapInSnapshotWithHigherVersion() {
+    when(generalInfoRepo.getAllGeneralInfo()).thenReturn(Collections.emptyList());
+    when(invalidationBus.watermark()).thenReturn(40L);
+    contentStore.loadOnStartup();
+    ContentSnapshot before = contentStore.current();
+
+    contentStore.reload();
+
+    assertEquals(40, before.getVersion());
+    assertEquals(41, contentStore.current().getVersion());
+  }
+
+  @Test
+  void invalidation_shouldReloadContentWithoutWaitingForARead() {
+    when(generalInfoRepo.getAllGeneralInfo()).thenReturn(Collections.emptyList());
+    contentStore.loadOnStartup();
+
+    listener.getValue().accept(TwoTierCache.ALL);
+
+    verify(generalInfoRepo, timeout(1000).times(2)).getAllGeneralInfo();
+  }
+}
@@ -0,0 +1,95 @@
+package com.group7.krisefikser.service;
+
+import com.group7.krisefikser.service.location.GeoDistance;
+import com.group7.krisefikser.service.location.GeoPoints;
+import com.group7.krisefikser.service.other.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Compares the time it takes to find the points within a radius among 1M points around Norway,
+ * calling {@link NotificationService#calculateDistance} per point against the batch
+ * calculations in {@link GeoDistance}.
+ * Only runs when asked for, with
+ * {@code ./mvnw test -Dtest=GeoDistanceBenchmarkTest -Dbenchmark=true}, and prints the average
+ * time per point.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class GeoDistanceBenchmarkTest {
+  private static final int POINTS = 1_000_000;
+  private static final int WARMUP = 10;
+  private static final int ITERATIONS = 20;
+  private static final double LAT = 59.91;
+  private static final double LON = 10.75;
+  private static final double RADIUS_KM = 50;
+
+  private double[] lats;
+  private double[] lons;
+  private GeoPoints points;
+  private double[] distances;
+  private int[] indexes;
+
+  @BeforeEach
+  void setUp() {
+    Random random = new Random(49);
+    lats = new double[POINTS];
+    lons = new double[POINTS];
+    points = new GeoPoints(POINTS);
+    for (int i = 0; i < POINTS; i++) {
+      lats[i] = 58 + random.nextDouble() * 13;
+      lons[i] = 5 + random.nextDouble() * 26;
+      points.add(lats[i], lons[i]);
+    }
+    distances = new double[POINTS];
+    indexes = new int[POINTS];
+  }
+
+  @Test
+  void compareScalarAndBatchedDistances() {
+    report("scalar", this::scalar);
+    report("batched distances", this::batchedDistances);
+    report("batched within", this::batchedWithin);
+  }
+
+  private double scalar() {
+    int count = 0;
+    for (int i = 0; i < POINTS; i++) {
+      if (NotificationService.calculateDistance(LAT, LON, lats[i], lons[i]) <= RADIUS_KM) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private double batchedDistances() {
+    GeoDistance.distancesKm(LAT, LON, points, distances);
+    int count = 0;
+    for (double distance : distances) {
+      if (distance <= RADIUS_KM) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private double batchedWithin() {
+    return GeoDistance.withinKm(LAT, LON, RADIUS_KM, points, indexes);
+  }
+
+  private static void report(String name, DoubleSupplier run) {
+    double sink = 0;
+    for (int i = 0; i < WARMUP; i++) {
+      sink += run.getAsDouble();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      sink += run.getAsDouble();
+    }
+    double nanosPerPoint = (double) (System.nanoTime() - start) / ITERATIONS / POINTS;
+    System.out.printf("%-20s %6.2f ns/point (%.0f)%n", name, nanosPerPoint, sink);
+  }
+}
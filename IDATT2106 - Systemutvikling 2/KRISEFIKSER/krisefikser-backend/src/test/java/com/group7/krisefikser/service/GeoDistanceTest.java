@@ -0,0 +1,89 @@
+package com.group7.krisefikser.service;
+
+import com.group7.krisefikser.service.location.GeoDistance;
+import com.group7.krisefikser.service.location.GeoPoints;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the batch distance calculations in GeoDistance.
+ */
+class GeoDistanceTest {
+  private static final double OSLO_LAT = 59.91;
+  private static final double OSLO_LON = 10.75;
+
+  @Test
+  void haversineKm_shouldMeasureTheGreatCircle() {
+    assertEquals(391.865, GeoDistance.haversineKm(OSLO_LAT, OSLO_LON, 63.43, 10.39), 0.001);
+    assertEquals(0, GeoDistance.haversineKm(OSLO_LAT, OSLO_LON, OSLO_LAT, OSLO_LON));
+  }
+
+  @Test
+  void distancesKm_shouldAgreeWithHaversine() {
+    Random random = new Random(7);
+    double[] lats = new double[1_000];
+    double[] lons = new double[lats.length];
+    GeoPoints points = new GeoPoints(0);
+    for (int i = 0; i < lats.length; i++) {
+      lats[i] = random.nextDouble() * 180 - 90;
+      lons[i] = random.nextDouble() * 360 - 180;
+      points.add(lats[i], lons[i]);
+    }
+
+    double[] distances = new double[points.size()];
+    GeoDistance.distancesKm(OSLO_LAT, OSLO_LON, points, distances);
+
+    assertEquals(lats.length, points.size());
+    for (int i = 0; i < lats.length; i++) {
+      assertEquals(GeoDistance.haversineKm(OSLO_LAT, OSLO_LON, lats[i], lons[i]),
+          distances[i], 1e-6);
+    }
+  }
+
+  @Test
+  void distancesKm_shouldMeasureAcrossTheAntimeridianAndThePole() {
+    GeoPoints points = new GeoPoints(2);
+    points.add(0, -179.9);
+    points.add(89.9, 180);
+
+    double[] distances = new double[2];
+    GeoDistance.distancesKm(0, 179.9, points, distances);
+    assertEquals(22.239, distances[0], 0.001);
+    GeoDistance.distancesKm(89.9, 0, points, distances);
+    assertEquals(22.239, distances[1], 0.001);
+  }
+
+  @Test
+  void withinKm_shouldReturnTheIndexesInsideTheRadius() {
+    GeoPoints points = new GeoPoints(4);
+    points.add(63.43, 10.39);
+    points.add(OSLO_LAT + 0.01, OSLO_LON);
+    points.add(OSLO_LAT, OSLO_LON);
+    points.add(OSLO_LAT + 0.05, OSLO_LON);
+
+    int[] indexes = new int[points.size()];
+    int count = GeoDistance.withinKm(OSLO_LAT, OSLO_LON, 2.0, points, indexes);
+
+    assertEquals(2, count);
+    assertEquals(1, indexes[0]);
+    assertEquals(2, indexes[1]);
+    assertEquals(4, GeoDistance.withinKm(OSLO_LAT, OSLO_LON, 50_000, points, indexes));
+  }
+
+  @Test
+  void zones_shouldReturnTheFirstRadiusEachPointIsWithin() {
+    GeoPoints points = new GeoPoints(4);
+    points.add(OSLO_LAT, OSLO_LON);
+    points.add(OSLO_LAT + 0.015, OSLO_LON);
+    points.add(OSLO_LAT + 0.02, OSLO_LON);
+    points.add(OSLO_LAT + 0.03, OSLO_LON);
+
+    int[] zones = new int[points.size()];
+    GeoDistance.zones(OSLO_LAT, OSLO_LON, new double[] {1.0, 2.0, 3.0}, points, zones);
+
+    assertArrayEquals(new int[] {0, 1, 2, -1}, zones);
+  }
+}
@@ -0,0 +1,82 @@
+package com.group7.krisefikser.service;
+
+import com.group7.krisefikser.dto.response.household.HouseholdDetailsResponse;
+import com.group7.krisefikser.service.cache.InvalidationBus;
+import com.group7.krisefikser.service.cache.InvalidationTransport;
+import com.group7.krisefikser.service.household.HouseholdCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the HouseholdCache class.
+ */
+class HouseholdCacheTest {
+  private HouseholdCache householdCache;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    InvalidationTransport transport = mock(InvalidationTransport.class);
+    AtomicLong versions = new AtomicLong();
+    when(transport.publish(anyString(), anyString()))
+        .thenAnswer(invocation -> versions.incrementAndGet());
+    InvalidationBus invalidationBus = new InvalidationBus(transport, 10_000, 60);
+    invalidationBus.poll();
+    householdCache = new HouseholdCache(invalidationBus);
+    loads = new AtomicInteger();
+  }
+
+  @Test
+  void getForUser_secondCall_isServedFromCache() {
+    HouseholdDetailsResponse first = householdCache.getForUser(1L, () -> load(5L));
+    HouseholdDetailsResponse second = householdCache.getForUser(1L, () -> load(5L));
+
+    assertSame(first, second);
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void evictHousehold_forcesReload() {
+    householdCache.getForUser(1L, () -> load(5L));
+
+    householdCache.evictHousehold(5L);
+    householdCache.getForUser(1L, () -> load(5L));
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void evictUser_reloadsHouseholdOfUser() {
+    householdCache.getForUser(1L, () -> load(5L));
+
+    householdCache.evictUser(1L);
+    HouseholdDetailsResponse moved = householdCache.getForUser(1L, () -> load(6L));
+
+    assertEquals(6L, moved.getId());
+  }
+
+  @Test
+  void getForUser_evictedWhileLoading_doesNotCacheLoadedHousehold() {
+    householdCache.getForUser(1L, () -> {
+      householdCache.evictHousehold(5L);
+      return load(5L);
+    });
+    householdCache.getForUser(1L, () -> load(5L));
+
+    assertEquals(2, loads.get());
+  }
+
+  private HouseholdDetailsResponse load(long householdId) {
+    loads.incrementAndGet();
+    HouseholdDetailsResponse details = new HouseholdDetailsResponse();
+    details.setId(householdId);
+    return details;
+  }
+}
@@ -12,6 +12,7 @@ import com.group7.krisefikser.model.user.User;
 import com.group7.krisefikser.repository.household.HouseholdInvitationRepository;
 import com.group7.krisefikser.repository.household.HouseholdRepository;
 import com.group7.krisefikser.repository.user.UserRepository;
+import com.group7.krisefikser.service.household.HouseholdCache;
 import com.group7.krisefikser.service.household.HouseholdInvitationService;
 import com.group7.krisefikser.service.other.EmailService;
 import com.group7.krisefikser.utils.JwtUtils;
@@ -48,6 +49,9 @@ class HouseholdInvitationServiceTest {
   @Mock
   private UserRepository userRepository;
 
+  @Mock
+  private HouseholdCache householdCache;
+
   @InjectMocks
   private HouseholdInvitationService invitationService;
 
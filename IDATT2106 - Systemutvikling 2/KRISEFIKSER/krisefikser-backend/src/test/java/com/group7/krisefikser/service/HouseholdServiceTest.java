@@ -1,7 +1,12 @@
 package com.group7.krisefikser.service;
 
 import com.group7.krisefikser.dto.request.household.JoinHouseholdRequest;
+import com.group7.krisefikser.dto.response.household.GetHouseholdMembersResponse;
+import com.group7.krisefikser.dto.response.household.HouseholdDetailsResponse;
+import com.group7.krisefikser.dto.response.household.HouseholdMemberResponse;
+import com.group7.krisefikser.dto.response.household.NonUserMemberResponse;
 import com.group7.krisefikser.dto.response.household.ReadinessResponse;
+import com.group7.krisefikser.exception.ResourceNotFoundException;
 import com.group7.krisefikser.enums.ItemType;
 import com.group7.krisefikser.model.household.Household;
 import com.group7.krisefikser.model.item.Item;
@@ -14,9 +19,14 @@ import com.group7.krisefikser.repository.household.NonUserMemberRepository;
 import com.group7.krisefikser.repository.item.ItemRepo;
 import com.group7.krisefikser.repository.item.StorageItemRepo;
 import com.group7.krisefikser.repository.user.UserRepository;
+import com.group7.krisefikser.service.household.HouseholdCache;
 import com.group7.krisefikser.service.household.HouseholdService;
+import com.group7.krisefikser.service.other.NameAllocationService;
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -47,6 +57,10 @@ class HouseholdServiceTest {
   private StorageItemRepo storageItemRepo;
   @Mock
   private ItemRepo itemRepo;
+  @Mock
+  private NameAllocationService nameAllocationService;
+  @Mock
+  private HouseholdCache householdCache;
 
   @InjectMocks
   private HouseholdService householdService;
@@ -59,6 +73,22 @@ class HouseholdServiceTest {
     SecurityContextHolder.setContext(securityContext);
   }
 
+  @Test
+  void createHouseholdForUser_shouldAllocateNameFromUserName() {
+    when(householdRepository.createHousehold("admin1's household (300)", 0.0, 0.0))
+        .thenReturn(7L);
+    when(nameAllocationService.allocate(eq("admin1's household"), any(), any()))
+        .thenAnswer(invocation -> {
+          LongFunction<String> withSuffix = invocation.getArgument(1);
+          Function<String, Long> insert = invocation.getArgument(2);
+          return insert.apply(withSuffix.apply(300));
+        });
+
+    Long householdId = householdService.createHouseholdForUser("admin1");
+
+    assertEquals(7L, householdId);
+  }
+
   @Test
   void createHousehold_shouldInsertHouseholdAndUpdateUser() {
     // Arrange
@@ -115,6 +145,72 @@ class HouseholdServiceTest {
     verify(joinRequestRepo).deleteById(requestId);
   }
 
+  @Test
+  void acceptJoinRequest_shouldEvictBothHouseholdsAndUser() {
+    JoinHouseholdRequest request = new JoinHouseholdRequest();
+    request.setHouseholdId(2L);
+    request.setUserId(3L);
+    when(joinRequestRepo.findById(1L)).thenReturn(request);
+    when(userRepository.findHouseholdIdByUserId(3L)).thenReturn(4L);
+
+    householdService.acceptJoinRequest(1L);
+
+    verify(householdCache).evictUser(3L);
+    verify(householdCache).evictHousehold(4L);
+    verify(householdCache).evictHousehold(2L);
+  }
+
+  @Test
+  void getHouseholdDetailsByUserId_shouldLoadThroughCache() {
+    HouseholdDetailsResponse details = createDetails();
+    when(householdRepository.findDetailsByUserId(1L)).thenReturn(Optional.of(details));
+    when(householdCache.getForUser(eq(1L), any())).thenAnswer(invocation ->
+        invocation.<Supplier<HouseholdDetailsResponse>>getArgument(1).get());
+
+    HouseholdDetailsResponse result = householdService.getHouseholdDetailsByUserId(1L);
+
+    assertSame(details, result);
+  }
+
+  @Test
+  void getHouseholdDetailsByUserId_userWithoutHousehold_shouldThrow() {
+    when(householdRepository.findDetailsByUserId(1L)).thenReturn(Optional.empty());
+    when(householdCache.getForUser(eq(1L), any())).thenAnswer(invocation ->
+        invocation.<Supplier<HouseholdDetailsResponse>>getArgument(1).get());
+
+    assertThrows(ResourceNotFoundException.class,
+        () -> householdService.getHouseholdDetailsByUserId(1L));
+  }
+
+  @Test
+  void getHouseholdMembers_shouldListUsersThenNonUserMembers() {
+    when(householdCache.getForUser(eq(1L), any())).thenReturn(createDetails());
+
+    List<GetHouseholdMembersResponse> members = householdService.getHouseholdMembers();
+
+    assertEquals(2, members.size());
+    assertEquals(new GetHouseholdMembersResponse(1L, "Alice", "USER"), members.get(0));
+    assertEquals(new GetHouseholdMembersResponse(7L, "Doggo", "ANIMAL"), members.get(1));
+    verifyNoInteractions(userRepository, nonUserMemberRepository);
+  }
+
+  private static HouseholdDetailsResponse createDetails() {
+    HouseholdMemberResponse user = new HouseholdMemberResponse();
+    user.setId(1L);
+    user.setName("Alice");
+    user.setEmail("alice@example.com");
+    NonUserMemberResponse pet = new NonUserMemberResponse();
+    pet.setId(7L);
+    pet.setName("Doggo");
+    pet.setType("animal");
+    HouseholdDetailsResponse details = new HouseholdDetailsResponse();
+    details.setId(1L);
+    details.setName("The Smiths");
+    details.setMembers(List.of(user));
+    details.setNonUserMembers(List.of(pet));
+    return details;
+  }
+
 
   @Test
   void declineJoinRequest_shouldDeleteRequest() {
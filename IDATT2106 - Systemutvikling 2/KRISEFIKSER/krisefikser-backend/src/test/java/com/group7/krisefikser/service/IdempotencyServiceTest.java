@@ -0,0 +1,161 @@
+package com.group7.krisefikser.service;
+
+import com.group7.krisefikser.model.other.IdempotentResponse;
+import com.group7.krisefikser.repository.other.IdempotencyKeyRepo;
+import com.group7.krisefikser.service.other.IdempotencyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the IdempotencyService class.
+ */
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+  private static final String KEY = "user-1-key";
+  private static final String FINGERPRINT = "fingerprint";
+  private static final IdempotentResponse RESPONSE = new IdempotentResponse(FINGERPRINT, 201,
+      "application/json", "{\"id\":7}".getBytes());
+
+  @Mock
+  private IdempotencyKeyRepo idempotencyKeyRepo;
+
+  private IdempotencyService idempotencyService;
+
+  @BeforeEach
+  void setUp() {
+    idempotencyService = new IdempotencyService(idempotencyKeyRepo, 24, 100, 200, 10, 60_000);
+  }
+
+  @Test
+  void begin_shouldClaimKeyThatHasNotBeenUsed() {
+    assertTrue(idempotencyService.begin(KEY, FINGERPRINT).isEmpty());
+
+    verify(idempotencyKeyRepo).insertClaim(eq(KEY), eq(FINGERPRINT), anyString(), any(),
+        any());
+  }
+
+  @Test
+  void begin_shouldReplayCompletedResponseWithoutTheDatabase() {
+    when(idempotencyKeyRepo.complete(eq(KEY), anyString(), eq(RESPONSE))).thenReturn(true);
+    idempotencyService.begin(KEY, FINGERPRINT);
+    idempotencyService.complete(KEY, RESPONSE);
+
+    assertEquals(Optional.of(RESPONSE), idempotencyService.begin(KEY, FINGERPRINT));
+
+    verify(idempotencyKeyRepo).insertClaim(eq(KEY), eq(FINGERPRINT), anyString(), any(),
+        any());
+    verify(idempotencyKeyRepo, never()).find(any(), any());
+  }
+
+  @Test
+  void begin_shouldThrow_whenKeyIsReusedForDifferentRequest() {
+    idempotencyService.begin(KEY, FINGERPRINT);
+    idempotencyService.complete(KEY, RESPONSE);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> idempotencyService.begin(KEY, "other fingerprint"));
+  }
+
+  @Test
+  void begin_shouldCoalesceConcurrentDuplicatesOntoTheRunningRequest() throws Exception {
+    idempotencyService.begin(KEY, FINGERPRINT);
+    CompletableFuture<Optional<IdempotentResponse>> duplicate = new CompletableFuture<>();
+    Thread waiter = new Thread(() -> {
+      try {
+        duplicate.complete(idempotencyService.begin(KEY, FINGERPRINT));
+      } catch (RuntimeException e) {
+        duplicate.completeExceptionally(e);
+      }
+    });
+    waiter.start();
+    awaitParked(waiter);
+
+    idempotencyService.complete(KEY, RESPONSE);
+
+    assertEquals(Optional.of(RESPONSE), duplicate.get(1, TimeUnit.SECONDS));
+    verify(idempotencyKeyRepo, times(1)).insertClaim(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void begin_shouldReplayResponseStoredByAnotherInstance() {
+    doThrow(new DuplicateKeyException("claimed")).when(idempotencyKeyRepo)
+        .insertClaim(eq(KEY), eq(FINGERPRINT), anyString(), any(), any());
+    when(idempotencyKeyRepo.takeOver(eq(KEY), eq(FINGERPRINT), anyString(), any(), any(), any()))
+        .thenReturn(false);
+    when(idempotencyKeyRepo.find(eq(KEY), any())).thenReturn(Optional.of(RESPONSE));
+
+    assertEquals(Optional.of(RESPONSE), idempotencyService.begin(KEY, FINGERPRINT));
+    assertEquals(Optional.of(RESPONSE), idempotencyService.begin(KEY, FINGERPRINT));
+
+    verify(idempotencyKeyRepo, times(1)).find(any(), any());
+  }
+
+  @Test
+  void begin_shouldTakeOverAbandonedClaim() {
+    doThrow(new DuplicateKeyException("claimed")).when(idempotencyKeyRepo)
+        .insertClaim(eq(KEY), eq(FINGERPRINT), anyString(), any(), any());
+    when(idempotencyKeyRepo.takeOver(eq(KEY), eq(FINGERPRINT), anyString(), any(), any(), any()))
+        .thenReturn(true);
+
+    assertTrue(idempotencyService.begin(KEY, FINGERPRINT).isEmpty());
+  }
+
+  @Test
+  void begin_shouldThrow_whenAnotherInstanceIsStillRunning() {
+    doThrow(new DuplicateKeyException("claimed")).when(idempotencyKeyRepo)
+        .insertClaim(eq(KEY), eq(FINGERPRINT), anyString(), any(), any());
+    when(idempotencyKeyRepo.takeOver(eq(KEY), eq(FINGERPRINT), anyString(), any(), any(), any()))
+        .thenReturn(false);
+    when(idempotencyKeyRepo.find(eq(KEY), any()))
+        .thenReturn(Optional.of(new IdempotentResponse(FINGERPRINT, null, null, null)));
+
+    assertThrows(IllegalStateException.class,
+        () -> idempotencyService.begin(KEY, FINGERPRINT));
+  }
+
+  @Test
+  void release_shouldLetTheRequestRunAgain() {
+    idempotencyService.begin(KEY, FINGERPRINT);
+
+    idempotencyService.release(KEY);
+
+    verify(idempotencyKeyRepo).release(eq(KEY), anyString());
+    assertTrue(idempotencyService.begin(KEY, FINGERPRINT).isEmpty());
+    verify(idempotencyKeyRepo, times(2)).insertClaim(eq(KEY), eq(FINGERPRINT), anyString(),
+        any(), any());
+  }
+
+  @Test
+  void purge_shouldDeleteExpiredKeys() {
+    idempotencyService.purge();
+
+    verify(idempotencyKeyRepo).deleteExpired(any());
+  }
+
+  /**
+   * Waits until a thread is parked with a timeout, which is where a duplicate waits for the
+   * running request.
+   */
+  private static void awaitParked(Thread thread) {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (thread.getState() != Thread.State.TIMED_WAITING) {
+      assertTrue(thread.isAlive(), "The duplicate finished without waiting");
+      assertTrue(System.nanoTime() < deadline, "The duplicate never waited");
+      Thread.yield();
+    }
+  }
+}
@@ -0,0 +1,148 @@
+package com.group7.krisefikser.service;
+
+import com.group7.krisefikser.model.other.CacheInvalidation;
+import com.group7.krisefikser.service.cache.InvalidationBus;
+import com.group7.krisefikser.service.cache.InvalidationTransport;
+import com.group7.krisefikser.service.cache.TwoTierCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the InvalidationBus class.
+ */
+class InvalidationBusTest {
+  private InvalidationTransport transport;
+  private InvalidationBus bus;
+  private TwoTierCache<String> cache;
+
+  @BeforeEach
+  void setUp() {
+    transport = mock(InvalidationTransport.class);
+    bus = new InvalidationBus(transport, 10_000, 60);
+    cache = bus.createCache("test", 100, Duration.ofMinutes(10));
+  }
+
+  @Test
+  void poll_firstPoll_startsAtLatestVersion() {
+    when(transport.latestVersion()).thenReturn(41L);
+
+    bus.poll();
+
+    assertTrue(bus.isStarted());
+    assertEquals(41, bus.watermark());
+    verify(transport, never()).findAfter(anyLong(), anyInt());
+  }
+
+  @Test
+  void poll_appliesInvalidationsFromOtherInstances() {
+    bus.poll();
+    cache.get("a", () -> "cached");
+    when(transport.findAfter(0, InvalidationBus.PAGE_SIZE))
+        .thenReturn(List.of(invalidation(1, "a")));
+
+    bus.poll();
+
+    assertEquals(1, bus.watermark());
+    assertNull(cache.getIfPresent("a"));
+  }
+
+  @Test
+  void poll_ignoresInvalidationsOfOtherCaches() {
+    bus.poll();
+    cache.get("a", () -> "cached");
+    when(transport.findAfter(0, InvalidationBus.PAGE_SIZE))
+        .thenReturn(List.of(new CacheInvalidation(1, "other", "a")));
+
+    bus.poll();
+
+    assertEquals("cached", cache.getIfPresent("a"));
+  }
+
+  @Test
+  void poll_versionCommittedLate_isAppliedWhenItShowsUp() {
+    bus.poll();
+    when(transport.findAfter(0, InvalidationBus.PAGE_SIZE))
+        .thenReturn(List.of(invalidation(2, "b")));
+    bus.poll();
+    assertEquals(0, bus.watermark());
+
+    cache.get("a", () -> "cached");
+    cache.get("b", () -> "loaded after 2");
+    when(transport.findAfter(0, InvalidationBus.PAGE_SIZE))
+        .thenReturn(List.of(invalidation(1, "a"), invalidation(2, "b")));
+    bus.poll();
+
+    assertEquals(2, bus.watermark());
+    assertNull(cache.getIfPresent("a"));
+    assertEquals("loaded after 2", cache.getIfPresent("b"));
+  }
+
+  @Test
+  void poll_missingVersionTimesOut_advancesWatermark() {
+    bus = new InvalidationBus(transport, 0, 60);
+    bus.poll();
+    when(transport.findAfter(0, InvalidationBus.PAGE_SIZE))
+        .thenReturn(List.of(invalidation(2, "b")));
+    bus.poll();
+    when(transport.findAfter(2, InvalidationBus.PAGE_SIZE)).thenReturn(List.of());
+
+    bus.poll();
+
+    assertEquals(2, bus.watermark());
+  }
+
+  @Test
+  void poll_versionCommittedAfterTimeout_isStillApplied() {
+    bus = new InvalidationBus(transport, 0, 60);
+    cache = bus.createCache("test", 100, Duration.ofMinutes(10));
+    bus.poll();
+    when(transport.findAfter(0, InvalidationBus.PAGE_SIZE))
+        .thenReturn(List.of(invalidation(2, "b")));
+    bus.poll();
+    bus.poll();
+    assertEquals(2, bus.watermark());
+
+    cache.get("a", () -> "loaded after 2");
+    when(transport.findVersions(List.of(1L))).thenReturn(List.of(invalidation(1, "a")));
+    bus.poll();
+
+    assertNull(cache.getIfPresent("a"));
+    assertEquals(2, bus.watermark());
+    bus.poll();
+    verify(transport, times(2)).findVersions(List.of(1L));
+  }
+
+  @Test
+  void purge_deletesInvalidationsOlderThanRetention() {
+    bus.purge();
+
+    verify(transport).deleteOlderThan(any(LocalDateTime.class));
+  }
+
+  @Test
+  void poll_notifiesListenersOfTheName() {
+    List<String> received = new ArrayList<>();
+    bus.addListener("test", received::add);
+    bus.addListener("other", key -> fail("Notified of another name"));
+    bus.poll();
+    when(transport.findAfter(0, InvalidationBus.PAGE_SIZE))
+        .thenReturn(List.of(invalidation(1, TwoTierCache.ALL)));
+
+    bus.poll();
+
+    assertEquals(List.of(TwoTierCache.ALL), received);
+  }
+
+  private static CacheInvalidation invalidation(long version, String key) {
+    return new CacheInvalidation(version, "test", key);
+  }
+}
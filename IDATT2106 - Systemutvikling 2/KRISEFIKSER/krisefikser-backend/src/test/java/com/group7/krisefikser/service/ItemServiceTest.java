@@ -5,7 +5,9 @@ import com.group7.krisefikser.dto.response.item.ItemResponse;
 import com.group7.krisefikser.enums.ItemType;
 import com.group7.krisefikser.model.item.Item;
 import com.group7.krisefikser.repository.item.ItemRepo;
+import com.group7.krisefikser.service.cache.TwoTierCache;
 import com.group7.krisefikser.service.item.ItemService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -16,6 +18,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,9 +35,18 @@ class ItemServiceTest {
     @Mock
     private ItemRepo itemRepo;
 
+    @Mock
+    private TwoTierCache<List<Item>> itemCache;
+
     @InjectMocks
     private ItemService itemService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(itemCache.get(any(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<List<Item>>>getArgument(1).get());
+    }
+
     /**
      * Test for getAllItems method.
      * This test verifies that the method returns all items from the repository.
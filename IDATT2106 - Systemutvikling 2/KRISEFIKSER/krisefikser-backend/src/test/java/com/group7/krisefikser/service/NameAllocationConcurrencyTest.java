@@ -0,0 +1,104 @@
+package com.group7.krisefikser.service;
+
+import com.group7.krisefikser.repository.user.UserRepository;
+import com.group7.krisefikser.service.household.HouseholdService;
+import com.group7.krisefikser.service.other.NameAllocationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress test for name allocation against the database.
+ * A thousand registrations asking for the same name are started at once,
+ * and every one of them must end up with its own name.
+ * The test is not transactional, since the inserts run on separate threads,
+ * so the rows it creates are removed afterwards.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class NameAllocationConcurrencyTest {
+  private static final int REGISTRATIONS = 1000;
+  private static final int THREADS = 32;
+
+  @Autowired
+  private HouseholdService householdService;
+
+  @Autowired
+  private NameAllocationService nameAllocationService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM households WHERE name LIKE 'stress-user''s household%'");
+    jdbcTemplate.update("DELETE FROM reserved_usernames WHERE username LIKE 'stress-admin%'");
+  }
+
+  @Test
+  void createHouseholdForUser_concurrentRegistrations_allGetUniqueNames() throws Exception {
+    List<Long> ids = runConcurrently(() -> householdService.createHouseholdForUser("stress-user"));
+
+    assertEquals(REGISTRATIONS, new HashSet<>(ids).size());
+    Integer count = jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT name) FROM households "
+            + "WHERE name LIKE 'stress-user''s household%'", Integer.class);
+    assertEquals(REGISTRATIONS, count);
+  }
+
+  @Test
+  void allocate_concurrentUsernameReservations_allGetUniqueUsernames() throws Exception {
+    List<String> usernames = runConcurrently(() -> nameAllocationService.allocate(
+            "stress-admin", suffix -> "stress-admin" + suffix, name -> {
+              userRepository.reserveUsername(name);
+              return name;
+            }));
+
+    Set<String> unique = new HashSet<>(usernames);
+    assertEquals(REGISTRATIONS, unique.size());
+    assertTrue(unique.contains("stress-admin"));
+  }
+
+  /**
+   * Runs the task the given number of times, releasing all threads at the same moment.
+   */
+  private static <T> List<T> runConcurrently(Callable<T> task) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<T>> futures = new ArrayList<>();
+      for (int i = 0; i < REGISTRATIONS; i++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          return task.call();
+        }));
+      }
+      start.countDown();
+      List<T> results = new ArrayList<>();
+      for (Future<T> future : futures) {
+        results.add(future.get(60, TimeUnit.SECONDS));
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.group7.krisefikser.service;
+
+import com.group7.krisefikser.repository.other.NameSequenceRepo;
+import com.group7.krisefikser.service.other.NameAllocationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the NameAllocationService class.
+ * The inserts are simulated with a set of taken names.
+ */
+@ExtendWith(MockitoExtension.class)
+class NameAllocationServiceTest {
+  @Mock
+  private NameSequenceRepo nameSequenceRepo;
+
+  @InjectMocks
+  private NameAllocationService nameAllocationService;
+
+  @Test
+  void allocate_freeName_insertsOnceWithoutReservingSuffixes() {
+    List<String> attempts = new ArrayList<>();
+
+    String name = nameAllocationService.allocate("Home", suffix -> "Home (" + suffix + ")",
+            candidate -> insert(attempts, Set.of(), candidate));
+
+    assertEquals("Home", name);
+    assertEquals(List.of("Home"), attempts);
+    verifyNoInteractions(nameSequenceRepo);
+  }
+
+  @Test
+  void allocate_takenName_retriesWithSuffixesFromOneBlock() {
+    when(nameSequenceRepo.reserveBlock()).thenReturn(3L);
+    List<String> attempts = new ArrayList<>();
+    Set<String> taken = Set.of("Home", "Home (300)");
+
+    String name = nameAllocationService.allocate("Home", suffix -> "Home (" + suffix + ")",
+            candidate -> insert(attempts, taken, candidate));
+
+    assertEquals("Home (301)", name);
+    assertEquals(List.of("Home", "Home (300)", "Home (301)"), attempts);
+    verify(nameSequenceRepo, times(1)).reserveBlock();
+  }
+
+  @Test
+  void allocate_everyAttemptTaken_throwsDuplicateKeyException() {
+    when(nameSequenceRepo.reserveBlock()).thenReturn(1L);
+    List<String> attempts = new ArrayList<>();
+
+    assertThrows(DuplicateKeyException.class, () -> nameAllocationService.allocate("Home",
+            suffix -> "Home", candidate -> insert(attempts, Set.of("Home"), candidate)));
+    assertEquals(5, attempts.size());
+  }
+
+  @Test
+  void allocate_blockUsedUp_reservesNextBlock() {
+    when(nameSequenceRepo.reserveBlock()).thenReturn(1L, 7L);
+    List<String> names = new ArrayList<>();
+
+    for (int i = 0; i < 101; i++) {
+      names.add(nameAllocationService.allocate("Home", suffix -> "Home (" + suffix + ")",
+              candidate -> insert(new ArrayList<>(), Set.of("Home"), candidate)));
+    }
+
+    assertEquals("Home (100)", names.get(0));
+    assertEquals("Home (199)", names.get(99));
+    assertEquals("Home (700)", names.get(100));
+    verify(nameSequenceRepo, times(2)).reserveBlock();
+  }
+
+  private static String insert(List<String> attempts, Set<String> taken, String candidate) {
+    attempts.add(candidate);
+    if (taken.contains(candidate)) {
+      throw new DuplicateKeyException("Duplicate entry '" + candidate + "'");
+    }
+    return candidate;
+  }
+}
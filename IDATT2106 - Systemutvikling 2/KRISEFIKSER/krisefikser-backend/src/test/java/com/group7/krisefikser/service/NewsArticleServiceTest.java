@@ -1,6 +1,7 @@
 package com.group7.krisefikser.service;
 
 import com.group7.krisefikser.dto.response.article.NewsArticleResponse;
+import com.group7.krisefikser.dto.response.article.NewsFeedResponse;
 import com.group7.krisefikser.dto.response.article.ShortenedNewsArticleResponse;
 import com.group7.krisefikser.model.article.NewsArticle;
 import com.group7.krisefikser.repository.article.NewsArticleRepository;
@@ -13,6 +14,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 class NewsArticleServiceTest {
@@ -54,4 +56,47 @@ class NewsArticleServiceTest {
     assertThat(result.getTitle()).isEqualTo("Mock Title");
     verify(newsArticleRepository, times(1)).getNewsArticleById(1L);
   }
-}
\ No newline at end of file
+
+  @Test
+  void testGetNewsFeed_returnsCursorWhenMoreArticlesExist() {
+    LocalDateTime newest = LocalDateTime.of(2025, 5, 7, 8, 0);
+    List<NewsArticle> mockArticles = List.of(
+        new NewsArticle(3L, "Title 3", null, newest),
+        new NewsArticle(2L, "Title 2", null, newest.minusDays(1)),
+        new NewsArticle(1L, "Title 1", null, newest.minusDays(2))
+    );
+    when(newsArticleRepository.getNewsFeedPage(null, null, 3)).thenReturn(mockArticles);
+
+    NewsFeedResponse firstPage = newsArticleService.getNewsFeed(null, 2, null);
+
+    assertThat(firstPage.getArticles()).hasSize(2);
+    assertThat(firstPage.getNextCursor()).isNotNull();
+
+    when(newsArticleRepository.getNewsFeedPage(newest.minusDays(1), 2L, 3))
+        .thenReturn(List.of(mockArticles.get(2)));
+
+    NewsFeedResponse secondPage =
+        newsArticleService.getNewsFeed(firstPage.getNextCursor(), 2, null);
+
+    assertThat(secondPage.getArticles()).hasSize(1);
+    assertThat(secondPage.getArticles().get(0).getTitle()).isEqualTo("Title 1");
+    assertThat(secondPage.getNextCursor()).isNull();
+  }
+
+  @Test
+  void testGetNewsFeed_usesSearchWhenQueryIsGiven() {
+    when(newsArticleRepository.searchNewsFeedPage("flood", null, null, 21))
+        .thenReturn(List.of(new NewsArticle(2L, "Flood", null, LocalDateTime.now())));
+
+    NewsFeedResponse result = newsArticleService.getNewsFeed(null, null, " flood ");
+
+    assertThat(result.getArticles()).hasSize(1);
+    verify(newsArticleRepository, never()).getNewsFeedPage(any(), any(), anyInt());
+  }
+
+  @Test
+  void testGetNewsFeed_invalidCursorThrows() {
+    assertThatThrownBy(() -> newsArticleService.getNewsFeed("not-a-cursor", 10, null))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
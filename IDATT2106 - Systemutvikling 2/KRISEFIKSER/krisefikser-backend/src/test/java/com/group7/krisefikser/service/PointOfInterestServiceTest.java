@@ -6,6 +6,7 @@ import com.group7.krisefikser.dto.response.location.PointOfInterestResponse;
 import com.group7.krisefikser.enums.PointOfInterestType;
 import com.group7.krisefikser.model.location.PointOfInterest;
 import com.group7.krisefikser.repository.location.PointOfInterestRepo;
+import com.group7.krisefikser.service.cache.TwoTierCache;
 import com.group7.krisefikser.service.location.PointOfInterestService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,8 +19,10 @@ import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 /**
@@ -31,6 +34,8 @@ import static org.mockito.Mockito.*;
 class PointOfInterestServiceTest {
   @Mock
   private PointOfInterestRepo pointOfInterestRepo;
+  @Mock
+  private TwoTierCache<List<PointOfInterestResponse>> pointOfInterestCache;
   @InjectMocks
   private PointOfInterestService pointOfInterestService;
 
@@ -40,6 +45,8 @@ class PointOfInterestServiceTest {
 
   @BeforeEach
   void setUp() {
+    lenient().when(pointOfInterestCache.get(any(), any())).thenAnswer(invocation ->
+        invocation.<Supplier<List<PointOfInterestResponse>>>getArgument(1).get());
     addRequest = new PointOfInterestRequest(
             10.0, 20.0, "shelter", "09:00", "17:00", "12345678", "A safe shelter"
     );
@@ -4,8 +4,11 @@ import com.group7.krisefikser.dto.request.article.UpdateRegisteredPrivacyPolicyR
 import com.group7.krisefikser.dto.request.article.UpdateUnregisteredPrivacyPolicyRequest;
 import com.group7.krisefikser.dto.response.article.GetRegisteredPrivacyPolicyResponse;
 import com.group7.krisefikser.dto.response.article.GetUnregisteredPrivacyPolicyResponse;
+import com.group7.krisefikser.repository.article.GeneralInfoRepository;
 import com.group7.krisefikser.repository.article.PrivacyPolicyRepository;
+import com.group7.krisefikser.service.article.ArticleContentStore;
 import com.group7.krisefikser.service.article.PrivacyPolicyService;
+import com.group7.krisefikser.service.cache.InvalidationBus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -21,7 +24,10 @@ class PrivacyPolicyServiceTest {
   @BeforeEach
   void setUp() {
     privacyPolicyRepository = Mockito.mock(PrivacyPolicyRepository.class);
-    service = new PrivacyPolicyService(privacyPolicyRepository);
+    ArticleContentStore contentStore = new ArticleContentStore(
+        Mockito.mock(GeneralInfoRepository.class), privacyPolicyRepository,
+        Mockito.mock(InvalidationBus.class));
+    service = new PrivacyPolicyService(privacyPolicyRepository, contentStore);
   }
 
   @Test
@@ -65,4 +71,14 @@ class PrivacyPolicyServiceTest {
 
     verify(privacyPolicyRepository, times(1)).updateUnregisteredPrivacyPolicy("Updated Unregistered Policy");
   }
+
+  @Test
+  void testGetRegisteredPrivacyPolicy_servedFromMemory() {
+    when(privacyPolicyRepository.getRegisteredPrivacyPolicy()).thenReturn("Policy");
+
+    assertEquals("Policy", service.getRegisteredPrivacyPolicy().getRegistered());
+    assertEquals("Policy", service.getRegisteredPrivacyPolicy().getRegistered());
+
+    verify(privacyPolicyRepository, times(1)).getRegisteredPrivacyPolicy();
+  }
 }
@@ -0,0 +1,127 @@
+package com.group7.krisefikser.service;
+
+import com.group7.krisefikser.dto.response.household.ItemTypeShortageResponse;
+import com.group7.krisefikser.dto.response.household.RegionReadinessResponse;
+import com.group7.krisefikser.enums.ItemType;
+import com.group7.krisefikser.model.household.HouseholdReadiness;
+import com.group7.krisefikser.model.household.ItemTypeRollup;
+import com.group7.krisefikser.model.household.ItemTypeStock;
+import com.group7.krisefikser.model.household.ReadinessRollup;
+import com.group7.krisefikser.model.location.HouseholdSupply;
+import com.group7.krisefikser.repository.household.ReadinessRollupRepository;
+import com.group7.krisefikser.service.household.ReadinessAnalyticsService;
+import com.group7.krisefikser.service.location.Geohash;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the ReadinessAnalyticsService class and the geohash encoding in Geohash.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReadinessAnalyticsServiceTest {
+  private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+  @Mock
+  private ReadinessRollupRepository readinessRollupRepository;
+
+  private ReadinessAnalyticsService readinessAnalyticsService;
+
+  @BeforeEach
+  void setUp() {
+    readinessAnalyticsService = new ReadinessAnalyticsService(readinessRollupRepository, 5);
+  }
+
+  @Test
+  void constructor_shouldThrow_whenPrecisionIsOutOfRange() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new ReadinessAnalyticsService(readinessRollupRepository, 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> new ReadinessAnalyticsService(readinessRollupRepository,
+            Geohash.MAX_PRECISION + 1));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void rollUpHouseholds_shouldComputeReadinessAndReturnOldAndNewRegions() {
+    List<Long> ids = List.of(1L, 2L);
+    List<ItemTypeStock> stock = List.of(new ItemTypeStock(1L, ItemType.FOOD, 4));
+    when(readinessRollupRepository.findRegionsOf(ids)).thenReturn(List.of("zzzzz"));
+    when(readinessRollupRepository.findHouseholdSupply(ids, NOW)).thenReturn(List.of(
+        new HouseholdSupply(1L, 59.91, 10.75, 2, 0, 12_000, 8),
+        new HouseholdSupply(2L, 59.91, 10.75, 0, 1, 0, 0)));
+    when(readinessRollupRepository.findItemTypeStock(ids, NOW)).thenReturn(stock);
+
+    Set<String> regions = readinessAnalyticsService.rollUpHouseholds(ids, NOW);
+
+    String oslo = Geohash.encode(59.91, 10.75, 5);
+    assertEquals(Set.of("zzzzz", oslo), regions);
+    ArgumentCaptor<List<HouseholdReadiness>> readiness = ArgumentCaptor.forClass(List.class);
+    verify(readinessRollupRepository).replaceHouseholds(eq(ids), readiness.capture(),
+        eq(stock), eq(NOW));
+    HouseholdReadiness rated = readiness.getValue().get(0);
+    assertEquals(oslo, rated.getRegion());
+    assertEquals(3.0, rated.getFoodDays());
+    assertEquals(2.0, rated.getWaterDays());
+    assertEquals(2.0, rated.getReadinessDays());
+    HouseholdReadiness withoutUsers = readiness.getValue().get(1);
+    assertNull(withoutUsers.getReadinessDays());
+    assertEquals(1, withoutUsers.getNonUserMembers());
+  }
+
+  @Test
+  void getRegions_shouldAverageOverRatedHouseholdsAndOrderMissingItemTypes() {
+    when(readinessRollupRepository.findRollups(4, "u4")).thenReturn(List.of(
+        new ReadinessRollup("u4xs", 4, 9, 2, 3, 12, 6, 6, 2, NOW)));
+    when(readinessRollupRepository.findItemTypeRollups(4, "u4")).thenReturn(List.of(
+        new ItemTypeRollup("u4xs", ItemType.DRINK, 3, 30),
+        new ItemTypeRollup("u4xs", ItemType.FOOD, 1, 5)));
+
+    List<RegionReadinessResponse> regions = readinessAnalyticsService.getRegions(4, "U4");
+
+    assertEquals(1, regions.size());
+    RegionReadinessResponse region = regions.get(0);
+    assertEquals("u4xs", region.getRegion());
+    assertEquals(4, region.getHouseholds());
+    assertEquals(4.0, region.getAverageFoodDays());
+    assertEquals(2.0, region.getAverageWaterDays());
+    assertEquals(2.0, region.getAverageReadinessDays());
+    assertEquals(2.0 / 3, region.getShareUnderThreeDays(), 1e-9);
+    assertEquals(List.of(ItemType.ACCESSORIES, ItemType.FOOD, ItemType.DRINK),
+        region.getMissingItemTypes().stream().map(ItemTypeShortageResponse::getItemType)
+            .toList());
+    assertEquals(4, region.getMissingItemTypes().get(0).getHouseholdsMissing());
+    assertEquals(0.75, region.getMissingItemTypes().get(1).getShareMissing());
+  }
+
+  @Test
+  void getRegions_shouldThrow_whenPrecisionOrRegionIsInvalid() {
+    assertThrows(IllegalArgumentException.class,
+        () -> readinessAnalyticsService.getRegions(6, null));
+    assertThrows(IllegalArgumentException.class,
+        () -> readinessAnalyticsService.getRegions(-1, null));
+    assertThrows(IllegalArgumentException.class,
+        () -> readinessAnalyticsService.getRegions(3, "u4a"));
+    assertThrows(IllegalArgumentException.class,
+        () -> readinessAnalyticsService.getRegions(1, "u4"));
+    verifyNoInteractions(readinessRollupRepository);
+  }
+
+  @Test
+  void encode_shouldMatchKnownGeohashes() {
+    assertEquals("u4pruydqqvj", Geohash.encode(57.64911, 10.40744, 11));
+    assertEquals("u4pru", Geohash.encode(57.64911, 10.40744, 5));
+    assertThrows(IllegalArgumentException.class, () -> Geohash.encode(0, 0, 0));
+  }
+}
@@ -0,0 +1,147 @@
+package com.group7.krisefikser.service;
+
+import com.group7.krisefikser.enums.SyncEntity;
+import com.group7.krisefikser.model.household.ReadinessCheckpoint;
+import com.group7.krisefikser.model.item.ExpiryNotification;
+import com.group7.krisefikser.model.other.ChangeLogEntry;
+import com.group7.krisefikser.repository.household.ReadinessRollupRepository;
+import com.group7.krisefikser.repository.item.ExpiryNotificationRepo;
+import com.group7.krisefikser.repository.other.ChangeLogRepo;
+import com.group7.krisefikser.service.household.ReadinessAnalyticsService;
+import com.group7.krisefikser.service.household.ReadinessRollupService;
+import com.group7.krisefikser.service.other.ChangeLogCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the ReadinessRollupService class.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReadinessRollupServiceTest {
+  private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+  private static final int CHUNK_SIZE = 2;
+
+  @Mock
+  private ReadinessAnalyticsService readinessAnalyticsService;
+  @Mock
+  private ReadinessRollupRepository readinessRollupRepository;
+  @Mock
+  private ChangeLogRepo changeLogRepo;
+  @Mock
+  private ChangeLogCursor changeLogCursor;
+  @Mock
+  private ExpiryNotificationRepo expiryNotificationRepo;
+
+  private ReadinessRollupService readinessRollupService;
+
+  @BeforeEach
+  void setUp() {
+    readinessRollupService = new ReadinessRollupService(readinessAnalyticsService,
+        readinessRollupRepository, changeLogRepo, changeLogCursor, expiryNotificationRepo,
+        CHUNK_SIZE, 600);
+    lenient().when(readinessAnalyticsService.getRegionPrecision()).thenReturn(5);
+    lenient().when(readinessRollupRepository.extendLease(anyString(), anyLong()))
+        .thenReturn(true);
+    lenient().when(changeLogCursor.version()).thenReturn(15L);
+    lenient().when(changeLogRepo.oldestVersion()).thenReturn(1L);
+  }
+
+  @Test
+  void refresh_shouldRebuild_whenThereIsNoCheckpoint() {
+    when(readinessRollupRepository.findCheckpoint()).thenReturn(Optional.empty());
+    when(readinessRollupRepository.findHouseholdIdsAfter(0, CHUNK_SIZE))
+        .thenReturn(List.of(1L, 2L));
+    when(readinessRollupRepository.findHouseholdIdsAfter(2, CHUNK_SIZE))
+        .thenReturn(List.of(3L));
+    when(readinessRollupRepository.findAllRegions()).thenReturn(List.of("u4xsu"));
+
+    int households = readinessRollupService.refresh(NOW);
+
+    assertEquals(3, households);
+    verify(readinessAnalyticsService).rollUpHouseholds(List.of(1L, 2L), NOW);
+    verify(readinessAnalyticsService).rollUpHouseholds(List.of(3L), NOW);
+    verify(readinessAnalyticsService).rollUpRegions(List.of("u4xsu"), NOW);
+    verify(readinessRollupRepository).deleteEmptyRegions();
+    verify(readinessRollupRepository).saveCheckpoint(new ReadinessCheckpoint(15L, NOW, 5));
+  }
+
+  @Test
+  void refresh_shouldRebuild_whenPrecisionHasChanged() {
+    when(readinessRollupRepository.findCheckpoint())
+        .thenReturn(Optional.of(new ReadinessCheckpoint(10L, NOW.minusHours(1), 4)));
+    when(readinessRollupRepository.findHouseholdIdsAfter(0, CHUNK_SIZE)).thenReturn(List.of());
+
+    readinessRollupService.refresh(NOW);
+
+    verify(readinessRollupRepository).deleteEmptyRegions();
+    verifyNoInteractions(expiryNotificationRepo);
+  }
+
+  @Test
+  void refresh_shouldOnlyRecomputeChangedAndExpiredHouseholds() {
+    LocalDateTime lastRun = NOW.minusMinutes(5);
+    when(readinessRollupRepository.findCheckpoint())
+        .thenReturn(Optional.of(new ReadinessCheckpoint(10L, lastRun, 5)));
+    when(changeLogRepo.findHouseholdChangesAfter(eq(10L), eq(15L), any(), eq(CHUNK_SIZE)))
+        .thenReturn(List.of(change(11L, 1L), change(12L, 1L)));
+    when(changeLogRepo.findHouseholdChangesAfter(eq(12L), eq(15L), any(), eq(CHUNK_SIZE)))
+        .thenReturn(List.of());
+    when(expiryNotificationRepo.findExpiringPage(lastRun, 0, NOW, CHUNK_SIZE))
+        .thenReturn(List.of(new ExpiryNotification(7, 3, 0, NOW.minusMinutes(1))));
+    when(readinessAnalyticsService.rollUpHouseholds(List.of(1L, 3L), NOW))
+        .thenReturn(Set.of("u4xsu"));
+
+    int households = readinessRollupService.refresh(NOW);
+
+    assertEquals(2, households);
+    verify(readinessAnalyticsService).rollUpRegions(List.of("u4xsu"), NOW);
+    verify(readinessRollupRepository, never()).findHouseholdIdsAfter(anyLong(), anyInt());
+    verify(readinessRollupRepository).saveCheckpoint(new ReadinessCheckpoint(15L, NOW, 5));
+  }
+
+  @Test
+  void refresh_shouldSkip_whenAnotherInstanceHoldsTheLease() {
+    doThrow(new DuplicateKeyException("leased")).when(readinessRollupRepository)
+        .insertLease(anyString(), anyLong());
+    when(readinessRollupRepository.extendLease(anyString(), anyLong())).thenReturn(false);
+
+    assertEquals(0, readinessRollupService.refresh(NOW));
+
+    verify(readinessRollupRepository, never()).findCheckpoint();
+    verify(readinessRollupRepository, never()).releaseLease(anyString());
+  }
+
+  @Test
+  void rebuild_shouldStopWithoutCheckpoint_whenLeaseIsTakenOver() {
+    when(readinessRollupRepository.findHouseholdIdsAfter(0, CHUNK_SIZE))
+        .thenReturn(List.of(1L, 2L));
+    when(readinessRollupRepository.extendLease(anyString(), anyLong())).thenReturn(false);
+
+    assertThrows(IllegalStateException.class, () -> readinessRollupService.rebuild(NOW));
+
+    verify(readinessAnalyticsService, never()).rollUpHouseholds(any(), any());
+    verify(readinessRollupRepository, never()).saveCheckpoint(any());
+    verify(readinessRollupRepository).releaseLease(anyString());
+  }
+
+  private static ChangeLogEntry change(long version, long householdId) {
+    return new ChangeLogEntry(version, SyncEntity.STORAGE_ITEM, 1L, householdId, false);
+  }
+}
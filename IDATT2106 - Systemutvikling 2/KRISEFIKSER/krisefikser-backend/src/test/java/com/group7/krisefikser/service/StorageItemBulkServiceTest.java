@@ -0,0 +1,227 @@
+package com.group7.krisefikser.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group7.krisefikser.dto.response.item.BulkStorageItemResponse;
+import com.group7.krisefikser.enums.ItemType;
+import com.group7.krisefikser.model.item.Item;
+import com.group7.krisefikser.model.item.StorageItem;
+import com.group7.krisefikser.repository.item.GroupInventoryRepo;
+import com.group7.krisefikser.repository.item.ItemRepo;
+import com.group7.krisefikser.repository.item.StorageItemRepo;
+import com.group7.krisefikser.service.item.StorageItemBulkService;
+import com.group7.krisefikser.utils.BulkRecordReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the StorageItemBulkService class.
+ * The uploads are parsed for real, while the repositories are mocked.
+ */
+@ExtendWith(MockitoExtension.class)
+class StorageItemBulkServiceTest {
+  @Mock
+  private StorageItemRepo storageItemRepo;
+
+  @Mock
+  private ItemRepo itemRepo;
+
+  @Mock
+  private GroupInventoryRepo groupInventoryRepo;
+
+  @Spy
+  private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+  @InjectMocks
+  private StorageItemBulkService storageItemBulkService;
+
+  @Test
+  void addStorageItems_json_addsAllRowsInOneBatch() {
+    when(itemRepo.findByIds(any())).thenReturn(List.of(createItem(1), createItem(2)));
+    String json = "["
+            + "{\"expirationDate\":\"2030-01-01T00:00:00\",\"quantity\":5,\"itemId\":1},"
+            + "{\"expirationDate\":\"2030-02-01T12:00:00\",\"quantity\":2.5,\"itemId\":2}"
+            + "]";
+
+    BulkStorageItemResponse response = storageItemBulkService.addStorageItems(
+            1, stream(json), BulkRecordReader.Format.JSON);
+
+    assertEquals(2, response.getCount());
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<StorageItem>> captor = ArgumentCaptor.forClass(List.class);
+    verify(storageItemRepo, times(1)).addAll(captor.capture());
+    List<StorageItem> added = captor.getValue();
+    assertEquals(2, added.size());
+    assertEquals(1, added.get(0).getHouseholdId());
+    assertEquals(2.5, added.get(1).getQuantity());
+    assertEquals(LocalDateTime.of(2030, 2, 1, 12, 0), added.get(1).getExpirationDate());
+    assertFalse(added.get(0).isShared());
+    verify(itemRepo, times(1)).findByIds(any());
+    verify(groupInventoryRepo, times(1)).refreshHousehold(1L);
+  }
+
+  @Test
+  void addStorageItems_csv_acceptsSnakeCaseHeaderAndDates() {
+    when(itemRepo.findByIds(any())).thenReturn(List.of(createItem(3)));
+    String csv = "expiration_date,quantity,item_id\n"
+            + "2030-01-01,4,3\n"
+            + "\n"
+            + "\"2030-01-02T08:30:00\",1,3\n";
+
+    BulkStorageItemResponse response = storageItemBulkService.addStorageItems(
+            1, stream(csv), BulkRecordReader.Format.CSV);
+
+    assertEquals(2, response.getCount());
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<StorageItem>> captor = ArgumentCaptor.forClass(List.class);
+    verify(storageItemRepo).addAll(captor.capture());
+    assertEquals(LocalDateTime.of(2030, 1, 1, 0, 0), captor.getValue().get(0).getExpirationDate());
+    assertEquals(LocalDateTime.of(2030, 1, 2, 8, 30), captor.getValue().get(1).getExpirationDate());
+  }
+
+  @Test
+  void addStorageItems_largeUpload_isWrittenInChunks() {
+    when(itemRepo.findByIds(any())).thenReturn(List.of(createItem(1)));
+    StringBuilder csv = new StringBuilder("expirationDate,quantity,itemId\n");
+    for (int i = 0; i < 2500; i++) {
+      csv.append("2030-01-01,1,1\n");
+    }
+
+    BulkStorageItemResponse response = storageItemBulkService.addStorageItems(
+            1, stream(csv.toString()), BulkRecordReader.Format.CSV);
+
+    assertEquals(2500, response.getCount());
+    verify(storageItemRepo, times(3)).addAll(anyList());
+    verify(itemRepo, times(3)).findByIds(any());
+  }
+
+  @Test
+  void addStorageItems_unknownItem_throwsWithRowNumber() {
+    when(itemRepo.findByIds(any())).thenReturn(List.of(createItem(1)));
+    String json = "["
+            + "{\"expirationDate\":\"2030-01-01T00:00:00\",\"quantity\":5,\"itemId\":1},"
+            + "{\"expirationDate\":\"2030-01-01T00:00:00\",\"quantity\":5,\"itemId\":99}"
+            + "]";
+
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+            storageItemBulkService.addStorageItems(1, stream(json), BulkRecordReader.Format.JSON));
+
+    assertEquals("Row 2: Item not found with id: 99", exception.getMessage());
+    verify(storageItemRepo, never()).addAll(anyList());
+    verify(groupInventoryRepo, never()).refreshHousehold(anyLong());
+  }
+
+  @Test
+  void addStorageItems_negativeQuantity_throwsWithoutQueryingCatalog() {
+    String csv = "expirationDate,quantity,itemId\n2030-01-01,-1,1\n";
+
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+            storageItemBulkService.addStorageItems(1, stream(csv), BulkRecordReader.Format.CSV));
+
+    assertEquals("Row 1: Quantity cannot be negative", exception.getMessage());
+    verify(itemRepo, never()).findByIds(any());
+  }
+
+  @Test
+  void addStorageItems_malformedJson_throwsIllegalArgumentException() {
+    assertThrows(IllegalArgumentException.class, () ->
+            storageItemBulkService.addStorageItems(1, stream("{\"quantity\":1}"),
+                    BulkRecordReader.Format.JSON));
+    assertThrows(IllegalArgumentException.class, () ->
+            storageItemBulkService.addStorageItems(1, stream("[{\"quantity\":"),
+                    BulkRecordReader.Format.JSON));
+    verify(storageItemRepo, never()).addAll(anyList());
+  }
+
+  @Test
+  void addStorageItems_invalidCsvValue_throwsWithLineNumber() {
+    String csv = "expirationDate,quantity,itemId\n2030-01-01,1,1\n2030-01-01,many,1\n";
+
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+            storageItemBulkService.addStorageItems(1, stream(csv), BulkRecordReader.Format.CSV));
+
+    assertEquals("Line 3: Invalid quantity: many", exception.getMessage());
+  }
+
+  @Test
+  void updateStorageItems_valid_updatesAllRows() {
+    when(itemRepo.findByIds(any())).thenReturn(List.of(createItem(1)));
+    when(storageItemRepo.findIdsInHousehold(any(), eq(1))).thenReturn(Set.of(10, 11));
+    String csv = "id,expirationDate,quantity,itemId\n10,2030-01-01,3,1\n11,2030-01-01,4,1\n";
+
+    BulkStorageItemResponse response = storageItemBulkService.updateStorageItems(
+            1, stream(csv), BulkRecordReader.Format.CSV);
+
+    assertEquals(2, response.getCount());
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<StorageItem>> captor = ArgumentCaptor.forClass(List.class);
+    verify(storageItemRepo).updateAll(captor.capture());
+    assertEquals(10, captor.getValue().get(0).getId());
+    assertEquals(1, captor.getValue().get(0).getHouseholdId());
+    verify(groupInventoryRepo).refreshHousehold(1L);
+  }
+
+  @Test
+  void updateStorageItems_itemInOtherHousehold_throwsNoSuchElementException() {
+    when(itemRepo.findByIds(any())).thenReturn(List.of(createItem(1)));
+    when(storageItemRepo.findIdsInHousehold(any(), eq(1))).thenReturn(Set.of(10));
+    String json = "["
+            + "{\"id\":10,\"expirationDate\":\"2030-01-01T00:00:00\",\"quantity\":1,\"itemId\":1},"
+            + "{\"id\":20,\"expirationDate\":\"2030-01-01T00:00:00\",\"quantity\":1,\"itemId\":1}"
+            + "]";
+
+    NoSuchElementException exception = assertThrows(NoSuchElementException.class, () ->
+            storageItemBulkService.updateStorageItems(1, stream(json),
+                    BulkRecordReader.Format.JSON));
+
+    assertEquals("Row 2: Storage item not found with id: 20", exception.getMessage());
+    verify(storageItemRepo, never()).updateAll(anyList());
+  }
+
+  @Test
+  void deleteStorageItems_jsonIds_deletesAll() {
+    when(storageItemRepo.findIdsInHousehold(any(), eq(1))).thenReturn(Set.of(1, 2, 3));
+    when(storageItemRepo.deleteByIds(any(), eq(1))).thenReturn(3);
+
+    BulkStorageItemResponse response = storageItemBulkService.deleteStorageItems(
+            1, stream("[1, 2, 3]"), BulkRecordReader.Format.JSON);
+
+    assertEquals(3, response.getCount());
+    verify(storageItemRepo).deleteByIds(Set.of(1, 2, 3), 1);
+    verify(groupInventoryRepo).refreshHousehold(1L);
+  }
+
+  @Test
+  void deleteStorageItems_missingId_throwsNoSuchElementException() {
+    when(storageItemRepo.findIdsInHousehold(any(), eq(1))).thenReturn(Set.of(1));
+
+    assertThrows(NoSuchElementException.class, () ->
+            storageItemBulkService.deleteStorageItems(1, stream("id\n1\n2\n"),
+                    BulkRecordReader.Format.CSV));
+    verify(storageItemRepo, never()).deleteByIds(any(), anyInt());
+  }
+
+  private static InputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Item createItem(int id) {
+    return new Item(id, "Item " + id, "units", 100, ItemType.FOOD);
+  }
+}
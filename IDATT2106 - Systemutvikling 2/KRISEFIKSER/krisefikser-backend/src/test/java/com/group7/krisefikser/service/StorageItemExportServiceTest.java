@@ -0,0 +1,132 @@
+package com.group7.krisefikser.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.group7.krisefikser.enums.ExportFormat;
+import com.group7.krisefikser.enums.ItemType;
+import com.group7.krisefikser.model.item.StorageItemExportRow;
+import com.group7.krisefikser.repository.item.StorageItemExportRepo;
+import com.group7.krisefikser.service.item.StorageItemExportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the StorageItemExportService class.
+ * The repository is mocked to hand over a fixed set of rows.
+ */
+@ExtendWith(MockitoExtension.class)
+class StorageItemExportServiceTest {
+  @Mock
+  private StorageItemExportRepo storageItemExportRepo;
+
+  @Spy
+  private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  @InjectMocks
+  private StorageItemExportService storageItemExportService;
+
+  @Test
+  void exportHouseholdStorage_csv_writesHeaderAndEscapedRows() throws IOException {
+    doAnswer(invocation -> {
+      Consumer<StorageItemExportRow> consumer = invocation.getArgument(1);
+      consumer.accept(createRow(1, "The Smiths", "Bottled Water"));
+      consumer.accept(createRow(2, "=cmd()", "Beans, \"canned\""));
+      return null;
+    }).when(storageItemExportRepo).streamHouseholdItems(eq(1), any());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    storageItemExportService.exportHouseholdStorage(1, ExportFormat.CSV, out);
+
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(3, lines.length);
+    assertEquals("id,householdName,itemId,itemName,unit,type,quantity,expirationDate,shared",
+            lines[0]);
+    assertEquals("1,The Smiths,1,Bottled Water,L,drink,2.5,2030-01-01T00:00:00,true", lines[1]);
+    assertEquals("2,'=cmd(),1,\"Beans, \"\"canned\"\"\",L,drink,2.5,2030-01-01T00:00:00,true",
+            lines[2]);
+  }
+
+  @Test
+  void exportGroupStorage_ndjson_writesOneObjectPerLine() throws IOException {
+    doAnswer(invocation -> {
+      Consumer<StorageItemExportRow> consumer = invocation.getArgument(1);
+      consumer.accept(createRow(1, "The Smiths", "Bottled Water"));
+      consumer.accept(createRow(2, "The Johnsons", "Bottled Water"));
+      return null;
+    }).when(storageItemExportRepo).streamSharedGroupItems(eq(5L), any());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    storageItemExportService.exportGroupStorage(5L, ExportFormat.NDJSON, out);
+
+    String content = out.toString(StandardCharsets.UTF_8);
+    assertTrue(content.endsWith("\n"));
+    String[] lines = content.split("\n");
+    assertEquals(2, lines.length);
+    JsonNode second = objectMapper.readTree(lines[1]);
+    assertEquals(2, second.get("id").asInt());
+    assertEquals("The Johnsons", second.get("householdName").asText());
+    assertEquals("DRINK", second.get("type").asText());
+    assertEquals("2030-01-01T00:00:00", second.get("expirationDate").asText());
+    assertTrue(second.get("shared").asBoolean());
+  }
+
+  @Test
+  void exportExpiringItems_noRows_writesOnlyHeader() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    storageItemExportService.exportExpiringItems(1, 7, ExportFormat.CSV, out);
+
+    assertEquals("id,householdName,itemId,itemName,unit,type,quantity,expirationDate,shared\n",
+            out.toString(StandardCharsets.UTF_8));
+    verify(storageItemExportRepo).streamExpiringItems(eq(1), eq(7), any());
+  }
+
+  @Test
+  void exportExpiringItems_negativeDays_throwsIllegalArgumentException() {
+    assertThrows(IllegalArgumentException.class, () ->
+            storageItemExportService.exportExpiringItems(1, -1, ExportFormat.CSV,
+                    new ByteArrayOutputStream()));
+    verifyNoInteractions(storageItemExportRepo);
+  }
+
+  @Test
+  void exportHouseholdStorage_writeFails_throwsIoException() {
+    doAnswer(invocation -> {
+      Consumer<StorageItemExportRow> consumer = invocation.getArgument(1);
+      for (int i = 0; i < 10000; i++) {
+        consumer.accept(createRow(i, "The Smiths", "Bottled Water"));
+      }
+      return null;
+    }).when(storageItemExportRepo).streamHouseholdItems(eq(1), any());
+    OutputStream closed = new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        throw new IOException("Connection reset");
+      }
+    };
+
+    assertThrows(IOException.class, () ->
+            storageItemExportService.exportHouseholdStorage(1, ExportFormat.CSV, closed));
+  }
+
+  private static StorageItemExportRow createRow(int id, String householdName, String itemName) {
+    return new StorageItemExportRow(id, householdName, 1, itemName, "L", ItemType.DRINK, 2.5,
+            LocalDateTime.of(2030, 1, 1, 0, 0), true);
+  }
+}
@@ -9,9 +9,11 @@ import com.group7.krisefikser.dto.response.item.StorageItemGroupResponse;
 import com.group7.krisefikser.dto.response.item.StorageItemResponse;
 import com.group7.krisefikser.enums.ItemType;
 import com.group7.krisefikser.model.household.Household;
+import com.group7.krisefikser.model.item.GroupInventoryEntry;
 import com.group7.krisefikser.model.item.Item;
 import com.group7.krisefikser.model.item.StorageItem;
 import com.group7.krisefikser.repository.household.HouseholdRepository;
+import com.group7.krisefikser.repository.item.GroupInventoryRepo;
 import com.group7.krisefikser.repository.item.ItemRepo;
 import com.group7.krisefikser.repository.item.StorageItemRepo;
 import com.group7.krisefikser.service.household.HouseholdService;
@@ -21,8 +23,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
@@ -52,6 +52,8 @@ class StorageItemServiceTest {
   HouseholdService householdService;
   @Mock
   private HouseholdRepository householdRepository;
+  @Mock
+  private GroupInventoryRepo groupInventoryRepo;
 
   @InjectMocks
   private StorageItemService storageItemService;
@@ -86,12 +88,11 @@ class StorageItemServiceTest {
   void getAllSharedStorageItemsInGroup_returnsListOfStorageItemResponseSortedAndFiltered() {
     LocalDateTime shortestExpirationDate = LocalDateTime.now().plusDays(5);
 
-    List<StorageItem> mockItems = Arrays.asList(
-            createStorageItem(1, 1, 1, 5, true, LocalDateTime.now().plusDays(10)),
-            createStorageItem(2, 2, 3, 4, true, shortestExpirationDate),
-            createStorageItem(3, 2, 1, 3, true, LocalDateTime.now().plusDays(7)),
-            createStorageItem(4, 3, 2, 3, true, LocalDateTime.now().plusDays(8)),
-            createStorageItem(5, 4, 1, 6, true, LocalDateTime.now().plusDays(6))
+    List<GroupInventoryEntry> inventory = Arrays.asList(
+            new GroupInventoryEntry(1L, 1, 5, LocalDateTime.now().plusDays(10), 1),
+            new GroupInventoryEntry(1L, 2, 7, shortestExpirationDate, 2),
+            new GroupInventoryEntry(1L, 3, 3, LocalDateTime.now().plusDays(8), 1),
+            new GroupInventoryEntry(1L, 4, 6, LocalDateTime.now().plusDays(6), 1)
     );
 
     StorageItemSortRequest sortRequest = new StorageItemSortRequest();
@@ -102,18 +103,14 @@ class StorageItemServiceTest {
     List<ItemType> types = List.of(ItemType.DRINK, ItemType.FOOD);
 
     when(itemService.convertToItemTypes(typesString)).thenReturn(types);
-    when(itemRepo.findById(1)).thenReturn(Optional.of(new Item(
-            1, "Item 1", "units", 100, ItemType.DRINK)));
-    when(itemRepo.findById(2)).thenReturn(Optional.of(new Item(
-            2, "Item 2", "units", 200, ItemType.FOOD)));
-    when(itemRepo.findById(3)).thenReturn(Optional.of(new Item(
-            3, "Item 3", "units", 300, ItemType.ACCESSORIES)));
-    when(itemRepo.findById(4)).thenReturn(Optional.of(new Item(
-            4, "Item 4", "units", 400, ItemType.FOOD)));
-
+    when(itemRepo.findByIds(any())).thenReturn(List.of(
+            new Item(1, "Item 1", "units", 100, ItemType.DRINK),
+            new Item(2, "Item 2", "units", 200, ItemType.FOOD),
+            new Item(3, "Item 3", "units", 300, ItemType.ACCESSORIES),
+            new Item(4, "Item 4", "units", 400, ItemType.FOOD)));
 
     when(householdService.getGroupIdForCurrentUser()).thenReturn(1L);
-    when(storageItemRepo.getAllSharedStorageItemsInGroup(1L)).thenReturn(mockItems);
+    when(groupInventoryRepo.findByGroupId(1L)).thenReturn(inventory);
 
 
     List<AggregatedStorageItemResponse> result = storageItemService.getSharedStorageItemsInGroup(typesString, sortRequest);
@@ -127,14 +124,13 @@ class StorageItemServiceTest {
     System.out.println(result);
     assertEquals(4, result.get(1).getItemId());
     assertEquals(1, result.get(2).getItemId());
-    verify(storageItemRepo, times(1)).getAllSharedStorageItemsInGroup(1L);
+    verify(groupInventoryRepo, times(1)).findByGroupId(1L);
+    verify(itemRepo, times(1)).findByIds(any());
     verify(householdService, times(1)).getGroupIdForCurrentUser();
   }
 
   @Test
   void getAllSharedStorageItemsInGroup_noItemsFromRepo_returnsEmptyList() {
-    List<StorageItem> mockItems = List.of();
-
     StorageItemSortRequest sortRequest = new StorageItemSortRequest();
     sortRequest.setSortBy("quantity");
     sortRequest.setSortDirection("desc");
@@ -142,13 +138,13 @@ class StorageItemServiceTest {
     List<String> types = List.of("DRINK", "FOOD");
 
     when(householdService.getGroupIdForCurrentUser()).thenReturn(1L);
-    when(storageItemRepo.getAllSharedStorageItemsInGroup(1L)).thenReturn(mockItems);
+    when(groupInventoryRepo.findByGroupId(1L)).thenReturn(List.of());
 
     List<AggregatedStorageItemResponse> result = storageItemService.getSharedStorageItemsInGroup(types, sortRequest);
 
     assertNotNull(result);
     assertEquals(0, result.size());
-    verify(storageItemRepo, times(1)).getAllSharedStorageItemsInGroup(1L);
+    verify(groupInventoryRepo, times(1)).findByGroupId(1L);
     verify(householdService, times(1)).getGroupIdForCurrentUser();
   }
 
@@ -156,12 +152,11 @@ class StorageItemServiceTest {
   void getAllSharedStorageItemsFromGroup_invalidTypeGetsIgnored() {
     LocalDateTime shortestExpirationDate = LocalDateTime.now().plusDays(5);
 
-    List<StorageItem> mockItems = Arrays.asList(
-            createStorageItem(1, 1, 1, 5, true, LocalDateTime.now().plusDays(10)),
-            createStorageItem(2, 2, 3, 4, true, shortestExpirationDate),
-            createStorageItem(3, 2, 1, 3, true, LocalDateTime.now().plusDays(7)),
-            createStorageItem(4, 3, 2, 3, true, LocalDateTime.now().plusDays(8)),
-            createStorageItem(5, 4, 1, 6, true, LocalDateTime.now().plusDays(6))
+    List<GroupInventoryEntry> inventory = Arrays.asList(
+            new GroupInventoryEntry(1L, 1, 5, LocalDateTime.now().plusDays(10), 1),
+            new GroupInventoryEntry(1L, 2, 7, shortestExpirationDate, 2),
+            new GroupInventoryEntry(1L, 3, 3, LocalDateTime.now().plusDays(8), 1),
+            new GroupInventoryEntry(1L, 4, 6, LocalDateTime.now().plusDays(6), 1)
     );
 
     StorageItemSortRequest sortRequest = new StorageItemSortRequest();
@@ -172,18 +167,14 @@ class StorageItemServiceTest {
     List<ItemType> types = List.of(ItemType.DRINK, ItemType.FOOD);
 
     when(itemService.convertToItemTypes(typesString)).thenReturn(types);
-    when(itemRepo.findById(1)).thenReturn(Optional.of(new Item(
-            1, "Item 1", "units", 100, ItemType.DRINK)));
-    when(itemRepo.findById(2)).thenReturn(Optional.of(new Item(
-            2, "Item 2", "units", 200, ItemType.FOOD)));
-    when(itemRepo.findById(3)).thenReturn(Optional.of(new Item(
-            3, "Item 3", "units", 300, ItemType.ACCESSORIES)));
-    when(itemRepo.findById(4)).thenReturn(Optional.of(new Item(
-            4, "Item 4", "units", 400, ItemType.FOOD)));
-
+    when(itemRepo.findByIds(any())).thenReturn(List.of(
+            new Item(1, "Item 1", "units", 100, ItemType.DRINK),
+            new Item(2, "Item 2", "units", 200, ItemType.FOOD),
+            new Item(3, "Item 3", "units", 300, ItemType.ACCESSORIES),
+            new Item(4, "Item 4", "units", 400, ItemType.FOOD)));
 
     when(householdService.getGroupIdForCurrentUser()).thenReturn(1L);
-    when(storageItemRepo.getAllSharedStorageItemsInGroup(1L)).thenReturn(mockItems);
+    when(groupInventoryRepo.findByGroupId(1L)).thenReturn(inventory);
 
     List<AggregatedStorageItemResponse> result = storageItemService.getSharedStorageItemsInGroup(typesString, sortRequest);
 
@@ -196,7 +187,7 @@ class StorageItemServiceTest {
     System.out.println(result);
     assertEquals(4, result.get(1).getItemId());
     assertEquals(1, result.get(2).getItemId());
-    verify(storageItemRepo, times(1)).getAllSharedStorageItemsInGroup(1L);
+    verify(groupInventoryRepo, times(1)).findByGroupId(1L);
     verify(householdService, times(1)).getGroupIdForCurrentUser();
   }
 
@@ -235,27 +226,28 @@ class StorageItemServiceTest {
     StorageItem item1 = createStorageItem(1, itemId, 1, 5, true, LocalDateTime.now().plusDays(10));
     StorageItem item2 = createStorageItem(2, itemId, 2, 3, true, LocalDateTime.now().plusDays(5));
     StorageItem item3 = createStorageItem(3, itemId, 2, 2, true, LocalDateTime.now().plusDays(7));
-    List<StorageItem> mockItems = Arrays.asList(item1, item2, item3);
+    List<Map.Entry<StorageItem, String>> mockItems = Arrays.asList(
+            Map.entry(item1, "Household 1"),
+            Map.entry(item2, "Household 2"),
+            Map.entry(item3, "Household 2"));
 
-    try (MockedStatic<StorageItemResponse> mocked = Mockito.mockStatic(StorageItemResponse.class)) {
-
-      when(householdService.getGroupIdForCurrentUser()).thenReturn(groupId);
-
-      mocked.when(() -> StorageItemResponse.fromEntity(item1)).thenReturn(new StorageItemResponse());
-      mocked.when(() -> StorageItemResponse.fromEntity(item2)).thenReturn(new StorageItemResponse());
-      mocked.when(() -> StorageItemResponse.fromEntity(item3)).thenReturn(new StorageItemResponse());
-
-      when(storageItemRepo.getSharedStorageItemsInGroupByItemId(groupId, itemId))
-              .thenReturn(mockItems);
-      when(householdService.getHouseholdNameById(anyLong())).thenReturn("name");
+    when(householdService.getGroupIdForCurrentUser()).thenReturn(groupId);
+    when(storageItemRepo.getSharedStorageItemsInGroupByItemIdWithHousehold(groupId, itemId))
+            .thenReturn(mockItems);
+    when(itemRepo.findById(itemId)).thenReturn(Optional.of(new Item(
+            itemId, "Item 1", "units", 100, ItemType.DRINK)));
 
-      List<StorageItemGroupResponse> result = storageItemService.getSharedStorageItemsInGroupByItemId(itemId);
-      assertNotNull(result);
-      assertEquals(3, result.size());
-      verify(householdService, times(1)).getGroupIdForCurrentUser();
-      verify(storageItemRepo, times(1)).getSharedStorageItemsInGroupByItemId(groupId, itemId);
-      verify(householdService, times(3)).getHouseholdNameById(anyLong());
-    }
+    List<StorageItemGroupResponse> result = storageItemService.getSharedStorageItemsInGroupByItemId(itemId);
+    assertNotNull(result);
+    assertEquals(3, result.size());
+    assertEquals("Household 1", result.get(0).getHouseholdName());
+    assertEquals("Household 2", result.get(2).getHouseholdName());
+    assertEquals("Item 1", result.get(0).getStorageItem().getItem().getName());
+    verify(householdService, times(1)).getGroupIdForCurrentUser();
+    verify(storageItemRepo, times(1))
+            .getSharedStorageItemsInGroupByItemIdWithHousehold(groupId, itemId);
+    verify(itemRepo, times(1)).findById(itemId);
+    verify(householdService, never()).getHouseholdNameById(anyLong());
   }
 
   @Test
@@ -276,20 +268,17 @@ class StorageItemServiceTest {
   void getSharedStorageItemsInGroupByItemId_noItems_returnsEmptyList() {
     int itemId = 1;
     long groupId = 1L;
-    try (MockedStatic<StorageItemResponse> mocked = Mockito.mockStatic(StorageItemResponse.class)) {
-
-      when(householdService.getGroupIdForCurrentUser()).thenReturn(groupId);
-
-      when(storageItemRepo.getSharedStorageItemsInGroupByItemId(groupId, itemId))
-              .thenReturn(List.of());
+    when(householdService.getGroupIdForCurrentUser()).thenReturn(groupId);
+    when(storageItemRepo.getSharedStorageItemsInGroupByItemIdWithHousehold(groupId, itemId))
+            .thenReturn(List.of());
 
-      List<StorageItemGroupResponse> result = storageItemService.getSharedStorageItemsInGroupByItemId(itemId);
-      assertNotNull(result);
-      assertEquals(0, result.size());
-      verify(householdService, times(1)).getGroupIdForCurrentUser();
-      verify(storageItemRepo, times(1)).getSharedStorageItemsInGroupByItemId(groupId, itemId);
-      verify(householdService, times(0)).getHouseholdNameById(anyLong());
-    }
+    List<StorageItemGroupResponse> result = storageItemService.getSharedStorageItemsInGroupByItemId(itemId);
+    assertNotNull(result);
+    assertEquals(0, result.size());
+    verify(householdService, times(1)).getGroupIdForCurrentUser();
+    verify(storageItemRepo, times(1))
+            .getSharedStorageItemsInGroupByItemIdWithHousehold(groupId, itemId);
+    verify(itemRepo, never()).findById(anyInt());
   }
 
   /**
@@ -398,6 +387,8 @@ class StorageItemServiceTest {
     verify(storageItemRepo, times(1)).findById(storageItemId);
     verify(itemRepo, times(1)).findById(itemId);
     verify(storageItemRepo, times(1)).update(any(StorageItem.class));
+    verify(groupInventoryRepo, times(1)).refreshHouseholdItem(householdId, 0);
+    verify(groupInventoryRepo, times(1)).refreshHouseholdItem(householdId, itemId);
   }
 
   @Test
@@ -7,7 +7,9 @@ import com.group7.krisefikser.enums.Role;
 import com.group7.krisefikser.exception.UsernameGenerationException;
 import com.group7.krisefikser.model.user.User;
 import com.group7.krisefikser.repository.user.UserRepository;
+import com.group7.krisefikser.service.household.HouseholdCache;
 import com.group7.krisefikser.service.other.EmailService;
+import com.group7.krisefikser.service.other.NameAllocationService;
 import com.group7.krisefikser.service.user.SuperAdminService;
 import com.group7.krisefikser.service.user.UserService;
 import com.group7.krisefikser.utils.JwtUtils;
@@ -18,13 +20,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -46,6 +51,12 @@ public class SuperAdminServiceTest {
   @Mock
   private UserRepository userRepository;
 
+  @Mock
+  private NameAllocationService nameAllocationService;
+
+  @Mock
+  private HouseholdCache householdCache;
+
   @Test
   void inviteAdmin_shouldSendEmailWithCorrectLink_whenUsernameIsUnique() throws Exception {
     String email = "admin@example.com";
@@ -58,11 +69,14 @@ public class SuperAdminServiceTest {
 
     try (MockedStatic<UuidUtils> mockedUuid = mockStatic(UuidUtils.class)) {
       mockedUuid.when(UuidUtils::generateShortenedUuid).thenReturn(fakeUuid);
-      when(userRepository.existAdminByUsername(expectedUsername)).thenReturn(false);
+      when(nameAllocationService.allocate(eq(expectedUsername), any(), any()))
+          .thenAnswer(invocation -> invocation.<Function<String, String>>getArgument(2)
+              .apply(expectedUsername));
       when(jwtUtils.generateInviteToken(expectedUsername)).thenReturn(fakeToken);
 
       superAdminService.inviteAdmin(request);
 
+      verify(userRepository).reserveUsername(expectedUsername);
       verify(emailService).sendTemplateMessage(
           eq(email),
           eq(EmailTemplateType.ADMIN_INVITE),
@@ -72,7 +86,7 @@ public class SuperAdminServiceTest {
   }
 
   @Test
-  void inviteAdmin_shouldThrowUsernameGenerationException_whenUsernameIsNotUniqueAfterRetries() {
+  void inviteAdmin_shouldThrowUsernameGenerationException_whenUsernameCannotBeAllocated() {
     String email = "admin@example.com";
     InviteAdminRequest request = new InviteAdminRequest();
     request.setEmail(email);
@@ -80,13 +94,15 @@ public class SuperAdminServiceTest {
     try (MockedStatic<UuidUtils> mockedUuid = mockStatic(UuidUtils.class)) {
       mockedUuid.when(UuidUtils::generateShortenedUuid).thenReturn("conflict");
 
-      when(userRepository.existAdminByUsername("adminconflict")).thenReturn(true);
+      when(nameAllocationService.allocate(eq("adminconflict"), any(), any()))
+          .thenThrow(new DuplicateKeyException("Duplicate username"));
 
       UsernameGenerationException exception = assertThrows(UsernameGenerationException.class, () -> {
         superAdminService.inviteAdmin(request);
       });
 
       assertEquals("Failed to generate a unique username", exception.getMessage());
+      verifyNoInteractions(emailService);
     }
   }
 
@@ -0,0 +1,281 @@
+package com.group7.krisefikser.service;
+
+import com.group7.krisefikser.dto.request.location.GetPointsOfInterestRequest;
+import com.group7.krisefikser.dto.response.household.GetHouseholdMembersResponse;
+import com.group7.krisefikser.dto.response.item.StorageItemResponse;
+import com.group7.krisefikser.dto.response.location.AffectedAreaResponse;
+import com.group7.krisefikser.dto.response.location.PointOfInterestResponse;
+import com.group7.krisefikser.dto.response.other.SyncResponse;
+import com.group7.krisefikser.enums.ItemType;
+import com.group7.krisefikser.enums.SyncEntity;
+import com.group7.krisefikser.model.item.Item;
+import com.group7.krisefikser.model.item.StorageItem;
+import com.group7.krisefikser.model.other.ChangeLogEntry;
+import com.group7.krisefikser.repository.item.StorageItemRepo;
+import com.group7.krisefikser.repository.other.ChangeLogRepo;
+import com.group7.krisefikser.repository.user.UserRepository;
+import com.group7.krisefikser.service.household.HouseholdService;
+import com.group7.krisefikser.service.item.ItemService;
+import com.group7.krisefikser.service.location.AffectedAreaService;
+import com.group7.krisefikser.service.location.PointOfInterestService;
+import com.group7.krisefikser.service.other.ChangeLogCursor;
+import com.group7.krisefikser.service.other.SyncService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the SyncService class.
+ * The change log is mocked, so the tests check how changes are turned into the response.
+ */
+@ExtendWith(MockitoExtension.class)
+class SyncServiceTest {
+  private static final long HOUSEHOLD_ID = 5L;
+  private static final LocalDateTime EXPIRES = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+  @Mock
+  private ChangeLogRepo changeLogRepo;
+
+  @Mock
+  private ChangeLogCursor changeLogCursor;
+
+  @Mock
+  private StorageItemRepo storageItemRepo;
+
+  @Mock
+  private UserRepository userRepository;
+
+  @Mock
+  private ItemService itemService;
+
+  @Mock
+  private HouseholdService householdService;
+
+  @Mock
+  private AffectedAreaService affectedAreaService;
+
+  @Mock
+  private PointOfInterestService pointOfInterestService;
+
+  private SyncService syncService;
+
+  @BeforeEach
+  void setUp() {
+    SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+    securityContext.setAuthentication(new UsernamePasswordAuthenticationToken("1", null,
+        List.of()));
+    SecurityContextHolder.setContext(securityContext);
+    syncService = new SyncService(changeLogRepo, changeLogCursor, storageItemRepo,
+        userRepository, itemService, householdService, affectedAreaService,
+        pointOfInterestService, 30);
+    lenient().when(userRepository.findHouseholdIdByUserId(1L)).thenReturn(HOUSEHOLD_ID);
+    lenient().when(changeLogCursor.version()).thenReturn(42L);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void sync_withoutToken_sendsEverythingInFull() {
+    when(storageItemRepo.getAllStorageItems(5)).thenReturn(List.of(storageItem(1)));
+    when(itemService.getAllItems()).thenReturn(List.of(item()));
+    when(householdService.getHouseholdMembers()).thenReturn(
+        List.of(new GetHouseholdMembersResponse(1, "Kari", "USER")));
+    when(affectedAreaService.getAllAffectedAreas()).thenReturn(List.of(area(3L)));
+    when(pointOfInterestService.getPointsOfInterestByTypes(any(GetPointsOfInterestRequest.class)))
+        .thenReturn(List.of(pointOfInterest(4L)));
+
+    SyncResponse response = syncService.sync(null);
+
+    assertTrue(response.isFull());
+    assertFalse(response.isHasMore());
+    assertEquals(token(42, HOUSEHOLD_ID), response.getToken());
+    assertTrue(response.getStorageItems().isReplaced());
+    assertEquals("Water", response.getStorageItems().getUpserted().get(0).getItem().getName());
+    assertEquals(1, response.getMembers().getUpserted().size());
+    assertEquals(List.of(area(3L)), response.getAffectedAreas().getUpserted());
+    assertEquals(List.of(pointOfInterest(4L)), response.getPointsOfInterest().getUpserted());
+    verify(changeLogRepo, never()).findAfter(anyLong(), anyLong(), any(), anyInt());
+  }
+
+  @Test
+  void sync_withToken_sendsOnlyChangedEntities() {
+    when(changeLogRepo.oldestVersion()).thenReturn(1L);
+    when(changeLogRepo.findAfter(10, 42, HOUSEHOLD_ID, 1000)).thenReturn(List.of(
+        change(11, SyncEntity.STORAGE_ITEM, 1L, false),
+        change(12, SyncEntity.STORAGE_ITEM, 2L, true),
+        change(13, SyncEntity.AFFECTED_AREA, 3L, false),
+        change(14, SyncEntity.AFFECTED_AREA, 3L, true),
+        change(15, SyncEntity.POINT_OF_INTEREST, 4L, false),
+        change(16, SyncEntity.POINT_OF_INTEREST, 6L, false)));
+    when(storageItemRepo.findByIds(List.of(1L), 5)).thenReturn(List.of(storageItem(1)));
+    when(itemService.getAllItems()).thenReturn(List.of(item()));
+    when(affectedAreaService.getAllAffectedAreas()).thenReturn(List.of(area(7L)));
+    when(pointOfInterestService.getPointsOfInterestByTypes(any(GetPointsOfInterestRequest.class)))
+        .thenReturn(List.of(pointOfInterest(4L), pointOfInterest(8L)));
+
+    SyncResponse response = syncService.sync(token(10, HOUSEHOLD_ID));
+
+    assertFalse(response.isFull());
+    assertEquals(token(42, HOUSEHOLD_ID), response.getToken());
+    assertFalse(response.getStorageItems().isReplaced());
+    assertEquals(List.of(1), response.getStorageItems().getUpserted().stream()
+        .map(StorageItemResponse::getId).toList());
+    assertEquals(List.of(2L), response.getStorageItems().getDeleted());
+    assertTrue(response.getAffectedAreas().getUpserted().isEmpty());
+    assertEquals(List.of(3L), response.getAffectedAreas().getDeleted());
+    assertEquals(List.of(pointOfInterest(4L)), response.getPointsOfInterest().getUpserted());
+    assertEquals(List.of(6L), response.getPointsOfInterest().getDeleted());
+    assertFalse(response.getMembers().isReplaced());
+    verifyNoInteractions(householdService);
+  }
+
+  @Test
+  void sync_whenCollectionChanged_sendsItInFull() {
+    when(changeLogRepo.oldestVersion()).thenReturn(1L);
+    when(changeLogRepo.findAfter(10, 42, HOUSEHOLD_ID, 1000)).thenReturn(List.of(
+        change(11, SyncEntity.STORAGE_ITEM, 1L, false),
+        change(12, SyncEntity.STORAGE_ITEM, null, false),
+        change(13, SyncEntity.HOUSEHOLD_MEMBERS, null, false)));
+    when(storageItemRepo.getAllStorageItems(5)).thenReturn(List.of(storageItem(1),
+        storageItem(9)));
+    when(itemService.getAllItems()).thenReturn(List.of(item()));
+    when(householdService.getHouseholdMembers()).thenReturn(List.of());
+
+    SyncResponse response = syncService.sync(token(10, HOUSEHOLD_ID));
+
+    assertFalse(response.isFull());
+    assertTrue(response.getStorageItems().isReplaced());
+    assertEquals(2, response.getStorageItems().getUpserted().size());
+    assertTrue(response.getMembers().isReplaced());
+    assertFalse(response.getAffectedAreas().isReplaced());
+    verify(storageItemRepo, never()).findByIds(any(), anyInt());
+    verifyNoInteractions(affectedAreaService, pointOfInterestService);
+  }
+
+  @Test
+  void sync_whenPageIsFull_returnsVersionOfLastChange() {
+    List<ChangeLogEntry> changes = new ArrayList<>();
+    for (int i = 1; i <= 1000; i++) {
+      changes.add(change(10 + i, SyncEntity.AFFECTED_AREA, (long) i, true));
+    }
+    when(changeLogRepo.oldestVersion()).thenReturn(1L);
+    when(changeLogRepo.findAfter(10, 42, HOUSEHOLD_ID, 1000)).thenReturn(changes);
+    when(affectedAreaService.getAllAffectedAreas()).thenReturn(List.of());
+
+    SyncResponse response = syncService.sync(token(10, HOUSEHOLD_ID));
+
+    assertTrue(response.isHasMore());
+    assertEquals(token(1010, HOUSEHOLD_ID), response.getToken());
+    assertEquals(1000, response.getAffectedAreas().getDeleted().size());
+  }
+
+  @Test
+  void sync_whenUpToDate_returnsSameToken() {
+    when(changeLogRepo.oldestVersion()).thenReturn(1L);
+    String token = token(42, HOUSEHOLD_ID);
+
+    SyncResponse response = syncService.sync(token);
+
+    assertEquals(token, response.getToken());
+    assertFalse(response.isFull());
+    assertTrue(response.getStorageItems().getUpserted().isEmpty());
+    verify(changeLogRepo, never()).findAfter(anyLong(), anyLong(), any(), anyInt());
+  }
+
+  @Test
+  void sync_withExpiredToken_sendsEverythingInFull() {
+    when(changeLogRepo.oldestVersion()).thenReturn(20L);
+    when(storageItemRepo.getAllStorageItems(5)).thenReturn(List.of());
+    when(itemService.getAllItems()).thenReturn(List.of());
+    when(householdService.getHouseholdMembers()).thenReturn(List.of());
+    when(affectedAreaService.getAllAffectedAreas()).thenReturn(List.of());
+    when(pointOfInterestService.getPointsOfInterestByTypes(any(GetPointsOfInterestRequest.class)))
+        .thenReturn(List.of());
+
+    SyncResponse response = syncService.sync(token(10, HOUSEHOLD_ID));
+
+    assertTrue(response.isFull());
+    verify(changeLogRepo, never()).findAfter(anyLong(), anyLong(), any(), anyInt());
+  }
+
+  @Test
+  void sync_withTokenOfOtherHousehold_sendsEverythingInFull() {
+    when(storageItemRepo.getAllStorageItems(5)).thenReturn(List.of());
+    when(itemService.getAllItems()).thenReturn(List.of());
+    when(householdService.getHouseholdMembers()).thenReturn(List.of());
+    when(affectedAreaService.getAllAffectedAreas()).thenReturn(List.of());
+    when(pointOfInterestService.getPointsOfInterestByTypes(any(GetPointsOfInterestRequest.class)))
+        .thenReturn(List.of());
+
+    SyncResponse response = syncService.sync(token(10, 6L));
+
+    assertTrue(response.isFull());
+    assertEquals(token(42, HOUSEHOLD_ID), response.getToken());
+  }
+
+  @Test
+  void sync_withMalformedToken_throwsIllegalArgumentException() {
+    assertThrows(IllegalArgumentException.class, () -> syncService.sync("not a token"));
+    assertThrows(IllegalArgumentException.class, () -> syncService.sync(
+        Base64.getUrlEncoder().encodeToString("abc:5".getBytes(StandardCharsets.UTF_8))));
+  }
+
+  @Test
+  void purge_deletesChangesOlderThanRetention() {
+    syncService.purge();
+
+    verify(changeLogRepo).deleteOlderThan(argThat(before ->
+        before.isBefore(LocalDateTime.now().minusDays(29))));
+  }
+
+  private static String token(long version, Long householdId) {
+    String raw = version + ":" + (householdId != null ? householdId : "");
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static ChangeLogEntry change(long version, SyncEntity type, Long id, boolean deleted) {
+    Long householdId = type == SyncEntity.STORAGE_ITEM || type == SyncEntity.HOUSEHOLD_MEMBERS
+        ? HOUSEHOLD_ID : null;
+    return new ChangeLogEntry(version, type, id, householdId, deleted);
+  }
+
+  private static StorageItem storageItem(int id) {
+    return new StorageItem(id, EXPIRES, 2.0, 5, 1, false);
+  }
+
+  private static Item item() {
+    return new Item(1, "Water", "L", 0, ItemType.DRINK);
+  }
+
+  private static AffectedAreaResponse area(Long id) {
+    AffectedAreaResponse area = new AffectedAreaResponse();
+    area.setId(id);
+    return area;
+  }
+
+  private static PointOfInterestResponse pointOfInterest(Long id) {
+    PointOfInterestResponse pointOfInterest = new PointOfInterestResponse();
+    pointOfInterest.setId(id);
+    return pointOfInterest;
+  }
+}
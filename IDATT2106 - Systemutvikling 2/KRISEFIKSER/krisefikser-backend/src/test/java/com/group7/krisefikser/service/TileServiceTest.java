@@ -0,0 +1,178 @@
+package com.group7.krisefikser.service;
+
+import com.group7.krisefikser.dto.response.location.AffectedAreaResponse;
+import com.group7.krisefikser.dto.response.location.AffectedAreaShapeResponse;
+import com.group7.krisefikser.dto.response.location.PointOfInterestClusterResponse;
+import com.group7.krisefikser.dto.response.location.PointOfInterestResponse;
+import com.group7.krisefikser.dto.response.location.TileResponse;
+import com.group7.krisefikser.service.cache.TwoTierCache;
+import com.group7.krisefikser.service.location.AffectedAreaService;
+import com.group7.krisefikser.service.location.PointOfInterestService;
+import com.group7.krisefikser.service.location.TileGrid;
+import com.group7.krisefikser.service.location.TileRegion;
+import com.group7.krisefikser.service.location.TileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the TileService class and the tile arithmetic in TileGrid.
+ */
+@ExtendWith(MockitoExtension.class)
+class TileServiceTest {
+  private static final double OSLO_LAT = 59.91;
+  private static final double OSLO_LON = 10.75;
+
+  @Mock
+  private PointOfInterestService pointOfInterestService;
+  @Mock
+  private AffectedAreaService affectedAreaService;
+  @Mock
+  private TwoTierCache<TileResponse> tileCache;
+  @InjectMocks
+  private TileService tileService;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(tileCache.get(any(), any())).thenAnswer(invocation ->
+        invocation.<Supplier<TileResponse>>getArgument(1).get());
+  }
+
+  @Test
+  void getTile_shouldThrow_whenTileDoesNotExist() {
+    assertThrows(IllegalArgumentException.class, () -> tileService.getTile(-1, 0, 0));
+    assertThrows(IllegalArgumentException.class, () -> tileService.getTile(2, 4, 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> tileService.getTile(TileGrid.MAX_ZOOM + 1, 0, 0));
+  }
+
+  @Test
+  void getTile_shouldClusterNearbyPointsPerType() {
+    when(pointOfInterestService.getPointsOfInterestWithin(anyDouble(), anyDouble(), anyDouble(),
+        anyDouble())).thenReturn(List.of(
+        point(1L, OSLO_LAT, OSLO_LON, "shelter"),
+        point(2L, OSLO_LAT + 0.0001, OSLO_LON + 0.0001, "shelter"),
+        point(3L, OSLO_LAT, OSLO_LON, "hospital"),
+        point(4L, 60.39, 5.32, "shelter")));
+    when(affectedAreaService.getAllAffectedAreas()).thenReturn(List.of());
+
+    int z = 10;
+    TileResponse tile = tileService.getTile(z, TileGrid.tileX(OSLO_LON, z),
+        TileGrid.tileY(OSLO_LAT, z));
+
+    assertEquals(2, tile.getClusters().size());
+    PointOfInterestClusterResponse shelters = tile.getClusters().stream()
+        .filter(cluster -> cluster.getType().equals("shelter")).findFirst().orElseThrow();
+    assertEquals(2, shelters.getCount());
+    assertNull(shelters.getId());
+    assertEquals(OSLO_LAT + 0.00005, shelters.getLatitude(), 1e-6);
+    PointOfInterestClusterResponse hospitals = tile.getClusters().stream()
+        .filter(cluster -> cluster.getType().equals("hospital")).findFirst().orElseThrow();
+    assertEquals(1, hospitals.getCount());
+    assertEquals(3L, hospitals.getId());
+  }
+
+  @Test
+  void getTile_shouldSendMoreVerticesAtHigherZoom() {
+    when(pointOfInterestService.getPointsOfInterestWithin(anyDouble(), anyDouble(), anyDouble(),
+        anyDouble())).thenReturn(List.of());
+    when(affectedAreaService.getAllAffectedAreas()).thenReturn(List.of(area(1L, 1.0)));
+
+    AffectedAreaShapeResponse far = shapeAt(4);
+    AffectedAreaShapeResponse near = shapeAt(16);
+
+    assertEquals(8 + 1, far.getHighDangerZone().size());
+    assertEquals(64 + 1, near.getHighDangerZone().size());
+    assertArrayEquals(near.getHighDangerZone().get(0),
+        near.getHighDangerZone().get(near.getHighDangerZone().size() - 1));
+    double northernmost = near.getHighDangerZone().stream()
+        .map(vertex -> vertex[1]).max(Comparator.naturalOrder()).orElseThrow();
+    assertEquals(OSLO_LAT + 1.0 / 111.32, northernmost, 1e-4);
+  }
+
+  @Test
+  void getTile_shouldLeaveOutAreasOutsideTheTile() {
+    when(pointOfInterestService.getPointsOfInterestWithin(anyDouble(), anyDouble(), anyDouble(),
+        anyDouble())).thenReturn(List.of());
+    when(affectedAreaService.getAllAffectedAreas()).thenReturn(List.of(area(1L, 1.0)));
+
+    int z = 10;
+    TileResponse tile = tileService.getTile(z, TileGrid.tileX(5.32, z),
+        TileGrid.tileY(60.39, z));
+
+    assertTrue(tile.getAffectedAreas().isEmpty());
+  }
+
+  @Test
+  void getTile_shouldReadOnlyThePointsOfInterestWithinTheTile() {
+    when(pointOfInterestService.getPointsOfInterestWithin(anyDouble(), anyDouble(), anyDouble(),
+        anyDouble())).thenReturn(List.of());
+    when(affectedAreaService.getAllAffectedAreas()).thenReturn(List.of());
+
+    int z = TileGrid.MAX_ZOOM;
+    int x = TileGrid.tileX(OSLO_LON, z);
+    int y = TileGrid.tileY(OSLO_LAT, z);
+    tileService.getTile(z, x, y);
+
+    verify(tileCache).get(eq(TileGrid.key(z, x, y)), any());
+    verify(pointOfInterestService).getPointsOfInterestWithin(TileGrid.latitude(y + 1, z),
+        TileGrid.longitude(x, z), TileGrid.latitude(y, z), TileGrid.longitude(x + 1, z));
+  }
+
+  @Test
+  void tileRegion_shouldCoverTheTilesContainingThePointAtEveryZoom() {
+    TileRegion region = TileRegion.parse(TileRegion.around(OSLO_LAT, OSLO_LON, 0).key());
+
+    for (int z = 0; z <= TileGrid.MAX_ZOOM; z++) {
+      assertTrue(region.covers(TileGrid.key(z, TileGrid.tileX(OSLO_LON, z),
+          TileGrid.tileY(OSLO_LAT, z))));
+    }
+    int z = 10;
+    assertFalse(region.covers(TileGrid.key(z, TileGrid.tileX(5.32, z),
+        TileGrid.tileY(60.39, z))));
+    assertTrue(TileRegion.TILE_KEYS.isRange(region.key()));
+    assertFalse(TileRegion.TILE_KEYS.isRange("0/0/0"));
+  }
+
+  @Test
+  void tileRegion_union_shouldCoverTheTilesOfBothRegions() {
+    TileRegion region = TileRegion.around(OSLO_LAT, OSLO_LON, 1)
+        .union(TileRegion.around(60.39, 5.32, 1));
+
+    int z = 10;
+    assertTrue(TileRegion.TILE_KEYS.covers(region.key(), TileGrid.key(z,
+        TileGrid.tileX(5.32, z), TileGrid.tileY(60.39, z))));
+    assertTrue(TileRegion.TILE_KEYS.covers(region.key(), TileGrid.key(z,
+        TileGrid.tileX(OSLO_LON, z), TileGrid.tileY(OSLO_LAT, z))));
+  }
+
+  private AffectedAreaShapeResponse shapeAt(int z) {
+    TileResponse tile = tileService.getTile(z, TileGrid.tileX(OSLO_LON, z),
+        TileGrid.tileY(OSLO_LAT, z));
+    assertEquals(1, tile.getAffectedAreas().size());
+    return tile.getAffectedAreas().get(0);
+  }
+
+  private static PointOfInterestResponse point(Long id, double latitude, double longitude,
+                                               String type) {
+    return new PointOfInterestResponse(id, latitude, longitude, type, null, null, null, null);
+  }
+
+  private static AffectedAreaResponse area(Long id, double radiusKm) {
+    return new AffectedAreaResponse(id, "Oslo", OSLO_LON, OSLO_LAT, radiusKm, radiusKm * 2,
+        radiusKm * 3, 2, "Flood", "2025-01-01T00:00");
+  }
+}
@@ -0,0 +1,168 @@
+package com.group7.krisefikser.service;
+
+import com.group7.krisefikser.service.cache.InvalidationBus;
+import com.group7.krisefikser.service.cache.InvalidationTransport;
+import com.group7.krisefikser.service.cache.KeyRanges;
+import com.group7.krisefikser.service.cache.TwoTierCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the TwoTierCache class.
+ */
+class TwoTierCacheTest {
+  private static final KeyRanges PREFIX_RANGES = new KeyRanges() {
+    @Override
+    public boolean isRange(String key) {
+      return key.endsWith("*");
+    }
+
+    @Override
+    public boolean covers(String range, String key) {
+      return key.startsWith(range.substring(0, range.length() - 1));
+    }
+  };
+
+  private InvalidationTransport transport;
+  private InvalidationBus bus;
+  private TwoTierCache<String> cache;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    transport = mock(InvalidationTransport.class);
+    AtomicLong versions = new AtomicLong();
+    when(transport.publish(anyString(), anyString()))
+        .thenAnswer(invocation -> versions.incrementAndGet());
+    when(transport.findAfter(anyLong(), anyInt())).thenReturn(List.of());
+    bus = new InvalidationBus(transport, 10_000, 60);
+    bus.poll();
+    cache = bus.createCache("test", 100, Duration.ofMinutes(10));
+    loads = new AtomicInteger();
+  }
+
+  @Test
+  void get_secondCall_isServedFromCache() {
+    assertEquals("a1", cache.get("a", () -> load("a")));
+    assertEquals("a1", cache.get("a", () -> load("a")));
+
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void get_beforeBusHasStarted_doesNotCache() {
+    InvalidationBus notStarted = new InvalidationBus(transport, 10_000, 60);
+    TwoTierCache<String> other = notStarted.createCache("other", 100, Duration.ofMinutes(10));
+
+    other.get("a", () -> load("a"));
+    other.get("a", () -> load("a"));
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void invalidate_publishesAndEvictsLocally() {
+    cache.get("a", () -> load("a"));
+
+    cache.invalidate("a");
+
+    verify(transport).publish("test", "a");
+    assertNull(cache.getIfPresent("a"));
+  }
+
+  @Test
+  void invalidateAll_evictsEveryKey() {
+    cache.get("a", () -> load("a"));
+    cache.get("b", () -> load("b"));
+
+    cache.invalidateAll();
+
+    verify(transport).publish("test", TwoTierCache.ALL);
+    assertNull(cache.getIfPresent("a"));
+    assertNull(cache.getIfPresent("b"));
+  }
+
+  @Test
+  void get_invalidatedWhileLoading_doesNotCacheLoadedValue() {
+    cache.get("a", () -> {
+      cache.invalidate("a");
+      return load("a");
+    });
+
+    assertNull(cache.getIfPresent("a"));
+  }
+
+  @Test
+  void put_withVersionBeforeInvalidation_isDropped() {
+    long version = cache.version();
+    cache.invalidate("a");
+
+    cache.put("a", "stale", version);
+
+    assertNull(cache.getIfPresent("a"));
+  }
+
+  @Test
+  void getIfPresent_afterPublishInTransaction_bypassesCache() {
+    cache.get("a", () -> load("a"));
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      cache.invalidate("b");
+
+      assertTrue(bus.hasPublishedInTransaction());
+      assertNull(cache.getIfPresent("a"));
+      assertEquals("a2", cache.get("a", () -> load("a")));
+
+      TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+          synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertFalse(bus.hasPublishedInTransaction());
+    assertEquals("a1", cache.getIfPresent("a"));
+  }
+
+  @Test
+  void invalidateRange_evictsOnlyTheCoveredKeys() {
+    TwoTierCache<String> ranged = bus.createCache("ranged", 100, Duration.ofMinutes(10),
+        PREFIX_RANGES);
+    ranged.get("a1", () -> load("a1"));
+    ranged.get("b1", () -> load("b1"));
+
+    ranged.invalidate("a*");
+
+    verify(transport).publish("ranged", "a*");
+    assertNull(ranged.getIfPresent("a1"));
+    assertNotNull(ranged.getIfPresent("b1"));
+  }
+
+  @Test
+  void put_withVersionBeforeRangeInvalidation_isDropped() {
+    TwoTierCache<String> ranged = bus.createCache("ranged", 100, Duration.ofMinutes(10),
+        PREFIX_RANGES);
+    long version = ranged.version();
+    ranged.invalidate("a*");
+
+    ranged.put("a1", "stale", version);
+    ranged.put("b1", "fresh", version);
+
+    assertNull(ranged.getIfPresent("a1"));
+    assertEquals("fresh", ranged.getIfPresent("b1"));
+  }
+
+  private String load(String key) {
+    return key + loads.incrementAndGet();
+  }
+}
@@ -5,6 +5,7 @@ import com.group7.krisefikser.dto.response.location.GroupMemberPositionResponse;
 import com.group7.krisefikser.dto.response.location.HouseholdMemberPositionResponse;
 import com.group7.krisefikser.model.location.UserPosition;
 import com.group7.krisefikser.repository.location.UserPositionRepository;
+import com.group7.krisefikser.service.location.AreaImpactService;
 import com.group7.krisefikser.service.location.UserPositionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +14,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -24,6 +27,9 @@ class UserPositionServiceTest {
   @Mock
   private UserPositionRepository userPositionRepository;
 
+  @Mock
+  private AreaImpactService areaImpactService;
+
   @Mock
   private SecurityContext securityContext;
 
@@ -61,12 +67,17 @@ class UserPositionServiceTest {
     request.setLatitude(15.0);
     request.setLongitude(25.0);
 
+    UserPosition old = new UserPosition();
+    old.setLatitude(10.0);
+    old.setLongitude(20.0);
     when(userPositionRepository.isSharingPosition(42L)).thenReturn(true);
+    when(userPositionRepository.findByUserId(42L)).thenReturn(Optional.of(old));
 
     userPositionService.sharePosition(request);
 
     verify(userPositionRepository).updateUserPosition(userPositionCaptor.capture());
     assertEquals(42L, userPositionCaptor.getValue().getUserId());
+    verify(areaImpactService).positionsChanged(old, userPositionCaptor.getValue());
   }
 
   @Test
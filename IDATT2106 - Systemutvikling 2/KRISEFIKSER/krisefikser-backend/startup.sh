@@ -22,7 +22,8 @@ while [ $RETRY_COUNT -lt $MAX_RETRIES ]; do
   if nc -z -w5 $DB_HOST $DB_PORT; then
     echo "Database connection successful! Starting application..."
     # Start the Spring Boot application
-    exec java -Dspring.profiles.active=prod -jar /app/app.jar
+    # SPRING_PROFILES_ACTIVE can add profiles such as virtual, and JAVA_OPTS JVM options
+    exec java $JAVA_OPTS -Dspring.profiles.active=${SPRING_PROFILES_ACTIVE:-prod} -jar /app/app.jar
     exit 0
   else
     echo "Cannot connect to database yet. Retry $RETRY_COUNT/$MAX_RETRIES. Retrying in $RETRY_INTERVAL seconds..."